@@ -1,6 +1,10 @@
 package com.gsms.gsms.controller;
 
+import com.gsms.gsms.dto.gantt.GanttBatchUpdateReq;
+import com.gsms.gsms.dto.gantt.GanttChangesResp;
 import com.gsms.gsms.dto.gantt.GanttDataResp;
+import com.gsms.gsms.dto.gantt.GanttShiftReq;
+import com.gsms.gsms.dto.gantt.GanttTaskResp;
 import com.gsms.gsms.dto.gantt.TaskDateUpdateReq;
 import com.gsms.gsms.dto.gantt.TaskLinkCreateReq;
 import com.gsms.gsms.dto.gantt.TaskParentUpdateReq;
@@ -12,10 +16,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 /**
  * 甘特图控制器
@@ -41,8 +53,8 @@ public class GanttController {
      * @return 甘特图数据（任务树形结构 + 依赖关系）
      */
     @GetMapping("/project/{projectId}")
-    @Operation(summary = "获取项目甘特图数据")
-    public Result<GanttDataResp> getProjectGanttData(
+    @Operation(summary = "获取项目甘特图数据", description = "支持 ETag，请求头 If-None-Match 与当前版本一致时返回 304")
+    public ResponseEntity<Result<GanttDataResp>> getProjectGanttData(
             @Parameter(description = "项目ID", required = true)
             @PathVariable Long projectId,
             @Parameter(description = "开始日期")
@@ -52,10 +64,119 @@ public class GanttController {
             @Parameter(description = "结束日期")
             @RequestParam(required = false)
             @DateTimeFormat(pattern = "yyyy-MM-dd")
-            LocalDate endDate) {
-        logger.info("获取项目甘特图数据: projectId={}, startDate={}, endDate={}", projectId, startDate, endDate);
-        GanttDataResp data = ganttService.getProjectGanttData(projectId, startDate, endDate);
-        return Result.success(data);
+            LocalDate endDate,
+            @Parameter(description = "懒加载模式：只返回项目和迭代层级及子节点数量（忽略时间窗口）")
+            @RequestParam(defaultValue = "false")
+            boolean lazy,
+            @Parameter(hidden = true)
+            WebRequest webRequest) {
+        logger.debug("获取项目甘特图数据: projectId={}, startDate={}, endDate={}, lazy={}", projectId, startDate, endDate, lazy);
+
+        // 数据未变化时直接返回 304，不构建甘特图（按 RFC 7232 比较 If-None-Match，支持弱 ETag、列表和 *）
+        String etag = ganttService.getProjectGanttETag(projectId, startDate, endDate, lazy);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        GanttDataResp data = lazy
+                ? ganttService.getProjectGanttRoot(projectId)
+                : ganttService.getProjectGanttData(projectId, startDate, endDate);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(Result.success(data));
+    }
+
+    /**
+     * 获取项目甘特图增量变更（轮询同步）
+     *
+     * @param projectId 项目ID
+     * @param since 上次返回的水位（可选）
+     * @return 增量变更及下次使用的水位
+     */
+    @GetMapping("/project/{projectId}/changes")
+    @Operation(summary = "获取项目甘特图增量变更", description = "返回水位之后新增、修改、删除的迭代、任务和依赖关系；未提供水位或变更过多时返回 fullReload=true")
+    public Result<GanttChangesResp> getProjectGanttChanges(
+            @Parameter(description = "项目ID", required = true)
+            @PathVariable Long projectId,
+            @Parameter(description = "上次返回的水位，格式 yyyy-MM-dd HH:mm:ss")
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+            LocalDateTime since) {
+        logger.debug("获取甘特图增量变更: projectId={}, since={}", projectId, since);
+        return Result.success(ganttService.getProjectGanttChanges(projectId, since));
+    }
+
+    /**
+     * 获取组合甘特图数据（多项目时间线）
+     *
+     * @param projectIds 项目ID列表（可选，默认当前用户可访问的项目中最近更新的200个）
+     * @param collapsed 是否折叠为项目汇总节点
+     * @return 甘特图数据（每个项目一个根节点 + 依赖关系）
+     */
+    @GetMapping("/portfolio")
+    @Operation(summary = "获取组合甘特图数据", description = "多个项目合并为一条时间线，最多200个项目")
+    public Result<GanttDataResp> getPortfolioGanttData(
+            @Parameter(description = "项目ID列表，逗号分隔（默认当前用户可访问的项目中最近更新的200个）")
+            @RequestParam(required = false)
+            List<Long> projectIds,
+            @Parameter(description = "折叠模式：只返回项目汇总节点及子节点数量")
+            @RequestParam(defaultValue = "false")
+            boolean collapsed) {
+        logger.debug("获取组合甘特图数据: projectIds={}, collapsed={}", projectIds, collapsed);
+        return Result.success(ganttService.getPortfolioGanttData(projectIds, collapsed));
+    }
+
+    /**
+     * 流式获取项目甘特图数据（超大项目）
+     *
+     * @param projectId 项目ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @return 与 /project/{projectId} 结构相同的 JSON，边遍历任务树边输出
+     */
+    @GetMapping("/project/{projectId}/stream")
+    @Operation(summary = "流式获取项目甘特图数据", description = "返回结构与获取项目甘特图数据接口一致，不在内存中构建完整节点树，适用于数千任务的大型项目")
+    public ResponseEntity<StreamingResponseBody> streamProjectGanttData(
+            @Parameter(description = "项目ID", required = true)
+            @PathVariable Long projectId,
+            @Parameter(description = "开始日期")
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            LocalDate startDate,
+            @Parameter(description = "结束日期")
+            @RequestParam(required = false)
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            LocalDate endDate,
+            @Parameter(hidden = true)
+            WebRequest webRequest) {
+        logger.debug("流式获取项目甘特图数据: projectId={}, startDate={}, endDate={}", projectId, startDate, endDate);
+
+        String etag = ganttService.getProjectGanttETag(projectId, startDate, endDate, false);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(etag)
+                .body(ganttService.streamProjectGanttData(projectId, startDate, endDate));
+    }
+
+    /**
+     * 展开甘特图节点（懒加载）
+     *
+     * @param ganttId 甘特图节点ID（项目、迭代或任务）
+     * @return 直接子节点列表
+     */
+    @GetMapping("/node/{ganttId}/children")
+    @Operation(summary = "获取甘特图节点的子节点")
+    public Result<List<GanttTaskResp>> getGanttNodeChildren(
+            @Parameter(description = "甘特图节点ID（正数为项目，-1000000 - id 为迭代，-2000000 - id 为任务）", required = true)
+            @PathVariable Long ganttId) {
+        logger.debug("展开甘特图节点: ganttId={}", ganttId);
+        return Result.success(ganttService.getGanttNodeChildren(ganttId));
     }
 
     /**
@@ -95,6 +216,36 @@ public class GanttController {
         return Result.success();
     }
 
+    /**
+     * 批量修改任务时间和层级（多选拖拽、撤销/重做等）
+     *
+     * @param req 批量编辑请求
+     * @return 实际更新的任务数
+     */
+    @PutMapping("/tasks/batch")
+    @Operation(summary = "批量修改任务时间和层级", description = "所有变更在同一事务中校验并写入，任一变更不合法则全部不生效")
+    public Result<Integer> batchUpdateTasks(@Valid @RequestBody GanttBatchUpdateReq req) {
+        logger.info("批量修改任务: projectId={}, changes={}", req.getProjectId(), req.getChanges().size());
+        return Result.success(ganttService.batchUpdateTasks(req));
+    }
+
+    /**
+     * 整体平移排期（移动父任务、迭代或项目时带动全部子任务）
+     *
+     * @param ganttId 甘特图节点ID
+     * @param req 平移请求
+     * @return 实际更新的记录数
+     */
+    @PutMapping("/node/{ganttId}/shift")
+    @Operation(summary = "整体平移排期", description = "节点及全部后代任务按相同天数平移，保持相对偏移和工期")
+    public Result<Integer> shiftSchedule(
+            @Parameter(description = "甘特图节点ID（项目、迭代或任务）", required = true)
+            @PathVariable Long ganttId,
+            @Valid @RequestBody GanttShiftReq req) {
+        logger.info("整体平移排期: ganttId={}, days={}", ganttId, req.getDays());
+        return Result.success(ganttService.shiftSchedule(ganttId, req.getDays()));
+    }
+
     /**
      * 创建任务依赖关系
      *
@@ -125,4 +276,35 @@ public class GanttController {
         ganttService.deleteTaskLink(linkId);
         return Result.success();
     }
+
+    /**
+     * 开启或关闭项目甘特图诊断（系统管理员）
+     * 系统管理员的单次请求也可通过请求头 X-Gantt-Diagnostics: true 开启
+     *
+     * @param projectId 项目ID
+     * @param enabled 是否开启
+     * @return 操作结果
+     */
+    @PutMapping("/diagnostics/project/{projectId}")
+    @Operation(summary = "开启或关闭项目甘特图诊断")
+    public Result<Void> setDiagnosticsEnabled(
+            @Parameter(description = "项目ID", required = true)
+            @PathVariable Long projectId,
+            @Parameter(description = "是否开启", required = true)
+            @RequestParam boolean enabled) {
+        logger.info("设置甘特图诊断: projectId={}, enabled={}", projectId, enabled);
+        ganttService.setDiagnosticsEnabled(projectId, enabled);
+        return Result.success();
+    }
+
+    /**
+     * 查询已开启甘特图诊断的项目（系统管理员）
+     *
+     * @return 项目ID集合
+     */
+    @GetMapping("/diagnostics/projects")
+    @Operation(summary = "查询已开启甘特图诊断的项目")
+    public Result<Set<Long>> getDiagnosticsProjectIds() {
+        return Result.success(ganttService.getDiagnosticsProjectIds());
+    }
 }
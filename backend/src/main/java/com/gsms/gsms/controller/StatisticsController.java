@@ -1,7 +1,17 @@
 package com.gsms.gsms.controller;
 
+import com.gsms.gsms.dto.statistics.IterationBurndownResp;
+import com.gsms.gsms.dto.statistics.ProjectVarianceResp;
+import com.gsms.gsms.dto.statistics.TaskVarianceQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsResp;
+import com.gsms.gsms.dto.statistics.WorkHourTrendResp;
+import com.gsms.gsms.infra.common.PageResult;
 import com.gsms.gsms.infra.common.Result;
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.stat.TaskVariance;
 import com.gsms.gsms.service.StatisticsService;
+import com.gsms.gsms.service.statistics.StatisticsExecutor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,13 +21,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import javax.validation.Valid;
 import java.time.LocalDate;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * 数据统计控制器
  * 提供工时、任务等多维度数据统计API
+ *
+ * 统计报表在 StatisticsExecutor 中异步执行，不占用请求线程；线程池繁忙时返回 503 和 Retry-After
  */
 @Tag(name = "数据统计", description = "工时数据统计相关接口")
 @RestController
@@ -26,9 +41,11 @@ public class StatisticsController {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsController.class);
 
     private final StatisticsService statisticsService;
+    private final StatisticsExecutor statisticsExecutor;
 
-    public StatisticsController(StatisticsService statisticsService) {
+    public StatisticsController(StatisticsService statisticsService, StatisticsExecutor statisticsExecutor) {
         this.statisticsService = statisticsService;
+        this.statisticsExecutor = statisticsExecutor;
     }
 
     /**
@@ -43,14 +60,16 @@ public class StatisticsController {
      */
     @Operation(summary = "获取项目工时统计")
     @GetMapping("/project/{projectId}")
-    public Result<Map<String, Object>> getProjectWorkHourStatistics(
+    public CompletableFuture<Result<Map<String, Object>>> getProjectWorkHourStatistics(
             @Parameter(description = "项目ID", required = true) @PathVariable Long projectId,
             @Parameter(description = "开始日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
             @Parameter(description = "结束日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
         logger.info("查询项目工时统计: projectId={}, startDate={}, endDate={}", projectId, startDate, endDate);
-        Map<String, Object> statistics = statisticsService.getProjectWorkHourStatistics(projectId, startDate, endDate);
-        logger.info("项目工时统计查询成功: projectId={}, totalHours={}", projectId, statistics.get("totalHours"));
-        return Result.success(statistics);
+        return statisticsExecutor.submit(() -> {
+            Map<String, Object> statistics = statisticsService.getProjectWorkHourStatistics(projectId, startDate, endDate);
+            logger.info("项目工时统计查询成功: projectId={}, totalHours={}", projectId, statistics.get("totalHours"));
+            return Result.success(statistics);
+        });
     }
 
     /**
@@ -65,14 +84,16 @@ public class StatisticsController {
      */
     @Operation(summary = "获取用户工时统计")
     @GetMapping("/user/{userId}")
-    public Result<Map<String, Object>> getUserWorkHourStatistics(
+    public CompletableFuture<Result<Map<String, Object>>> getUserWorkHourStatistics(
             @Parameter(description = "用户ID", required = true) @PathVariable Long userId,
             @Parameter(description = "开始日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
             @Parameter(description = "结束日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
         logger.info("查询用户工时统计: userId={}, startDate={}, endDate={}", userId, startDate, endDate);
-        Map<String, Object> statistics = statisticsService.getUserWorkHourStatistics(userId, startDate, endDate);
-        logger.info("用户工时统计查询成功: userId={}, totalHours={}", userId, statistics.get("totalHours"));
-        return Result.success(statistics);
+        return statisticsExecutor.submit(() -> {
+            Map<String, Object> statistics = statisticsService.getUserWorkHourStatistics(userId, startDate, endDate);
+            logger.info("用户工时统计查询成功: userId={}, totalHours={}", userId, statistics.get("totalHours"));
+            return Result.success(statistics);
+        });
     }
 
     /**
@@ -83,18 +104,24 @@ public class StatisticsController {
      * @param departmentId 部门ID
      * @param startDate 开始日期（可选）
      * @param endDate 结束日期（可选）
+     * @param includeSubDepartments 是否包含全部下级部门
      * @return 工时统计数据，包含总工时、用户分布等
      */
     @Operation(summary = "获取部门工时统计")
     @GetMapping("/department/{departmentId}")
-    public Result<Map<String, Object>> getDepartmentWorkHourStatistics(
+    public CompletableFuture<Result<Map<String, Object>>> getDepartmentWorkHourStatistics(
             @Parameter(description = "部门ID", required = true) @PathVariable Long departmentId,
             @Parameter(description = "开始日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
-            @Parameter(description = "结束日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
-        logger.info("查询部门工时统计: departmentId={}, startDate={}, endDate={}", departmentId, startDate, endDate);
-        Map<String, Object> statistics = statisticsService.getDepartmentWorkHourStatistics(departmentId, startDate, endDate);
-        logger.info("部门工时统计查询成功: departmentId={}, totalHours={}", departmentId, statistics.get("totalHours"));
-        return Result.success(statistics);
+            @Parameter(description = "结束日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @Parameter(description = "是否包含全部下级部门") @RequestParam(defaultValue = "false") boolean includeSubDepartments) {
+        logger.info("查询部门工时统计: departmentId={}, startDate={}, endDate={}, includeSubDepartments={}",
+                departmentId, startDate, endDate, includeSubDepartments);
+        return statisticsExecutor.submit(() -> {
+            Map<String, Object> statistics = statisticsService.getDepartmentWorkHourStatistics(
+                    departmentId, startDate, endDate, includeSubDepartments);
+            logger.info("部门工时统计查询成功: departmentId={}, totalHours={}", departmentId, statistics.get("totalHours"));
+            return Result.success(statistics);
+        });
     }
 
     /**
@@ -107,54 +134,169 @@ public class StatisticsController {
      */
     @Operation(summary = "获取任务工时统计")
     @GetMapping("/task/{taskId}")
-    public Result<Map<String, Object>> getTaskWorkHourStatistics(
+    public CompletableFuture<Result<Map<String, Object>>> getTaskWorkHourStatistics(
             @Parameter(description = "任务ID", required = true) @PathVariable Long taskId) {
         logger.info("查询任务工时统计: taskId={}", taskId);
-        Map<String, Object> statistics = statisticsService.getTaskWorkHourStatistics(taskId);
-        logger.info("任务工时统计查询成功: taskId={}, totalHours={}", taskId, statistics.get("totalHours"));
-        return Result.success(statistics);
+        return statisticsExecutor.submit(() -> {
+            Map<String, Object> statistics = statisticsService.getTaskWorkHourStatistics(taskId);
+            logger.info("任务工时统计查询成功: taskId={}, totalHours={}", taskId, statistics.get("totalHours"));
+            return Result.success(statistics);
+        });
     }
 
     /**
      * 获取项目任务完成度统计数据
      *
-     * 统计指定项目中各状态任务的数量及完成率
+     * 统计指定项目中各状态任务的数量及完成率，可再按迭代、负责人拆分
      *
      * @param projectId 项目ID
+     * @param byIteration 是否按迭代拆分
+     * @param byAssignee 是否按负责人拆分
      * @return 任务完成度统计数据，包含总任务数、已完成数、完成率等
      */
     @Operation(summary = "获取项目任务完成度统计")
     @GetMapping("/project/{projectId}/completion")
-    public Result<Map<String, Object>> getProjectTaskCompletionStatistics(
+    public CompletableFuture<Result<Map<String, Object>>> getProjectTaskCompletionStatistics(
+            @Parameter(description = "项目ID", required = true) @PathVariable Long projectId,
+            @Parameter(description = "是否按迭代拆分") @RequestParam(defaultValue = "false") boolean byIteration,
+            @Parameter(description = "是否按负责人拆分") @RequestParam(defaultValue = "false") boolean byAssignee) {
+        logger.info("查询项目任务完成度统计: projectId={}, byIteration={}, byAssignee={}", projectId, byIteration, byAssignee);
+        return statisticsExecutor.submit(() -> {
+            Map<String, Object> statistics = statisticsService.getProjectTaskCompletionStatistics(projectId, byIteration, byAssignee);
+            logger.info("项目任务完成度统计查询成功: projectId={}, completionRate={}", projectId, statistics.get("completionRate"));
+            return Result.success(statistics);
+        });
+    }
+
+    /**
+     * 批量获取项目任务完成度统计数据
+     *
+     * 项目列表页一次获取每行的完成率
+     *
+     * @param projectIds 项目ID列表
+     * @return 与请求顺序一致的任务完成度统计数据列表
+     */
+    @Operation(summary = "批量获取项目任务完成度统计", description = "一次查询统计多个项目，最多500个")
+    @GetMapping("/projects/completion")
+    public CompletableFuture<Result<List<Map<String, Object>>>> getProjectsTaskCompletionStatistics(
+            @Parameter(description = "项目ID列表，逗号分隔", required = true) @RequestParam List<Long> projectIds) {
+        logger.info("批量查询项目任务完成度统计: projectIds={}", projectIds);
+        return statisticsExecutor.submit(() -> {
+            List<Map<String, Object>> statistics = statisticsService.getProjectsTaskCompletionStatistics(projectIds);
+            logger.info("批量项目任务完成度统计查询成功: projectCount={}", statistics.size());
+            return Result.success(statistics);
+        });
+    }
+
+    /**
+     * 获取项目工时偏差汇总
+     *
+     * 统计项目全部任务的预估工时、实际工时、偏差和超支比例，并按迭代拆分
+     *
+     * @param projectId 项目ID
+     * @return 项目及各迭代的工时偏差
+     */
+    @Operation(summary = "获取项目工时偏差汇总")
+    @GetMapping("/project/{projectId}/variance")
+    public CompletableFuture<Result<ProjectVarianceResp>> getProjectVarianceStatistics(
             @Parameter(description = "项目ID", required = true) @PathVariable Long projectId) {
-        logger.info("查询项目任务完成度统计: projectId={}", projectId);
-        Map<String, Object> statistics = statisticsService.getProjectTaskCompletionStatistics(projectId);
-        logger.info("项目任务完成度统计查询成功: projectId={}, completionRate={}", projectId, statistics.get("completionRate"));
-        return Result.success(statistics);
+        logger.info("查询项目工时偏差汇总: projectId={}", projectId);
+        return statisticsExecutor.submit(() -> {
+            ProjectVarianceResp statistics = statisticsService.getProjectVarianceStatistics(projectId);
+            logger.info("项目工时偏差汇总查询成功: projectId={}, variance={}", projectId, statistics.getVariance());
+            return Result.success(statistics);
+        });
+    }
+
+    /**
+     * 分页获取任务工时偏差
+     *
+     * 预估、实际工时沿父子关系汇总到每个任务，默认按偏差降序（超支最多的在前）
+     *
+     * @param projectId 项目ID
+     * @param req 过滤、排序和分页条件
+     * @return 任务工时偏差分页结果
+     */
+    @Operation(summary = "分页获取任务工时偏差")
+    @GetMapping("/project/{projectId}/variance/tasks")
+    public CompletableFuture<PageResult<TaskVariance>> getTaskVariancePage(
+            @Parameter(description = "项目ID", required = true) @PathVariable Long projectId,
+            @Valid TaskVarianceQueryReq req) {
+        logger.info("分页查询任务工时偏差: projectId={}, iterationId={}, sortBy={}, asc={}, pageNum={}, pageSize={}",
+                projectId, req.getIterationId(), req.getSortBy(), req.isAsc(), req.getPageNum(), req.getPageSize());
+        return statisticsExecutor.submit(() -> statisticsService.getTaskVariancePage(projectId, req));
+    }
+
+    /**
+     * 获取迭代燃尽图、燃起图数据
+     *
+     * 每天一个数据点，读取定时生成的快照（当天数据每小时刷新）
+     *
+     * @param iterationId 迭代ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @return 按日期升序的剩余预估工时、预估工时合计、完成任务数等
+     */
+    @Operation(summary = "获取迭代燃尽图、燃起图数据")
+    @GetMapping("/iteration/{iterationId}/burndown")
+    public CompletableFuture<Result<IterationBurndownResp>> getIterationBurndownStatistics(
+            @Parameter(description = "迭代ID", required = true) @PathVariable Long iterationId,
+            @Parameter(description = "开始日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
+            @Parameter(description = "结束日期") @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
+        logger.info("查询迭代燃尽图: iterationId={}, startDate={}, endDate={}", iterationId, startDate, endDate);
+        return statisticsExecutor.submit(() -> {
+            IterationBurndownResp statistics = statisticsService.getIterationBurndownStatistics(iterationId, startDate, endDate);
+            logger.info("迭代燃尽图查询成功: iterationId={}, points={}", iterationId, statistics.getPoints().size());
+            return Result.success(statistics);
+        });
     }
 
     /**
      * 获取工时趋势统计数据
      *
-     * 按日期统计工时投入趋势，支持按项目或用户维度过滤
+     * 按天、周或月统计工时投入趋势，支持按项目或用户维度过滤
      *
      * @param projectId 项目ID（可选）
      * @param userId 用户ID（可选）
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return 趋势统计数据，包含时间序列数据、总工时等
+     * @param granularity 时间粒度（DAY/WEEK/MONTH，默认DAY）
+     * @return 趋势统计数据，包含连续的时间序列数据、总工时等
      */
-    @Operation(summary = "获取工时趋势统计")
+    @Operation(summary = "获取工时趋势统计", description = "没有工时的时间段补0，最多返回3660个时间段")
     @GetMapping("/trend")
-    public Result<Map<String, Object>> getWorkHourTrendStatistics(
+    public CompletableFuture<Result<WorkHourTrendResp>> getWorkHourTrendStatistics(
             @Parameter(description = "项目ID") @RequestParam(required = false) Long projectId,
             @Parameter(description = "用户ID") @RequestParam(required = false) Long userId,
             @Parameter(description = "开始日期", required = true) @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate startDate,
-            @Parameter(description = "结束日期", required = true) @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate) {
-        logger.info("查询工时趋势统计: projectId={}, userId={}, startDate={}, endDate={}", projectId, userId, startDate, endDate);
-        Map<String, Object> statistics = statisticsService.getWorkHourTrendStatistics(projectId, userId, startDate, endDate);
-        logger.info("工时趋势统计查询成功: totalHours={}", statistics.get("totalHours"));
-        return Result.success(statistics);
+            @Parameter(description = "结束日期", required = true) @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd") LocalDate endDate,
+            @Parameter(description = "时间粒度：DAY-按天，WEEK-按周，MONTH-按月") @RequestParam(defaultValue = "DAY") TrendGranularity granularity) {
+        logger.info("查询工时趋势统计: projectId={}, userId={}, startDate={}, endDate={}, granularity={}",
+                projectId, userId, startDate, endDate, granularity);
+        return statisticsExecutor.submit(() -> {
+            WorkHourTrendResp statistics = statisticsService.getWorkHourTrendStatistics(projectId, userId, startDate, endDate, granularity);
+            logger.info("工时趋势统计查询成功: totalHours={}", statistics.getTotalHours());
+            return Result.success(statistics);
+        });
+    }
+
+    /**
+     * 工时多维分析
+     *
+     * 按日期、项目、登记人、部门过滤后，按任意维度组合（最多3个）分组汇总工时和记录数，
+     * 在内存列存上计算，不访问数据库，直接在请求线程中执行
+     *
+     * @param req 过滤条件、分组维度和返回行数
+     * @return 分组汇总结果（按工时倒序）
+     */
+    @Operation(summary = "工时多维分析", description = "分组维度：PROJECT、USER、DEPARTMENT、TASK、TASK_TYPE、TASK_PRIORITY、ASSIGNEE、DAY、WEEK、MONTH")
+    @PostMapping("/work-hours/analytics")
+    public Result<WorkHourAnalyticsResp> queryWorkHourAnalytics(@Valid @RequestBody WorkHourAnalyticsQueryReq req) {
+        logger.info("工时多维分析: groupBy={}, startDate={}, endDate={}, limit={}",
+                req.getGroupBy(), req.getStartDate(), req.getEndDate(), req.getLimit());
+        WorkHourAnalyticsResp resp = statisticsService.queryWorkHourAnalytics(req);
+        logger.info("工时多维分析成功: groups={}, totalHours={}", resp.getGroupCount(), resp.getTotalHours());
+        return Result.success(resp);
     }
 
     /**
@@ -172,4 +314,15 @@ public class StatisticsController {
         logger.info("首页看板数据查询成功: {}", dashboardData.keySet());
         return Result.success(dashboardData);
     }
+
+    /**
+     * 获取统计结果缓存命中情况
+     *
+     * @return 缓存大小、命中数、未命中数、命中率、淘汰数、失效数
+     */
+    @Operation(summary = "获取统计缓存命中情况", description = "仅系统管理员")
+    @GetMapping("/cache")
+    public Result<Map<String, Object>> getCacheStatistics() {
+        return Result.success(statisticsService.getCacheStatistics());
+    }
 }
@@ -0,0 +1,65 @@
+package com.gsms.gsms.controller;
+
+import com.gsms.gsms.dto.workload.WorkloadResp;
+import com.gsms.gsms.infra.common.Result;
+import com.gsms.gsms.service.WorkloadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 负责人负载控制器
+ */
+@RestController
+@RequestMapping("/api/workload")
+@Tag(name = "负责人负载接口", description = "按负责人和日期统计任务数和预估工时")
+public class WorkloadController {
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadController.class);
+
+    private final WorkloadService workloadService;
+
+    public WorkloadController(WorkloadService workloadService) {
+        this.workloadService = workloadService;
+    }
+
+    /**
+     * 获取负责人负载
+     *
+     * @param userIds 负责人ID列表（可选）
+     * @param projectIds 项目ID列表（可选）
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param includeDone 是否包含已完成任务
+     * @return 每人每天的任务数和预估工时
+     */
+    @GetMapping
+    @Operation(summary = "获取负责人负载", description = "跨项目统计每人每天的任务数和分摊的预估工时，最多731天、1000人")
+    public Result<WorkloadResp> getWorkload(
+            @Parameter(description = "负责人ID列表，逗号分隔（默认范围内有任务的全部负责人）")
+            @RequestParam(required = false)
+            List<Long> userIds,
+            @Parameter(description = "项目ID列表，逗号分隔（默认当前用户可访问的全部项目）")
+            @RequestParam(required = false)
+            List<Long> projectIds,
+            @Parameter(description = "开始日期", required = true)
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            LocalDate startDate,
+            @Parameter(description = "结束日期", required = true)
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            LocalDate endDate,
+            @Parameter(description = "是否包含已完成任务")
+            @RequestParam(defaultValue = "false")
+            boolean includeDone) {
+        logger.debug("获取负责人负载: userIds={}, projectIds={}, startDate={}, endDate={}", userIds, projectIds, startDate, endDate);
+        return Result.success(workloadService.getWorkload(userIds, projectIds, startDate, endDate, includeDone));
+    }
+}
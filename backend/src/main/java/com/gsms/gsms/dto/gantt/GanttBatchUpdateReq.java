@@ -0,0 +1,43 @@
+package com.gsms.gsms.dto.gantt;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * 甘特图批量编辑请求
+ */
+@Schema(description = "甘特图批量编辑请求")
+public class GanttBatchUpdateReq {
+
+    @NotNull(message = "项目ID不能为空")
+    @Schema(description = "项目ID", example = "1")
+    private Long projectId;
+
+    @Valid
+    @NotEmpty(message = "变更列表不能为空")
+    @Size(max = 1000, message = "单次最多修改1000个任务")
+    @Schema(description = "任务变更列表（同一任务出现多次时按顺序依次应用）")
+    private List<GanttTaskChangeReq> changes;
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public List<GanttTaskChangeReq> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<GanttTaskChangeReq> changes) {
+        this.changes = changes;
+    }
+}
@@ -0,0 +1,81 @@
+package com.gsms.gsms.dto.gantt;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 甘特图增量变更响应
+ */
+@Schema(description = "甘特图增量变更响应")
+public class GanttChangesResp {
+
+    @Schema(description = "是否需要重新加载完整甘特图（未提供水位或变更过多时为 true，此时不返回变更明细）")
+    private Boolean fullReload;
+
+    @Schema(description = "下次请求使用的水位")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime watermark;
+
+    @Schema(description = "新增或修改的迭代、任务节点（扁平列表，通过 parent 挂载，不含 subtasks）")
+    private List<GanttTaskResp> nodes;
+
+    @Schema(description = "已删除的迭代、任务节点（含移到其他项目的任务）的甘特图ID")
+    private List<Long> deletedIds;
+
+    @Schema(description = "新增或修改的任务依赖关系")
+    private List<GanttLinkResp> links;
+
+    @Schema(description = "已删除的任务依赖关系ID")
+    private List<Long> deletedLinkIds;
+
+    public Boolean getFullReload() {
+        return fullReload;
+    }
+
+    public void setFullReload(Boolean fullReload) {
+        this.fullReload = fullReload;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(LocalDateTime watermark) {
+        this.watermark = watermark;
+    }
+
+    public List<GanttTaskResp> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<GanttTaskResp> nodes) {
+        this.nodes = nodes;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<Long> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public List<GanttLinkResp> getLinks() {
+        return links;
+    }
+
+    public void setLinks(List<GanttLinkResp> links) {
+        this.links = links;
+    }
+
+    public List<Long> getDeletedLinkIds() {
+        return deletedLinkIds;
+    }
+
+    public void setDeletedLinkIds(List<Long> deletedLinkIds) {
+        this.deletedLinkIds = deletedLinkIds;
+    }
+}
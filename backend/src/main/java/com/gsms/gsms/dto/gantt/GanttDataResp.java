@@ -16,6 +16,9 @@ public class GanttDataResp {
     @Schema(description = "任务依赖关系列表")
     private List<GanttLinkResp> links;
 
+    @Schema(description = "组合甘特图未指定项目时，可访问项目超过上限只返回最近更新的部分项目时为 true")
+    private Boolean truncated;
+
     public List<GanttTaskResp> getData() {
         return data;
     }
@@ -31,4 +34,12 @@ public class GanttDataResp {
     public void setLinks(List<GanttLinkResp> links) {
         this.links = links;
     }
+
+    public Boolean getTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(Boolean truncated) {
+        this.truncated = truncated;
+    }
 }
@@ -11,16 +11,16 @@ public class GanttLinkResp {
     @Schema(description = "依赖关系ID")
     private Long id;
 
-    @Schema(description = "源任务ID")
+    @Schema(description = "源任务甘特图节点ID")
     private Long source;
 
-    @Schema(description = "目标任务ID")
+    @Schema(description = "目标任务甘特图节点ID")
     private Long target;
 
-    @Schema(description = "依赖类型")
+    @Schema(description = "依赖类型：0-结束到开始，1-开始到开始，2-结束到结束，3-开始到结束")
     private String type;
 
-    @Schema(description = "延迟时间（毫秒）")
+    @Schema(description = "延迟时间（天）")
     private Integer lag;
 
     // Getters and Setters
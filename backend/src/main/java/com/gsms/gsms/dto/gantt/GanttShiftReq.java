@@ -0,0 +1,29 @@
+package com.gsms.gsms.dto.gantt;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+/**
+ * 甘特图整体平移请求
+ */
+@Schema(description = "甘特图整体平移请求")
+public class GanttShiftReq {
+
+    @NotNull(message = "平移天数不能为空")
+    @Min(value = -3650, message = "平移天数不能超过3650天")
+    @Max(value = 3650, message = "平移天数不能超过3650天")
+    @Schema(description = "平移天数（正数后移，负数前移）", example = "7")
+    private Integer days;
+
+    // Getters and Setters
+    public Integer getDays() {
+        return days;
+    }
+
+    public void setDays(Integer days) {
+        this.days = days;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gsms.gsms.dto.gantt;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * 甘特图单个任务变更
+ */
+@Schema(description = "甘特图单个任务变更")
+public class GanttTaskChangeReq {
+
+    @NotNull(message = "任务ID不能为空")
+    @Schema(description = "任务ID（甘特图ID）", example = "-2000001")
+    private Long taskId;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "计划开始日期（与计划结束日期同时为空表示不修改时间）", example = "2024-01-01")
+    private LocalDate planStartDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "计划结束日期", example = "2024-01-15")
+    private LocalDate planEndDate;
+
+    @Schema(description = "是否修改父任务", example = "false")
+    private Boolean changeParent;
+
+    @Schema(description = "新的父任务ID（甘特图ID，changeParent 为 true 时生效，null表示顶级任务）")
+    private Long parentId;
+
+    // Getters and Setters
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public LocalDate getPlanStartDate() {
+        return planStartDate;
+    }
+
+    public void setPlanStartDate(LocalDate planStartDate) {
+        this.planStartDate = planStartDate;
+    }
+
+    public LocalDate getPlanEndDate() {
+        return planEndDate;
+    }
+
+    public void setPlanEndDate(LocalDate planEndDate) {
+        this.planEndDate = planEndDate;
+    }
+
+    public Boolean getChangeParent() {
+        return changeParent;
+    }
+
+    public void setChangeParent(Boolean changeParent) {
+        this.changeParent = changeParent;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+}
@@ -1,6 +1,7 @@
 package com.gsms.gsms.dto.gantt;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -78,9 +79,23 @@ public class GanttTaskResp {
     @Schema(description = "松弛时间（天）")
     private Integer slack;
 
+    @Schema(description = "最早开始日期（按依赖关系推算）")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate earlyStart;
+
+    @Schema(description = "最晚开始日期（不推迟项目完成的最晚开始）")
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate lateStart;
+
     @Schema(description = "子任务列表")
     private List<GanttTaskResp> subtasks;
 
+    @Schema(description = "子节点数量（仅懒加载模式返回，子节点需通过展开接口获取）")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer childCount;
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -234,6 +249,22 @@ public class GanttTaskResp {
         this.slack = slack;
     }
 
+    public LocalDate getEarlyStart() {
+        return earlyStart;
+    }
+
+    public void setEarlyStart(LocalDate earlyStart) {
+        this.earlyStart = earlyStart;
+    }
+
+    public LocalDate getLateStart() {
+        return lateStart;
+    }
+
+    public void setLateStart(LocalDate lateStart) {
+        this.lateStart = lateStart;
+    }
+
     public List<GanttTaskResp> getSubtasks() {
         return subtasks;
     }
@@ -241,4 +272,12 @@ public class GanttTaskResp {
     public void setSubtasks(List<GanttTaskResp> subtasks) {
         this.subtasks = subtasks;
     }
+
+    public Integer getChildCount() {
+        return childCount;
+    }
+
+    public void setChildCount(Integer childCount) {
+        this.childCount = childCount;
+    }
 }
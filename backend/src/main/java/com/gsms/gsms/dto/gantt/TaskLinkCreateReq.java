@@ -11,17 +11,17 @@ import javax.validation.constraints.NotNull;
 public class TaskLinkCreateReq {
 
     @NotNull(message = "源任务ID不能为空")
-    @Schema(description = "源任务ID", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "源任务ID（甘特图节点ID）", requiredMode = Schema.RequiredMode.REQUIRED)
     private Long source;
 
     @NotNull(message = "目标任务ID不能为空")
-    @Schema(description = "目标任务ID", requiredMode = Schema.RequiredMode.REQUIRED)
+    @Schema(description = "目标任务ID（甘特图节点ID）", requiredMode = Schema.RequiredMode.REQUIRED)
     private Long target;
 
     @Schema(description = "依赖类型：0-结束到开始(end_to_start)，1-开始到开始(start_to_start)，2-结束到结束(end_to_end)，3-开始到结束(start_to_end)", example = "0")
     private Integer type;
 
-    @Schema(description = "延迟时间（毫秒）", example = "0")
+    @Schema(description = "延迟时间（天，可为负数）", example = "0")
     private Integer lag;
 
     // Getters and Setters
@@ -0,0 +1,79 @@
+package com.gsms.gsms.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 燃尽图数据点（每天一个）
+ */
+@Schema(description = "燃尽图数据点")
+public class BurndownPointResp {
+
+    @Schema(description = "快照日期")
+    private LocalDate date;
+
+    @Schema(description = "任务总数（燃起图范围线）")
+    private Integer totalCount;
+
+    @Schema(description = "已完成任务数")
+    private Integer doneCount;
+
+    @Schema(description = "预估工时合计（燃起图范围线）")
+    private BigDecimal totalEstimateHours;
+
+    @Schema(description = "未完成任务的预估工时合计（燃尽图）")
+    private BigDecimal remainingEstimateHours;
+
+    @Schema(description = "已完成任务的预估工时合计（燃起图完成线）")
+    private BigDecimal doneEstimateHours;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Integer totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Integer getDoneCount() {
+        return doneCount;
+    }
+
+    public void setDoneCount(Integer doneCount) {
+        this.doneCount = doneCount;
+    }
+
+    public BigDecimal getTotalEstimateHours() {
+        return totalEstimateHours;
+    }
+
+    public void setTotalEstimateHours(BigDecimal totalEstimateHours) {
+        this.totalEstimateHours = totalEstimateHours;
+    }
+
+    public BigDecimal getRemainingEstimateHours() {
+        return remainingEstimateHours;
+    }
+
+    public void setRemainingEstimateHours(BigDecimal remainingEstimateHours) {
+        this.remainingEstimateHours = remainingEstimateHours;
+    }
+
+    public BigDecimal getDoneEstimateHours() {
+        return doneEstimateHours;
+    }
+
+    public void setDoneEstimateHours(BigDecimal doneEstimateHours) {
+        this.doneEstimateHours = doneEstimateHours;
+    }
+}
@@ -0,0 +1,68 @@
+package com.gsms.gsms.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 迭代燃尽图、燃起图响应
+ */
+@Schema(description = "迭代燃尽图、燃起图")
+public class IterationBurndownResp {
+
+    @Schema(description = "迭代ID")
+    private Long iterationId;
+
+    @Schema(description = "项目ID")
+    private Long projectId;
+
+    @Schema(description = "计划开始日期（理想燃尽线起点）")
+    private LocalDate planStartDate;
+
+    @Schema(description = "计划结束日期（理想燃尽线终点）")
+    private LocalDate planEndDate;
+
+    @Schema(description = "每天的快照，按日期升序（快照每小时刷新，当天数据可能有延迟）")
+    private List<BurndownPointResp> points;
+
+    public Long getIterationId() {
+        return iterationId;
+    }
+
+    public void setIterationId(Long iterationId) {
+        this.iterationId = iterationId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public LocalDate getPlanStartDate() {
+        return planStartDate;
+    }
+
+    public void setPlanStartDate(LocalDate planStartDate) {
+        this.planStartDate = planStartDate;
+    }
+
+    public LocalDate getPlanEndDate() {
+        return planEndDate;
+    }
+
+    public void setPlanEndDate(LocalDate planEndDate) {
+        this.planEndDate = planEndDate;
+    }
+
+    public List<BurndownPointResp> getPoints() {
+        return points;
+    }
+
+    public void setPoints(List<BurndownPointResp> points) {
+        this.points = points;
+    }
+}
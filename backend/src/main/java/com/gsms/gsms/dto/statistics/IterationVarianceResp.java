@@ -0,0 +1,78 @@
+package com.gsms.gsms.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * 迭代工时偏差
+ */
+@Schema(description = "迭代工时偏差")
+public class IterationVarianceResp {
+
+    @Schema(description = "迭代ID（为空表示未关联迭代的任务）")
+    private Long iterationId;
+
+    @Schema(description = "任务数")
+    private Integer taskCount;
+
+    @Schema(description = "预估工时合计")
+    private BigDecimal estimateHours;
+
+    @Schema(description = "实际工时合计")
+    private BigDecimal actualHours;
+
+    @Schema(description = "偏差：实际 - 预估")
+    private BigDecimal variance;
+
+    @Schema(description = "超支比例：实际 / 预估（预估为0时为空）")
+    private BigDecimal overrunRatio;
+
+    public Long getIterationId() {
+        return iterationId;
+    }
+
+    public void setIterationId(Long iterationId) {
+        this.iterationId = iterationId;
+    }
+
+    public Integer getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(Integer taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public BigDecimal getEstimateHours() {
+        return estimateHours;
+    }
+
+    public void setEstimateHours(BigDecimal estimateHours) {
+        this.estimateHours = estimateHours;
+    }
+
+    public BigDecimal getActualHours() {
+        return actualHours;
+    }
+
+    public void setActualHours(BigDecimal actualHours) {
+        this.actualHours = actualHours;
+    }
+
+    public BigDecimal getVariance() {
+        return variance;
+    }
+
+    public void setVariance(BigDecimal variance) {
+        this.variance = variance;
+    }
+
+    public BigDecimal getOverrunRatio() {
+        return overrunRatio;
+    }
+
+    public void setOverrunRatio(BigDecimal overrunRatio) {
+        this.overrunRatio = overrunRatio;
+    }
+}
@@ -0,0 +1,101 @@
+package com.gsms.gsms.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 项目工时偏差汇总
+ */
+@Schema(description = "项目工时偏差汇总")
+public class ProjectVarianceResp {
+
+    @Schema(description = "项目ID")
+    private Long projectId;
+
+    @Schema(description = "任务数")
+    private Integer taskCount;
+
+    @Schema(description = "全部任务预估工时合计")
+    private BigDecimal estimateHours;
+
+    @Schema(description = "全部任务实际工时合计")
+    private BigDecimal actualHours;
+
+    @Schema(description = "未关联任务的实际工时（不计入偏差）")
+    private BigDecimal unlinkedActualHours;
+
+    @Schema(description = "偏差：实际 - 预估")
+    private BigDecimal variance;
+
+    @Schema(description = "超支比例：实际 / 预估（预估为0时为空）")
+    private BigDecimal overrunRatio;
+
+    @Schema(description = "各迭代的偏差（按迭代ID升序，未关联迭代的在最前）")
+    private List<IterationVarianceResp> iterations;
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Integer getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(Integer taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public BigDecimal getEstimateHours() {
+        return estimateHours;
+    }
+
+    public void setEstimateHours(BigDecimal estimateHours) {
+        this.estimateHours = estimateHours;
+    }
+
+    public BigDecimal getActualHours() {
+        return actualHours;
+    }
+
+    public void setActualHours(BigDecimal actualHours) {
+        this.actualHours = actualHours;
+    }
+
+    public BigDecimal getUnlinkedActualHours() {
+        return unlinkedActualHours;
+    }
+
+    public void setUnlinkedActualHours(BigDecimal unlinkedActualHours) {
+        this.unlinkedActualHours = unlinkedActualHours;
+    }
+
+    public BigDecimal getVariance() {
+        return variance;
+    }
+
+    public void setVariance(BigDecimal variance) {
+        this.variance = variance;
+    }
+
+    public BigDecimal getOverrunRatio() {
+        return overrunRatio;
+    }
+
+    public void setOverrunRatio(BigDecimal overrunRatio) {
+        this.overrunRatio = overrunRatio;
+    }
+
+    public List<IterationVarianceResp> getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(List<IterationVarianceResp> iterations) {
+        this.iterations = iterations;
+    }
+}
@@ -0,0 +1,56 @@
+package com.gsms.gsms.dto.statistics;
+
+import com.gsms.gsms.dto.BasePageQuery;
+import com.gsms.gsms.model.enums.VarianceSortField;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 任务工时偏差查询请求
+ */
+@Schema(description = "任务工时偏差查询请求")
+public class TaskVarianceQueryReq extends BasePageQuery {
+
+    @Schema(description = "迭代ID（可选）", example = "1")
+    private Long iterationId;
+
+    @Schema(description = "是否只返回顶级任务", example = "false")
+    private Boolean rootOnly;
+
+    @Schema(description = "排序字段（默认VARIANCE）", example = "VARIANCE")
+    private VarianceSortField sortBy;
+
+    @Schema(description = "是否升序（默认降序，超支最多的在前）", example = "false")
+    private Boolean asc;
+
+    public Long getIterationId() {
+        return iterationId;
+    }
+
+    public void setIterationId(Long iterationId) {
+        this.iterationId = iterationId;
+    }
+
+    public boolean isRootOnly() {
+        return Boolean.TRUE.equals(rootOnly);
+    }
+
+    public void setRootOnly(Boolean rootOnly) {
+        this.rootOnly = rootOnly;
+    }
+
+    public VarianceSortField getSortBy() {
+        return sortBy != null ? sortBy : VarianceSortField.VARIANCE;
+    }
+
+    public void setSortBy(VarianceSortField sortBy) {
+        this.sortBy = sortBy;
+    }
+
+    public boolean isAsc() {
+        return Boolean.TRUE.equals(asc);
+    }
+
+    public void setAsc(Boolean asc) {
+        this.asc = asc;
+    }
+}
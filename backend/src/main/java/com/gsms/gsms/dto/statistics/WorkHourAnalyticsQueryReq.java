@@ -0,0 +1,106 @@
+package com.gsms.gsms.dto.statistics;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.gsms.gsms.model.enums.AnalyticsDimension;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 工时分析查询请求
+ */
+@Schema(description = "工时分析查询请求")
+public class WorkHourAnalyticsQueryReq {
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "开始日期（包含，为空表示不限）", example = "2024-01-01")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @DateTimeFormat(pattern = "yyyy-MM-dd")
+    @Schema(description = "结束日期（包含，为空表示不限）", example = "2024-12-31")
+    private LocalDate endDate;
+
+    @Schema(description = "项目ID过滤（为空表示当前用户可访问的全部项目）")
+    private List<Long> projectIds;
+
+    @Schema(description = "登记人ID过滤（为空表示不限）")
+    private List<Long> userIds;
+
+    @Schema(description = "登记人所在部门ID过滤（为空表示不限）")
+    private List<Long> departmentIds;
+
+    @NotEmpty(message = "分组维度不能为空")
+    @Size(max = 3, message = "分组维度最多3个")
+    @Schema(description = "分组维度（按顺序组合，最多3个）", example = "[\"PROJECT\", \"MONTH\"]")
+    private List<AnalyticsDimension> groupBy;
+
+    @Min(value = 1, message = "返回行数至少为1")
+    @Max(value = 10000, message = "返回行数最多为10000")
+    @Schema(description = "最多返回的分组数（按工时倒序，默认1000）", example = "1000")
+    private Integer limit;
+
+    // Getters and Setters
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public List<Long> getProjectIds() {
+        return projectIds;
+    }
+
+    public void setProjectIds(List<Long> projectIds) {
+        this.projectIds = projectIds;
+    }
+
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    public void setUserIds(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public List<Long> getDepartmentIds() {
+        return departmentIds;
+    }
+
+    public void setDepartmentIds(List<Long> departmentIds) {
+        this.departmentIds = departmentIds;
+    }
+
+    public List<AnalyticsDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<AnalyticsDimension> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public int getLimit() {
+        return limit != null ? limit : 1000;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+}
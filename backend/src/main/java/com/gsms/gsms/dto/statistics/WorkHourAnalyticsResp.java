@@ -0,0 +1,69 @@
+package com.gsms.gsms.dto.statistics;
+
+import com.gsms.gsms.model.enums.AnalyticsDimension;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 工时分析查询响应
+ */
+@Schema(description = "工时分析查询响应")
+public class WorkHourAnalyticsResp {
+
+    @Schema(description = "分组维度")
+    private List<AnalyticsDimension> groupBy;
+
+    @Schema(description = "符合条件的工时合计")
+    private BigDecimal totalHours;
+
+    @Schema(description = "符合条件的工时记录数")
+    private Long totalCount;
+
+    @Schema(description = "分组总数（返回的分组可能因 limit 截断）")
+    private Integer groupCount;
+
+    @Schema(description = "分组结果（按工时倒序）")
+    private List<WorkHourAnalyticsRowResp> rows;
+
+    public List<AnalyticsDimension> getGroupBy() {
+        return groupBy;
+    }
+
+    public void setGroupBy(List<AnalyticsDimension> groupBy) {
+        this.groupBy = groupBy;
+    }
+
+    public BigDecimal getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(BigDecimal totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public Long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Integer getGroupCount() {
+        return groupCount;
+    }
+
+    public void setGroupCount(Integer groupCount) {
+        this.groupCount = groupCount;
+    }
+
+    public List<WorkHourAnalyticsRowResp> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<WorkHourAnalyticsRowResp> rows) {
+        this.rows = rows;
+    }
+}
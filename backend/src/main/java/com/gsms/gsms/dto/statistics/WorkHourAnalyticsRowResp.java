@@ -0,0 +1,46 @@
+package com.gsms.gsms.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * 工时分析分组结果行
+ */
+@Schema(description = "工时分析分组结果行")
+public class WorkHourAnalyticsRowResp {
+
+    @Schema(description = "分组值，与 groupBy 一一对应（ID、枚举名或时间段第一天，缺失为 null）")
+    private List<Object> keys;
+
+    @Schema(description = "工时合计")
+    private BigDecimal hours;
+
+    @Schema(description = "工时记录数")
+    private Long count;
+
+    public List<Object> getKeys() {
+        return keys;
+    }
+
+    public void setKeys(List<Object> keys) {
+        this.keys = keys;
+    }
+
+    public BigDecimal getHours() {
+        return hours;
+    }
+
+    public void setHours(BigDecimal hours) {
+        this.hours = hours;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,55 @@
+package com.gsms.gsms.dto.statistics;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 工时趋势数据点
+ */
+@Schema(description = "工时趋势数据点")
+public class WorkHourTrendPointResp {
+
+    @Schema(description = "时间段第一天（按周为周一，按月为1号）")
+    private LocalDate date;
+
+    @Schema(description = "工时合计（没有工时为0）")
+    private BigDecimal hours;
+
+    @Schema(description = "工时记录数")
+    private Integer recordCount;
+
+    public WorkHourTrendPointResp() {
+    }
+
+    public WorkHourTrendPointResp(LocalDate date, BigDecimal hours, Integer recordCount) {
+        this.date = date;
+        this.hours = hours;
+        this.recordCount = recordCount;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getHours() {
+        return hours;
+    }
+
+    public void setHours(BigDecimal hours) {
+        this.hours = hours;
+    }
+
+    public Integer getRecordCount() {
+        return recordCount;
+    }
+
+    public void setRecordCount(Integer recordCount) {
+        this.recordCount = recordCount;
+    }
+}
@@ -0,0 +1,103 @@
+package com.gsms.gsms.dto.statistics;
+
+import com.gsms.gsms.model.enums.TrendGranularity;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 工时趋势统计响应
+ */
+@Schema(description = "工时趋势统计响应")
+public class WorkHourTrendResp {
+
+    @Schema(description = "项目ID（为空表示不限项目）")
+    private Long projectId;
+
+    @Schema(description = "用户ID（为空表示不限用户）")
+    private Long userId;
+
+    @Schema(description = "开始日期")
+    private LocalDate startDate;
+
+    @Schema(description = "结束日期")
+    private LocalDate endDate;
+
+    @Schema(description = "时间粒度")
+    private TrendGranularity granularity;
+
+    @Schema(description = "工时合计")
+    private BigDecimal totalHours;
+
+    @Schema(description = "工时记录数")
+    private Integer totalRecords;
+
+    @Schema(description = "趋势数据（连续的时间段，按日期升序，没有工时的时间段也返回）")
+    private List<WorkHourTrendPointResp> trendData;
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public TrendGranularity getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(TrendGranularity granularity) {
+        this.granularity = granularity;
+    }
+
+    public BigDecimal getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(BigDecimal totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public Integer getTotalRecords() {
+        return totalRecords;
+    }
+
+    public void setTotalRecords(Integer totalRecords) {
+        this.totalRecords = totalRecords;
+    }
+
+    public List<WorkHourTrendPointResp> getTrendData() {
+        return trendData;
+    }
+
+    public void setTrendData(List<WorkHourTrendPointResp> trendData) {
+        this.trendData = trendData;
+    }
+}
@@ -0,0 +1,57 @@
+package com.gsms.gsms.dto.workload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 负责人负载响应（每人每天一列的稠密矩阵）
+ */
+@Schema(description = "负责人负载响应")
+public class WorkloadResp {
+
+    @Schema(description = "开始日期（第一列）")
+    private LocalDate startDate;
+
+    @Schema(description = "结束日期（最后一列）")
+    private LocalDate endDate;
+
+    @Schema(description = "每天是否为工作日（与每人的数据列一一对应）")
+    private boolean[] workdays;
+
+    @Schema(description = "负责人负载（按负责人ID排序）")
+    private List<WorkloadUserResp> users;
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public boolean[] getWorkdays() {
+        return workdays;
+    }
+
+    public void setWorkdays(boolean[] workdays) {
+        this.workdays = workdays;
+    }
+
+    public List<WorkloadUserResp> getUsers() {
+        return users;
+    }
+
+    public void setUsers(List<WorkloadUserResp> users) {
+        this.users = users;
+    }
+}
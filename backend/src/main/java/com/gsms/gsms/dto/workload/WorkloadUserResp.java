@@ -0,0 +1,76 @@
+package com.gsms.gsms.dto.workload;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 单个负责人的每日负载
+ */
+@Schema(description = "负责人每日负载")
+public class WorkloadUserResp {
+
+    @Schema(description = "负责人ID")
+    private Long userId;
+
+    @Schema(description = "负责人姓名")
+    private String nickname;
+
+    @Schema(description = "每天进行中的任务数")
+    private int[] taskCounts;
+
+    @Schema(description = "每天分摊的预估工时（保留2位小数）")
+    private double[] hours;
+
+    @Schema(description = "统计范围内的预估工时合计")
+    private Double totalHours;
+
+    @Schema(description = "未设置计划日期的任务数（不计入每日数据）")
+    private Integer unscheduledTaskCount;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getNickname() {
+        return nickname;
+    }
+
+    public void setNickname(String nickname) {
+        this.nickname = nickname;
+    }
+
+    public int[] getTaskCounts() {
+        return taskCounts;
+    }
+
+    public void setTaskCounts(int[] taskCounts) {
+        this.taskCounts = taskCounts;
+    }
+
+    public double[] getHours() {
+        return hours;
+    }
+
+    public void setHours(double[] hours) {
+        this.hours = hours;
+    }
+
+    public Double getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(Double totalHours) {
+        this.totalHours = totalHours;
+    }
+
+    public Integer getUnscheduledTaskCount() {
+        return unscheduledTaskCount;
+    }
+
+    public void setUnscheduledTaskCount(Integer unscheduledTaskCount) {
+        this.unscheduledTaskCount = unscheduledTaskCount;
+    }
+}
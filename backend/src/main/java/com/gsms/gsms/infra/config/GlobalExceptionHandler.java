@@ -3,14 +3,19 @@ package com.gsms.gsms.infra.config;
 import com.gsms.gsms.infra.exception.CommonErrorCode;
 import com.gsms.gsms.infra.common.Result;
 import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.infra.exception.ServiceBusyException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
 
 import javax.servlet.http.HttpServletRequest;
 import java.util.stream.Collectors;
@@ -23,6 +28,9 @@ import java.util.stream.Collectors;
 public class GlobalExceptionHandler {
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    // 异步请求超时后建议客户端的重试间隔（秒）
+    private static final int ASYNC_TIMEOUT_RETRY_AFTER_SECONDS = 30;
+
     /**
      * 处理业务异常
      */
@@ -32,6 +40,29 @@ public class GlobalExceptionHandler {
         return Result.error(e.getCode(), e.getMessage());
     }
     
+    /**
+     * 处理服务繁忙异常：返回 HTTP 503，并通过 Retry-After 告知客户端多久后重试
+     */
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<Result<String>> handleServiceBusyException(HttpServletRequest request, ServiceBusyException e) {
+        logger.warn("请求地址：{}，服务繁忙：{}", request.getRequestURL(), e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(Result.error(e.getCode(), e.getMessage()));
+    }
+
+    /**
+     * 处理异步请求超时（统计报表执行时间超过 spring.mvc.async.request-timeout）
+     */
+    @ExceptionHandler(AsyncRequestTimeoutException.class)
+    public ResponseEntity<Result<String>> handleAsyncRequestTimeoutException(HttpServletRequest request,
+                                                                             AsyncRequestTimeoutException e) {
+        logger.warn("请求地址：{}，异步请求超时", request.getRequestURL());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ASYNC_TIMEOUT_RETRY_AFTER_SECONDS))
+                .body(Result.error(CommonErrorCode.SERVICE_UNAVAILABLE.getCode(), "请求处理超时，请稍后再试"));
+    }
+
     /**
      * 处理参数校验异常（@Valid）
      */
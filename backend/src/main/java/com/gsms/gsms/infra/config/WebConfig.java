@@ -1,10 +1,15 @@
 package com.gsms.gsms.infra.config;
 
 import com.gsms.gsms.infra.converter.StringToEnumConverterFactory;
+import com.gsms.gsms.service.statistics.StatisticsExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
 import org.springframework.web.filter.CharacterEncodingFilter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -65,6 +70,21 @@ public class WebConfig implements WebMvcConfigurer {
                 );
     }
 
+    /**
+     * 异步请求超时时取消统计报表任务，客户端已收到 503 的报表不再占用报表线程和数据库连接
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerDeferredResultInterceptors(new DeferredResultProcessingInterceptor() {
+            @Override
+            public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+                StatisticsExecutor.cancelRequestTask(request);
+                // 继续默认的超时处理（抛出 AsyncRequestTimeoutException，返回 503）
+                return true;
+            }
+        });
+    }
+
     /**
      * 添加自定义转换器，支持 String 到枚举的自动转换
      */
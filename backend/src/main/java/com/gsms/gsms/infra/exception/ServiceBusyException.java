@@ -0,0 +1,18 @@
+package com.gsms.gsms.infra.exception;
+
+/**
+ * 服务繁忙异常（线程池队列已满等），返回 HTTP 503 并通过 Retry-After 告知客户端多久后重试
+ */
+public class ServiceBusyException extends BusinessException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceBusyException(String message, int retryAfterSeconds) {
+        super(CommonErrorCode.SERVICE_UNAVAILABLE.getCode(), message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
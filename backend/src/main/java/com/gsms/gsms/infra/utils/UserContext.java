@@ -4,16 +4,25 @@ import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.servlet.http.HttpServletRequest;
+import java.util.function.Supplier;
 
 /**
  * 用户上下文工具类 - 获取当前登录用户信息
  */
 public class UserContext {
+
+    // 在线程池中执行时由提交线程传入的当前用户（请求对象不能跨线程使用，异步请求超时后可能已被回收）
+    private static final ThreadLocal<Long> DETACHED_USER_ID = new ThreadLocal<>();
+    private static final ThreadLocal<String> DETACHED_USERNAME = new ThreadLocal<>();
     
     /**
      * 获取当前登录用户ID
      */
     public static Long getCurrentUserId() {
+        Long detachedUserId = DETACHED_USER_ID.get();
+        if (detachedUserId != null) {
+            return detachedUserId;
+        }
         HttpServletRequest request = getRequest();
         if (request == null) {
             return null;
@@ -26,6 +35,9 @@ public class UserContext {
      * 获取当前登录用户名
      */
     public static String getCurrentUsername() {
+        if (DETACHED_USER_ID.get() != null) {
+            return DETACHED_USERNAME.get();
+        }
         HttpServletRequest request = getRequest();
         if (request == null) {
             return null;
@@ -34,6 +46,32 @@ public class UserContext {
         return username != null ? (String) username : null;
     }
     
+    /**
+     * 包装要在其他线程执行的任务：提交时取出当前用户，执行时在工作线程中可以照常获取
+     */
+    public static <T> Supplier<T> withCurrentUser(Supplier<T> task) {
+        Long userId = getCurrentUserId();
+        String username = getCurrentUsername();
+        return () -> {
+            Long previousUserId = DETACHED_USER_ID.get();
+            String previousUsername = DETACHED_USERNAME.get();
+            DETACHED_USER_ID.set(userId);
+            DETACHED_USERNAME.set(username);
+            try {
+                return task.get();
+            } finally {
+                // 线程池复用线程，执行完恢复原值（调用线程自己执行时也不影响原请求）
+                if (previousUserId != null) {
+                    DETACHED_USER_ID.set(previousUserId);
+                    DETACHED_USERNAME.set(previousUsername);
+                } else {
+                    DETACHED_USER_ID.remove();
+                    DETACHED_USERNAME.remove();
+                }
+            }
+        };
+    }
+    
     /**
      * 获取当前请求对象
      */
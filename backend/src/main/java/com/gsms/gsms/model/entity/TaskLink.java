@@ -0,0 +1,173 @@
+package com.gsms.gsms.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.gsms.gsms.model.enums.TaskLinkType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * 任务依赖关系实体类
+ */
+@Schema(description = "任务依赖关系")
+public class TaskLink {
+    /**
+     * 依赖关系ID
+     */
+    @Schema(description = "依赖关系ID")
+    private Long id;
+
+    /**
+     * 项目ID
+     */
+    @Schema(description = "项目ID")
+    private Long projectId;
+
+    /**
+     * 前置任务ID
+     */
+    @Schema(description = "前置任务ID")
+    private Long sourceTaskId;
+
+    /**
+     * 后续任务ID
+     */
+    @Schema(description = "后续任务ID")
+    private Long targetTaskId;
+
+    /**
+     * 依赖类型
+     */
+    @Schema(description = "依赖类型")
+    private TaskLinkType type;
+
+    /**
+     * 延迟（天，可为负数）
+     */
+    @Schema(description = "延迟（天，可为负数）")
+    private Integer lag;
+
+    /**
+     * 创建人ID
+     */
+    @Schema(description = "创建人ID")
+    private Long createUserId;
+
+    /**
+     * 更新人ID
+     */
+    @Schema(description = "更新人ID")
+    private Long updateUserId;
+
+    /**
+     * 创建时间
+     */
+    @Schema(description = "创建时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createTime;
+
+    /**
+     * 更新时间
+     */
+    @Schema(description = "更新时间")
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    @DateTimeFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime updateTime;
+
+    /**
+     * 是否删除 0:否 1:是
+     */
+    @Schema(description = "是否删除 0:否 1:是")
+    private Integer isDeleted;
+
+    // Getter和Setter方法
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getSourceTaskId() {
+        return sourceTaskId;
+    }
+
+    public void setSourceTaskId(Long sourceTaskId) {
+        this.sourceTaskId = sourceTaskId;
+    }
+
+    public Long getTargetTaskId() {
+        return targetTaskId;
+    }
+
+    public void setTargetTaskId(Long targetTaskId) {
+        this.targetTaskId = targetTaskId;
+    }
+
+    public TaskLinkType getType() {
+        return type;
+    }
+
+    public void setType(TaskLinkType type) {
+        this.type = type;
+    }
+
+    public Integer getLag() {
+        return lag;
+    }
+
+    public void setLag(Integer lag) {
+        this.lag = lag;
+    }
+
+    public Long getCreateUserId() {
+        return createUserId;
+    }
+
+    public void setCreateUserId(Long createUserId) {
+        this.createUserId = createUserId;
+    }
+
+    public Long getUpdateUserId() {
+        return updateUserId;
+    }
+
+    public void setUpdateUserId(Long updateUserId) {
+        this.updateUserId = updateUserId;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+
+    public LocalDateTime getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(LocalDateTime updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    public Integer getIsDeleted() {
+        return isDeleted;
+    }
+
+    public void setIsDeleted(Integer isDeleted) {
+        this.isDeleted = isDeleted;
+    }
+}
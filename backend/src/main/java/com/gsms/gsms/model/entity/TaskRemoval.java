@@ -0,0 +1,63 @@
+package com.gsms.gsms.model.entity;
+
+import java.time.LocalDateTime;
+
+/**
+ * 任务移出项目记录实体类
+ *
+ * 任务改到其他项目时为原项目记录一条，供原项目的甘特图增量同步返回删除墓碑
+ */
+public class TaskRemoval {
+
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 移出的项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 移出时间
+     */
+    private LocalDateTime createTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public LocalDateTime getCreateTime() {
+        return createTime;
+    }
+
+    public void setCreateTime(LocalDateTime createTime) {
+        this.createTime = createTime;
+    }
+}
@@ -0,0 +1,157 @@
+package com.gsms.gsms.model.entity;
+
+import com.gsms.gsms.model.enums.TaskStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * 任务状态历史实体类
+ *
+ * 任务新增、删除，以及状态、迭代、预估工时变化时记录一条，保存变化前后的值
+ */
+public class TaskStatusHistory {
+
+    /**
+     * 主键ID
+     */
+    private Long id;
+
+    /**
+     * 任务ID
+     */
+    private Long taskId;
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 变化前的迭代ID
+     */
+    private Long fromIterationId;
+
+    /**
+     * 变化后的迭代ID
+     */
+    private Long toIterationId;
+
+    /**
+     * 变化前的状态（为空表示新增任务）
+     */
+    private TaskStatus fromStatus;
+
+    /**
+     * 变化后的状态（为空表示删除任务）
+     */
+    private TaskStatus toStatus;
+
+    /**
+     * 变化前的预估工时
+     */
+    private BigDecimal fromEstimateHours;
+
+    /**
+     * 变化后的预估工时
+     */
+    private BigDecimal toEstimateHours;
+
+    /**
+     * 操作人ID
+     */
+    private Long changeUserId;
+
+    /**
+     * 变化时间
+     */
+    private LocalDateTime changeTime;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getFromIterationId() {
+        return fromIterationId;
+    }
+
+    public void setFromIterationId(Long fromIterationId) {
+        this.fromIterationId = fromIterationId;
+    }
+
+    public Long getToIterationId() {
+        return toIterationId;
+    }
+
+    public void setToIterationId(Long toIterationId) {
+        this.toIterationId = toIterationId;
+    }
+
+    public TaskStatus getFromStatus() {
+        return fromStatus;
+    }
+
+    public void setFromStatus(TaskStatus fromStatus) {
+        this.fromStatus = fromStatus;
+    }
+
+    public TaskStatus getToStatus() {
+        return toStatus;
+    }
+
+    public void setToStatus(TaskStatus toStatus) {
+        this.toStatus = toStatus;
+    }
+
+    public BigDecimal getFromEstimateHours() {
+        return fromEstimateHours;
+    }
+
+    public void setFromEstimateHours(BigDecimal fromEstimateHours) {
+        this.fromEstimateHours = fromEstimateHours;
+    }
+
+    public BigDecimal getToEstimateHours() {
+        return toEstimateHours;
+    }
+
+    public void setToEstimateHours(BigDecimal toEstimateHours) {
+        this.toEstimateHours = toEstimateHours;
+    }
+
+    public Long getChangeUserId() {
+        return changeUserId;
+    }
+
+    public void setChangeUserId(Long changeUserId) {
+        this.changeUserId = changeUserId;
+    }
+
+    public LocalDateTime getChangeTime() {
+        return changeTime;
+    }
+
+    public void setChangeTime(LocalDateTime changeTime) {
+        this.changeTime = changeTime;
+    }
+}
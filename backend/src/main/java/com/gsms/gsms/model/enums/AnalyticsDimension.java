@@ -0,0 +1,76 @@
+package com.gsms.gsms.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * 工时分析分组维度枚举
+ */
+public enum AnalyticsDimension {
+    PROJECT(1, "项目"),
+    USER(2, "登记人"),
+    DEPARTMENT(3, "登记人所在部门"),
+    TASK(4, "任务"),
+    TASK_TYPE(5, "任务类型"),
+    TASK_PRIORITY(6, "任务优先级"),
+    ASSIGNEE(7, "任务负责人"),
+    DAY(8, "日"),
+    WEEK(9, "周"),
+    MONTH(10, "月");
+
+    private final Integer code;
+    private final String desc;
+
+    AnalyticsDimension(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public String getName() {
+        return this.name();
+    }
+
+    /**
+     * 日期维度对应的时间粒度，非日期维度返回 null
+     */
+    public TrendGranularity getGranularity() {
+        switch (this) {
+            case DAY:
+                return TrendGranularity.DAY;
+            case WEEK:
+                return TrendGranularity.WEEK;
+            case MONTH:
+                return TrendGranularity.MONTH;
+            default:
+                return null;
+        }
+    }
+
+    @JsonValue  // Jackson 序列化为JSON时输出的值（枚举的 name）
+    @Override
+    public String toString() {
+        return this.name();
+    }
+
+    /**
+     * 根据 code 获取枚举
+     */
+    public static AnalyticsDimension fromCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        for (AnalyticsDimension dimension : AnalyticsDimension.values()) {
+            if (dimension.code.equals(code)) {
+                return dimension;
+            }
+        }
+        throw new IllegalArgumentException("无效的分析维度: " + code);
+    }
+}
@@ -0,0 +1,56 @@
+package com.gsms.gsms.model.enums;
+
+import com.baomidou.mybatisplus.annotation.EnumValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * 任务依赖类型枚举（与 dhtmlx-gantt 连线类型编码一致）
+ */
+public enum TaskLinkType {
+    FINISH_TO_START(0, "结束到开始"),
+    START_TO_START(1, "开始到开始"),
+    FINISH_TO_FINISH(2, "结束到结束"),
+    START_TO_FINISH(3, "开始到结束");
+
+    @EnumValue  // MyBatis-Plus 标记存储到数据库的值
+    private final Integer code;
+    private final String desc;
+
+    TaskLinkType(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public String getName() {
+        return this.name();
+    }
+
+    @JsonValue  // Jackson 序列化为JSON时输出的值（枚举的 name）
+    @Override
+    public String toString() {
+        return this.name();
+    }
+
+    /**
+     * 根据 code 获取枚举
+     */
+    public static TaskLinkType fromCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        for (TaskLinkType type : TaskLinkType.values()) {
+            if (type.code.equals(code)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("无效的任务依赖类型: " + code);
+    }
+}
@@ -0,0 +1,84 @@
+package com.gsms.gsms.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+
+/**
+ * 趋势统计时间粒度枚举
+ */
+public enum TrendGranularity {
+    DAY(1, "按天"),
+    WEEK(2, "按周（周一开始）"),
+    MONTH(3, "按月");
+
+    private final Integer code;
+    private final String desc;
+
+    TrendGranularity(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public String getName() {
+        return this.name();
+    }
+
+    /**
+     * 日期所在时间段的第一天
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        switch (this) {
+            case WEEK:
+                return date.with(DayOfWeek.MONDAY);
+            case MONTH:
+                return date.withDayOfMonth(1);
+            default:
+                return date;
+        }
+    }
+
+    /**
+     * 下一个时间段的第一天
+     */
+    public LocalDate next(LocalDate bucketStart) {
+        switch (this) {
+            case WEEK:
+                return bucketStart.plusWeeks(1);
+            case MONTH:
+                return bucketStart.plusMonths(1);
+            default:
+                return bucketStart.plusDays(1);
+        }
+    }
+
+    @JsonValue  // Jackson 序列化为JSON时输出的值（枚举的 name）
+    @Override
+    public String toString() {
+        return this.name();
+    }
+
+    /**
+     * 根据 code 获取枚举
+     */
+    public static TrendGranularity fromCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        for (TrendGranularity granularity : TrendGranularity.values()) {
+            if (granularity.code.equals(code)) {
+                return granularity;
+            }
+        }
+        throw new IllegalArgumentException("无效的趋势统计粒度: " + code);
+    }
+}
@@ -0,0 +1,54 @@
+package com.gsms.gsms.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * 工时偏差报表排序字段枚举
+ */
+public enum VarianceSortField {
+    VARIANCE(1, "偏差（实际 - 预估）"),
+    OVERRUN_RATIO(2, "超支比例（实际 / 预估）"),
+    ACTUAL_HOURS(3, "实际工时"),
+    ESTIMATE_HOURS(4, "预估工时");
+
+    private final Integer code;
+    private final String desc;
+
+    VarianceSortField(Integer code, String desc) {
+        this.code = code;
+        this.desc = desc;
+    }
+
+    public Integer getCode() {
+        return code;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public String getName() {
+        return this.name();
+    }
+
+    @JsonValue  // Jackson 序列化为JSON时输出的值（枚举的 name）
+    @Override
+    public String toString() {
+        return this.name();
+    }
+
+    /**
+     * 根据 code 获取枚举
+     */
+    public static VarianceSortField fromCode(Integer code) {
+        if (code == null) {
+            return null;
+        }
+        for (VarianceSortField field : VarianceSortField.values()) {
+            if (field.code.equals(code)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("无效的排序字段: " + code);
+    }
+}
@@ -5,7 +5,7 @@ import com.gsms.gsms.infra.exception.ErrorCode;
 /**
  * 任务模块错误码枚举 4xxx
  * HTTP状态码建议：
- * - 4001-4006: 业务验证错误，建议HTTP 400
+ * - 4001-4010: 业务验证错误，建议HTTP 400
  * - 4901-4903: 操作失败，建议HTTP 500
  */
 public enum TaskErrorCode implements ErrorCode {
@@ -17,6 +17,10 @@ public enum TaskErrorCode implements ErrorCode {
     TASK_STATUS_INVALID(4004, "任务状态无效"),
     TASK_PRIORITY_INVALID(4005, "任务优先级无效"),
     TASK_PROJECT_INVALID(4006, "任务所属项目无效"),
+    TASK_LINK_NOT_FOUND(4007, "任务依赖关系不存在"),
+    TASK_LINK_INVALID(4008, "任务依赖关系无效"),
+    TASK_LINK_DUPLICATE(4009, "任务依赖关系已存在"),
+    TASK_LINK_CYCLE(4010, "任务依赖关系形成循环"),
     
     // ========== 操作失败（建议HTTP 500） ==========
     TASK_CREATE_FAILED(4901, "任务创建失败"),
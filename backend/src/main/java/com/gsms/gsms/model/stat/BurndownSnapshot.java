@@ -0,0 +1,123 @@
+package com.gsms.gsms.model.stat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 迭代燃尽快照，也用于表示一段时间内任务状态历史汇总出的差值
+ */
+public class BurndownSnapshot {
+
+    /**
+     * 迭代ID
+     */
+    private Long iterationId;
+
+    /**
+     * 快照日期（按天汇总的差值为空）
+     */
+    private LocalDate snapshotDate;
+
+    /**
+     * 任务总数
+     */
+    private Integer totalCount;
+
+    /**
+     * 已完成任务数
+     */
+    private Integer doneCount;
+
+    /**
+     * 预估工时合计
+     */
+    private BigDecimal totalEstimateHours;
+
+    /**
+     * 未完成任务的预估工时合计
+     */
+    private BigDecimal remainingEstimateHours;
+
+    public Long getIterationId() {
+        return iterationId;
+    }
+
+    public void setIterationId(Long iterationId) {
+        this.iterationId = iterationId;
+    }
+
+    public LocalDate getSnapshotDate() {
+        return snapshotDate;
+    }
+
+    public void setSnapshotDate(LocalDate snapshotDate) {
+        this.snapshotDate = snapshotDate;
+    }
+
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(Integer totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public Integer getDoneCount() {
+        return doneCount;
+    }
+
+    public void setDoneCount(Integer doneCount) {
+        this.doneCount = doneCount;
+    }
+
+    public BigDecimal getTotalEstimateHours() {
+        return totalEstimateHours;
+    }
+
+    public void setTotalEstimateHours(BigDecimal totalEstimateHours) {
+        this.totalEstimateHours = totalEstimateHours;
+    }
+
+    public BigDecimal getRemainingEstimateHours() {
+        return remainingEstimateHours;
+    }
+
+    public void setRemainingEstimateHours(BigDecimal remainingEstimateHours) {
+        this.remainingEstimateHours = remainingEstimateHours;
+    }
+
+    /**
+     * 空快照（迭代没有任务）
+     */
+    public static BurndownSnapshot empty(Long iterationId) {
+        BurndownSnapshot snapshot = new BurndownSnapshot();
+        snapshot.setIterationId(iterationId);
+        snapshot.setTotalCount(0);
+        snapshot.setDoneCount(0);
+        snapshot.setTotalEstimateHours(BigDecimal.ZERO);
+        snapshot.setRemainingEstimateHours(BigDecimal.ZERO);
+        return snapshot;
+    }
+
+    /**
+     * 累加差值，返回新的快照（差值为空时返回副本）
+     */
+    public BurndownSnapshot plus(BurndownSnapshot delta) {
+        BurndownSnapshot result = empty(iterationId);
+        result.setTotalCount(intOf(totalCount) + (delta != null ? intOf(delta.totalCount) : 0));
+        result.setDoneCount(intOf(doneCount) + (delta != null ? intOf(delta.doneCount) : 0));
+        result.setTotalEstimateHours(hoursOf(totalEstimateHours)
+                .add(delta != null ? hoursOf(delta.totalEstimateHours) : BigDecimal.ZERO));
+        result.setRemainingEstimateHours(hoursOf(remainingEstimateHours)
+                .add(delta != null ? hoursOf(delta.remainingEstimateHours) : BigDecimal.ZERO));
+        return result;
+    }
+
+    private static int intOf(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static BigDecimal hoursOf(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+}
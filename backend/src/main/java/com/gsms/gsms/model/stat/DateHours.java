@@ -0,0 +1,49 @@
+package com.gsms.gsms.model.stat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 按日期分组的工时汇总结果
+ */
+public class DateHours {
+
+    /**
+     * 日期
+     */
+    private LocalDate date;
+
+    /**
+     * 工时合计
+     */
+    private BigDecimal hours;
+
+    /**
+     * 记录数
+     */
+    private Integer count;
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getHours() {
+        return hours;
+    }
+
+    public void setHours(BigDecimal hours) {
+        this.hours = hours;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
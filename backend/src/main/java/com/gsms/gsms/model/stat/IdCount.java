@@ -0,0 +1,33 @@
+package com.gsms.gsms.model.stat;
+
+/**
+ * 分组计数结果（按某个ID分组的 COUNT）
+ */
+public class IdCount {
+
+    /**
+     * 分组ID（可能为 null，表示该列为空的分组）
+     */
+    private Long id;
+
+    /**
+     * 数量
+     */
+    private Integer count;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
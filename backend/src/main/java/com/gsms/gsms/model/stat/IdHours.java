@@ -0,0 +1,48 @@
+package com.gsms.gsms.model.stat;
+
+import java.math.BigDecimal;
+
+/**
+ * 分组工时汇总结果（按某个ID分组的 SUM(hours) 和 COUNT）
+ */
+public class IdHours {
+
+    /**
+     * 分组ID
+     */
+    private Long id;
+
+    /**
+     * 工时合计
+     */
+    private BigDecimal hours;
+
+    /**
+     * 记录数
+     */
+    private Integer count;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getHours() {
+        return hours;
+    }
+
+    public void setHours(BigDecimal hours) {
+        this.hours = hours;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,74 @@
+package com.gsms.gsms.model.stat;
+
+import java.time.LocalDate;
+
+/**
+ * 项目任务汇总（按项目分组的任务数和计划时间范围）
+ */
+public class ProjectTaskSummary {
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 任务数
+     */
+    private Integer taskCount;
+
+    /**
+     * 不属于任何迭代的顶级任务数
+     */
+    private Integer topLevelCount;
+
+    /**
+     * 最早计划开始日期
+     */
+    private LocalDate planStartDate;
+
+    /**
+     * 最晚计划结束日期
+     */
+    private LocalDate planEndDate;
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Integer getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(Integer taskCount) {
+        this.taskCount = taskCount;
+    }
+
+    public Integer getTopLevelCount() {
+        return topLevelCount;
+    }
+
+    public void setTopLevelCount(Integer topLevelCount) {
+        this.topLevelCount = topLevelCount;
+    }
+
+    public LocalDate getPlanStartDate() {
+        return planStartDate;
+    }
+
+    public void setPlanStartDate(LocalDate planStartDate) {
+        this.planStartDate = planStartDate;
+    }
+
+    public LocalDate getPlanEndDate() {
+        return planEndDate;
+    }
+
+    public void setPlanEndDate(LocalDate planEndDate) {
+        this.planEndDate = planEndDate;
+    }
+}
@@ -0,0 +1,62 @@
+package com.gsms.gsms.model.stat;
+
+import com.gsms.gsms.model.enums.TaskPriority;
+import com.gsms.gsms.model.enums.TaskType;
+
+/**
+ * 工时分析使用的任务维度属性
+ */
+public class TaskDimension {
+
+    /**
+     * 任务ID
+     */
+    private Long id;
+
+    /**
+     * 任务类型
+     */
+    private TaskType type;
+
+    /**
+     * 任务优先级
+     */
+    private TaskPriority priority;
+
+    /**
+     * 负责人ID
+     */
+    private Long assigneeId;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public TaskType getType() {
+        return type;
+    }
+
+    public void setType(TaskType type) {
+        this.type = type;
+    }
+
+    public TaskPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(TaskPriority priority) {
+        this.priority = priority;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+}
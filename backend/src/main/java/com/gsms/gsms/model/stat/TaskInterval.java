@@ -0,0 +1,62 @@
+package com.gsms.gsms.model.stat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 任务计划区间（负责人负载统计使用，只包含负责人、计划日期和预估工时）
+ */
+public class TaskInterval {
+
+    /**
+     * 负责人ID
+     */
+    private Long assigneeId;
+
+    /**
+     * 计划开始日期
+     */
+    private LocalDate planStartDate;
+
+    /**
+     * 计划结束日期
+     */
+    private LocalDate planEndDate;
+
+    /**
+     * 预估工时
+     */
+    private BigDecimal estimateHours;
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public LocalDate getPlanStartDate() {
+        return planStartDate;
+    }
+
+    public void setPlanStartDate(LocalDate planStartDate) {
+        this.planStartDate = planStartDate;
+    }
+
+    public LocalDate getPlanEndDate() {
+        return planEndDate;
+    }
+
+    public void setPlanEndDate(LocalDate planEndDate) {
+        this.planEndDate = planEndDate;
+    }
+
+    public BigDecimal getEstimateHours() {
+        return estimateHours;
+    }
+
+    public void setEstimateHours(BigDecimal estimateHours) {
+        this.estimateHours = estimateHours;
+    }
+}
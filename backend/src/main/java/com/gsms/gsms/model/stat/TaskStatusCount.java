@@ -0,0 +1,72 @@
+package com.gsms.gsms.model.stat;
+
+/**
+ * 按状态分组的任务数（可再按迭代、负责人分组）
+ */
+public class TaskStatusCount {
+
+    /**
+     * 项目ID
+     */
+    private Long projectId;
+
+    /**
+     * 迭代ID（未按迭代分组或任务未关联迭代时为 null）
+     */
+    private Long iterationId;
+
+    /**
+     * 负责人ID（未按负责人分组或任务未指定负责人时为 null）
+     */
+    private Long assigneeId;
+
+    /**
+     * 任务状态编码
+     */
+    private Integer status;
+
+    /**
+     * 任务数
+     */
+    private Integer count;
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getIterationId() {
+        return iterationId;
+    }
+
+    public void setIterationId(Long iterationId) {
+        this.iterationId = iterationId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public Integer getStatus() {
+        return status;
+    }
+
+    public void setStatus(Integer status) {
+        this.status = status;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
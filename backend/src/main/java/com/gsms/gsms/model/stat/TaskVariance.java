@@ -0,0 +1,156 @@
+package com.gsms.gsms.model.stat;
+
+import com.gsms.gsms.model.enums.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * 任务工时偏差（预估 vs 实际，包含沿 parent_id 汇总的子树合计）
+ */
+@Schema(description = "任务工时偏差")
+public class TaskVariance {
+
+    @Schema(description = "任务ID")
+    private Long taskId;
+
+    @Schema(description = "父任务ID")
+    private Long parentId;
+
+    @Schema(description = "迭代ID")
+    private Long iterationId;
+
+    @Schema(description = "任务标题")
+    private String title;
+
+    @Schema(description = "任务状态")
+    private TaskStatus status;
+
+    @Schema(description = "负责人ID")
+    private Long assigneeId;
+
+    @Schema(description = "任务自身的预估工时")
+    private BigDecimal estimateHours;
+
+    @Schema(description = "直接登记在任务上的实际工时")
+    private BigDecimal actualHours;
+
+    @Schema(description = "子树（任务自身及全部下级任务）预估工时合计")
+    private BigDecimal rolledEstimateHours;
+
+    @Schema(description = "子树（任务自身及全部下级任务）实际工时合计")
+    private BigDecimal rolledActualHours;
+
+    @Schema(description = "下级任务数（全部层级）")
+    private Integer descendantCount;
+
+    @Schema(description = "偏差：子树实际 - 子树预估（正数表示超支）")
+    private BigDecimal variance;
+
+    @Schema(description = "超支比例：子树实际 / 子树预估（预估为0时为空）")
+    private BigDecimal overrunRatio;
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public Long getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(Long parentId) {
+        this.parentId = parentId;
+    }
+
+    public Long getIterationId() {
+        return iterationId;
+    }
+
+    public void setIterationId(Long iterationId) {
+        this.iterationId = iterationId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public BigDecimal getEstimateHours() {
+        return estimateHours;
+    }
+
+    public void setEstimateHours(BigDecimal estimateHours) {
+        this.estimateHours = estimateHours;
+    }
+
+    public BigDecimal getActualHours() {
+        return actualHours;
+    }
+
+    public void setActualHours(BigDecimal actualHours) {
+        this.actualHours = actualHours;
+    }
+
+    public BigDecimal getRolledEstimateHours() {
+        return rolledEstimateHours;
+    }
+
+    public void setRolledEstimateHours(BigDecimal rolledEstimateHours) {
+        this.rolledEstimateHours = rolledEstimateHours;
+    }
+
+    public BigDecimal getRolledActualHours() {
+        return rolledActualHours;
+    }
+
+    public void setRolledActualHours(BigDecimal rolledActualHours) {
+        this.rolledActualHours = rolledActualHours;
+    }
+
+    public Integer getDescendantCount() {
+        return descendantCount;
+    }
+
+    public void setDescendantCount(Integer descendantCount) {
+        this.descendantCount = descendantCount;
+    }
+
+    public BigDecimal getVariance() {
+        return variance;
+    }
+
+    public void setVariance(BigDecimal variance) {
+        this.variance = variance;
+    }
+
+    public BigDecimal getOverrunRatio() {
+        return overrunRatio;
+    }
+
+    public void setOverrunRatio(BigDecimal overrunRatio) {
+        this.overrunRatio = overrunRatio;
+    }
+}
@@ -0,0 +1,33 @@
+package com.gsms.gsms.model.stat;
+
+/**
+ * 用户所属部门
+ */
+public class UserDepartment {
+
+    /**
+     * 用户ID
+     */
+    private Long userId;
+
+    /**
+     * 部门ID（未分配部门为 null）
+     */
+    private Long departmentId;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public Long getDepartmentId() {
+        return departmentId;
+    }
+
+    public void setDepartmentId(Long departmentId) {
+        this.departmentId = departmentId;
+    }
+}
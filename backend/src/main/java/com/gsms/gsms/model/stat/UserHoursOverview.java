@@ -0,0 +1,61 @@
+package com.gsms.gsms.model.stat;
+
+import java.math.BigDecimal;
+
+/**
+ * 用户工时概览（今日、本周、本月、累计）
+ */
+public class UserHoursOverview {
+
+    /**
+     * 今日工时
+     */
+    private BigDecimal todayHours;
+
+    /**
+     * 本周工时
+     */
+    private BigDecimal weekHours;
+
+    /**
+     * 本月工时
+     */
+    private BigDecimal monthHours;
+
+    /**
+     * 累计工时
+     */
+    private BigDecimal totalHours;
+
+    public BigDecimal getTodayHours() {
+        return todayHours;
+    }
+
+    public void setTodayHours(BigDecimal todayHours) {
+        this.todayHours = todayHours;
+    }
+
+    public BigDecimal getWeekHours() {
+        return weekHours;
+    }
+
+    public void setWeekHours(BigDecimal weekHours) {
+        this.weekHours = weekHours;
+    }
+
+    public BigDecimal getMonthHours() {
+        return monthHours;
+    }
+
+    public void setMonthHours(BigDecimal monthHours) {
+        this.monthHours = monthHours;
+    }
+
+    public BigDecimal getTotalHours() {
+        return totalHours;
+    }
+
+    public void setTotalHours(BigDecimal totalHours) {
+        this.totalHours = totalHours;
+    }
+}
@@ -0,0 +1,61 @@
+package com.gsms.gsms.model.stat;
+
+import java.math.BigDecimal;
+
+/**
+ * 分组的预估、实际工时合计
+ */
+public class VarianceSum {
+
+    /**
+     * 分组ID
+     */
+    private Long id;
+
+    /**
+     * 预估工时合计
+     */
+    private BigDecimal estimateHours;
+
+    /**
+     * 实际工时合计
+     */
+    private BigDecimal actualHours;
+
+    /**
+     * 任务数
+     */
+    private Integer count;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getEstimateHours() {
+        return estimateHours;
+    }
+
+    public void setEstimateHours(BigDecimal estimateHours) {
+        this.estimateHours = estimateHours;
+    }
+
+    public BigDecimal getActualHours() {
+        return actualHours;
+    }
+
+    public void setActualHours(BigDecimal actualHours) {
+        this.actualHours = actualHours;
+    }
+
+    public Integer getCount() {
+        return count;
+    }
+
+    public void setCount(Integer count) {
+        this.count = count;
+    }
+}
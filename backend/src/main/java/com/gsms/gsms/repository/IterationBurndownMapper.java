@@ -0,0 +1,46 @@
+package com.gsms.gsms.repository;
+
+import com.gsms.gsms.model.stat.BurndownSnapshot;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 迭代燃尽快照Mapper接口
+ */
+@Mapper
+public interface IterationBurndownMapper {
+
+    /**
+     * 查询指定日期的快照
+     *
+     * @param snapshotDate 快照日期
+     * @param iterationIds 迭代ID集合（不能为空）
+     */
+    List<BurndownSnapshot> selectByDate(@Param("snapshotDate") LocalDate snapshotDate,
+                                        @Param("iterationIds") Collection<Long> iterationIds);
+
+    /**
+     * 查询迭代在日期范围内的快照，按日期升序
+     *
+     * @param iterationId 迭代ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     */
+    List<BurndownSnapshot> selectByIteration(@Param("iterationId") Long iterationId,
+                                             @Param("startDate") LocalDate startDate,
+                                             @Param("endDate") LocalDate endDate);
+
+    /**
+     * 查询最近的快照日期，没有快照返回 null
+     */
+    LocalDate selectLatestDate();
+
+    /**
+     * 批量写入快照，已存在时覆盖
+     */
+    int upsertBatch(@Param("snapshots") List<BurndownSnapshot> snapshots);
+}
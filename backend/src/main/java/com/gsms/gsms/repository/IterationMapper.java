@@ -3,9 +3,13 @@ package com.gsms.gsms.repository;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gsms.gsms.model.entity.Iteration;
 import com.gsms.gsms.model.enums.IterationStatus;
+import com.gsms.gsms.model.stat.IdCount;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -14,8 +18,38 @@ public interface IterationMapper extends BaseMapper<Iteration> {
 
     List<Iteration> selectByProjectId(@Param("projectId") Long projectId);
 
+    /**
+     * 根据项目ID集合查询迭代（按项目分组，组内顺序与 selectByProjectId 一致）
+     */
+    List<Iteration> selectByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * 按项目统计迭代数
+     */
+    List<IdCount> countGroupByProject(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * 查询项目内更新时间不早于水位的迭代（包含逻辑删除的记录，按更新时间升序）
+     */
+    List<Iteration> selectChangedSince(@Param("projectId") Long projectId,
+                                       @Param("since") LocalDateTime since,
+                                       @Param("limit") int limit);
+
+    /**
+     * 查询计划时间与窗口重叠的迭代，includeIds 中的迭代无论时间是否重叠都会返回
+     */
+    List<Iteration> selectByProjectIdInDateRange(@Param("projectId") Long projectId,
+                                                 @Param("startDate") LocalDate startDate,
+                                                 @Param("endDate") LocalDate endDate,
+                                                 @Param("includeIds") Collection<Long> includeIds);
+
     List<Iteration> selectByCondition(@Param("projectId") Long projectId, @Param("status") IterationStatus status);
 
+    /**
+     * 查询在指定日期需要生成燃尽快照的迭代ID：已开始（或计划开始日期已到）且当天未结束
+     */
+    List<Long> selectIdsActiveOn(@Param("day") LocalDate day);
+
     int insert(Iteration iteration);
 
     int update(Iteration iteration);
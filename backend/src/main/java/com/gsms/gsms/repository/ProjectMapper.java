@@ -5,6 +5,7 @@ import com.gsms.gsms.model.entity.Project;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -19,12 +20,34 @@ public interface ProjectMapper extends BaseMapper<Project> {
      */
     Project selectById(@Param("id") Long id);
 
+    /**
+     * 锁定项目行（SELECT ... FOR UPDATE），用于串行化同一项目内需要先检查后写入的操作，须在事务中调用
+     * @param id 项目ID
+     * @return 项目ID，项目不存在时返回 null
+     */
+    Long lockById(@Param("id") Long id);
+
     /**
      * 查询所有项目
      * @return 项目列表
      */
     List<Project> selectAll();
 
+    /**
+     * 根据ID集合查询项目
+     * @param ids 项目ID集合（不能为空）
+     * @return 项目列表
+     */
+    List<Project> selectByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 查询最近更新的项目（按更新时间降序）
+     * @param ids 项目ID范围（为空时不限制）
+     * @param limit 最大条数
+     * @return 项目列表
+     */
+    List<Project> selectRecentlyUpdated(@Param("ids") Collection<Long> ids, @Param("limit") int limit);
+
     /**
      * 查询用户可访问的项目列表（基于项目成员表）
      * @param userId 用户ID
@@ -32,6 +55,21 @@ public interface ProjectMapper extends BaseMapper<Project> {
      */
     List<Project> selectAccessibleProjects(@Param("userId") Long userId);
 
+    /**
+     * 统计用户可访问的项目数（基于项目成员表）
+     * @param userId 用户ID
+     * @return 项目数
+     */
+    int countAccessibleProjects(@Param("userId") Long userId);
+
+    /**
+     * 查询用户可访问的最新项目（基于项目成员表，按创建时间降序）
+     * @param userId 用户ID
+     * @param limit 最大条数
+     * @return 项目列表
+     */
+    List<Project> selectLatestAccessibleProjects(@Param("userId") Long userId, @Param("limit") int limit);
+
     /**
      * 根据条件查询项目
      * @param project 查询条件（项目名称、状态等）
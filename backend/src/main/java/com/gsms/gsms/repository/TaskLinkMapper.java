@@ -0,0 +1,77 @@
+package com.gsms.gsms.repository;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.gsms.gsms.model.entity.TaskLink;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 任务依赖关系Mapper接口
+ */
+@Mapper
+public interface TaskLinkMapper extends BaseMapper<TaskLink> {
+    /**
+     * 根据ID查询依赖关系
+     * @param id 依赖关系ID
+     * @return 依赖关系实体
+     */
+    TaskLink selectById(@Param("id") Long id);
+
+    /**
+     * 根据项目ID查询依赖关系
+     * @param projectId 项目ID
+     * @return 依赖关系列表
+     */
+    List<TaskLink> selectByProjectId(@Param("projectId") Long projectId);
+
+    /**
+     * 根据项目ID集合查询依赖关系
+     * @param projectIds 项目ID集合（不能为空）
+     * @return 依赖关系列表
+     */
+    List<TaskLink> selectByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * 查询项目内更新时间不早于水位的依赖关系（包含逻辑删除的记录，用于增量同步）
+     * @param projectId 项目ID
+     * @param since 水位（包含）
+     * @param limit 最多返回条数
+     * @return 按更新时间升序的依赖关系列表
+     */
+    List<TaskLink> selectChangedSince(@Param("projectId") Long projectId,
+                                      @Param("since") LocalDateTime since,
+                                      @Param("limit") int limit);
+
+    /**
+     * 统计两个任务之间（同方向）的依赖关系数
+     * @param sourceTaskId 前置任务ID
+     * @param targetTaskId 后续任务ID
+     * @return 依赖关系数
+     */
+    int countBySourceAndTarget(@Param("sourceTaskId") Long sourceTaskId, @Param("targetTaskId") Long targetTaskId);
+
+    /**
+     * 插入依赖关系
+     * @param taskLink 依赖关系实体
+     * @return 影响行数
+     */
+    int insert(TaskLink taskLink);
+
+    /**
+     * 根据ID逻辑删除依赖关系
+     * @param id 依赖关系ID
+     * @return 影响行数
+     */
+    int deleteById(@Param("id") Long id);
+
+    /**
+     * 逻辑删除任务相关的全部依赖关系（任务作为前置或后续）
+     * @param taskId 任务ID
+     * @return 影响行数
+     */
+    int deleteByTaskId(@Param("taskId") Long taskId);
+}
@@ -2,9 +2,20 @@ package com.gsms.gsms.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.enums.VarianceSortField;
+import com.gsms.gsms.model.stat.IdCount;
+import com.gsms.gsms.model.stat.ProjectTaskSummary;
+import com.gsms.gsms.model.stat.TaskDimension;
+import com.gsms.gsms.model.stat.TaskInterval;
+import com.gsms.gsms.model.stat.TaskStatusCount;
+import com.gsms.gsms.model.stat.TaskVariance;
+import com.gsms.gsms.model.stat.VarianceSum;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -34,6 +45,100 @@ public interface TaskMapper extends BaseMapper<Task> {
      */
     List<Task> selectByProjectId(@Param("projectId") Long projectId);
 
+    /**
+     * 根据项目ID集合查询任务（按项目分组，组内顺序与 selectByProjectId 一致）
+     * @param projectIds 项目ID集合（不能为空）
+     * @return 任务列表
+     */
+    List<Task> selectByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * 按项目汇总任务数、无迭代顶级任务数和计划时间范围
+     * @param projectIds 项目ID集合（不能为空）
+     * @return 项目任务汇总
+     */
+    List<ProjectTaskSummary> selectSummaryGroupByProject(@Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * 查询项目内更新时间不早于水位的任务（包含逻辑删除的记录，用于增量同步）
+     * @param projectId 项目ID
+     * @param since 水位（包含）
+     * @param limit 最多返回条数
+     * @return 按更新时间升序的任务列表
+     */
+    List<Task> selectChangedSince(@Param("projectId") Long projectId,
+                                  @Param("since") LocalDateTime since,
+                                  @Param("limit") int limit);
+
+    /**
+     * 查询数据库当前时间（增量同步水位以数据库时间为准）
+     * @return 数据库当前时间
+     */
+    LocalDateTime selectDatabaseTime();
+
+    /**
+     * 查询负责人在时间范围内的叶子任务计划区间（父任务的工作量由子任务体现，不重复统计）
+     * @param assigneeIds 负责人ID集合（为 null 表示不限，不能为空集合）
+     * @param projectIds 项目ID集合（为 null 表示不限，不能为空集合）
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param includeDone 是否包含已完成任务
+     * @return 任务计划区间（包含未设置计划日期的任务）
+     */
+    List<TaskInterval> selectWorkloadIntervals(@Param("assigneeIds") Collection<Long> assigneeIds,
+                                               @Param("projectIds") Collection<Long> projectIds,
+                                               @Param("startDate") LocalDate startDate,
+                                               @Param("endDate") LocalDate endDate,
+                                               @Param("includeDone") boolean includeDone);
+
+    /**
+     * 根据项目ID查询计划时间与窗口重叠的任务（含匹配任务的全部祖先任务）
+     * 重叠条件：plan_start_date <= endDate AND plan_end_date >= startDate，窗口边界为 null 时该侧不限
+     * @param projectId 项目ID
+     * @param startDate 窗口开始日期
+     * @param endDate 窗口结束日期
+     * @return 任务列表
+     */
+    List<Task> selectByProjectIdInDateRange(@Param("projectId") Long projectId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    /**
+     * 一次查询任务及其全部祖先任务（递归 CTE，遇到脏数据形成的环也会终止）
+     * @param id 任务ID
+     * @return 任务自身及祖先任务（无序）
+     */
+    List<Task> selectAncestorChain(@Param("id") Long id);
+
+    /**
+     * 查询迭代下的顶级任务
+     * @param projectId 项目ID
+     * @param iterationId 迭代ID（为 null 时查询不属于任何迭代的顶级任务）
+     * @return 任务列表
+     */
+    List<Task> selectTopLevelByIteration(@Param("projectId") Long projectId, @Param("iterationId") Long iterationId);
+
+    /**
+     * 根据父任务ID查询直接子任务
+     * @param parentId 父任务ID
+     * @return 子任务列表
+     */
+    List<Task> selectByParentId(@Param("parentId") Long parentId);
+
+    /**
+     * 按迭代统计项目的顶级任务数
+     * @param projectId 项目ID
+     * @return 迭代ID（为 null 表示不属于迭代）及顶级任务数
+     */
+    List<IdCount> countTopLevelGroupByIteration(@Param("projectId") Long projectId);
+
+    /**
+     * 按父任务统计直接子任务数
+     * @param parentIds 父任务ID集合（不能为空）
+     * @return 父任务ID及子任务数
+     */
+    List<IdCount> countChildrenGroupByParent(@Param("parentIds") Collection<Long> parentIds);
+
     /**
      * 根据条件查询任务
      * @param projectId 项目 ID
@@ -53,6 +158,75 @@ public interface TaskMapper extends BaseMapper<Task> {
      */
     List<Task> selectAccessibleTasksByCondition(@Param("userId") Long userId, @Param("projectId") Long projectId, @Param("assigneeId") Long assigneeId, @Param("status") Integer status);
 
+    /**
+     * 统计用户负责的待办任务数（待处理、进行中，只统计用户所在项目）
+     * @param userId 用户ID
+     * @return 待办任务数
+     */
+    int countPendingAssignedTasks(@Param("userId") Long userId);
+
+    /**
+     * 查询用户负责的最新待办任务（待处理、进行中，只查询用户所在项目，按ID降序）
+     * @param userId 用户ID
+     * @param limit 最大条数
+     * @return 任务列表
+     */
+    List<Task> selectPendingAssignedTasks(@Param("userId") Long userId, @Param("limit") int limit);
+
+    /**
+     * 按项目、状态分组统计任务数，可再按迭代、负责人分组
+     * @param projectIds 项目ID集合（不能为空）
+     * @param groupByIteration 是否按迭代分组
+     * @param groupByAssignee 是否按负责人分组
+     * @return 各分组的任务数（没有任务的分组不返回）
+     */
+    List<TaskStatusCount> countGroupByStatus(@Param("projectIds") Collection<Long> projectIds,
+                                             @Param("groupByIteration") boolean groupByIteration,
+                                             @Param("groupByAssignee") boolean groupByAssignee);
+
+    /**
+     * 分页查询项目内任务的工时偏差（预估、实际工时沿 parent_id 汇总到每个任务的子树）
+     * @param projectId 项目ID
+     * @param iterationId 迭代ID（可选）
+     * @param rootOnly 是否只返回顶级任务
+     * @param sortBy 排序字段（VARIANCE/OVERRUN_RATIO/ACTUAL_HOURS/ESTIMATE_HOURS）
+     * @param asc 是否升序
+     * @param offset 偏移量
+     * @param limit 最大条数
+     * @return 任务工时偏差列表
+     */
+    List<TaskVariance> selectVariancePage(@Param("projectId") Long projectId,
+                                          @Param("iterationId") Long iterationId,
+                                          @Param("rootOnly") boolean rootOnly,
+                                          @Param("sortBy") VarianceSortField sortBy,
+                                          @Param("asc") boolean asc,
+                                          @Param("offset") int offset,
+                                          @Param("limit") int limit);
+
+    /**
+     * 统计工时偏差分页查询的任务总数
+     * @param projectId 项目ID
+     * @param iterationId 迭代ID（可选）
+     * @param rootOnly 是否只统计顶级任务
+     * @return 任务数
+     */
+    long countVarianceTasks(@Param("projectId") Long projectId,
+                            @Param("iterationId") Long iterationId,
+                            @Param("rootOnly") boolean rootOnly);
+
+    /**
+     * 按迭代汇总项目内任务的预估、实际工时（每个任务只计自身，不重复计入父任务）
+     * @param projectId 项目ID
+     * @return 迭代ID（未关联迭代为 null）、预估工时合计、实际工时合计、任务数
+     */
+    List<VarianceSum> sumVarianceGroupByIteration(@Param("projectId") Long projectId);
+
+    /**
+     * 查询所有任务（包含已删除任务）的类型、优先级和负责人，供工时分析按任务属性分组
+     * @return 任务维度属性列表
+     */
+    List<TaskDimension> selectAnalyticsDimensions();
+
     /**
      * 插入任务
      * @param task 任务实体
@@ -74,6 +248,13 @@ public interface TaskMapper extends BaseMapper<Task> {
      */
     int updateStatus(Task task);
 
+    /**
+     * 更新任务排期（父任务和计划日期，支持更新为 null），供甘特图批量编辑使用
+     * @param task 任务实体
+     * @return 影响行数
+     */
+    int updateSchedule(Task task);
+
     /**
      * 根据ID删除任务
      * @param id 任务ID
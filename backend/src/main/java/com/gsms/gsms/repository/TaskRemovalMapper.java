@@ -0,0 +1,32 @@
+package com.gsms.gsms.repository;
+
+import com.gsms.gsms.model.entity.TaskRemoval;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 任务移出项目记录Mapper接口
+ */
+@Mapper
+public interface TaskRemovalMapper {
+
+    /**
+     * 插入任务移出项目记录
+     */
+    int insert(TaskRemoval removal);
+
+    /**
+     * 查询项目内移出时间不早于水位的记录
+     *
+     * @param projectId 移出的项目ID
+     * @param since 水位（包含）
+     * @param limit 最大条数
+     * @return 移出记录（按移出时间升序）
+     */
+    List<TaskRemoval> selectChangedSince(@Param("projectId") Long projectId,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("limit") int limit);
+}
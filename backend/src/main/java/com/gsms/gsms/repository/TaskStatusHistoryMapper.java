@@ -0,0 +1,34 @@
+package com.gsms.gsms.repository;
+
+import com.gsms.gsms.model.entity.TaskStatusHistory;
+import com.gsms.gsms.model.stat.BurndownSnapshot;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 任务状态历史Mapper接口
+ */
+@Mapper
+public interface TaskStatusHistoryMapper {
+
+    /**
+     * 插入任务状态历史
+     */
+    int insert(TaskStatusHistory history);
+
+    /**
+     * 按迭代汇总时间范围内任务状态历史带来的变化（变化后的值计入，变化前的值扣除）
+     *
+     * @param start 开始时间（包含，为空表示从第一条历史开始，此时结果即为截止时间的完整状态）
+     * @param end 结束时间（不包含）
+     * @param iterationIds 迭代ID集合（为空表示全部迭代）
+     * @return 每个迭代的任务数、完成数、预估工时、剩余预估工时的差值
+     */
+    List<BurndownSnapshot> sumIterationDeltas(@Param("start") LocalDateTime start,
+                                              @Param("end") LocalDateTime end,
+                                              @Param("iterationIds") Collection<Long> iterationIds);
+}
@@ -3,6 +3,7 @@ package com.gsms.gsms.repository;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gsms.gsms.model.entity.User;
 import com.gsms.gsms.model.enums.UserStatus;
+import com.gsms.gsms.model.stat.UserDepartment;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -75,4 +76,10 @@ public interface UserMapper extends BaseMapper<User> {
      * @return 用户列表
      */
     List<User> selectAll();
+
+    /**
+     * 查询所有用户（包含已删除用户）的所属部门，供工时分析按部门分组
+     * @return 用户ID及部门ID列表
+     */
+    List<UserDepartment> selectDepartmentIds();
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.gsms.gsms.repository;
+
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.stat.DateHours;
+import com.gsms.gsms.model.stat.IdHours;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 工时日汇总Mapper接口
+ *
+ * 汇总表以 (work_date, user_id, project_id, task_id) 为主键，没有自增ID，不继承 BaseMapper；
+ * 未关联任务的工时 task_id 记为 0。
+ */
+@Mapper
+public interface WorkHourDailyMapper {
+
+    /**
+     * 增量累加汇总行，不存在时插入
+     * @param workDate 工作日期
+     * @param userId 用户ID
+     * @param projectId 项目ID
+     * @param taskId 任务ID（0表示未关联任务）
+     * @param hours 工时增量（可为负数）
+     * @param recordCount 记录数增量（可为负数）
+     * @return 影响行数
+     */
+    int upsertDelta(@Param("workDate") LocalDate workDate,
+                    @Param("userId") Long userId,
+                    @Param("projectId") Long projectId,
+                    @Param("taskId") Long taskId,
+                    @Param("hours") BigDecimal hours,
+                    @Param("recordCount") int recordCount);
+
+    /**
+     * 删除记录数已减为 0 的汇总行
+     * @param workDate 工作日期
+     * @param userId 用户ID
+     * @param projectId 项目ID
+     * @param taskId 任务ID（0表示未关联任务）
+     * @return 影响行数
+     */
+    int deleteEmpty(@Param("workDate") LocalDate workDate,
+                    @Param("userId") Long userId,
+                    @Param("projectId") Long projectId,
+                    @Param("taskId") Long taskId);
+
+    /**
+     * 统计日期范围内汇总表与工时明细不一致的行数
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 不一致的行数
+     */
+    int countMismatches(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 删除日期范围内的汇总行
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 影响行数
+     */
+    int deleteByDateRange(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 由工时明细重新生成日期范围内的汇总行（需先删除该范围内的汇总行）
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @return 影响行数
+     */
+    int insertFromWorkHour(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    /**
+     * 汇总项目的全部工时
+     * @param projectId 项目ID
+     * @return 工时合计（没有工时为 0）
+     */
+    BigDecimal sumProjectHours(@Param("projectId") Long projectId);
+
+    /**
+     * 项目内按用户汇总工时
+     * @param projectId 项目ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @return 用户ID及其工时合计、记录数
+     */
+    List<IdHours> sumHoursGroupByUser(@Param("projectId") Long projectId,
+                                      @Param("startDate") LocalDate startDate,
+                                      @Param("endDate") LocalDate endDate);
+
+    /**
+     * 用户按项目汇总工时
+     * @param userId 用户ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @return 项目ID及其工时合计、记录数
+     */
+    List<IdHours> sumHoursGroupByProject(@Param("userId") Long userId,
+                                         @Param("startDate") LocalDate startDate,
+                                         @Param("endDate") LocalDate endDate);
+
+    /**
+     * 按用户汇总部门成员的工时
+     * @param departmentId 部门ID
+     * @param includeSubDepartments 是否包含全部下级部门的成员
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @return 用户ID、工时合计及记录数（没有工时的用户不返回）
+     */
+    List<IdHours> sumHoursGroupByUserInDepartment(@Param("departmentId") Long departmentId,
+                                                  @Param("includeSubDepartments") boolean includeSubDepartments,
+                                                  @Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    /**
+     * 按时间段汇总工时
+     * @param projectId 项目ID（可选）
+     * @param userId 用户ID（可选）
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param granularity 时间粒度
+     * @return 每个时间段（以第一天表示）的工时合计、记录数，按日期升序，没有工时的时间段不返回
+     */
+    List<DateHours> sumHoursGroupByBucket(@Param("projectId") Long projectId,
+                                          @Param("userId") Long userId,
+                                          @Param("startDate") LocalDate startDate,
+                                          @Param("endDate") LocalDate endDate,
+                                          @Param("granularity") TrendGranularity granularity);
+}
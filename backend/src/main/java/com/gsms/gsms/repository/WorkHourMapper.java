@@ -2,10 +2,14 @@ package com.gsms.gsms.repository;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.gsms.gsms.model.entity.WorkHour;
+import com.gsms.gsms.model.stat.IdHours;
+import com.gsms.gsms.model.stat.UserHoursOverview;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 
@@ -55,6 +59,35 @@ public interface WorkHourMapper extends BaseMapper<WorkHour> {
                                    @Param("taskId") Long taskId, @Param("startDate") LocalDate startDate,
                                    @Param("endDate") LocalDate endDate);
 
+    /**
+     * 按任务汇总项目内已登记的工时（不含未关联任务的工时）
+     * @param projectIds 项目ID集合（不能为空）
+     * @return 任务ID及工时合计
+     */
+    List<IdHours> sumHoursGroupByTask(@Param("projectIds") Collection<Long> projectIds);
+
+
+    /**
+     * 一次条件聚合汇总用户今日、本周、本月、累计工时
+     * @param userId 用户ID
+     * @param today 今日
+     * @param weekStart 本周开始日期
+     * @param weekEnd 本周结束日期
+     * @param monthStart 本月开始日期
+     * @param monthEnd 本月结束日期
+     * @return 工时概览（没有工时时各项为 0）
+     */
+    UserHoursOverview selectUserHoursOverview(@Param("userId") Long userId, @Param("today") LocalDate today,
+                                              @Param("weekStart") LocalDate weekStart, @Param("weekEnd") LocalDate weekEnd,
+                                              @Param("monthStart") LocalDate monthStart, @Param("monthEnd") LocalDate monthEnd);
+
+    /**
+     * 流式读取全部有效工时记录（只包含ID、用户、项目、任务、日期和工时），逐行交给 handler 处理，
+     * 不在内存中保留结果列表，供工时分析加载列存使用
+     * @param handler 逐行处理器
+     */
+    void scanForAnalytics(ResultHandler<WorkHour> handler);
+
     /**
      * 插入工时记录
      * @param workHour 工时记录实体
@@ -1,10 +1,17 @@
 package com.gsms.gsms.service;
 
+import com.gsms.gsms.dto.gantt.GanttBatchUpdateReq;
+import com.gsms.gsms.dto.gantt.GanttChangesResp;
 import com.gsms.gsms.dto.gantt.GanttDataResp;
+import com.gsms.gsms.dto.gantt.GanttTaskResp;
 import com.gsms.gsms.dto.gantt.TaskDateUpdateReq;
 import com.gsms.gsms.dto.gantt.TaskLinkCreateReq;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
 
 /**
  * 甘特图服务接口
@@ -13,6 +20,7 @@ public interface GanttService {
 
     /**
      * 获取项目甘特图数据
+     * 指定时间窗口时只返回计划时间与窗口重叠的任务及其祖先任务、所属迭代
      *
      * @param projectId 项目ID
      * @param startDate 开始日期（可选）
@@ -21,6 +29,68 @@ public interface GanttService {
      */
     GanttDataResp getProjectGanttData(Long projectId, LocalDate startDate, LocalDate endDate);
 
+    /**
+     * 获取组合甘特图数据（多个项目合并为一条时间线，每个项目一个根节点）
+     *
+     * @param projectIds 项目ID列表（最多200个；为空时为当前用户可访问的项目中最近更新的200个，超出时响应 truncated 为 true）
+     * @param collapsed 是否折叠为项目汇总节点（不返回迭代和任务，展开时使用懒加载接口）
+     * @return 甘特图数据
+     */
+    GanttDataResp getPortfolioGanttData(List<Long> projectIds, boolean collapsed);
+
+    /**
+     * 获取项目甘特图自水位以来的增量变更（新增、修改的节点和逻辑删除的墓碑）
+     * 移到其他项目的任务在原项目中按删除墓碑返回（见任务移出项目记录）；
+     * 水位包含在查询范围内，且水位不超过数据库当前时间减去安全回退（防止漏掉执行早、提交晚的事务），
+     * 最近一段时间内的变更可能重复返回，客户端按ID覆盖即可；
+     * 关键路径等派生字段只随返回的节点刷新
+     *
+     * @param projectId 项目ID
+     * @param since 上次返回的水位（为空时要求重新加载完整甘特图）
+     * @return 增量变更及下次使用的水位
+     */
+    GanttChangesResp getProjectGanttChanges(Long projectId, LocalDateTime since);
+
+    /**
+     * 流式输出项目甘特图数据，结构与 getProjectGanttData 的统一返回结果一致
+     * 鉴权和查询在调用时完成，返回的输出体边遍历任务树边写出节点，不构建完整的节点树
+     *
+     * @param projectId 项目ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @return 响应输出体
+     */
+    StreamingResponseBody streamProjectGanttData(Long projectId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 懒加载获取项目甘特图数据：只返回项目节点及其直接子节点（迭代、不属于迭代的顶级任务），
+     * 每个节点带子节点数量，更深层级通过 {@link #getGanttNodeChildren(Long)} 展开。
+     * 不读取项目全部任务：进度和关键路径只在项目缓存已构建（完整视图、组合视图等访问过）时填充，否则为空
+     *
+     * @param projectId 项目ID
+     * @return 甘特图数据
+     */
+    GanttDataResp getProjectGanttRoot(Long projectId);
+
+    /**
+     * 获取项目甘特图数据的 ETag（基于项目数据版本号，任务或迭代变更后才会变化）
+     *
+     * @param projectId 项目ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @param lazy 是否懒加载模式
+     * @return ETag
+     */
+    String getProjectGanttETag(Long projectId, LocalDate startDate, LocalDate endDate, boolean lazy);
+
+    /**
+     * 获取甘特图节点的直接子节点（带子节点数量），进度和关键路径的填充规则与懒加载根节点相同
+     *
+     * @param ganttId 甘特图节点ID（正数为项目，-1000000 - id 为迭代，-2000000 - id 为任务）
+     * @return 子节点列表
+     */
+    List<GanttTaskResp> getGanttNodeChildren(Long ganttId);
+
     /**
      * 更新任务时间
      *
@@ -37,6 +107,23 @@ public interface GanttService {
      */
     void updateTaskParent(Long taskId, Long newParentId);
 
+    /**
+     * 批量修改任务时间和层级（同一事务，全部校验通过后才写入）
+     *
+     * @param req 批量编辑请求
+     * @return 实际更新的任务数
+     */
+    int batchUpdateTasks(GanttBatchUpdateReq req);
+
+    /**
+     * 整体平移任务、迭代或项目的排期，所有后代任务保持相对偏移和工期
+     *
+     * @param ganttId 甘特图节点ID（项目、迭代或任务）
+     * @param days 平移天数（正数后移，负数前移）
+     * @return 实际更新的记录数
+     */
+    int shiftSchedule(Long ganttId, int days);
+
     /**
      * 创建任务依赖关系
      *
@@ -50,4 +137,19 @@ public interface GanttService {
      * @param linkId 依赖关系ID
      */
     void deleteTaskLink(Long linkId);
+
+    /**
+     * 开启或关闭项目的甘特图诊断（仅系统管理员）
+     *
+     * @param projectId 项目ID
+     * @param enabled 是否开启
+     */
+    void setDiagnosticsEnabled(Long projectId, boolean enabled);
+
+    /**
+     * 查询已开启甘特图诊断的项目ID（仅系统管理员）
+     *
+     * @return 项目ID集合
+     */
+    Set<Long> getDiagnosticsProjectIds();
 }
@@ -1,7 +1,18 @@
 package com.gsms.gsms.service;
 
+import com.gsms.gsms.dto.statistics.IterationBurndownResp;
+import com.gsms.gsms.dto.statistics.ProjectVarianceResp;
+import com.gsms.gsms.dto.statistics.TaskVarianceQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsResp;
+import com.gsms.gsms.dto.statistics.WorkHourTrendResp;
+import com.gsms.gsms.infra.common.PageResult;
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.stat.TaskVariance;
+
 import java.time.LocalDate;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -42,9 +53,11 @@ public interface StatisticsService {
      * @param departmentId 部门ID
      * @param startDate 开始日期（可选）
      * @param endDate 结束日期（可选）
+     * @param includeSubDepartments 是否包含全部下级部门的成员
      * @return 包含totalHours、userHoursDistribution等统计数据的Map
      */
-    Map<String, Object> getDepartmentWorkHourStatistics(Long departmentId, LocalDate startDate, LocalDate endDate);
+    Map<String, Object> getDepartmentWorkHourStatistics(Long departmentId, LocalDate startDate, LocalDate endDate,
+                                                        boolean includeSubDepartments);
 
     /**
      * 获取任务工时统计数据
@@ -59,25 +72,77 @@ public interface StatisticsService {
     /**
      * 获取项目任务完成度统计数据
      *
-     * 统计指定项目中各状态任务的数量及完成率
+     * 统计指定项目中各状态任务的数量及完成率，可再按迭代、负责人拆分
      *
      * @param projectId 项目ID
+     * @param byIteration 是否按迭代拆分（结果包含iterations）
+     * @param byAssignee 是否按负责人拆分（结果包含assignees）
      * @return 包含totalTasks、doneTasks、completionRate等统计数据的Map
      */
-    Map<String, Object> getProjectTaskCompletionStatistics(Long projectId);
+    Map<String, Object> getProjectTaskCompletionStatistics(Long projectId, boolean byIteration, boolean byAssignee);
+
+    /**
+     * 批量获取多个项目的任务完成度统计数据（项目列表每行显示完成率）
+     *
+     * @param projectIds 项目ID列表（最多500个）
+     * @return 与请求顺序一致的统计数据列表，每项包含projectId、totalTasks、doneTasks、completionRate等
+     */
+    List<Map<String, Object>> getProjectsTaskCompletionStatistics(List<Long> projectIds);
+
+    /**
+     * 获取项目工时偏差汇总（预估 vs 实际），包含各迭代的偏差
+     *
+     * @param projectId 项目ID
+     * @return 项目及各迭代的预估工时、实际工时、偏差和超支比例
+     */
+    ProjectVarianceResp getProjectVarianceStatistics(Long projectId);
+
+    /**
+     * 分页获取项目内任务的工时偏差，预估、实际工时沿 parent_id 汇总到每个任务的子树
+     *
+     * @param projectId 项目ID
+     * @param req 过滤、排序和分页条件
+     * @return 按偏差等字段排序的任务工时偏差分页结果
+     */
+    PageResult<TaskVariance> getTaskVariancePage(Long projectId, TaskVarianceQueryReq req);
+
+    /**
+     * 获取迭代燃尽图、燃起图数据
+     *
+     * 读取每天的燃尽快照：剩余预估工时用于燃尽图，预估工时合计和已完成预估工时用于燃起图
+     *
+     * @param iterationId 迭代ID
+     * @param startDate 开始日期（可选）
+     * @param endDate 结束日期（可选）
+     * @return 按日期升序的快照序列及迭代计划日期
+     */
+    IterationBurndownResp getIterationBurndownStatistics(Long iterationId, LocalDate startDate, LocalDate endDate);
 
     /**
      * 获取工时趋势统计数据
      *
-     * 按日期统计工时投入趋势，支持按项目或用户维度过滤
+     * 按天、周或月统计工时投入趋势，支持按项目或用户维度过滤；没有工时的时间段补0，返回连续的时间序列
      *
      * @param projectId 项目ID（可选，为null时统计所有项目）
      * @param userId 用户ID（可选，为null时统计所有用户）
      * @param startDate 开始日期
      * @param endDate 结束日期
-     * @return 包含trendData、totalHours等统计数据的Map
+     * @param granularity 时间粒度（为null时按天）
+     * @return 趋势统计数据
      */
-    Map<String, Object> getWorkHourTrendStatistics(Long projectId, Long userId, LocalDate startDate, LocalDate endDate);
+    WorkHourTrendResp getWorkHourTrendStatistics(Long projectId, Long userId, LocalDate startDate, LocalDate endDate,
+                                                 TrendGranularity granularity);
+
+    /**
+     * 工时多维分析
+     *
+     * 在内存列存上按条件过滤后按任意维度组合分组汇总，不访问数据库；
+     * 没有全局工时查看权限时只统计当前用户可访问的项目
+     *
+     * @param req 过滤条件、分组维度和返回行数
+     * @return 分组汇总结果（按工时倒序）
+     */
+    WorkHourAnalyticsResp queryWorkHourAnalytics(WorkHourAnalyticsQueryReq req);
 
     /**
      * 获取首页看板数据
@@ -87,4 +152,11 @@ public interface StatisticsService {
      * @return 首页看板数据，包含项目数、待办任务数、今日工时、本周工时、待办任务列表、项目列表等
      */
     Map<String, Object> getDashboardData();
+
+    /**
+     * 获取统计结果缓存的命中情况（仅系统管理员）
+     *
+     * @return 包含size、hits、misses、hitRate、evictions、invalidations的Map
+     */
+    Map<String, Object> getCacheStatistics();
 }
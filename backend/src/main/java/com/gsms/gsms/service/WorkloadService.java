@@ -0,0 +1,26 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.dto.workload.WorkloadResp;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 负责人负载服务接口
+ */
+public interface WorkloadService {
+
+    /**
+     * 获取负责人每天的任务数和预估工时（跨项目）
+     * 只统计当前用户可访问项目中的叶子任务，预估工时平均分摊到任务计划区间内的工作日
+     *
+     * @param userIds 负责人ID列表（为空时为范围内有任务的全部负责人）
+     * @param projectIds 项目ID列表（为空时为当前用户可访问的全部项目）
+     * @param startDate 开始日期
+     * @param endDate 结束日期
+     * @param includeDone 是否包含已完成任务
+     * @return 负载矩阵
+     */
+    WorkloadResp getWorkload(List<Long> userIds, List<Long> projectIds, LocalDate startDate, LocalDate endDate,
+                             boolean includeDone);
+}
@@ -0,0 +1,58 @@
+package com.gsms.gsms.service.auth;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 用户授权快照：权限码、角色码和可访问的项目ID，创建后不可修改，可在多个请求间共享
+ */
+public final class AuthSnapshot {
+
+    private final List<String> permissionCodes;
+    private final Set<String> permissionCodeSet;
+    private final List<String> roleCodes;
+    private final List<Long> projectIds;
+    private final Set<Long> projectIdSet;
+
+    public AuthSnapshot(List<String> permissionCodes, List<String> roleCodes, List<Long> projectIds) {
+        this.permissionCodes = immutable(permissionCodes);
+        this.permissionCodeSet = Collections.unmodifiableSet(new HashSet<>(this.permissionCodes));
+        this.roleCodes = immutable(roleCodes);
+        this.projectIds = immutable(projectIds);
+        this.projectIdSet = Collections.unmodifiableSet(new HashSet<>(this.projectIds));
+    }
+
+    public boolean hasPermission(String permissionCode) {
+        return permissionCodeSet.contains(permissionCode);
+    }
+
+    public boolean hasRole(String roleCode) {
+        return roleCodes.contains(roleCode);
+    }
+
+    public boolean isProjectMember(Long projectId) {
+        return projectIdSet.contains(projectId);
+    }
+
+    public List<String> getPermissionCodes() {
+        return permissionCodes;
+    }
+
+    public List<String> getRoleCodes() {
+        return roleCodes;
+    }
+
+    public List<Long> getProjectIds() {
+        return projectIds;
+    }
+
+    private static <T> List<T> immutable(List<T> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(values));
+    }
+}
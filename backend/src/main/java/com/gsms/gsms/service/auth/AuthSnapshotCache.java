@@ -0,0 +1,130 @@
+package com.gsms.gsms.service.auth;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 用户授权快照缓存
+ *
+ * 同一请求内多次鉴权（查看全部项目、全部任务、全部工时、项目访问）只在第一次加载快照，之后不访问数据库。
+ * 用户角色、角色权限、权限码、项目成员变化时精确失效相关用户（事务中调用时提交后再失效一次）；
+ * 另有过期时间兜底绕过服务层直接修改数据库的情况。
+ *
+ * 容量有界，超出时先清理过期记录，仍超出则任意淘汰。加载期间发生失效时结果不写入缓存，避免缓存旧权限。
+ */
+@Component
+public class AuthSnapshotCache {
+
+    // 过期时间（毫秒）
+    private static final long TTL_MILLIS = 10 * 60_000L;
+
+    // 最多缓存的用户数
+    private static final int MAX_ENTRIES = 4096;
+
+    // 用户ID -> 快照
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 失效代数：每次失效递增，加载前后不一致时不写入缓存
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 获取用户授权快照，不存在或已过期时调用 loader 加载并缓存
+     */
+    public AuthSnapshot get(Long userId, Supplier<AuthSnapshot> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expireAt > now) {
+            return entry.snapshot;
+        }
+
+        long startGeneration = generation.get();
+        AuthSnapshot snapshot = loader.get();
+        synchronized (this) {
+            if (generation.get() == startGeneration) {
+                if (entries.size() >= MAX_ENTRIES) {
+                    evict();
+                }
+                entries.put(userId, new Entry(snapshot, now + TTL_MILLIS));
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * 失效单个用户的快照（用户角色、项目成员变化）
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        invalidate(() -> entries.remove(userId));
+    }
+
+    /**
+     * 失效多个用户的快照（角色权限变化时失效拥有该角色的用户）
+     */
+    public void invalidate(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(userIds);
+        invalidate(() -> entries.keySet().removeAll(ids));
+    }
+
+    /**
+     * 失效全部快照（权限码修改、删除）
+     */
+    public void invalidateAll() {
+        invalidate(entries::clear);
+    }
+
+    private void invalidate(Runnable removal) {
+        doInvalidate(removal);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate(removal);
+                }
+            });
+        }
+    }
+
+    private synchronized void doInvalidate(Runnable removal) {
+        generation.incrementAndGet();
+        removal.run();
+    }
+
+    /**
+     * 淘汰缓存：先清理过期数据，仍超出上限时任意淘汰
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expireAt <= now);
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() >= MAX_ENTRIES && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final AuthSnapshot snapshot;
+        private final long expireAt;
+
+        Entry(AuthSnapshot snapshot, long expireAt) {
+            this.snapshot = snapshot;
+            this.expireAt = expireAt;
+        }
+    }
+}
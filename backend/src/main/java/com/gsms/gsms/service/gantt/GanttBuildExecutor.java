@@ -0,0 +1,53 @@
+package com.gsms.gsms.service.gantt;
+
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 甘特图构建线程池（组合甘特图按项目并行构建任务树）
+ *
+ * 构建是纯内存计算，线程数与 CPU 核数一致，队列有界；
+ * 队列满时由调用线程自己执行，请求变慢但不会失败，也不会无限堆积任务。
+ *
+ * 不注册为 Executor 类型的 Bean，避免替换 Spring Boot 默认的 applicationTaskExecutor。
+ */
+@Component
+public class GanttBuildExecutor {
+
+    private static final int QUEUE_CAPACITY = 256;
+
+    private final ThreadPoolExecutor executor;
+
+    public GanttBuildExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "gantt-build-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY), threadFactory, new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 提交构建任务
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
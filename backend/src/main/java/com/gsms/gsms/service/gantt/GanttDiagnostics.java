@@ -0,0 +1,193 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.infra.utils.UserContext;
+import com.gsms.gsms.service.AuthService;
+import org.slf4j.Logger;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 甘特图诊断开关
+ *
+ * 开启方式（任一满足即开启）：
+ * 1. 单次请求：请求头 X-Gantt-Diagnostics: true（仅系统管理员，其他用户的请求头被忽略）
+ * 2. 按项目：管理员通过接口为指定项目开启，运行期生效，重启后失效
+ *
+ * 诊断模式跳过快照缓存并在响应头中返回内部阶段耗时，因此不对普通项目成员开放。
+ *
+ * 关闭时 {@link #start(Long)} 返回空实现，热路径上不做任何字符串格式化或序列化。
+ * 开启时记录各阶段耗时（查询、建树、填充），输出到日志并写入 Server-Timing 响应头。
+ */
+@Component
+public class GanttDiagnostics {
+
+    public static final String HEADER = "X-Gantt-Diagnostics";
+
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final String ADMIN_ROLE = "SYS_ADMIN";
+
+    private final AuthService authService;
+
+    // 已开启诊断的项目ID
+    private final Set<Long> enabledProjectIds = ConcurrentHashMap.newKeySet();
+
+    public GanttDiagnostics(AuthService authService) {
+        this.authService = authService;
+    }
+
+    /**
+     * 判断当前请求是否需要诊断
+     */
+    public boolean isEnabled(Long projectId) {
+        if (projectId != null && enabledProjectIds.contains(projectId)) {
+            return true;
+        }
+        HttpServletRequest request = currentRequest();
+        if (request == null || !"true".equalsIgnoreCase(request.getHeader(HEADER))) {
+            return false;
+        }
+        Long userId = UserContext.getCurrentUserId();
+        return userId != null && authService.hasRole(userId, ADMIN_ROLE);
+    }
+
+    /**
+     * 开始一次诊断跟踪，未开启时返回空实现
+     */
+    public Trace start(Long projectId) {
+        return isEnabled(projectId) ? new ActiveTrace(projectId) : Trace.NOOP;
+    }
+
+    public void enableProject(Long projectId) {
+        enabledProjectIds.add(projectId);
+    }
+
+    public void disableProject(Long projectId) {
+        enabledProjectIds.remove(projectId);
+    }
+
+    public Set<Long> getEnabledProjectIds() {
+        return Collections.unmodifiableSet(new TreeSet<>(enabledProjectIds));
+    }
+
+    private static HttpServletRequest currentRequest() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getRequest() : null;
+    }
+
+    private static HttpServletResponse currentResponse() {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        return attributes != null ? attributes.getResponse() : null;
+    }
+
+    /**
+     * 诊断跟踪
+     */
+    public interface Trace {
+
+        Trace NOOP = new Trace() {
+            @Override
+            public boolean isEnabled() {
+                return false;
+            }
+
+            @Override
+            public void phase(String name) {
+            }
+
+            @Override
+            public void count(String name, long value) {
+            }
+
+            @Override
+            public void finish(Logger logger) {
+            }
+        };
+
+        /**
+         * 是否开启，用于在调用方跳过只有诊断才需要的明细输出
+         */
+        boolean isEnabled();
+
+        /**
+         * 结束一个阶段，记录自上一次调用以来的耗时
+         */
+        void phase(String name);
+
+        /**
+         * 记录计数类指标
+         */
+        void count(String name, long value);
+
+        /**
+         * 输出诊断结果
+         */
+        void finish(Logger logger);
+    }
+
+    private static final class ActiveTrace implements Trace {
+        private final Long projectId;
+        private final long startNanos;
+        private long lastNanos;
+        private final List<String> phaseNames = new ArrayList<>();
+        private final List<Long> phaseNanos = new ArrayList<>();
+        private final List<String> counts = new ArrayList<>();
+
+        ActiveTrace(Long projectId) {
+            this.projectId = projectId;
+            this.startNanos = System.nanoTime();
+            this.lastNanos = startNanos;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return true;
+        }
+
+        @Override
+        public void phase(String name) {
+            long now = System.nanoTime();
+            phaseNames.add(name);
+            phaseNanos.add(now - lastNanos);
+            lastNanos = now;
+        }
+
+        @Override
+        public void count(String name, long value) {
+            counts.add(name + "=" + value);
+        }
+
+        @Override
+        public void finish(Logger logger) {
+            StringBuilder timings = new StringBuilder();
+            StringBuilder serverTiming = new StringBuilder();
+            for (int i = 0; i < phaseNames.size(); i++) {
+                double millis = phaseNanos.get(i) / 1_000_000.0;
+                if (i > 0) {
+                    timings.append(", ");
+                    serverTiming.append(", ");
+                }
+                timings.append(phaseNames.get(i)).append('=').append(String.format("%.2fms", millis));
+                serverTiming.append(phaseNames.get(i)).append(";dur=").append(String.format("%.2f", millis));
+            }
+            double totalMillis = (System.nanoTime() - startNanos) / 1_000_000.0;
+            logger.info("[甘特图诊断] projectId={}, 总耗时={}ms, 阶段耗时: {}, 指标: {}",
+                    projectId, String.format("%.2f", totalMillis), timings, String.join(", ", counts));
+
+            HttpServletResponse response = currentResponse();
+            if (response != null && serverTiming.length() > 0) {
+                response.setHeader(SERVER_TIMING_HEADER, serverTiming.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.model.entity.Iteration;
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.enums.errorcode.TaskErrorCode;
+import com.gsms.gsms.repository.IterationMapper;
+import com.gsms.gsms.repository.TaskMapper;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 甘特图排期批量写入
+ *
+ * 使用 BATCH 执行器把多条 UPDATE 合并为一次 JDBC 批处理提交；
+ * 连接由 Spring 事务管理，在调用方事务内执行，与其他写操作一起提交或回滚。
+ * 数据源 URL 开启 rewriteBatchedStatements 后，驱动会进一步合并为一次网络往返。
+ */
+@Component
+public class GanttScheduleWriter {
+
+    private final SqlSessionFactory sqlSessionFactory;
+
+    public GanttScheduleWriter(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    /**
+     * 批量更新任务的父任务和计划日期（必须在事务中调用）
+     *
+     * @param tasks 任务（id、parentId、planStartDate、planEndDate，null 值同样写入）
+     * @param updateUserId 更新人ID
+     * @return 更新的记录数
+     */
+    public int updateSchedules(List<Task> tasks, Long updateUserId) {
+        return updateSchedules(tasks, Collections.emptyList(), updateUserId);
+    }
+
+    /**
+     * 批量更新任务排期和迭代计划日期（必须在事务中调用）
+     *
+     * @param tasks 任务（id、parentId、planStartDate、planEndDate，null 值同样写入）
+     * @param iterations 迭代（id、planStartDate、planEndDate，null 值不写入）
+     * @param updateUserId 更新人ID
+     * @return 更新的记录数
+     */
+    public int updateSchedules(List<Task> tasks, List<Iteration> iterations, Long updateUserId) {
+        if (tasks.isEmpty() && iterations.isEmpty()) {
+            return 0;
+        }
+        try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+            TaskMapper taskMapper = session.getMapper(TaskMapper.class);
+            for (Task task : tasks) {
+                task.setUpdateUserId(updateUserId);
+                taskMapper.updateSchedule(task);
+            }
+            IterationMapper iterationMapper = session.getMapper(IterationMapper.class);
+            for (Iteration iteration : iterations) {
+                iteration.setUpdateUserId(updateUserId);
+                iterationMapper.update(iteration);
+            }
+
+            int updated = 0;
+            for (BatchResult result : session.flushStatements()) {
+                for (int count : result.getUpdateCounts()) {
+                    // 记录在加载快照后被并发删除
+                    if (count == 0) {
+                        throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+                    }
+                    updated += count == Statement.SUCCESS_NO_INFO ? 1 : count;
+                }
+            }
+            return updated;
+        }
+    }
+}
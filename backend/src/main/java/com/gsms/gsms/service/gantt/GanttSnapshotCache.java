@@ -0,0 +1,123 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.dto.gantt.GanttDataResp;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 甘特图快照缓存
+ *
+ * 每个项目维护一个版本号，所有修改项目任务、迭代的写操作都会递增版本号；
+ * 快照按 项目 + 视图（全量/时间窗口/懒加载）缓存，并记录构建时的版本号，版本号不一致即视为过期。
+ * 版本号同时用于生成 ETag，客户端轮询时数据未变化可直接返回 304。
+ *
+ * 注意：缓存中的 GanttDataResp 会被多个请求共享，取出后不能修改。
+ */
+@Component
+public class GanttSnapshotCache {
+
+    // 最多缓存的快照数量
+    private static final int MAX_SNAPSHOTS = 512;
+
+    // 实例启动标识，保证重启后 ETag 不会与重启前的版本号冲突
+    private final String instanceTag = Long.toString(System.currentTimeMillis(), 36);
+
+    // 项目ID -> 版本号
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    // 项目ID:视图 -> 快照
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    /**
+     * 获取项目当前版本号（构建快照前读取，构建期间发生的写操作会使该快照过期）
+     */
+    public long currentVersion(Long projectId) {
+        AtomicLong version = versions.get(projectId);
+        return version != null ? version.get() : 0L;
+    }
+
+    /**
+     * 递增项目版本号
+     *
+     * 在事务中调用时，除立即递增外还会在事务提交后再递增一次，
+     * 避免提交前并发读取到旧数据的请求以新版本号写入缓存。
+     */
+    public void bumpVersion(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        doBump(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doBump(projectId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 生成 ETag
+     */
+    public String etag(Long projectId, long version, String view) {
+        return "\"gantt-" + projectId + "-" + instanceTag + "-" + version + "-" + view + "\"";
+    }
+
+    /**
+     * 获取快照，不存在或已过期返回 null
+     */
+    public GanttDataResp get(Long projectId, String view, long version) {
+        Snapshot snapshot = snapshots.get(key(projectId, view));
+        return snapshot != null && snapshot.version == version ? snapshot.data : null;
+    }
+
+    /**
+     * 写入快照
+     */
+    public void put(Long projectId, String view, long version, GanttDataResp data) {
+        if (snapshots.size() >= MAX_SNAPSHOTS) {
+            evict();
+        }
+        snapshots.put(key(projectId, view), new Snapshot(projectId, version, data));
+    }
+
+    private void doBump(Long projectId) {
+        versions.computeIfAbsent(projectId, id -> new AtomicLong()).incrementAndGet();
+        snapshots.values().removeIf(snapshot -> snapshot.projectId.equals(projectId));
+    }
+
+    /**
+     * 淘汰快照：先清理过期快照，仍超出上限时任意淘汰
+     */
+    private void evict() {
+        snapshots.values().removeIf(snapshot -> snapshot.version != currentVersion(snapshot.projectId));
+        Iterator<String> iterator = snapshots.keySet().iterator();
+        while (snapshots.size() >= MAX_SNAPSHOTS && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static String key(Long projectId, String view) {
+        return projectId + ":" + view;
+    }
+
+    private static final class Snapshot {
+        private final Long projectId;
+        private final long version;
+        private final GanttDataResp data;
+
+        Snapshot(Long projectId, long version, GanttDataResp data) {
+            this.projectId = projectId;
+            this.version = version;
+            this.data = data;
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.dto.gantt.GanttTaskResp;
+import com.gsms.gsms.model.entity.Iteration;
+import com.gsms.gsms.model.entity.Project;
+import com.gsms.gsms.model.entity.Task;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 甘特图任务树构建器
+ *
+ * 结构：项目 -> 迭代 -> 任务 -> 子任务
+ *
+ * 构建过程：
+ * 1. 一次遍历任务列表，按 parentId 和 iterationId 建立索引（long 键的开放寻址表 + 链表）
+ * 2. 从项目、迭代、无迭代的顶级任务出发，用显式栈迭代展开子任务
+ *
+ * 整体复杂度 O(n)，不随层级深度递归，遇到脏数据形成的环也不会死循环。
+ * 同级节点保持任务列表中的原始顺序。
+ *
+ * 除构建完整节点树外，还支持以相同结构和顺序遍历（{@link #traverse}），供流式输出使用。
+ */
+public final class GanttTreeBuilder {
+
+    /**
+     * 节点转换器，由调用方提供（负责人姓名等需要缓存填充的字段由调用方处理）
+     * 返回的节点 subtasks 必须已初始化为可追加的空列表
+     */
+    public interface NodeFactory {
+
+        GanttTaskResp projectNode(Project project);
+
+        GanttTaskResp iterationNode(Iteration iteration, Long parentGanttId);
+
+        GanttTaskResp taskNode(Task task, Long parentGanttId);
+    }
+
+    /**
+     * 节点访问器：进入节点时返回该节点的甘特图ID，子节点全部访问完后调用 exit
+     */
+    public interface Visitor {
+
+        Long enterProject(Project project) throws IOException;
+
+        Long enterIteration(Iteration iteration, Long parentGanttId) throws IOException;
+
+        Long enterTask(Task task, Long parentGanttId) throws IOException;
+
+        void exit() throws IOException;
+    }
+
+    private GanttTreeBuilder() {
+    }
+
+    /**
+     * 构建甘特图任务树
+     *
+     * @param project 项目
+     * @param iterations 迭代列表（按展示顺序）
+     * @param tasks 项目下的任务列表（按展示顺序）
+     * @param factory 节点转换器
+     * @return 只包含项目根节点的列表
+     */
+    public static List<GanttTaskResp> build(Project project, List<Iteration> iterations,
+                                            List<Task> tasks, NodeFactory factory) {
+        // 1. 一次遍历建立索引：parentId -> 子任务，iterationId -> 迭代下的顶级任务
+        TaskIndex index = new TaskIndex(tasks);
+        int n = index.tasks.length;
+
+        // 2. 项目根节点
+        GanttTaskResp projectNode = factory.projectNode(project);
+
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[n];
+        GanttTaskResp[] stackNodes = new GanttTaskResp[n];
+
+        // 3. 迭代节点及其顶级任务
+        for (Iteration iteration : iterations) {
+            GanttTaskResp iterationNode = factory.iterationNode(iteration, projectNode.getGanttId());
+            for (int i = index.topLevelByIteration.first(iteration.getId()); i >= 0; i = index.topLevelByIteration.next(i)) {
+                attachSubtree(i, iterationNode, index.tasks, index.childrenByParent, factory, visited, stack, stackNodes);
+            }
+            projectNode.getSubtasks().add(iterationNode);
+        }
+
+        // 4. 不在迭代中的顶级任务（直接属于项目）
+        for (int i : index.orphanTopLevel) {
+            attachSubtree(i, projectNode, index.tasks, index.childrenByParent, factory, visited, stack, stackNodes);
+        }
+
+        List<GanttTaskResp> result = new ArrayList<>(1);
+        result.add(projectNode);
+        return result;
+    }
+
+    /**
+     * 按与 {@link #build} 相同的结构和顺序深度优先遍历，不创建节点对象（用于流式输出）
+     *
+     * @param project 项目
+     * @param iterations 迭代列表（按展示顺序）
+     * @param tasks 项目下的任务列表（按展示顺序）
+     * @param visitor 节点访问器
+     */
+    public static void traverse(Project project, List<Iteration> iterations,
+                                List<Task> tasks, Visitor visitor) throws IOException {
+        TaskIndex index = new TaskIndex(tasks);
+        int n = index.tasks.length;
+
+        boolean[] visited = new boolean[n];
+        int[] cursors = new int[n];
+        Long[] ganttIds = new Long[n];
+
+        Long projectGanttId = visitor.enterProject(project);
+        for (Iteration iteration : iterations) {
+            Long iterationGanttId = visitor.enterIteration(iteration, projectGanttId);
+            for (int i = index.topLevelByIteration.first(iteration.getId()); i >= 0; i = index.topLevelByIteration.next(i)) {
+                visitSubtree(i, iterationGanttId, index, visitor, visited, cursors, ganttIds);
+            }
+            visitor.exit();
+        }
+        for (int i : index.orphanTopLevel) {
+            visitSubtree(i, projectGanttId, index, visitor, visited, cursors, ganttIds);
+        }
+        visitor.exit();
+    }
+
+    /**
+     * 深度优先访问一个任务及其全部子孙（迭代实现，每层记录下一个待访问子任务的位置）
+     */
+    private static void visitSubtree(int rootIndex, Long parentGanttId, TaskIndex index, Visitor visitor,
+                                     boolean[] visited, int[] cursors, Long[] ganttIds) throws IOException {
+        if (visited[rootIndex]) {
+            return;
+        }
+        visited[rootIndex] = true;
+        Task[] tasks = index.tasks;
+        ganttIds[0] = visitor.enterTask(tasks[rootIndex], parentGanttId);
+        cursors[0] = index.childrenByParent.first(tasks[rootIndex].getId());
+        int top = 1;
+
+        while (top > 0) {
+            int level = top - 1;
+            int c = cursors[level];
+            while (c >= 0 && visited[c]) {
+                c = index.childrenByParent.next(c);
+            }
+            if (c < 0) {
+                visitor.exit();
+                top--;
+                continue;
+            }
+            cursors[level] = index.childrenByParent.next(c);
+            visited[c] = true;
+            ganttIds[top] = visitor.enterTask(tasks[c], ganttIds[level]);
+            cursors[top] = index.childrenByParent.first(tasks[c].getId());
+            top++;
+        }
+    }
+
+    /**
+     * 将一个任务及其全部子孙挂到指定父节点下（迭代实现，避免深层级递归）
+     *
+     * 子节点在入栈时即创建并追加到父节点，因此同级顺序与任务列表一致；
+     * visited 保证每个任务只出现一次，栈深度不超过任务总数。
+     */
+    private static void attachSubtree(int rootIndex, GanttTaskResp parentNode, Task[] tasks,
+                                      LongIntMultiIndex childrenByParent, NodeFactory factory, boolean[] visited, int[] stack, GanttTaskResp[] stackNodes) {
+        if (visited[rootIndex]) {
+            return;
+        }
+        visited[rootIndex] = true;
+        GanttTaskResp rootNode = factory.taskNode(tasks[rootIndex], parentNode.getGanttId());
+        parentNode.getSubtasks().add(rootNode);
+
+        int top = 0;
+        stack[top] = rootIndex;
+        stackNodes[top] = rootNode;
+        top++;
+
+        while (top > 0) {
+            top--;
+            int current = stack[top];
+            GanttTaskResp currentNode = stackNodes[top];
+            stackNodes[top] = null;
+
+            Long currentId = tasks[current].getId();
+            if (currentId == null) {
+                continue;
+            }
+            for (int c = childrenByParent.first(currentId); c >= 0; c = childrenByParent.next(c)) {
+                if (visited[c]) {
+                    continue;
+                }
+                visited[c] = true;
+                GanttTaskResp childNode = factory.taskNode(tasks[c], currentNode.getGanttId());
+                currentNode.getSubtasks().add(childNode);
+                stack[top] = c;
+                stackNodes[top] = childNode;
+                top++;
+            }
+        }
+    }
+
+    /**
+     * 任务索引：parentId -> 子任务，iterationId -> 迭代下的顶级任务，以及不在迭代中的顶级任务
+     */
+    private static final class TaskIndex {
+        private final Task[] tasks;
+        private final LongIntMultiIndex childrenByParent;
+        private final LongIntMultiIndex topLevelByIteration;
+        private final List<Integer> orphanTopLevel = new ArrayList<>();
+
+        TaskIndex(List<Task> taskList) {
+            this.tasks = taskList.toArray(new Task[0]);
+            int n = tasks.length;
+            this.childrenByParent = new LongIntMultiIndex(n);
+            this.topLevelByIteration = new LongIntMultiIndex(n);
+            for (int i = 0; i < n; i++) {
+                Task task = tasks[i];
+                if (task.getParentId() != null) {
+                    childrenByParent.add(task.getParentId(), i);
+                } else if (task.getIterationId() != null) {
+                    topLevelByIteration.add(task.getIterationId(), i);
+                } else {
+                    orphanTopLevel.add(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * long 键 -> 多个 int 位置 的索引
+     *
+     * 开放寻址（线性探测）存放每个键的首尾位置，同一键下的位置通过 next 数组串成链表，
+     * 保持插入顺序。位置即任务在输入列表中的下标，取值范围 [0, capacity)。
+     */
+    static final class LongIntMultiIndex {
+        private final long[] keys;
+        private final int[] heads;
+        private final int[] tails;
+        private final boolean[] used;
+        private final int[] nextPos;
+        private final int mask;
+
+        LongIntMultiIndex(int capacity) {
+            int tableSize = Integer.highestOneBit(Math.max(4, capacity * 2 - 1)) << 1;
+            this.keys = new long[tableSize];
+            this.heads = new int[tableSize];
+            this.tails = new int[tableSize];
+            this.used = new boolean[tableSize];
+            this.nextPos = new int[Math.max(capacity, 1)];
+            this.mask = tableSize - 1;
+        }
+
+        void add(long key, int pos) {
+            int slot = slotOf(key);
+            nextPos[pos] = -1;
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                heads[slot] = pos;
+            } else {
+                nextPos[tails[slot]] = pos;
+            }
+            tails[slot] = pos;
+        }
+
+        /**
+         * 键对应的第一个位置，不存在返回 -1
+         */
+        int first(Long key) {
+            if (key == null) {
+                return -1;
+            }
+            int slot = slotOf(key);
+            return used[slot] ? heads[slot] : -1;
+        }
+
+        /**
+         * 同一键下的下一个位置，没有返回 -1
+         */
+        int next(int pos) {
+            return nextPos[pos];
+        }
+
+        private int slotOf(long key) {
+            int slot = mix(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private static int mix(long key) {
+            long h = key * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gsms.gsms.service.gantt;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 按项目缓存的有界存储（线程安全，所有方法受 this 锁保护）
+ *
+ * 数据按最近访问顺序淘汰。每次变更从全局时钟取一个戳记录为项目最近变更时间，构建前通过 {@link #clock()}
+ * 记录开始时间，写入时项目在开始之后有过变更则不写入，避免构建期间提交的变更被旧数据覆盖。
+ *
+ * 变更记录同样有界：超出时淘汰最早的记录，并把下限提高到被淘汰的戳，
+ * 没有记录的项目按下限判断（保守地拒绝下限之前开始的构建），因此淘汰记录不会放过旧数据。
+ */
+public final class ProjectCacheEntries<V> {
+
+    private final int maxEntries;
+
+    // 项目ID -> 数据（访问顺序）
+    private final LinkedHashMap<Long, V> values = new LinkedHashMap<>(64, 0.75f, true);
+
+    // 项目ID -> 最近变更戳（插入顺序，重新变更时移到末尾，最早的记录在头部）
+    private final LinkedHashMap<Long, Long> changes = new LinkedHashMap<>();
+
+    // 全局时钟
+    private long clock;
+
+    // 已淘汰变更记录的最大戳
+    private long floor;
+
+    public ProjectCacheEntries(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 获取缓存数据，不存在时返回 null
+     */
+    public synchronized V get(Long projectId) {
+        return values.get(projectId);
+    }
+
+    /**
+     * 当前时钟，构建数据前调用
+     */
+    public synchronized long clock() {
+        return clock;
+    }
+
+    /**
+     * 写入构建结果：项目在 startClock 之后有过变更时不写入
+     *
+     * @return 已缓存的数据（其他线程先写入时返回其结果），未写入时返回 value
+     */
+    public synchronized V putIfUnchanged(Long projectId, long startClock, V value) {
+        if (changes.getOrDefault(projectId, floor) > startClock) {
+            return value;
+        }
+        V cached = values.get(projectId);
+        if (cached != null) {
+            return cached;
+        }
+        if (values.size() >= maxEntries) {
+            Iterator<Long> iterator = values.keySet().iterator();
+            iterator.next();
+            iterator.remove();
+        }
+        values.put(projectId, value);
+        return value;
+    }
+
+    /**
+     * 记录变更并删除缓存数据
+     */
+    public synchronized void invalidate(Long projectId) {
+        recordChange(projectId);
+        values.remove(projectId);
+    }
+
+    /**
+     * 记录变更并对已缓存的数据做增量更新，更新失败（返回 false）时删除
+     */
+    public synchronized void update(Long projectId, Predicate<V> change) {
+        recordChange(projectId);
+        V cached = values.get(projectId);
+        if (cached != null && !change.test(cached)) {
+            values.remove(projectId);
+        }
+    }
+
+    public synchronized int size() {
+        return values.size();
+    }
+
+    private void recordChange(Long projectId) {
+        changes.remove(projectId);
+        changes.put(projectId, ++clock);
+        if (changes.size() > maxEntries) {
+            Iterator<Map.Entry<Long, Long>> iterator = changes.entrySet().iterator();
+            floor = Math.max(floor, iterator.next().getValue());
+            iterator.remove();
+        }
+    }
+}
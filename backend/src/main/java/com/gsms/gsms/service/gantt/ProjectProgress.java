@@ -0,0 +1,208 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.enums.TaskStatus;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 项目进度汇总（任务 -> 父任务 -> 迭代 -> 项目 自底向上）
+ *
+ * 叶子任务：
+ * - 已完成为 1
+ * - 有预估工时时为 已登记工时 / 预估工时，未完成的任务最多到 0.99（超出预估不代表完成）
+ * - 没有预估工时且未完成时为 0
+ *
+ * 汇总节点（父任务、迭代、项目）按叶子任务的权重加权平均，权重为叶子任务的预估工时；
+ * 没有预估工时的叶子按项目内已预估叶子的平均值计权（都没有预估时每个叶子权重为 1）。
+ * 父任务已完成时整棵子树视为完成。父任务自身的预估和工时不参与汇总（工作量由子任务体现）。
+ *
+ * 构建完成后只读，可在多个线程间共享。
+ */
+public final class ProjectProgress {
+
+    private static final double MAX_UNFINISHED_PROGRESS = 0.99;
+
+    // 任务ID -> 进度
+    private final Map<Long, Double> taskProgress;
+
+    // 迭代ID -> 进度
+    private final Map<Long, Double> iterationProgress;
+
+    private final double projectProgress;
+
+    private ProjectProgress(Map<Long, Double> taskProgress, Map<Long, Double> iterationProgress, double projectProgress) {
+        this.taskProgress = taskProgress;
+        this.iterationProgress = iterationProgress;
+        this.projectProgress = projectProgress;
+    }
+
+    /**
+     * 构建项目进度
+     *
+     * @param tasks 项目全部任务
+     * @param actualHours 任务ID -> 已登记工时合计
+     */
+    public static ProjectProgress build(List<Task> tasks, Map<Long, BigDecimal> actualHours) {
+        Map<Long, Task> taskById = new HashMap<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            taskById.put(task.getId(), task);
+        }
+
+        // 父任务 -> 子任务；父任务不在列表中的视为顶级任务（与甘特图任务树的挂载规则一致）
+        Map<Long, List<Task>> children = new HashMap<>();
+        List<Task> roots = new ArrayList<>();
+        for (Task task : tasks) {
+            if (task.getParentId() != null && taskById.containsKey(task.getParentId())) {
+                children.computeIfAbsent(task.getParentId(), id -> new ArrayList<>()).add(task);
+            } else {
+                roots.add(task);
+            }
+        }
+
+        double defaultWeight = defaultLeafWeight(tasks, children);
+
+        // 后序遍历：子任务先于父任务计算；visited 防止脏数据中的父子环导致死循环
+        Map<Long, Double> weights = new HashMap<>(tasks.size() * 2);
+        Map<Long, Double> earned = new HashMap<>(tasks.size() * 2);
+        Map<Long, Double> progress = new HashMap<>(tasks.size() * 2);
+        Set<Long> visited = new HashSet<>(tasks.size() * 2);
+        Deque<Task> stack = new ArrayDeque<>();
+        Deque<Boolean> expanded = new ArrayDeque<>();
+        for (Task root : roots) {
+            stack.push(root);
+            expanded.push(false);
+            while (!stack.isEmpty()) {
+                Task task = stack.pop();
+                if (!expanded.pop()) {
+                    if (!visited.add(task.getId())) {
+                        continue;
+                    }
+                    stack.push(task);
+                    expanded.push(true);
+                    for (Task child : children.getOrDefault(task.getId(), Collections.emptyList())) {
+                        stack.push(child);
+                        expanded.push(false);
+                    }
+                    continue;
+                }
+
+                double weight;
+                double value;
+                List<Task> childTasks = children.get(task.getId());
+                if (childTasks == null) {
+                    weight = leafWeight(task, defaultWeight);
+                    value = weight * leafProgress(task, actualHours.get(task.getId()));
+                } else {
+                    weight = 0;
+                    value = 0;
+                    for (Task child : childTasks) {
+                        weight += weights.getOrDefault(child.getId(), 0.0);
+                        value += earned.getOrDefault(child.getId(), 0.0);
+                    }
+                    if (task.getStatus() == TaskStatus.DONE) {
+                        value = weight;
+                    }
+                }
+                weights.put(task.getId(), weight);
+                earned.put(task.getId(), value);
+                progress.put(task.getId(), ratio(value, weight));
+            }
+        }
+
+        // 迭代和项目：汇总顶级任务
+        Map<Long, double[]> iterationTotals = new HashMap<>();
+        double projectWeight = 0;
+        double projectEarned = 0;
+        for (Task root : roots) {
+            double weight = weights.getOrDefault(root.getId(), 0.0);
+            double value = earned.getOrDefault(root.getId(), 0.0);
+            projectWeight += weight;
+            projectEarned += value;
+            if (root.getIterationId() != null) {
+                double[] totals = iterationTotals.computeIfAbsent(root.getIterationId(), id -> new double[2]);
+                totals[0] += weight;
+                totals[1] += value;
+            }
+        }
+        Map<Long, Double> iterationProgress = new HashMap<>(iterationTotals.size() * 2);
+        for (Map.Entry<Long, double[]> entry : iterationTotals.entrySet()) {
+            iterationProgress.put(entry.getKey(), ratio(entry.getValue()[1], entry.getValue()[0]));
+        }
+        return new ProjectProgress(progress, iterationProgress, ratio(projectEarned, projectWeight));
+    }
+
+    /**
+     * 获取任务进度（0 ~ 1），未知任务返回 0
+     */
+    public double getTaskProgress(Long taskId) {
+        return taskProgress.getOrDefault(taskId, 0.0);
+    }
+
+    /**
+     * 获取迭代进度（0 ~ 1），没有任务的迭代返回 0
+     */
+    public double getIterationProgress(Long iterationId) {
+        return iterationProgress.getOrDefault(iterationId, 0.0);
+    }
+
+    /**
+     * 获取项目进度（0 ~ 1）
+     */
+    public double getProjectProgress() {
+        return projectProgress;
+    }
+
+    /**
+     * 没有预估工时的叶子任务的权重：已预估叶子任务的平均预估工时
+     */
+    private static double defaultLeafWeight(List<Task> tasks, Map<Long, List<Task>> children) {
+        double total = 0;
+        int count = 0;
+        for (Task task : tasks) {
+            if (!children.containsKey(task.getId()) && hasEstimate(task)) {
+                total += task.getEstimateHours().doubleValue();
+                count++;
+            }
+        }
+        return count > 0 ? total / count : 1.0;
+    }
+
+    private static double leafWeight(Task task, double defaultWeight) {
+        return hasEstimate(task) ? task.getEstimateHours().doubleValue() : defaultWeight;
+    }
+
+    private static double leafProgress(Task task, BigDecimal actualHours) {
+        if (task.getStatus() == TaskStatus.DONE) {
+            return 1.0;
+        }
+        if (!hasEstimate(task) || actualHours == null) {
+            return 0.0;
+        }
+        double ratio = actualHours.doubleValue() / task.getEstimateHours().doubleValue();
+        return Math.max(0.0, Math.min(ratio, MAX_UNFINISHED_PROGRESS));
+    }
+
+    private static boolean hasEstimate(Task task) {
+        return task.getEstimateHours() != null && task.getEstimateHours().signum() > 0;
+    }
+
+    /**
+     * 计算比例，保留 4 位小数
+     */
+    private static double ratio(double value, double weight) {
+        if (weight <= 0) {
+            return 0.0;
+        }
+        return Math.round(value / weight * 10000) / 10000.0;
+    }
+}
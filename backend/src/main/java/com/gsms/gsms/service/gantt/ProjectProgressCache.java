@@ -0,0 +1,147 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.stat.IdHours;
+import com.gsms.gsms.repository.TaskMapper;
+import com.gsms.gsms.repository.WorkHourMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 项目进度缓存
+ *
+ * 每个项目缓存一个 {@link ProjectProgress}，首次访问时用项目全部任务和一次按任务分组的工时汇总构建，
+ * 与甘特图快照一起随任务、工时的写操作失效。
+ *
+ * 与 {@link ProjectScheduleCache} 一样记录项目的变更时间，构建期间发生变更时不写入缓存；
+ * 缓存的项目数有上限，超出时淘汰最久未访问的项目。
+ */
+@Component
+public class ProjectProgressCache {
+
+    // 最多缓存的项目数（组合甘特图单次最多 200 个项目）
+    private static final int MAX_PROJECTS = 512;
+
+    private final TaskMapper taskMapper;
+    private final WorkHourMapper workHourMapper;
+
+    private final ProjectCacheEntries<ProjectProgress> progresses = new ProjectCacheEntries<>(MAX_PROJECTS);
+
+    public ProjectProgressCache(TaskMapper taskMapper, WorkHourMapper workHourMapper) {
+        this.taskMapper = taskMapper;
+        this.workHourMapper = workHourMapper;
+    }
+
+    /**
+     * 获取项目进度，不存在时从数据库构建
+     */
+    public ProjectProgress get(Long projectId) {
+        return get(projectId, null);
+    }
+
+    /**
+     * 获取已缓存的项目进度，未缓存时返回 null（不触发构建）
+     */
+    public ProjectProgress getIfPresent(Long projectId) {
+        return progresses.get(projectId);
+    }
+
+    /**
+     * 获取项目进度，不存在时用调用方已加载的项目全部任务构建（避免重复查询任务）
+     */
+    public ProjectProgress get(Long projectId, List<Task> tasks) {
+        long startClock = progresses.clock();
+        ProjectProgress cached = progresses.get(projectId);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (tasks == null) {
+            tasks = taskMapper.selectByProjectId(projectId);
+        }
+        Map<Long, BigDecimal> actualHours = sumHoursByTask(Collections.singletonList(projectId));
+        return progresses.putIfUnchanged(projectId, startClock, ProjectProgress.build(tasks, actualHours));
+    }
+
+    /**
+     * 批量获取多个项目的进度，未缓存的项目用一次 IN 查询加载任务、一次 IN 查询汇总工时
+     */
+    public Map<Long, ProjectProgress> getAll(Collection<Long> projectIds) {
+        return getAll(projectIds, null);
+    }
+
+    /**
+     * 批量获取多个项目的进度，未缓存的项目用一次 IN 查询汇总工时
+     *
+     * @param tasksByProject 项目ID -> 项目全部任务（调用方已加载，没有任务的项目可以不包含）
+     */
+    public Map<Long, ProjectProgress> getAll(Map<Long, List<Task>> tasksByProject) {
+        return getAll(tasksByProject.keySet(), tasksByProject);
+    }
+
+    private Map<Long, ProjectProgress> getAll(Collection<Long> projectIds, Map<Long, List<Task>> tasksByProject) {
+        Map<Long, ProjectProgress> result = new HashMap<>(projectIds.size() * 2);
+        List<Long> missingIds = new ArrayList<>();
+        long startClock = progresses.clock();
+        for (Long projectId : projectIds) {
+            ProjectProgress cached = progresses.get(projectId);
+            if (cached != null) {
+                result.put(projectId, cached);
+            } else {
+                missingIds.add(projectId);
+            }
+        }
+        if (missingIds.isEmpty()) {
+            return result;
+        }
+
+        if (tasksByProject == null) {
+            tasksByProject = new HashMap<>();
+            for (Task task : taskMapper.selectByProjectIds(missingIds)) {
+                tasksByProject.computeIfAbsent(task.getProjectId(), id -> new ArrayList<>()).add(task);
+            }
+        }
+        Map<Long, BigDecimal> actualHours = sumHoursByTask(missingIds);
+        for (Long projectId : missingIds) {
+            List<Task> tasks = tasksByProject.getOrDefault(projectId, Collections.emptyList());
+            result.put(projectId, progresses.putIfUnchanged(projectId, startClock, ProjectProgress.build(tasks, actualHours)));
+        }
+        return result;
+    }
+
+    /**
+     * 失效项目进度（事务中调用时提交后再失效一次）
+     */
+    public void invalidate(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        progresses.invalidate(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    progresses.invalidate(projectId);
+                }
+            });
+        }
+    }
+
+    private Map<Long, BigDecimal> sumHoursByTask(Collection<Long> projectIds) {
+        List<IdHours> rows = workHourMapper.sumHoursGroupByTask(projectIds);
+        Map<Long, BigDecimal> actualHours = new HashMap<>(rows.size() * 2);
+        for (IdHours row : rows) {
+            actualHours.put(row.getId(), row.getHours());
+        }
+        return actualHours;
+    }
+}
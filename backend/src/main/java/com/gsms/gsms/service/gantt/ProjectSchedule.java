@@ -0,0 +1,537 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskLink;
+import com.gsms.gsms.model.enums.TaskLinkType;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 项目任务依赖图与关键路径（CPM）计算
+ *
+ * 节点为项目下的全部任务，边为任务依赖关系。计算规则：
+ * 1. 前推：最早开始 = max(计划开始, 各前置依赖约束)，最早完成 = 最早开始 + 工期
+ * 2. 项目完成时间 = 所有任务最早完成的最大值
+ * 3. 回推：最晚完成 = min(项目完成时间, 各后续依赖约束)，最晚开始 = 最晚完成 - 工期
+ * 4. 总时差 = 最晚开始 - 最早开始，总时差 <= 0 的任务在关键路径上
+ *
+ * 没有计划日期的任务只参与拓扑（用于环检测），不参与时间计算，经过它的依赖不产生约束。
+ *
+ * 拓扑顺序采用 Pearce-Kelly 动态拓扑排序维护：新增依赖时只调整受影响区间，并在形成环时拒绝；
+ * 任务日期或依赖变化时，只重新计算下游（前推）和上游（回推）受影响的节点，
+ * 只有项目完成时间变化时才全量回推。
+ *
+ * 日期以 epochDay 整数计算，完成时间为开区间（计划结束日期 + 1）。所有公开方法线程安全。
+ */
+public final class ProjectSchedule {
+
+    private final Map<Long, Integer> indexByTaskId = new HashMap<>();
+    private final long[] taskIds;
+    private final boolean[] scheduled;
+    private final int[] planStart;
+    private final int[] duration;
+    private final int[] earlyStart;
+    private final int[] lateStart;
+
+    private final List<List<Edge>> outEdges;
+    private final List<List<Edge>> inEdges;
+    private final Map<Long, Edge> edgesByLinkId = new HashMap<>();
+
+    // 节点 -> 拓扑序位置，位置 -> 节点
+    private final int[] ord;
+    private final int[] nodeAt;
+
+    // 项目最早完成时间（开区间）
+    private int finish;
+
+    // 构建时因形成环而被忽略的依赖数量
+    private int ignoredLinkCount;
+
+    private ProjectSchedule(List<Task> tasks) {
+        int n = tasks.size();
+        this.taskIds = new long[n];
+        this.scheduled = new boolean[n];
+        this.planStart = new int[n];
+        this.duration = new int[n];
+        this.earlyStart = new int[n];
+        this.lateStart = new int[n];
+        this.outEdges = new ArrayList<>(n);
+        this.inEdges = new ArrayList<>(n);
+        this.ord = new int[n];
+        this.nodeAt = new int[n];
+        for (int i = 0; i < n; i++) {
+            Task task = tasks.get(i);
+            taskIds[i] = task.getId();
+            indexByTaskId.put(task.getId(), i);
+            setDates(i, task.getPlanStartDate(), task.getPlanEndDate());
+            outEdges.add(new ArrayList<>());
+            inEdges.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * 构建项目依赖图并完成一次全量计算
+     *
+     * @param tasks 项目下的全部任务
+     * @param links 项目下的全部依赖关系（引用不存在任务的依赖会被忽略，形成环的依赖会被忽略并计数）
+     */
+    public static ProjectSchedule build(List<Task> tasks, List<TaskLink> links) {
+        ProjectSchedule schedule = new ProjectSchedule(tasks);
+        List<Edge> edges = new ArrayList<>(links.size());
+        for (TaskLink link : links) {
+            Edge edge = schedule.toEdge(link);
+            if (edge != null) {
+                edges.add(edge);
+            }
+        }
+        if (!schedule.initTopologicalOrder(edges)) {
+            // 存量数据中存在环：逐条加入依赖，拒绝形成环的依赖
+            schedule.resetEdges();
+            for (Edge edge : edges) {
+                if (!schedule.insertEdge(edge)) {
+                    schedule.ignoredLinkCount++;
+                }
+            }
+        }
+        schedule.forwardAll();
+        schedule.backwardAll();
+        return schedule;
+    }
+
+    // ========== 查询 ==========
+
+    public synchronized boolean contains(Long taskId) {
+        return taskId != null && indexByTaskId.containsKey(taskId);
+    }
+
+    /**
+     * 最早开始日期，任务不存在或没有计划日期时返回 null
+     */
+    public synchronized LocalDate getEarlyStart(Long taskId) {
+        Integer i = scheduledIndex(taskId);
+        return i != null ? LocalDate.ofEpochDay(earlyStart[i]) : null;
+    }
+
+    /**
+     * 最晚开始日期，任务不存在或没有计划日期时返回 null
+     */
+    public synchronized LocalDate getLateStart(Long taskId) {
+        Integer i = scheduledIndex(taskId);
+        return i != null ? LocalDate.ofEpochDay(lateStart[i]) : null;
+    }
+
+    /**
+     * 总时差（天），任务不存在或没有计划日期时返回 null
+     */
+    public synchronized Integer getSlack(Long taskId) {
+        Integer i = scheduledIndex(taskId);
+        return i != null ? lateStart[i] - earlyStart[i] : null;
+    }
+
+    /**
+     * 是否在关键路径上，任务不存在或没有计划日期时返回 null
+     */
+    public synchronized Boolean isCritical(Long taskId) {
+        Integer i = scheduledIndex(taskId);
+        return i != null ? lateStart[i] - earlyStart[i] <= 0 : null;
+    }
+
+    /**
+     * 项目最早完成日期（最后一天），没有任何带日期的任务时返回 null
+     */
+    public synchronized LocalDate getFinishDate() {
+        return finish == Integer.MIN_VALUE ? null : LocalDate.ofEpochDay(finish - 1L);
+    }
+
+    public synchronized int getIgnoredLinkCount() {
+        return ignoredLinkCount;
+    }
+
+    /**
+     * 新增依赖 source -> target 是否会形成环（只读检查）
+     */
+    public synchronized boolean wouldCreateCycle(Long sourceTaskId, Long targetTaskId) {
+        Integer u = indexByTaskId.get(sourceTaskId);
+        Integer w = indexByTaskId.get(targetTaskId);
+        if (u == null || w == null) {
+            return false;
+        }
+        if (u.equals(w)) {
+            return true;
+        }
+        return ord[w] < ord[u] && reachesWithin(w, u, ord[u]);
+    }
+
+    // ========== 增量更新 ==========
+
+    /**
+     * 更新任务计划日期并增量重算
+     *
+     * @return 任务不在图中时返回 false（调用方应重建）
+     */
+    public synchronized boolean updateTaskDates(Long taskId, LocalDate planStartDate, LocalDate planEndDate) {
+        Integer i = indexByTaskId.get(taskId);
+        if (i == null) {
+            return false;
+        }
+        setDates(i, planStartDate, planEndDate);
+        recompute(i, i);
+        return true;
+    }
+
+    /**
+     * 新增依赖并增量重算
+     *
+     * @return 引用的任务不在图中或形成环时返回 false，依赖不会被加入
+     */
+    public synchronized boolean addLink(TaskLink link) {
+        Edge edge = toEdge(link);
+        if (edge == null || edgesByLinkId.containsKey(link.getId()) || !insertEdge(edge)) {
+            return false;
+        }
+        recompute(edge.to, edge.from);
+        return true;
+    }
+
+    /**
+     * 删除依赖并增量重算
+     *
+     * @return 依赖不在图中时返回 false
+     */
+    public synchronized boolean removeLink(Long linkId) {
+        Edge edge = edgesByLinkId.remove(linkId);
+        if (edge == null) {
+            return false;
+        }
+        outEdges.get(edge.from).remove(edge);
+        inEdges.get(edge.to).remove(edge);
+        recompute(edge.to, edge.from);
+        return true;
+    }
+
+    // ========== 内部实现 ==========
+
+    private Integer scheduledIndex(Long taskId) {
+        Integer i = taskId != null ? indexByTaskId.get(taskId) : null;
+        return i != null && scheduled[i] ? i : null;
+    }
+
+    private void setDates(int i, LocalDate start, LocalDate end) {
+        scheduled[i] = start != null && end != null;
+        if (scheduled[i]) {
+            planStart[i] = (int) start.toEpochDay();
+            duration[i] = Math.max(1, (int) (end.toEpochDay() - start.toEpochDay()) + 1);
+        }
+    }
+
+    private Edge toEdge(TaskLink link) {
+        Integer from = indexByTaskId.get(link.getSourceTaskId());
+        Integer to = indexByTaskId.get(link.getTargetTaskId());
+        if (from == null || to == null || from.equals(to)) {
+            return null;
+        }
+        TaskLinkType type = link.getType() != null ? link.getType() : TaskLinkType.FINISH_TO_START;
+        int lag = link.getLag() != null ? link.getLag() : 0;
+        return new Edge(link.getId(), from, to, type, lag);
+    }
+
+    private void addEdgeLists(Edge edge) {
+        outEdges.get(edge.from).add(edge);
+        inEdges.get(edge.to).add(edge);
+        if (edge.linkId != null) {
+            edgesByLinkId.put(edge.linkId, edge);
+        }
+    }
+
+    private void resetEdges() {
+        for (int i = 0; i < taskIds.length; i++) {
+            outEdges.get(i).clear();
+            inEdges.get(i).clear();
+            ord[i] = i;
+            nodeAt[i] = i;
+        }
+        edgesByLinkId.clear();
+    }
+
+    /**
+     * Kahn 算法求初始拓扑序，存在环时返回 false
+     */
+    private boolean initTopologicalOrder(List<Edge> edges) {
+        int n = taskIds.length;
+        int[] inDegree = new int[n];
+        for (Edge edge : edges) {
+            addEdgeLists(edge);
+            inDegree[edge.to]++;
+        }
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++) {
+            if (inDegree[i] == 0) {
+                queue[tail++] = i;
+            }
+        }
+        while (head < tail) {
+            int v = queue[head];
+            ord[v] = head;
+            nodeAt[head] = v;
+            head++;
+            for (Edge edge : outEdges.get(v)) {
+                if (--inDegree[edge.to] == 0) {
+                    queue[tail++] = edge.to;
+                }
+            }
+        }
+        return head == n;
+    }
+
+    /**
+     * Pearce-Kelly：加入边并维护拓扑序，形成环时不加入并返回 false
+     */
+    private boolean insertEdge(Edge edge) {
+        int u = edge.from;
+        int w = edge.to;
+        if (ord[w] < ord[u]) {
+            int lower = ord[w];
+            int upper = ord[u];
+            // 从 w 向后搜索（限定在 upper 之内），能到达 u 即成环
+            List<Integer> forward = new ArrayList<>();
+            if (collect(w, upper, true, u, forward)) {
+                return false;
+            }
+            // 从 u 向前搜索（限定在 lower 之内）
+            List<Integer> backward = new ArrayList<>();
+            collect(u, lower, false, -1, backward);
+            reorder(backward, forward);
+        }
+        addEdgeLists(edge);
+        return true;
+    }
+
+    /**
+     * 在拓扑序区间内迭代 DFS 收集可达节点
+     *
+     * @param forward true 沿出边且 ord <= bound，false 沿入边且 ord >= bound
+     * @return 是否到达 target
+     */
+    private boolean collect(int start, int bound, boolean forward, int target, List<Integer> result) {
+        boolean[] seen = new boolean[taskIds.length];
+        Deque<Integer> stack = new ArrayDeque<>();
+        stack.push(start);
+        seen[start] = true;
+        while (!stack.isEmpty()) {
+            int v = stack.pop();
+            result.add(v);
+            for (Edge edge : forward ? outEdges.get(v) : inEdges.get(v)) {
+                int next = forward ? edge.to : edge.from;
+                if (next == target) {
+                    return true;
+                }
+                boolean inRange = forward ? ord[next] <= bound : ord[next] >= bound;
+                if (!seen[next] && inRange) {
+                    seen[next] = true;
+                    stack.push(next);
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean reachesWithin(int start, int target, int bound) {
+        return collect(start, bound, true, target, new ArrayList<>());
+    }
+
+    /**
+     * 将 backward 集合整体移到 forward 集合之前，复用两者原有的拓扑位置
+     */
+    private void reorder(List<Integer> backward, List<Integer> forward) {
+        Comparator<Integer> byOrd = Comparator.comparingInt(v -> ord[v]);
+        backward.sort(byOrd);
+        forward.sort(byOrd);
+        int[] slots = new int[backward.size() + forward.size()];
+        int k = 0;
+        for (int v : backward) {
+            slots[k++] = ord[v];
+        }
+        for (int v : forward) {
+            slots[k++] = ord[v];
+        }
+        Arrays.sort(slots);
+        k = 0;
+        for (int v : backward) {
+            ord[v] = slots[k];
+            nodeAt[slots[k++]] = v;
+        }
+        for (int v : forward) {
+            ord[v] = slots[k];
+            nodeAt[slots[k++]] = v;
+        }
+    }
+
+    private void forwardAll() {
+        for (int p = 0; p < nodeAt.length; p++) {
+            computeEarlyStart(nodeAt[p]);
+        }
+        finish = computeFinish();
+    }
+
+    private void backwardAll() {
+        for (int p = nodeAt.length - 1; p >= 0; p--) {
+            computeLateStart(nodeAt[p]);
+        }
+    }
+
+    /**
+     * 增量重算：从 forwardSeed 按拓扑序向下游前推，从 backwardSeed 按逆拓扑序向上游回推
+     */
+    private void recompute(int forwardSeed, int backwardSeed) {
+        PriorityQueue<Integer> forwardQueue = new PriorityQueue<>(Comparator.comparingInt(v -> ord[v]));
+        boolean[] queued = new boolean[taskIds.length];
+        forwardQueue.add(forwardSeed);
+        queued[forwardSeed] = true;
+        while (!forwardQueue.isEmpty()) {
+            int v = forwardQueue.poll();
+            boolean changed = computeEarlyStart(v) || v == forwardSeed;
+            if (changed) {
+                for (Edge edge : outEdges.get(v)) {
+                    if (!queued[edge.to]) {
+                        queued[edge.to] = true;
+                        forwardQueue.add(edge.to);
+                    }
+                }
+            }
+        }
+
+        int newFinish = computeFinish();
+        if (newFinish != finish) {
+            finish = newFinish;
+            backwardAll();
+            return;
+        }
+
+        PriorityQueue<Integer> backwardQueue = new PriorityQueue<>(Comparator.comparingInt(v -> -ord[v]));
+        Arrays.fill(queued, false);
+        backwardQueue.add(backwardSeed);
+        queued[backwardSeed] = true;
+        while (!backwardQueue.isEmpty()) {
+            int v = backwardQueue.poll();
+            boolean changed = computeLateStart(v) || v == backwardSeed;
+            if (changed) {
+                for (Edge edge : inEdges.get(v)) {
+                    if (!queued[edge.from]) {
+                        queued[edge.from] = true;
+                        backwardQueue.add(edge.from);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * 计算最早开始，返回是否发生变化
+     */
+    private boolean computeEarlyStart(int v) {
+        if (!scheduled[v]) {
+            return false;
+        }
+        int es = planStart[v];
+        for (Edge edge : inEdges.get(v)) {
+            int u = edge.from;
+            if (!scheduled[u]) {
+                continue;
+            }
+            int bound;
+            switch (edge.type) {
+                case START_TO_START:
+                    bound = earlyStart[u] + edge.lag;
+                    break;
+                case FINISH_TO_FINISH:
+                    bound = earlyStart[u] + duration[u] + edge.lag - duration[v];
+                    break;
+                case START_TO_FINISH:
+                    bound = earlyStart[u] + edge.lag - duration[v];
+                    break;
+                case FINISH_TO_START:
+                default:
+                    bound = earlyStart[u] + duration[u] + edge.lag;
+                    break;
+            }
+            es = Math.max(es, bound);
+        }
+        boolean changed = es != earlyStart[v];
+        earlyStart[v] = es;
+        return changed;
+    }
+
+    /**
+     * 计算最晚开始，返回是否发生变化
+     */
+    private boolean computeLateStart(int v) {
+        if (!scheduled[v]) {
+            return false;
+        }
+        int lf = finish;
+        for (Edge edge : outEdges.get(v)) {
+            int w = edge.to;
+            if (!scheduled[w]) {
+                continue;
+            }
+            int bound;
+            switch (edge.type) {
+                case START_TO_START:
+                    bound = lateStart[w] - edge.lag + duration[v];
+                    break;
+                case FINISH_TO_FINISH:
+                    bound = lateStart[w] + duration[w] - edge.lag;
+                    break;
+                case START_TO_FINISH:
+                    bound = lateStart[w] + duration[w] - edge.lag + duration[v];
+                    break;
+                case FINISH_TO_START:
+                default:
+                    bound = lateStart[w] - edge.lag;
+                    break;
+            }
+            lf = Math.min(lf, bound);
+        }
+        int ls = lf - duration[v];
+        boolean changed = ls != lateStart[v];
+        lateStart[v] = ls;
+        return changed;
+    }
+
+    private int computeFinish() {
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < taskIds.length; i++) {
+            if (scheduled[i]) {
+                max = Math.max(max, earlyStart[i] + duration[i]);
+            }
+        }
+        return max;
+    }
+
+    private static final class Edge {
+        private final Long linkId;
+        private final int from;
+        private final int to;
+        private final TaskLinkType type;
+        private final int lag;
+
+        Edge(Long linkId, int from, int to, TaskLinkType type, int lag) {
+            this.linkId = linkId;
+            this.from = from;
+            this.to = to;
+            this.type = type;
+            this.lag = lag;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskLink;
+import com.gsms.gsms.repository.TaskLinkMapper;
+import com.gsms.gsms.repository.TaskMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 项目关键路径缓存
+ *
+ * 每个项目缓存一个 {@link ProjectSchedule}，首次访问时从数据库构建。
+ * 任务日期、依赖关系变化时在事务提交后增量更新；其他影响任务集合的写操作直接失效，下次访问重建。
+ *
+ * 任何变更都会记录项目的变更时间；构建前记录时钟，构建完成时项目在此之后有过变更则不写入缓存，
+ * 避免构建期间提交的变更被旧数据覆盖（见 {@link ProjectCacheEntries}）。
+ *
+ * 每个项目的关键路径包含完整的任务和依赖图，缓存的项目数有上限，超出时淘汰最久未访问的项目。
+ */
+@Component
+public class ProjectScheduleCache {
+    private static final Logger logger = LoggerFactory.getLogger(ProjectScheduleCache.class);
+
+    // 最多缓存的项目数
+    private static final int MAX_PROJECTS = 256;
+
+    private final TaskMapper taskMapper;
+    private final TaskLinkMapper taskLinkMapper;
+
+    private final ProjectCacheEntries<ProjectSchedule> schedules = new ProjectCacheEntries<>(MAX_PROJECTS);
+
+    public ProjectScheduleCache(TaskMapper taskMapper, TaskLinkMapper taskLinkMapper) {
+        this.taskMapper = taskMapper;
+        this.taskLinkMapper = taskLinkMapper;
+    }
+
+    /**
+     * 获取项目关键路径，不存在时从数据库构建
+     */
+    public ProjectSchedule get(Long projectId) {
+        return get(projectId, null, null);
+    }
+
+    /**
+     * 获取已缓存的项目关键路径，未缓存时返回 null（不触发构建）
+     */
+    public ProjectSchedule getIfPresent(Long projectId) {
+        return schedules.get(projectId);
+    }
+
+    /**
+     * 获取项目关键路径，不存在时用调用方已加载的项目全部任务和依赖关系构建（避免重复查询）
+     */
+    public ProjectSchedule get(Long projectId, List<Task> tasks, List<TaskLink> links) {
+        long startClock = schedules.clock();
+        ProjectSchedule cached = schedules.get(projectId);
+        if (cached != null) {
+            return cached;
+        }
+
+        if (tasks == null || links == null) {
+            tasks = taskMapper.selectByProjectId(projectId);
+            links = taskLinkMapper.selectByProjectId(projectId);
+        }
+        ProjectSchedule schedule = ProjectSchedule.build(tasks, links);
+        if (schedule.getIgnoredLinkCount() > 0) {
+            logger.warn("项目存在形成环的任务依赖，已忽略: projectId={}, count={}", projectId, schedule.getIgnoredLinkCount());
+        }
+
+        return schedules.putIfUnchanged(projectId, startClock, schedule);
+    }
+
+    /**
+     * 失效项目关键路径（事务中调用时提交后再失效一次）
+     */
+    public void invalidate(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        schedules.invalidate(projectId);
+        afterCommit(() -> schedules.invalidate(projectId));
+    }
+
+    /**
+     * 事务提交后对已缓存的关键路径做增量更新，更新失败（返回 false）时失效
+     */
+    public void applyAfterCommit(Long projectId, Predicate<ProjectSchedule> change) {
+        afterCommit(() -> schedules.update(projectId, change));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.enums.errorcode.ProjectErrorCode;
+import com.gsms.gsms.model.enums.errorcode.TaskErrorCode;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 项目任务排期快照
+ *
+ * 一次加载项目全部任务后在内存中应用批量的时间、层级变更，再统一校验：
+ * - 结束日期不能早于开始日期
+ * - 父任务必须是同一项目下的任务，且不能形成循环
+ * - 子任务时间不能超出父任务范围（只检查变更涉及的父子关系）
+ *
+ * 校验全部基于变更后的状态，同一批次中先移动父任务、再移动子任务不会因中间状态被拒绝。
+ * 整体平移子树时所有后代按相同天数移动，保持相对偏移和工期不变。
+ * 快照中的任务是副本，只包含 id、projectId、iterationId、parentId 和计划日期，不影响调用方传入的对象。
+ */
+public final class TaskScheduleSnapshot {
+
+    // 任务ID -> 当前（已应用变更的）任务副本
+    private final Map<Long, Task> tasks;
+
+    // 任务ID -> 变更前的任务副本（只记录被修改过的任务，保持修改顺序）
+    private final Map<Long, Task> originals = new LinkedHashMap<>();
+
+    private TaskScheduleSnapshot(Map<Long, Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    /**
+     * 由项目任务列表创建快照
+     */
+    public static TaskScheduleSnapshot of(List<Task> projectTasks) {
+        Map<Long, Task> tasks = new HashMap<>(projectTasks.size() * 2);
+        for (Task task : projectTasks) {
+            tasks.put(task.getId(), copyOf(task));
+        }
+        return new TaskScheduleSnapshot(tasks);
+    }
+
+    /**
+     * 获取任务当前状态，不存在返回 null
+     */
+    public Task get(Long taskId) {
+        return tasks.get(taskId);
+    }
+
+    /**
+     * 修改任务计划日期
+     */
+    public void setDates(Long taskId, LocalDate planStartDate, LocalDate planEndDate) {
+        if (planStartDate != null && planEndDate != null && planEndDate.isBefore(planStartDate)) {
+            throw new BusinessException(ProjectErrorCode.PROJECT_DATE_INVALID);
+        }
+        Task task = modify(taskId);
+        task.setPlanStartDate(planStartDate);
+        task.setPlanEndDate(planEndDate);
+    }
+
+    /**
+     * 修改任务父任务（null 表示顶级任务）
+     */
+    public void setParent(Long taskId, Long parentId) {
+        if (parentId != null) {
+            if (parentId.equals(taskId)) {
+                throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+            }
+            // 快照只包含本项目任务，找不到即不存在或不属于本项目
+            if (!tasks.containsKey(parentId)) {
+                throw new BusinessException(TaskErrorCode.TASK_PROJECT_INVALID);
+            }
+        }
+        modify(taskId).setParentId(parentId);
+    }
+
+    /**
+     * 获取全部任务ID
+     */
+    public List<Long> getTaskIds() {
+        return new ArrayList<>(tasks.keySet());
+    }
+
+    /**
+     * 获取迭代下的任务ID
+     */
+    public List<Long> getTaskIdsByIteration(Long iterationId) {
+        List<Long> taskIds = new ArrayList<>();
+        for (Task task : tasks.values()) {
+            if (iterationId.equals(task.getIterationId())) {
+                taskIds.add(task.getId());
+            }
+        }
+        return taskIds;
+    }
+
+    /**
+     * 将任务及其全部后代的计划日期整体平移（未设置的日期保持为空）
+     *
+     * @param rootTaskIds 子树根任务ID（子树重叠时每个任务只平移一次）
+     * @param days 平移天数，可为负数
+     */
+    public void shiftSubtrees(Collection<Long> rootTaskIds, long days) {
+        // 一次遍历建立 父任务 -> 子任务 索引
+        Map<Long, List<Long>> children = new HashMap<>();
+        for (Task task : tasks.values()) {
+            if (task.getParentId() != null) {
+                children.computeIfAbsent(task.getParentId(), id -> new ArrayList<>()).add(task.getId());
+            }
+        }
+
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> stack = new ArrayDeque<>(rootTaskIds);
+        while (!stack.isEmpty()) {
+            Long taskId = stack.pop();
+            if (!visited.add(taskId)) {
+                continue;
+            }
+            Task task = modify(taskId);
+            if (task.getPlanStartDate() != null) {
+                task.setPlanStartDate(task.getPlanStartDate().plusDays(days));
+            }
+            if (task.getPlanEndDate() != null) {
+                task.setPlanEndDate(task.getPlanEndDate().plusDays(days));
+            }
+            List<Long> childIds = children.get(taskId);
+            if (childIds != null) {
+                stack.addAll(childIds);
+            }
+        }
+    }
+
+    /**
+     * 校验变更后的快照
+     */
+    public void validate() {
+        // 1. 层级变更不能形成循环：沿父链向上最多走 n 步，回到自身或走不完即为循环
+        for (Long taskId : originals.keySet()) {
+            Task task = tasks.get(taskId);
+            if (Objects.equals(task.getParentId(), originals.get(taskId).getParentId())) {
+                continue;
+            }
+            Long current = task.getParentId();
+            int steps = 0;
+            while (current != null) {
+                if (current.equals(taskId) || ++steps > tasks.size()) {
+                    throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+                }
+                Task parent = tasks.get(current);
+                current = parent != null ? parent.getParentId() : null;
+            }
+        }
+
+        // 2. 一次遍历检查变更涉及的父子关系：任务自身被修改，或其父任务被修改
+        for (Task task : tasks.values()) {
+            if (task.getParentId() == null) {
+                continue;
+            }
+            if (originals.containsKey(task.getId()) || originals.containsKey(task.getParentId())) {
+                checkWithinParentRange(tasks.get(task.getParentId()), task);
+            }
+        }
+    }
+
+    /**
+     * 获取实际发生变化的任务（按首次修改顺序，不包含修改后与原值相同的任务）
+     */
+    public List<Task> getChangedTasks() {
+        List<Task> changed = new ArrayList<>(originals.size());
+        for (Map.Entry<Long, Task> entry : originals.entrySet()) {
+            Task task = tasks.get(entry.getKey());
+            if (!sameSchedule(task, entry.getValue())) {
+                changed.add(task);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * 任务计划日期是否发生变化
+     */
+    public boolean isDatesChanged(Long taskId) {
+        Task original = originals.get(taskId);
+        if (original == null) {
+            return false;
+        }
+        Task task = tasks.get(taskId);
+        return !Objects.equals(task.getPlanStartDate(), original.getPlanStartDate())
+                || !Objects.equals(task.getPlanEndDate(), original.getPlanEndDate());
+    }
+
+    private Task modify(Long taskId) {
+        Task task = tasks.get(taskId);
+        if (task == null) {
+            throw new BusinessException(TaskErrorCode.TASK_NOT_FOUND);
+        }
+        originals.putIfAbsent(taskId, copyOf(task));
+        return task;
+    }
+
+    /**
+     * 检查任务时间是否在父任务时间范围内（父任务或任务未设置对应日期时不限制）
+     */
+    private static void checkWithinParentRange(Task parent, Task task) {
+        if (parent == null) {
+            return;
+        }
+        if (task.getPlanStartDate() != null && parent.getPlanStartDate() != null
+                && task.getPlanStartDate().isBefore(parent.getPlanStartDate())) {
+            throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+        }
+        if (task.getPlanEndDate() != null && parent.getPlanEndDate() != null
+                && task.getPlanEndDate().isAfter(parent.getPlanEndDate())) {
+            throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+        }
+    }
+
+    private static boolean sameSchedule(Task a, Task b) {
+        return Objects.equals(a.getParentId(), b.getParentId())
+                && Objects.equals(a.getPlanStartDate(), b.getPlanStartDate())
+                && Objects.equals(a.getPlanEndDate(), b.getPlanEndDate());
+    }
+
+    private static Task copyOf(Task task) {
+        Task copy = new Task();
+        copy.setId(task.getId());
+        copy.setProjectId(task.getProjectId());
+        copy.setIterationId(task.getIterationId());
+        copy.setParentId(task.getParentId());
+        copy.setPlanStartDate(task.getPlanStartDate());
+        copy.setPlanEndDate(task.getPlanEndDate());
+        return copy;
+    }
+}
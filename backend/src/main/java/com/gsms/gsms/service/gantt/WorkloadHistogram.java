@@ -0,0 +1,204 @@
+package com.gsms.gsms.service.gantt;
+
+import com.gsms.gsms.model.stat.TaskInterval;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 负责人负载直方图（每人每天的任务数和预估工时）
+ *
+ * 每个任务区间只在差分数组的两端各记一次，最后按行做一次前缀和，
+ * 复杂度为 O(任务数 + 人数 × 天数)，与任务工期无关：
+ * - 任务数：计划区间内每天（含周末）计 1
+ * - 预估工时：平均分摊到计划区间内的工作日（周一至周五）；区间内没有工作日时平均分摊到每一天
+ *
+ * 只设置了一个计划日期的任务按单日任务处理；两个日期都未设置的任务计入未排期任务数。
+ * 数据保存在按 行（人）× 列（天）展开的一维基本类型数组中。
+ */
+public final class WorkloadHistogram {
+
+    private final LocalDate startDate;
+    private final int days;
+    private final List<Long> userIds;
+    private final boolean[] workdays;
+    private final int[] taskCounts;
+    private final double[] hours;
+    private final int[] unscheduledCounts;
+
+    private WorkloadHistogram(LocalDate startDate, int days, List<Long> userIds, boolean[] workdays,
+                              int[] taskCounts, double[] hours, int[] unscheduledCounts) {
+        this.startDate = startDate;
+        this.days = days;
+        this.userIds = userIds;
+        this.workdays = workdays;
+        this.taskCounts = taskCounts;
+        this.hours = hours;
+        this.unscheduledCounts = unscheduledCounts;
+    }
+
+    /**
+     * 构建负载直方图
+     *
+     * @param startDate 开始日期
+     * @param endDate 结束日期（不早于开始日期）
+     * @param userIds 负责人ID（决定行顺序，不在其中的负责人的任务忽略）
+     * @param intervals 任务计划区间
+     */
+    public static WorkloadHistogram build(LocalDate startDate, LocalDate endDate, List<Long> userIds,
+                                          List<TaskInterval> intervals) {
+        int days = (int) (endDate.toEpochDay() - startDate.toEpochDay() + 1);
+        int width = days + 1;
+        long base = startDate.toEpochDay();
+
+        boolean[] workdays = new boolean[days];
+        DayOfWeek dayOfWeek = startDate.getDayOfWeek();
+        for (int d = 0; d < days; d++) {
+            workdays[d] = isWorkday(dayOfWeek);
+            dayOfWeek = dayOfWeek.plus(1);
+        }
+
+        Map<Long, Integer> rows = new HashMap<>(userIds.size() * 2);
+        for (int i = 0; i < userIds.size(); i++) {
+            rows.put(userIds.get(i), i);
+        }
+
+        // 差分数组：任务数、按工作日分摊的工时、按自然日分摊的工时
+        int[] countDiff = new int[userIds.size() * width];
+        double[] workdayDiff = new double[userIds.size() * width];
+        double[] calendarDiff = new double[userIds.size() * width];
+        int[] unscheduledCounts = new int[userIds.size()];
+
+        for (TaskInterval interval : intervals) {
+            Integer row = rows.get(interval.getAssigneeId());
+            if (row == null) {
+                continue;
+            }
+            LocalDate start = interval.getPlanStartDate() != null ? interval.getPlanStartDate() : interval.getPlanEndDate();
+            LocalDate end = interval.getPlanEndDate() != null ? interval.getPlanEndDate() : interval.getPlanStartDate();
+            if (start == null) {
+                unscheduledCounts[row]++;
+                continue;
+            }
+            if (end.isBefore(start)) {
+                end = start;
+            }
+
+            // 裁剪到统计范围
+            long from = Math.max(start.toEpochDay(), base) - base;
+            long to = Math.min(end.toEpochDay(), base + days - 1) - base;
+            if (from > to) {
+                continue;
+            }
+            int offset = row * width;
+            countDiff[offset + (int) from]++;
+            countDiff[offset + (int) to + 1]--;
+
+            double estimate = interval.getEstimateHours() != null ? interval.getEstimateHours().doubleValue() : 0;
+            if (estimate <= 0) {
+                continue;
+            }
+            // 每天分摊量按完整计划区间计算，统计范围外的部分不计入
+            long workdayCount = countWorkdays(start, end);
+            if (workdayCount > 0) {
+                double perDay = estimate / workdayCount;
+                workdayDiff[offset + (int) from] += perDay;
+                workdayDiff[offset + (int) to + 1] -= perDay;
+            } else {
+                double perDay = estimate / (end.toEpochDay() - start.toEpochDay() + 1);
+                calendarDiff[offset + (int) from] += perDay;
+                calendarDiff[offset + (int) to + 1] -= perDay;
+            }
+        }
+
+        // 按行前缀和，得到稠密矩阵
+        int[] taskCounts = new int[userIds.size() * days];
+        double[] hours = new double[userIds.size() * days];
+        for (int row = 0; row < userIds.size(); row++) {
+            int count = 0;
+            double workdayHours = 0;
+            double calendarHours = 0;
+            for (int d = 0; d < days; d++) {
+                count += countDiff[row * width + d];
+                workdayHours += workdayDiff[row * width + d];
+                calendarHours += calendarDiff[row * width + d];
+                taskCounts[row * days + d] = count;
+                hours[row * days + d] = (workdays[d] ? workdayHours : 0) + calendarHours;
+            }
+        }
+        return new WorkloadHistogram(startDate, days, userIds, workdays, taskCounts, hours, unscheduledCounts);
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    /**
+     * 统计天数
+     */
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * 负责人ID（行顺序）
+     */
+    public List<Long> getUserIds() {
+        return userIds;
+    }
+
+    /**
+     * 每天是否为工作日
+     */
+    public boolean[] getWorkdays() {
+        return workdays.clone();
+    }
+
+    /**
+     * 负责人每天的任务数
+     */
+    public int[] getTaskCounts(int row) {
+        int[] result = new int[days];
+        System.arraycopy(taskCounts, row * days, result, 0, days);
+        return result;
+    }
+
+    /**
+     * 负责人每天的预估工时
+     */
+    public double[] getHours(int row) {
+        double[] result = new double[days];
+        System.arraycopy(hours, row * days, result, 0, days);
+        return result;
+    }
+
+    /**
+     * 负责人未设置计划日期的任务数
+     */
+    public int getUnscheduledCount(int row) {
+        return unscheduledCounts[row];
+    }
+
+    /**
+     * 计算闭区间内的工作日（周一至周五）天数
+     */
+    static long countWorkdays(LocalDate start, LocalDate end) {
+        long total = end.toEpochDay() - start.toEpochDay() + 1;
+        long count = total / 7 * 5;
+        DayOfWeek dayOfWeek = start.getDayOfWeek();
+        for (long i = 0; i < total % 7; i++) {
+            if (isWorkday(dayOfWeek)) {
+                count++;
+            }
+            dayOfWeek = dayOfWeek.plus(1);
+        }
+        return count;
+    }
+
+    private static boolean isWorkday(DayOfWeek dayOfWeek) {
+        return dayOfWeek != DayOfWeek.SATURDAY && dayOfWeek != DayOfWeek.SUNDAY;
+    }
+}
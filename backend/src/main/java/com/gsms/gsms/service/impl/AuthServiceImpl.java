@@ -1,19 +1,23 @@
 package com.gsms.gsms.service.impl;
 
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.infra.exception.CommonErrorCode;
 import com.gsms.gsms.repository.PermissionMapper;
 import com.gsms.gsms.repository.ProjectMemberMapper;
 import com.gsms.gsms.repository.RoleMapper;
 import com.gsms.gsms.service.AuthService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.gsms.gsms.service.auth.AuthSnapshot;
+import com.gsms.gsms.service.auth.AuthSnapshotCache;
 import org.springframework.stereotype.Service;
 
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 /**
  * 权限与数据范围服务实现
+ *
+ * 权限码、角色码和参与的项目按用户加载为一个快照并缓存（见 {@link AuthSnapshotCache}），
+ * 同一用户的鉴权只在缓存未命中时访问数据库；返回的列表不可修改。
  */
 @Service
 public class AuthServiceImpl implements AuthService {
@@ -25,11 +29,14 @@ public class AuthServiceImpl implements AuthService {
     private final PermissionMapper permissionMapper;
     private final ProjectMemberMapper projectMemberMapper;
     private final RoleMapper roleMapper;
+    private final AuthSnapshotCache authSnapshotCache;
 
-    public AuthServiceImpl(PermissionMapper permissionMapper, ProjectMemberMapper projectMemberMapper, RoleMapper roleMapper) {
+    public AuthServiceImpl(PermissionMapper permissionMapper, ProjectMemberMapper projectMemberMapper, RoleMapper roleMapper,
+                           AuthSnapshotCache authSnapshotCache) {
         this.permissionMapper = permissionMapper;
         this.projectMemberMapper = projectMemberMapper;
         this.roleMapper = roleMapper;
+        this.authSnapshotCache = authSnapshotCache;
     }
 
     @Override
@@ -37,8 +44,7 @@ public class AuthServiceImpl implements AuthService {
         if (userId == null || permissionCode == null) {
             return false;
         }
-        Set<String> codes = getPermissionCodeSet(userId);
-        return codes.contains(permissionCode);
+        return getSnapshot(userId).hasPermission(permissionCode);
     }
 
     @Override
@@ -61,7 +67,18 @@ public class AuthServiceImpl implements AuthService {
         if (userId == null) {
             return Collections.emptyList();
         }
-        return projectMemberMapper.selectProjectIdsByUserId(userId);
+        return getSnapshot(userId).getProjectIds();
+    }
+
+    @Override
+    public void checkProjectAccess(Long userId, Long projectId) {
+        if (userId == null) {
+            throw new BusinessException(CommonErrorCode.FORBIDDEN);
+        }
+        AuthSnapshot snapshot = getSnapshot(userId);
+        if (!snapshot.hasPermission(PERM_PROJECT_VIEW_ALL) && !snapshot.isProjectMember(projectId)) {
+            throw new BusinessException(CommonErrorCode.FORBIDDEN);
+        }
     }
 
     @Override
@@ -69,8 +86,7 @@ public class AuthServiceImpl implements AuthService {
         if (userId == null || roleCode == null) {
             return false;
         }
-        List<String> roleCodes = roleMapper.selectRoleCodesByUserId(userId);
-        return roleCodes != null && roleCodes.contains(roleCode);
+        return getSnapshot(userId).hasRole(roleCode);
     }
 
     @Override
@@ -78,8 +94,7 @@ public class AuthServiceImpl implements AuthService {
         if (userId == null) {
             return Collections.emptyList();
         }
-        List<String> codes = roleMapper.selectRoleCodesByUserId(userId);
-        return codes != null ? codes : Collections.emptyList();
+        return getSnapshot(userId).getRoleCodes();
     }
 
     @Override
@@ -87,21 +102,19 @@ public class AuthServiceImpl implements AuthService {
         if (userId == null) {
             return Collections.emptyList();
         }
-        List<String> codes = permissionMapper.selectPermissionCodesByUserId(userId);
-        return codes != null ? codes : Collections.emptyList();
+        return getSnapshot(userId).getPermissionCodes();
     }
 
     /**
-     * 获取用户权限码集合（内部使用，返回Set以提高查询性能）
+     * 获取用户授权快照，缓存未命中时一次加载权限码、角色码和参与的项目
      *
      * @param userId 用户ID
-     * @return 权限码Set
+     * @return 授权快照
      */
-    private Set<String> getPermissionCodeSet(Long userId) {
-        List<String> codes = permissionMapper.selectPermissionCodesByUserId(userId);
-        if (codes == null || codes.isEmpty()) {
-            return Collections.emptySet();
-        }
-        return new HashSet<>(codes);
+    private AuthSnapshot getSnapshot(Long userId) {
+        return authSnapshotCache.get(userId, () -> new AuthSnapshot(
+                permissionMapper.selectPermissionCodesByUserId(userId),
+                roleMapper.selectRoleCodesByUserId(userId),
+                projectMemberMapper.selectProjectIdsByUserId(userId)));
     }
 }
@@ -1,27 +1,59 @@
 package com.gsms.gsms.service.impl;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.gsms.gsms.dto.gantt.*;
+import com.gsms.gsms.infra.common.Result;
 import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.infra.exception.CommonErrorCode;
+import com.gsms.gsms.model.enums.errorcode.IterationErrorCode;
 import com.gsms.gsms.model.enums.errorcode.ProjectErrorCode;
 import com.gsms.gsms.model.enums.errorcode.TaskErrorCode;
 import com.gsms.gsms.model.entity.Iteration;
 import com.gsms.gsms.model.entity.Project;
 import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskLink;
+import com.gsms.gsms.model.entity.TaskRemoval;
+import com.gsms.gsms.model.enums.TaskLinkType;
+import com.gsms.gsms.model.stat.IdCount;
+import com.gsms.gsms.model.stat.ProjectTaskSummary;
 import com.gsms.gsms.repository.IterationMapper;
 import com.gsms.gsms.repository.ProjectMapper;
+import com.gsms.gsms.repository.TaskLinkMapper;
 import com.gsms.gsms.repository.TaskMapper;
+import com.gsms.gsms.repository.TaskRemovalMapper;
 import com.gsms.gsms.service.AuthService;
 import com.gsms.gsms.service.CacheService;
 import com.gsms.gsms.service.GanttService;
+import com.gsms.gsms.service.gantt.GanttBuildExecutor;
+import com.gsms.gsms.service.gantt.GanttDiagnostics;
+import com.gsms.gsms.service.gantt.GanttScheduleWriter;
+import com.gsms.gsms.service.gantt.GanttSnapshotCache;
+import com.gsms.gsms.service.gantt.GanttTreeBuilder;
+import com.gsms.gsms.service.gantt.ProjectProgress;
+import com.gsms.gsms.service.gantt.ProjectProgressCache;
+import com.gsms.gsms.service.gantt.ProjectSchedule;
+import com.gsms.gsms.service.gantt.ProjectScheduleCache;
+import com.gsms.gsms.service.gantt.TaskScheduleSnapshot;
+import com.gsms.gsms.service.statistics.StatisticsCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 /**
  * 甘特图服务实现类
@@ -30,74 +62,450 @@ import java.util.stream.Collectors;
 public class GanttServiceImpl implements GanttService {
     private static final Logger logger = LoggerFactory.getLogger(GanttServiceImpl.class);
 
+    // 增量同步单次最多返回的变更数，超过则要求客户端重新加载完整甘特图
+    private static final int MAX_DELTA_CHANGES = 2000;
+
+    // 增量同步水位相对数据库当前时间的安全回退（秒）：update_time 取语句执行时间而不是提交时间，
+    // 执行后较晚提交的事务写入的时间会早于其他请求已经返回的水位，水位不超过 NOW() 减去该值才不会漏掉
+    private static final int WATERMARK_SAFETY_SECONDS = 10;
+
+    // 组合甘特图最多包含的项目数
+    private static final int MAX_PORTFOLIO_PROJECTS = 200;
+
+    // 批量编辑时增量更新关键路径的任务数上限，超过则直接失效
+    private static final int MAX_INCREMENTAL_SCHEDULE_UPDATES = 64;
+
     private final ProjectMapper projectMapper;
     private final IterationMapper iterationMapper;
     private final TaskMapper taskMapper;
+    private final TaskLinkMapper taskLinkMapper;
+    private final TaskRemovalMapper taskRemovalMapper;
     private final AuthService authService;
     private final CacheService cacheService;
+    private final GanttDiagnostics ganttDiagnostics;
+    private final GanttSnapshotCache ganttSnapshotCache;
+    private final ProjectScheduleCache projectScheduleCache;
+    private final ProjectProgressCache projectProgressCache;
+    private final GanttScheduleWriter ganttScheduleWriter;
+    private final GanttBuildExecutor ganttBuildExecutor;
+    private final StatisticsCache statisticsCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 甘特图节点转换器（供 GanttTreeBuilder 使用）
+     */
+    private final GanttTreeBuilder.NodeFactory nodeFactory = new GanttTreeBuilder.NodeFactory() {
+        @Override
+        public GanttTaskResp projectNode(Project project) {
+            return convertProjectToGanttTask(project, null);
+        }
+
+        @Override
+        public GanttTaskResp iterationNode(Iteration iteration, Long parentGanttId) {
+            return convertIterationToGanttTask(iteration, parentGanttId);
+        }
+
+        @Override
+        public GanttTaskResp taskNode(Task task, Long parentGanttId) {
+            return convertTaskToGanttTask(task, parentGanttId);
+        }
+    };
 
     public GanttServiceImpl(ProjectMapper projectMapper, IterationMapper iterationMapper,
-                           TaskMapper taskMapper, AuthService authService, CacheService cacheService) {
+                           TaskMapper taskMapper, TaskLinkMapper taskLinkMapper, TaskRemovalMapper taskRemovalMapper,
+                           AuthService authService, CacheService cacheService,
+                           GanttDiagnostics ganttDiagnostics, GanttSnapshotCache ganttSnapshotCache,
+                           ProjectScheduleCache projectScheduleCache, ProjectProgressCache projectProgressCache,
+                           GanttScheduleWriter ganttScheduleWriter, GanttBuildExecutor ganttBuildExecutor,
+                           StatisticsCache statisticsCache, ObjectMapper objectMapper) {
         this.projectMapper = projectMapper;
         this.iterationMapper = iterationMapper;
         this.taskMapper = taskMapper;
+        this.taskLinkMapper = taskLinkMapper;
+        this.taskRemovalMapper = taskRemovalMapper;
         this.authService = authService;
         this.cacheService = cacheService;
+        this.ganttDiagnostics = ganttDiagnostics;
+        this.ganttSnapshotCache = ganttSnapshotCache;
+        this.projectScheduleCache = projectScheduleCache;
+        this.projectProgressCache = projectProgressCache;
+        this.ganttScheduleWriter = ganttScheduleWriter;
+        this.ganttBuildExecutor = ganttBuildExecutor;
+        this.statisticsCache = statisticsCache;
+        this.objectMapper = objectMapper;
     }
 
     @Override
     public GanttDataResp getProjectGanttData(Long projectId, LocalDate startDate, LocalDate endDate) {
-        logger.info("获取项目甘特图数据: projectId={}, startDate={}, endDate={}", projectId, startDate, endDate);
+        logger.debug("获取项目甘特图数据: projectId={}, startDate={}, endDate={}", projectId, startDate, endDate);
 
         Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
 
         // 鉴权 - 检查项目访问权限
         authService.checkProjectAccess(currentUserId, projectId);
 
+        GanttDiagnostics.Trace trace = ganttDiagnostics.start(projectId);
+
+        // 命中快照缓存直接返回（诊断模式下总是重新构建）
+        String view = viewOf(startDate, endDate, false);
+        long version = ganttSnapshotCache.currentVersion(projectId);
+        if (!trace.isEnabled()) {
+            GanttDataResp cached = ganttSnapshotCache.get(projectId, view, version);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         // 查询项目信息
         Project project = projectMapper.selectById(projectId);
         if (project == null) {
             throw new BusinessException(ProjectErrorCode.PROJECT_NOT_FOUND);
         }
 
-        // 查询项目下的所有迭代
-        List<Iteration> iterations = iterationMapper.selectByProjectId(projectId);
-        logger.info("查询到 {} 个迭代", iterations.size());
+        GanttSource source = loadGanttSource(projectId, startDate, endDate);
+        List<Iteration> iterations = source.iterations;
+        List<Task> allTasks = source.tasks;
+        trace.phase("query");
+        trace.count("iterations", iterations.size());
+        trace.count("tasks", allTasks.size());
 
-        // 查询项目下的所有任务
-        List<Task> allTasks = taskMapper.selectByProjectId(projectId);
-        logger.info("查询到 {} 个任务", allTasks.size());
+        // 构建甘特图任务树
+        List<GanttTaskResp> ganttTasks = buildGanttTaskTree(project, iterations, allTasks);
+        trace.phase("build");
 
-        // 输出所有任务的信息（调试用）
-        for (Task task : allTasks) {
-            logger.info("任务: id={}, title={}, parentId={}, iterationId={}",
-                    task.getId(), task.getTitle(), task.getParentId(), task.getIterationId());
-        }
+        // 关键路径（按项目缓存，任务日期或依赖变化时增量更新）
+        ProjectSchedule schedule = projectScheduleCache.get(projectId);
+        trace.phase("schedule");
 
-        // 构建甘特图任务树
-        List<GanttTaskResp> ganttTasks = buildGanttTaskTree(project, iterations, allTasks, startDate, endDate);
+        // 进度汇总（按项目缓存，全量视图直接复用已加载的任务）
+        ProjectProgress progress = startDate == null && endDate == null
+                ? projectProgressCache.get(projectId, allTasks) : projectProgressCache.get(projectId);
+        trace.phase("progress");
 
-        // TODO: 查询任务依赖关系（如果后续需要依赖关系功能，需要创建 task_link 表）
-        List<GanttLinkResp> links = new ArrayList<>();
+        // 填充负责人、关键路径、进度等展示信息
+        enrichGanttTaskTree(ganttTasks, schedule, progress);
+
+        // 任务依赖关系（只保留两端任务都在本次返回数据中的依赖）
+        List<GanttLinkResp> links = loadGanttLinks(projectId, allTasks);
 
         GanttDataResp resp = new GanttDataResp();
         resp.setData(ganttTasks);
         resp.setLinks(links);
+        trace.phase("enrich");
 
-        // 输出构建的树形结构 JSON（用于调试）
-        try {
-            com.fasterxml.jackson.databind.ObjectMapper mapper = new com.fasterxml.jackson.databind.ObjectMapper();
-            mapper.enable(com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT);
-            String json = mapper.writeValueAsString(resp);
-            logger.info("甘特图数据结构:\n{}", json);
-        } catch (Exception e) {
-            logger.error("JSON 序列化失败", e);
+        trace.finish(logger);
+
+        ganttSnapshotCache.put(projectId, view, version, resp);
+        logger.debug("构建甘特图数据成功: 项目={}, 任务数={}", project.getName(), allTasks.size());
+        return resp;
+    }
+
+    @Override
+    public GanttDataResp getPortfolioGanttData(List<Long> projectIds, boolean collapsed) {
+        logger.debug("获取组合甘特图数据: projectIds={}, collapsed={}", projectIds, collapsed);
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+
+        // 鉴权并确定项目范围（未指定时为用户可访问的最近更新的项目，多查一条判断是否截断）
+        List<Project> projects = loadPortfolioProjects(currentUserId, projectIds);
+        GanttDataResp resp = new GanttDataResp();
+        resp.setLinks(new ArrayList<>());
+        resp.setTruncated(projects.size() > MAX_PORTFOLIO_PROJECTS);
+        if (projects.size() > MAX_PORTFOLIO_PROJECTS) {
+            projects = projects.subList(0, MAX_PORTFOLIO_PROJECTS);
+        }
+        if (projects.isEmpty()) {
+            resp.setData(new ArrayList<>());
+            return resp;
+        }
+        List<Long> ids = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            ids.add(project.getId());
+        }
+
+        // 折叠模式：只返回项目汇总节点，展开时走懒加载接口
+        if (collapsed) {
+            resp.setData(buildCollapsedProjectNodes(projects, ids));
+            return resp;
+        }
+
+        // 一次 IN 查询加载全部项目的迭代、任务和依赖关系，再在内存中按项目分组
+        Map<Long, List<Iteration>> iterationsByProject = new HashMap<>();
+        for (Iteration iteration : iterationMapper.selectByProjectIds(ids)) {
+            iterationsByProject.computeIfAbsent(iteration.getProjectId(), id -> new ArrayList<>()).add(iteration);
+        }
+        Map<Long, List<Task>> tasksByProject = new HashMap<>();
+        for (Task task : taskMapper.selectByProjectIds(ids)) {
+            tasksByProject.computeIfAbsent(task.getProjectId(), id -> new ArrayList<>()).add(task);
         }
+        Map<Long, List<TaskLink>> linksByProject = new HashMap<>();
+        for (TaskLink link : taskLinkMapper.selectByProjectIds(ids)) {
+            linksByProject.computeIfAbsent(link.getProjectId(), id -> new ArrayList<>()).add(link);
+        }
+
+        // 未缓存进度的项目用一次 IN 查询汇总工时
+        for (Long id : ids) {
+            tasksByProject.computeIfAbsent(id, key -> new ArrayList<>());
+        }
+        Map<Long, ProjectProgress> progresses = projectProgressCache.getAll(tasksByProject);
+
+        // 按项目并行构建任务树、计算关键路径
+        List<CompletableFuture<GanttDataResp>> futures = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            List<Iteration> iterations = iterationsByProject.getOrDefault(project.getId(), Collections.emptyList());
+            List<Task> tasks = tasksByProject.get(project.getId());
+            List<TaskLink> links = linksByProject.getOrDefault(project.getId(), Collections.emptyList());
+            ProjectProgress progress = progresses.get(project.getId());
+            futures.add(ganttBuildExecutor.submit(() -> {
+                GanttDataResp projectResp = new GanttDataResp();
+                List<GanttTaskResp> tree = buildGanttTaskTree(project, iterations, tasks);
+                enrichGanttTaskTree(tree, projectScheduleCache.get(project.getId(), tasks, links), progress);
+                projectResp.setData(tree);
+                List<GanttLinkResp> ganttLinks = new ArrayList<>();
+                for (TaskLink link : filterTaskLinks(links, tasks)) {
+                    ganttLinks.add(convertTaskLinkToGanttLink(link));
+                }
+                projectResp.setLinks(ganttLinks);
+                return projectResp;
+            }));
+        }
+
+        // 按项目顺序合并
+        List<GanttTaskResp> roots = new ArrayList<>(projects.size());
+        for (CompletableFuture<GanttDataResp> future : futures) {
+            GanttDataResp projectResp = join(future);
+            roots.addAll(projectResp.getData());
+            resp.getLinks().addAll(projectResp.getLinks());
+        }
+        resp.setData(roots);
+        logger.debug("构建组合甘特图数据成功: 项目数={}", projects.size());
+        return resp;
+    }
+
+    @Override
+    public GanttChangesResp getProjectGanttChanges(Long projectId, LocalDateTime since) {
+        logger.debug("获取甘特图增量变更: projectId={}, since={}", projectId, since);
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+
+        // 鉴权
+        authService.checkProjectAccess(currentUserId, projectId);
+
+        GanttChangesResp resp = new GanttChangesResp();
+        if (since == null) {
+            return fullReload(resp);
+        }
+
+        // 按 (project_id, update_time) 索引查询水位之后的变更，包含逻辑删除的墓碑记录
+        List<Iteration> iterations = iterationMapper.selectChangedSince(projectId, since, MAX_DELTA_CHANGES + 1);
+        List<Task> tasks = taskMapper.selectChangedSince(projectId, since, MAX_DELTA_CHANGES + 1);
+        List<TaskLink> links = taskLinkMapper.selectChangedSince(projectId, since, MAX_DELTA_CHANGES + 1);
+        // 移到其他项目的任务在本项目的任务表中查不到，按移出记录返回删除墓碑
+        List<TaskRemoval> removals = taskRemovalMapper.selectChangedSince(projectId, since, MAX_DELTA_CHANGES + 1);
+        if (iterations.size() + tasks.size() + links.size() + removals.size() > MAX_DELTA_CHANGES) {
+            return fullReload(resp);
+        }
+
+        LocalDateTime watermark = since;
+        ProjectProgress progress = iterations.isEmpty() && tasks.isEmpty() ? null : projectProgressCache.get(projectId);
+        List<GanttTaskResp> nodes = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (Iteration iteration : iterations) {
+            watermark = latest(watermark, iteration.getUpdateTime());
+            if (isDeleted(iteration.getIsDeleted())) {
+                deletedIds.add(-1000000L - iteration.getId());
+            } else {
+                GanttTaskResp node = convertIterationToGanttTask(iteration, projectId);
+                node.setSubtasks(null);
+                node.setProgress(progress.getIterationProgress(iteration.getId()));
+                nodes.add(node);
+            }
+        }
+        ProjectSchedule schedule = tasks.isEmpty() ? null : projectScheduleCache.get(projectId);
+        Set<Long> changedTaskIds = new HashSet<>();
+        for (Task task : tasks) {
+            changedTaskIds.add(task.getId());
+            watermark = latest(watermark, task.getUpdateTime());
+            if (isDeleted(task.getIsDeleted())) {
+                deletedIds.add(-2000000L - task.getId());
+            } else {
+                GanttTaskResp node = convertTaskToGanttTask(task, parentGanttIdOf(task));
+                node.setSubtasks(null);
+                enrichGanttNode(node, schedule, progress);
+                nodes.add(node);
+            }
+        }
+        for (TaskRemoval removal : removals) {
+            watermark = latest(watermark, removal.getCreateTime());
+            // 移出后又移回的任务以任务表中的当前状态为准
+            if (!changedTaskIds.contains(removal.getTaskId())) {
+                deletedIds.add(-2000000L - removal.getTaskId());
+            }
+        }
+        List<GanttLinkResp> ganttLinks = new ArrayList<>();
+        List<Long> deletedLinkIds = new ArrayList<>();
+        for (TaskLink link : links) {
+            watermark = latest(watermark, link.getUpdateTime());
+            if (isDeleted(link.getIsDeleted())) {
+                deletedLinkIds.add(link.getId());
+            } else {
+                ganttLinks.add(convertTaskLinkToGanttLink(link));
+            }
+        }
+        resp.setFullReload(false);
+        resp.setWatermark(watermark.isAfter(since) ? safeWatermark(since, watermark) : since);
+        resp.setNodes(nodes);
+        resp.setDeletedIds(deletedIds);
+        resp.setLinks(ganttLinks);
+        resp.setDeletedLinkIds(deletedLinkIds);
+        return resp;
+    }
+
+    @Override
+    public StreamingResponseBody streamProjectGanttData(Long projectId, LocalDate startDate, LocalDate endDate) {
+        logger.debug("流式输出项目甘特图数据: projectId={}, startDate={}, endDate={}", projectId, startDate, endDate);
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+
+        // 鉴权和查询在请求线程中完成，出错时仍按统一格式返回
+        authService.checkProjectAccess(currentUserId, projectId);
+        Project project = projectMapper.selectById(projectId);
+        if (project == null) {
+            throw new BusinessException(ProjectErrorCode.PROJECT_NOT_FOUND);
+        }
+        GanttSource source = loadGanttSource(projectId, startDate, endDate);
+        ProjectSchedule schedule = projectScheduleCache.get(projectId);
+        ProjectProgress progress = startDate == null && endDate == null
+                ? projectProgressCache.get(projectId, source.tasks) : projectProgressCache.get(projectId);
+        List<TaskLink> links = loadTaskLinks(projectId, source.tasks);
+
+        return out -> writeGanttJson(out, project, source, schedule, progress, links);
+    }
+
+    @Override
+    public GanttDataResp getProjectGanttRoot(Long projectId) {
+        logger.debug("懒加载项目甘特图根节点: projectId={}", projectId);
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+        authService.checkProjectAccess(currentUserId, projectId);
+
+        GanttDiagnostics.Trace trace = ganttDiagnostics.start(projectId);
+
+        // 关键路径和进度只使用已缓存的数据：构建它们需要读取项目全部任务，会抵消懒加载只查两层的收益
+        ProjectSchedule schedule = projectScheduleCache.getIfPresent(projectId);
+        ProjectProgress progress = projectProgressCache.getIfPresent(projectId);
+        String view = lazyViewOf(schedule, progress);
+        long version = ganttSnapshotCache.currentVersion(projectId);
+        if (!trace.isEnabled()) {
+            GanttDataResp cached = ganttSnapshotCache.get(projectId, view, version);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        Project project = projectMapper.selectById(projectId);
+        if (project == null) {
+            throw new BusinessException(ProjectErrorCode.PROJECT_NOT_FOUND);
+        }
+
+        // 项目节点只挂直接子节点（迭代 + 不属于迭代的顶级任务），更深层级由展开接口按需加载
+        GanttTaskResp projectNode = convertProjectToGanttTask(project, null);
+        projectNode.getSubtasks().addAll(loadProjectChildren(project, trace));
+        projectNode.setChildCount(projectNode.getSubtasks().size());
+        trace.phase("build");
+
+        List<GanttTaskResp> ganttTasks = new ArrayList<>(1);
+        ganttTasks.add(projectNode);
+        enrichGanttTaskTree(ganttTasks, schedule, progress);
+
+        GanttDataResp resp = new GanttDataResp();
+        resp.setData(ganttTasks);
+        resp.setLinks(new ArrayList<>());
+        trace.phase("enrich");
+        trace.finish(logger);
 
-        logger.info("构建甘特图数据成功: 项目={}, 任务数={}", project.getName(), ganttTasks.size());
+        ganttSnapshotCache.put(projectId, view, version, resp);
         return resp;
     }
 
+    @Override
+    public String getProjectGanttETag(Long projectId, LocalDate startDate, LocalDate endDate, boolean lazy) {
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+        authService.checkProjectAccess(currentUserId, projectId);
+
+        String view = lazy
+                ? lazyViewOf(projectScheduleCache.getIfPresent(projectId), projectProgressCache.getIfPresent(projectId))
+                : viewOf(startDate, endDate, false);
+        return ganttSnapshotCache.etag(projectId, ganttSnapshotCache.currentVersion(projectId), view);
+    }
+
+    @Override
+    public List<GanttTaskResp> getGanttNodeChildren(Long ganttId) {
+        logger.debug("展开甘特图节点: ganttId={}", ganttId);
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+        List<GanttTaskResp> children;
+        Long projectId;
+
+        if (ganttId != null && ganttId > 0) {
+            // 项目节点：迭代 + 不属于迭代的顶级任务
+            authService.checkProjectAccess(currentUserId, ganttId);
+            Project project = projectMapper.selectById(ganttId);
+            if (project == null) {
+                throw new BusinessException(ProjectErrorCode.PROJECT_NOT_FOUND);
+            }
+            children = loadProjectChildren(project, GanttDiagnostics.Trace.NOOP);
+            projectId = project.getId();
+        } else if (ganttId != null && ganttId <= -2000000) {
+            // 任务节点：直接子任务
+            Long taskId = convertGanttIdToDbId(ganttId);
+            Task task = taskMapper.selectById(taskId);
+            if (task == null) {
+                throw new BusinessException(TaskErrorCode.TASK_NOT_FOUND);
+            }
+            authService.checkProjectAccess(currentUserId, task.getProjectId());
+            children = convertTasksWithChildCount(taskMapper.selectByParentId(taskId), ganttId);
+            projectId = task.getProjectId();
+        } else if (ganttId != null && ganttId <= -1000000) {
+            // 迭代节点：迭代下的顶级任务
+            Long iterationId = convertGanttIdToDbId(ganttId);
+            Iteration iteration = iterationMapper.selectById(iterationId);
+            if (iteration == null) {
+                throw new BusinessException(IterationErrorCode.ITERATION_NOT_FOUND);
+            }
+            authService.checkProjectAccess(currentUserId, iteration.getProjectId());
+            children = convertTasksWithChildCount(
+                    taskMapper.selectTopLevelByIteration(iteration.getProjectId(), iterationId), ganttId);
+            projectId = iteration.getProjectId();
+        } else {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+
+        // 与根节点一样只使用已缓存的关键路径和进度
+        enrichGanttTaskTree(children, projectScheduleCache.getIfPresent(projectId),
+                projectProgressCache.getIfPresent(projectId));
+        return children;
+    }
+
+    @Override
+    public void setDiagnosticsEnabled(Long projectId, boolean enabled) {
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+        checkSystemAdmin(currentUserId);
+
+        if (enabled) {
+            ganttDiagnostics.enableProject(projectId);
+        } else {
+            ganttDiagnostics.disableProject(projectId);
+        }
+        logger.info("甘特图诊断开关已更新: projectId={}, enabled={}, operator={}", projectId, enabled, currentUserId);
+    }
+
+    @Override
+    public Set<Long> getDiagnosticsProjectIds() {
+        checkSystemAdmin(com.gsms.gsms.infra.utils.UserContext.getCurrentUserId());
+        return ganttDiagnostics.getEnabledProjectIds();
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void updateTaskDates(Long taskId, TaskDateUpdateReq req) {
@@ -115,8 +523,9 @@ public class GanttServiceImpl implements GanttService {
 
         Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
 
-        // 检查任务是否存在
-        Task existTask = taskMapper.selectById(dbTaskId);
+        // 一次查询任务及其祖先链，检查任务是否存在
+        Map<Long, Task> chain = loadAncestorChain(dbTaskId);
+        Task existTask = chain.get(dbTaskId);
         if (existTask == null) {
             throw new BusinessException(TaskErrorCode.TASK_NOT_FOUND);
         }
@@ -126,13 +535,7 @@ public class GanttServiceImpl implements GanttService {
 
         // 如果有父任务，检查子任务时间不能超出父任务范围
         if (existTask.getParentId() != null) {
-            Task parentTask = taskMapper.selectById(existTask.getParentId());
-            if (parentTask != null) {
-                if (req.getPlanStartDate().isBefore(parentTask.getPlanStartDate()) ||
-                    req.getPlanEndDate().isAfter(parentTask.getPlanEndDate())) {
-                    throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
-                }
-            }
+            checkWithinParentRange(chain.get(existTask.getParentId()), req.getPlanStartDate(), req.getPlanEndDate());
         }
 
         // 更新任务
@@ -146,6 +549,10 @@ public class GanttServiceImpl implements GanttService {
         if (result <= 0) {
             throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(existTask.getProjectId());
+        statisticsCache.invalidateTasks(existTask.getProjectId());
+        projectScheduleCache.applyAfterCommit(existTask.getProjectId(),
+                schedule -> schedule.updateTaskDates(dbTaskId, req.getPlanStartDate(), req.getPlanEndDate()));
 
         logger.info("任务时间更新成功: taskId={}", dbTaskId);
     }
@@ -177,9 +584,10 @@ public class GanttServiceImpl implements GanttService {
             throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
         }
 
-        // 如果有新的父任务，验证父任务存在且在同一项目下
+        // 如果有新的父任务，一次查询新父任务及其祖先链，验证父任务存在且在同一项目下
         if (dbNewParentId != null) {
-            Task newParentTask = taskMapper.selectById(dbNewParentId);
+            Map<Long, Task> newParentChain = loadAncestorChain(dbNewParentId);
+            Task newParentTask = newParentChain.get(dbNewParentId);
             if (newParentTask == null) {
                 throw new BusinessException(TaskErrorCode.TASK_NOT_FOUND);
             }
@@ -187,20 +595,13 @@ public class GanttServiceImpl implements GanttService {
                 throw new BusinessException(TaskErrorCode.TASK_PROJECT_INVALID);
             }
 
-            // 检查是否会形成循环依赖
-            if (willCreateCycle(dbTaskId, dbNewParentId)) {
+            // 检查是否会形成循环依赖：任务出现在新父任务的祖先链中
+            if (newParentChain.containsKey(dbTaskId)) {
                 throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
             }
 
             // 检查任务时间是否在父任务范围内
-            if (newParentTask.getPlanStartDate() != null && newParentTask.getPlanEndDate() != null) {
-                if (task.getPlanStartDate() != null && task.getPlanStartDate().isBefore(newParentTask.getPlanStartDate())) {
-                    throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
-                }
-                if (task.getPlanEndDate() != null && task.getPlanEndDate().isAfter(newParentTask.getPlanEndDate())) {
-                    throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
-                }
-            }
+            checkWithinParentRange(newParentTask, task.getPlanStartDate(), task.getPlanEndDate());
         }
 
         // 更新父任务
@@ -213,19 +614,213 @@ public class GanttServiceImpl implements GanttService {
         if (result <= 0) {
             throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(task.getProjectId());
+        projectProgressCache.invalidate(task.getProjectId());
+        // 偏差报表按 parent_id 汇总子任务
+        statisticsCache.invalidateTasks(task.getProjectId());
 
         logger.info("任务层级更新成功: taskId={}, newParentId={}", dbTaskId, dbNewParentId);
     }
 
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int batchUpdateTasks(GanttBatchUpdateReq req) {
+        Long projectId = req.getProjectId();
+        logger.info("批量更新甘特图任务: projectId={}, changes={}", projectId, req.getChanges().size());
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+
+        // 鉴权（整个批次只检查一次）
+        authService.checkProjectAccess(currentUserId, projectId);
+
+        // 一次加载项目全部任务，在内存中应用并校验所有变更
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(taskMapper.selectByProjectId(projectId));
+        for (GanttTaskChangeReq change : req.getChanges()) {
+            Long dbTaskId = convertGanttTaskIdToDbId(change.getTaskId());
+            if (change.getPlanStartDate() != null || change.getPlanEndDate() != null) {
+                if (change.getPlanStartDate() == null || change.getPlanEndDate() == null) {
+                    throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+                }
+                snapshot.setDates(dbTaskId, change.getPlanStartDate(), change.getPlanEndDate());
+            }
+            if (Boolean.TRUE.equals(change.getChangeParent())) {
+                Long dbParentId = change.getParentId() != null ? convertGanttTaskIdToDbId(change.getParentId()) : null;
+                snapshot.setParent(dbTaskId, dbParentId);
+            }
+        }
+        snapshot.validate();
+
+        // 只写入实际变化的任务，一次 JDBC 批处理提交
+        List<Task> changedTasks = snapshot.getChangedTasks();
+        if (changedTasks.isEmpty()) {
+            return 0;
+        }
+        int updated = ganttScheduleWriter.updateSchedules(changedTasks, currentUserId);
+        ganttSnapshotCache.bumpVersion(projectId);
+        projectProgressCache.invalidate(projectId);
+        // 批量编辑可能修改 parent_id，偏差报表按 parent_id 汇总子任务
+        statisticsCache.invalidateTasks(projectId);
+        applyDateChangesAfterCommit(projectId, snapshot, changedTasks);
+
+        logger.info("批量更新甘特图任务成功: projectId={}, updated={}", projectId, updated);
+        return updated;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int shiftSchedule(Long ganttId, int days) {
+        logger.info("整体平移排期: ganttId={}, days={}", ganttId, days);
+        if (days == 0) {
+            return 0;
+        }
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+
+        // 确定平移对象及所属项目
+        Project project = null;
+        Iteration iteration = null;
+        Long rootTaskId = null;
+        Long projectId;
+        if (ganttId == null) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        } else if (ganttId > 0) {
+            project = projectMapper.selectById(ganttId);
+            if (project == null) {
+                throw new BusinessException(ProjectErrorCode.PROJECT_NOT_FOUND);
+            }
+            projectId = project.getId();
+        } else if (ganttId <= -2000000L) {
+            rootTaskId = -2000000L - ganttId;
+            Task rootTask = taskMapper.selectById(rootTaskId);
+            if (rootTask == null) {
+                throw new BusinessException(TaskErrorCode.TASK_NOT_FOUND);
+            }
+            projectId = rootTask.getProjectId();
+        } else if (ganttId <= -1000000L) {
+            iteration = iterationMapper.selectById(-1000000L - ganttId);
+            if (iteration == null) {
+                throw new BusinessException(IterationErrorCode.ITERATION_NOT_FOUND);
+            }
+            projectId = iteration.getProjectId();
+        } else {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+
+        // 鉴权
+        authService.checkProjectAccess(currentUserId, projectId);
+
+        // 一次加载项目全部任务，在内存中平移整棵子树并校验
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(taskMapper.selectByProjectId(projectId));
+        List<Iteration> shiftedIterations = new ArrayList<>();
+        if (rootTaskId != null) {
+            snapshot.shiftSubtrees(Collections.singletonList(rootTaskId), days);
+        } else if (iteration != null) {
+            snapshot.shiftSubtrees(snapshot.getTaskIdsByIteration(iteration.getId()), days);
+            addShiftedIteration(shiftedIterations, iteration, days);
+        } else {
+            snapshot.shiftSubtrees(snapshot.getTaskIds(), days);
+            for (Iteration projectIteration : iterationMapper.selectByProjectId(projectId)) {
+                addShiftedIteration(shiftedIterations, projectIteration, days);
+            }
+        }
+        snapshot.validate();
+
+        // 任务和迭代一次 JDBC 批处理写入，项目只有一行直接更新
+        List<Task> changedTasks = snapshot.getChangedTasks();
+        int updated = ganttScheduleWriter.updateSchedules(changedTasks, shiftedIterations, currentUserId);
+        if (project != null && (project.getPlanStartDate() != null || project.getPlanEndDate() != null)) {
+            Project updateProject = new Project();
+            updateProject.setId(projectId);
+            updateProject.setPlanStartDate(shiftDate(project.getPlanStartDate(), days));
+            updateProject.setPlanEndDate(shiftDate(project.getPlanEndDate(), days));
+            updateProject.setUpdateUserId(currentUserId);
+            updated += projectMapper.update(updateProject);
+        }
+        if (updated == 0) {
+            return 0;
+        }
+        ganttSnapshotCache.bumpVersion(projectId);
+        statisticsCache.invalidateTasks(projectId);
+        applyDateChangesAfterCommit(projectId, snapshot, changedTasks);
+
+        logger.info("整体平移排期成功: ganttId={}, days={}, updated={}", ganttId, days, updated);
+        return updated;
+    }
+
     @Override
     @Transactional(rollbackFor = Exception.class)
     public void createTaskLink(TaskLinkCreateReq req) {
         logger.info("创建任务依赖关系: source={}, target={}, type={}",
                 req.getSource(), req.getTarget(), req.getType());
 
-        // TODO: 需要创建 task_link 表来存储任务依赖关系
-        // 目前暂不实现，返回成功
-        logger.warn("任务依赖关系功能暂未实现，需要创建 task_link 表");
+        // 连线两端只能是任务节点，项目和迭代节点的甘特图 ID 不能当作任务 ID
+        Long sourceTaskId = convertGanttTaskIdToDbId(req.getSource());
+        Long targetTaskId = convertGanttTaskIdToDbId(req.getTarget());
+        if (sourceTaskId.equals(targetTaskId)) {
+            throw new BusinessException(TaskErrorCode.TASK_LINK_INVALID);
+        }
+
+        TaskLinkType type;
+        try {
+            type = req.getType() != null ? TaskLinkType.fromCode(req.getType()) : TaskLinkType.FINISH_TO_START;
+        } catch (IllegalArgumentException e) {
+            throw new BusinessException(TaskErrorCode.TASK_LINK_INVALID);
+        }
+
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+
+        // 检查两端任务存在且属于同一项目
+        Task sourceTask = taskMapper.selectById(sourceTaskId);
+        Task targetTask = taskMapper.selectById(targetTaskId);
+        if (sourceTask == null || targetTask == null) {
+            throw new BusinessException(TaskErrorCode.TASK_NOT_FOUND);
+        }
+        if (!sourceTask.getProjectId().equals(targetTask.getProjectId())) {
+            throw new BusinessException(TaskErrorCode.TASK_PROJECT_INVALID);
+        }
+        Long projectId = sourceTask.getProjectId();
+
+        // 鉴权
+        authService.checkProjectAccess(currentUserId, projectId);
+
+        // 锁定项目行，串行化同一项目的连线创建：查重和环检测都基于锁内读到的已提交数据，
+        // 并发创建 A->B 和 B->A 时后加锁的一方能看到前者的连线
+        if (projectMapper.lockById(projectId) == null) {
+            throw new BusinessException(ProjectErrorCode.PROJECT_NOT_FOUND);
+        }
+
+        if (taskLinkMapper.countBySourceAndTarget(sourceTaskId, targetTaskId) > 0) {
+            throw new BusinessException(TaskErrorCode.TASK_LINK_DUPLICATE);
+        }
+
+        // 依赖关系必须保持无环（关键路径缓存在提交后才更新，这里以数据库为准）
+        if (createsCycle(taskLinkMapper.selectByProjectId(projectId), sourceTaskId, targetTaskId)) {
+            throw new BusinessException(TaskErrorCode.TASK_LINK_CYCLE);
+        }
+
+        TaskLink link = new TaskLink();
+        link.setProjectId(projectId);
+        link.setSourceTaskId(sourceTaskId);
+        link.setTargetTaskId(targetTaskId);
+        link.setType(type);
+        link.setLag(req.getLag() != null ? req.getLag() : 0);
+        link.setCreateUserId(currentUserId);
+        link.setUpdateUserId(currentUserId);
+
+        int result;
+        try {
+            result = taskLinkMapper.insert(link);
+        } catch (DuplicateKeyException e) {
+            // 唯一索引兜底（例如绕过项目锁直接写库）
+            throw new BusinessException(TaskErrorCode.TASK_LINK_DUPLICATE);
+        }
+        if (result <= 0) {
+            throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+        }
+        ganttSnapshotCache.bumpVersion(projectId);
+        projectScheduleCache.applyAfterCommit(projectId, schedule -> schedule.addLink(link));
+
+        logger.info("任务依赖关系创建成功: linkId={}", link.getId());
     }
 
     @Override
@@ -233,9 +828,23 @@ public class GanttServiceImpl implements GanttService {
     public void deleteTaskLink(Long linkId) {
         logger.info("删除任务依赖关系: linkId={}", linkId);
 
-        // TODO: 需要创建 task_link 表来存储任务依赖关系
-        // 目前暂不实现，返回成功
-        logger.warn("任务依赖关系功能暂未实现，需要创建 task_link 表");
+        TaskLink link = taskLinkMapper.selectById(linkId);
+        if (link == null) {
+            throw new BusinessException(TaskErrorCode.TASK_LINK_NOT_FOUND);
+        }
+
+        // 鉴权
+        Long currentUserId = com.gsms.gsms.infra.utils.UserContext.getCurrentUserId();
+        authService.checkProjectAccess(currentUserId, link.getProjectId());
+
+        int result = taskLinkMapper.deleteById(linkId);
+        if (result <= 0) {
+            throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+        }
+        ganttSnapshotCache.bumpVersion(link.getProjectId());
+        projectScheduleCache.applyAfterCommit(link.getProjectId(), schedule -> schedule.removeLink(linkId));
+
+        logger.info("任务依赖关系删除成功: linkId={}", linkId);
     }
 
     // ========== 私有方法：构建树形结构 ==========
@@ -244,81 +853,437 @@ public class GanttServiceImpl implements GanttService {
      * 构建甘特图任务树
      * 结构：项目 -> 迭代 -> 任务 -> 子任务
      */
-    private List<GanttTaskResp> buildGanttTaskTree(Project project, List<Iteration> iterations,
-                                                     List<Task> allTasks, LocalDate startDate, LocalDate endDate) {
-        List<GanttTaskResp> result = new ArrayList<>();
+    private List<GanttTaskResp> buildGanttTaskTree(Project project, List<Iteration> iterations, List<Task> allTasks) {
+        return GanttTreeBuilder.build(project, iterations, allTasks, nodeFactory);
+    }
 
-        // 1. 创建项目根节点
-        GanttTaskResp projectNode = convertProjectToGanttTask(project, null);
-        result.add(projectNode);
+    /**
+     * 加载项目的直接子节点（迭代 + 不属于迭代的顶级任务），均带子节点数量
+     */
+    private List<GanttTaskResp> loadProjectChildren(Project project, GanttDiagnostics.Trace trace) {
+        List<Iteration> iterations = iterationMapper.selectByProjectId(project.getId());
+        List<Task> topLevelTasks = taskMapper.selectTopLevelByIteration(project.getId(), null);
+
+        // 迭代ID -> 顶级任务数（一次 GROUP BY）
+        Map<Long, Integer> iterationTaskCounts = new HashMap<>();
+        for (IdCount row : taskMapper.countTopLevelGroupByIteration(project.getId())) {
+            if (row.getId() != null) {
+                iterationTaskCounts.put(row.getId(), row.getCount());
+            }
+        }
+        trace.phase("query");
+        trace.count("iterations", iterations.size());
+        trace.count("topLevelTasks", topLevelTasks.size());
+
+        List<GanttTaskResp> children = new ArrayList<>(iterations.size() + topLevelTasks.size());
+        for (Iteration iteration : iterations) {
+            GanttTaskResp node = convertIterationToGanttTask(iteration, project.getId());
+            node.setChildCount(iterationTaskCounts.getOrDefault(iteration.getId(), 0));
+            children.add(node);
+        }
+        children.addAll(convertTasksWithChildCount(topLevelTasks, project.getId()));
+        return children;
+    }
+
+    /**
+     * 将同一父节点下的任务转换为甘特图节点，并批量查询各自的子任务数量
+     */
+    private List<GanttTaskResp> convertTasksWithChildCount(List<Task> tasks, Long parentGanttId) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> taskIds = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            taskIds.add(task.getId());
+        }
+        Map<Long, Integer> childCounts = new HashMap<>();
+        for (IdCount row : taskMapper.countChildrenGroupByParent(taskIds)) {
+            childCounts.put(row.getId(), row.getCount());
+        }
+
+        List<GanttTaskResp> nodes = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            GanttTaskResp node = convertTaskToGanttTask(task, parentGanttId);
+            node.setChildCount(childCounts.getOrDefault(task.getId(), 0));
+            nodes.add(node);
+        }
+        return nodes;
+    }
 
-        // 2. 按日期范围筛选迭代
-        List<Iteration> filteredIterations = filterByDateRange(iterations, startDate, endDate);
+    /**
+     * 快照视图标识：全量、时间窗口或懒加载
+     */
+    private static String viewOf(LocalDate startDate, LocalDate endDate, boolean lazy) {
+        if (lazy) {
+            return "lazy";
+        }
+        if (startDate == null && endDate == null) {
+            return "full";
+        }
+        return "window:" + startDate + ":" + endDate;
+    }
 
-        // 3. 按日期范围筛选任务（顶级任务，parentId 为 null）
-        List<Task> topLevelTasks = allTasks.stream()
-                .filter(t -> t.getParentId() == null)
-                .collect(Collectors.toList());
-        topLevelTasks = filterByDateRange(topLevelTasks, startDate, endDate);
+    /**
+     * 懒加载视图标识：关键路径或进度未缓存时返回的节点不含这些字段，使用单独的视图，
+     * 缓存构建后 ETag 随之变化，客户端会重新获取完整字段
+     */
+    private static String lazyViewOf(ProjectSchedule schedule, ProjectProgress progress) {
+        return schedule != null && progress != null ? viewOf(null, null, true) : "lazy:basic";
+    }
 
-        // 4. 为每个迭代创建子节点
-        List<GanttTaskResp> iterationNodes = new ArrayList<>();
-        for (Iteration iteration : filteredIterations) {
-            logger.info("处理迭代: id={}, name={}", iteration.getId(), iteration.getName());
-            GanttTaskResp iterationNode = convertIterationToGanttTask(iteration, project.getId());
-            logger.info("迭代节点: id={}, parent={}", iterationNode.getId(), iterationNode.getParent());
+    /**
+     * 查询项目的任务依赖关系，只保留两端任务都在给定任务列表中的依赖
+     */
+    private List<GanttLinkResp> loadGanttLinks(Long projectId, List<Task> tasks) {
+        List<GanttLinkResp> links = new ArrayList<>();
+        for (TaskLink link : loadTaskLinks(projectId, tasks)) {
+            links.add(convertTaskLinkToGanttLink(link));
+        }
+        return links;
+    }
 
-            // 查询该迭代下的任务（parentId 为 null 的任务）
-            List<Task> iterationTasks = allTasks.stream()
-                    .filter(t -> iteration.getId().equals(t.getIterationId()) && t.getParentId() == null)
-                    .collect(Collectors.toList());
-            logger.info("迭代 {} 下有 {} 个顶级任务", iteration.getName(), iterationTasks.size());
+    /**
+     * 查询两端任务都在给定任务列表中的依赖关系
+     */
+    private List<TaskLink> loadTaskLinks(Long projectId, List<Task> tasks) {
+        return filterTaskLinks(taskLinkMapper.selectByProjectId(projectId), tasks);
+    }
 
-            // 递归构建任务树
-            for (Task task : iterationTasks) {
-                GanttTaskResp taskNode = convertTaskToGanttTask(task, iterationNode.getGanttId());
-                logger.info("任务节点: id={}, ganttId={}, parent={}, text={}", taskNode.getId(), taskNode.getGanttId(), taskNode.getParent(), taskNode.getText());
-                buildSubtaskTree(taskNode, task, allTasks);
-                iterationNode.getSubtasks().add(taskNode);
+    /**
+     * 过滤出两端任务都在给定任务列表中的依赖关系
+     */
+    private List<TaskLink> filterTaskLinks(List<TaskLink> allLinks, List<Task> tasks) {
+        Set<Long> taskIds = new HashSet<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            taskIds.add(task.getId());
+        }
+        List<TaskLink> links = new ArrayList<>();
+        for (TaskLink link : allLinks) {
+            if (taskIds.contains(link.getSourceTaskId()) && taskIds.contains(link.getTargetTaskId())) {
+                links.add(link);
             }
+        }
+        return links;
+    }
 
-            iterationNodes.add(iterationNode);
+    /**
+     * 将任务依赖关系转换为甘特图连线（两端使用任务的甘特图节点ID）
+     */
+    private GanttLinkResp convertTaskLinkToGanttLink(TaskLink link) {
+        GanttLinkResp resp = new GanttLinkResp();
+        resp.setId(link.getId());
+        resp.setSource(-2000000L - link.getSourceTaskId());
+        resp.setTarget(-2000000L - link.getTargetTaskId());
+        resp.setType(String.valueOf(link.getType().getCode()));
+        resp.setLag(link.getLag());
+        return resp;
+    }
+
+    /**
+     * 收集任务所属的迭代ID（时间窗口外的迭代也需要返回，否则其下的窗口内任务无处挂载）
+     */
+    private Set<Long> collectIterationIds(List<Task> tasks) {
+        Set<Long> iterationIds = new HashSet<>();
+        for (Task task : tasks) {
+            if (task.getIterationId() != null) {
+                iterationIds.add(task.getIterationId());
+            }
         }
+        return iterationIds;
+    }
 
-        // 5. 添加不在迭代中的任务（直接属于项目）
-        List<Task> orphanTasks = topLevelTasks.stream()
-                .filter(t -> t.getIterationId() == null)
-                .collect(Collectors.toList());
-        for (Task task : orphanTasks) {
-            GanttTaskResp taskNode = convertTaskToGanttTask(task, projectNode.getGanttId());
-            buildSubtaskTree(taskNode, task, allTasks);
-            iterationNodes.add(taskNode);
+    /**
+     * 填充甘特图节点的负责人姓名（从缓存）、进度及任务的关键路径信息
+     */
+    private void enrichGanttTaskTree(List<GanttTaskResp> roots, ProjectSchedule schedule, ProjectProgress progress) {
+        Deque<GanttTaskResp> stack = new ArrayDeque<>(roots);
+        while (!stack.isEmpty()) {
+            GanttTaskResp node = stack.pop();
+            enrichGanttNode(node, schedule, progress);
+            if (node.getSubtasks() != null) {
+                for (GanttTaskResp child : node.getSubtasks()) {
+                    stack.push(child);
+                }
+            }
         }
+    }
 
-        // 将迭代节点添加到项目节点下
-        projectNode.setSubtasks(iterationNodes);
+    /**
+     * 填充单个甘特图节点的负责人姓名、进度及关键路径信息（进度或关键路径为 null 时不填充对应字段）
+     */
+    private void enrichGanttNode(GanttTaskResp node, ProjectSchedule schedule, ProjectProgress progress) {
+        if (node.getOwnerId() != null) {
+            node.setOwner(cacheService.getUserNicknameById(node.getOwnerId()));
+        }
+        if (progress != null) {
+            if ("project".equals(node.getType())) {
+                node.setProgress(progress.getProjectProgress());
+            } else if ("iteration".equals(node.getType())) {
+                node.setProgress(progress.getIterationProgress(node.getId()));
+            } else if ("task".equals(node.getType())) {
+                node.setProgress(progress.getTaskProgress(node.getId()));
+            }
+        }
+        if (schedule != null && "task".equals(node.getType())) {
+            node.setCritical(schedule.isCritical(node.getId()));
+            node.setSlack(schedule.getSlack(node.getId()));
+            node.setEarlyStart(schedule.getEarlyStart(node.getId()));
+            node.setLateStart(schedule.getLateStart(node.getId()));
+        }
+    }
 
-        return result;
+    /**
+     * 查询甘特图数据源：未指定时间窗口时为项目全部迭代和任务，
+     * 否则只查询与窗口重叠的任务（含祖先任务）及其所属迭代
+     */
+    private GanttSource loadGanttSource(Long projectId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return new GanttSource(iterationMapper.selectByProjectId(projectId), taskMapper.selectByProjectId(projectId));
+        }
+        if (startDate != null && endDate != null && endDate.isBefore(startDate)) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+        List<Task> tasks = taskMapper.selectByProjectIdInDateRange(projectId, startDate, endDate);
+        List<Iteration> iterations = iterationMapper.selectByProjectIdInDateRange(projectId, startDate, endDate,
+                collectIterationIds(tasks));
+        return new GanttSource(iterations, tasks);
     }
 
     /**
-     * 递归构建子任务树
+     * 要求客户端重新加载完整甘特图，水位取数据库当前时间（在客户端加载完整数据之前，期间的变更下次会再次返回）
      */
-    private void buildSubtaskTree(GanttTaskResp parentNode, Task parentTask, List<Task> allTasks) {
-        List<Task> subtasks = allTasks.stream()
-                .filter(t -> parentTask.getId().equals(t.getParentId()))
-                .collect(Collectors.toList());
+    private GanttChangesResp fullReload(GanttChangesResp resp) {
+        resp.setFullReload(true);
+        resp.setWatermark(taskMapper.selectDatabaseTime().minusSeconds(WATERMARK_SAFETY_SECONDS));
+        return resp;
+    }
+
+    /**
+     * 下次增量同步的水位：不超过本次读到的最大更新时间，也不超过数据库当前时间减去安全回退，
+     * 保证执行较早、提交较晚的事务在下次同步时仍能被查到。回退窗口内的变更会重复返回，
+     * 查询条件包含水位本身，客户端本来就按ID覆盖，重复返回没有副作用；
+     * 执行超过回退窗口才提交的长事务仍可能漏掉，需依赖客户端定期完整加载兜底
+     */
+    private LocalDateTime safeWatermark(LocalDateTime since, LocalDateTime latestUpdateTime) {
+        LocalDateTime bound = taskMapper.selectDatabaseTime().minusSeconds(WATERMARK_SAFETY_SECONDS);
+        if (latestUpdateTime.isAfter(bound)) {
+            return bound.isAfter(since) ? bound : since;
+        }
+        return latestUpdateTime;
+    }
+
+    /**
+     * 任务节点的父节点甘特图ID：父任务 > 所属迭代 > 项目（与任务树的挂载规则一致）
+     */
+    private static Long parentGanttIdOf(Task task) {
+        if (task.getParentId() != null) {
+            return -2000000L - task.getParentId();
+        }
+        if (task.getIterationId() != null) {
+            return -1000000L - task.getIterationId();
+        }
+        return task.getProjectId();
+    }
+
+    private static boolean isDeleted(Integer isDeleted) {
+        return isDeleted != null && isDeleted == 1;
+    }
 
-        logger.info("构建子任务树: 父任务id={}, 父任务名称={}, 找到{}个子任务",
-                parentTask.getId(), parentTask.getTitle(), subtasks.size());
+    private static LocalDateTime latest(LocalDateTime watermark, LocalDateTime updateTime) {
+        return updateTime != null && updateTime.isAfter(watermark) ? updateTime : watermark;
+    }
 
-        for (Task subtask : subtasks) {
-            logger.info("  - 子任务: id={}, title={}, parentId={}, iterationId={}",
-                    subtask.getId(), subtask.getTitle(), subtask.getParentId(), subtask.getIterationId());
-            GanttTaskResp subtaskNode = convertTaskToGanttTask(subtask, parentNode.getGanttId());
-            buildSubtaskTree(subtaskNode, subtask, allTasks);
-            parentNode.getSubtasks().add(subtaskNode);
+    /**
+     * 确定组合甘特图的项目范围并鉴权（整个请求只查询一次可访问项目）
+     */
+    private List<Project> loadPortfolioProjects(Long userId, List<Long> projectIds) {
+        boolean viewAll = authService.canViewAllProjects(userId);
+        List<Project> projects;
+        if (projectIds == null || projectIds.isEmpty()) {
+            // 未指定项目时只取最近更新的项目，不加载全表
+            if (viewAll) {
+                return projectMapper.selectRecentlyUpdated(null, MAX_PORTFOLIO_PROJECTS + 1);
+            }
+            List<Long> accessible = authService.getAccessibleProjectIds(userId);
+            if (accessible == null || accessible.isEmpty()) {
+                return new ArrayList<>();
+            }
+            return projectMapper.selectRecentlyUpdated(accessible, MAX_PORTFOLIO_PROJECTS + 1);
+        } else {
+            Set<Long> requested = new LinkedHashSet<>(projectIds);
+            if (requested.size() > MAX_PORTFOLIO_PROJECTS) {
+                throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+            }
+            if (!viewAll) {
+                List<Long> accessible = authService.getAccessibleProjectIds(userId);
+                if (accessible == null || !new HashSet<>(accessible).containsAll(requested)) {
+                    throw new BusinessException(CommonErrorCode.FORBIDDEN);
+                }
+            }
+            projects = projectMapper.selectByIds(requested);
         }
+        return projects;
+    }
+
+    /**
+     * 构建折叠的项目汇总节点：时间范围覆盖项目计划和全部任务，childCount 为直接子节点数（迭代 + 无迭代顶级任务）
+     */
+    private List<GanttTaskResp> buildCollapsedProjectNodes(List<Project> projects, List<Long> projectIds) {
+        Map<Long, ProjectTaskSummary> summaries = new HashMap<>();
+        for (ProjectTaskSummary summary : taskMapper.selectSummaryGroupByProject(projectIds)) {
+            summaries.put(summary.getProjectId(), summary);
+        }
+        Map<Long, Integer> iterationCounts = new HashMap<>();
+        for (IdCount count : iterationMapper.countGroupByProject(projectIds)) {
+            iterationCounts.put(count.getId(), count.getCount());
+        }
+        Map<Long, ProjectProgress> progresses = projectProgressCache.getAll(projectIds);
+
+        List<GanttTaskResp> nodes = new ArrayList<>(projects.size());
+        for (Project project : projects) {
+            GanttTaskResp node = convertProjectToGanttTask(project, null);
+            int childCount = iterationCounts.getOrDefault(project.getId(), 0);
+            ProjectTaskSummary summary = summaries.get(project.getId());
+            if (summary != null) {
+                node.setStartDate(earlier(node.getStartDate(), summary.getPlanStartDate()));
+                node.setEndDate(later(node.getEndDate(), summary.getPlanEndDate()));
+                node.setDuration(calculateDuration(node.getStartDate(), node.getEndDate()));
+                childCount += summary.getTopLevelCount() != null ? summary.getTopLevelCount() : 0;
+            }
+            node.setChildCount(childCount);
+            node.setProgress(progresses.get(project.getId()).getProjectProgress());
+            if (node.getOwnerId() != null) {
+                node.setOwner(cacheService.getUserNicknameById(node.getOwnerId()));
+            }
+            nodes.add(node);
+        }
+        return nodes;
+    }
+
+    private static LocalDate earlier(LocalDate a, LocalDate b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isBefore(a) ? b : a;
+    }
+
+    private static LocalDate later(LocalDate a, LocalDate b) {
+        if (a == null) {
+            return b;
+        }
+        return b != null && b.isAfter(a) ? b : a;
+    }
+
+    /**
+     * 等待并行构建结果，业务异常原样抛出
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 按 Result<GanttDataResp> 的结构流式写出甘特图数据
+     *
+     * 遍历任务树时逐个创建节点、写出后即丢弃，内存中只保留实体列表和遍历所需的索引，
+     * 不随树的规模额外构建完整的节点对象图。
+     * 外层 Result 和 GanttDataResp 的字段取自它们自身的序列化结果，只有 data.data、data.links 两个字段流式写出，
+     * DTO 增减字段时输出结构自动保持一致。
+     */
+    private void writeGanttJson(OutputStream out, Project project, GanttSource source, ProjectSchedule schedule,
+                                ProjectProgress progress, List<TaskLink> links) throws IOException {
+        ObjectNode envelope = objectMapper.valueToTree(Result.success(new GanttDataResp()));
+        try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartObject();
+            Iterator<Map.Entry<String, JsonNode>> envelopeFields = envelope.fields();
+            while (envelopeFields.hasNext()) {
+                Map.Entry<String, JsonNode> envelopeField = envelopeFields.next();
+                gen.writeFieldName(envelopeField.getKey());
+                if (!"data".equals(envelopeField.getKey())) {
+                    gen.writeTree(envelopeField.getValue());
+                    continue;
+                }
+
+                gen.writeStartObject();
+                Iterator<Map.Entry<String, JsonNode>> respFields = envelopeField.getValue().fields();
+                while (respFields.hasNext()) {
+                    Map.Entry<String, JsonNode> respField = respFields.next();
+                    gen.writeFieldName(respField.getKey());
+                    if ("data".equals(respField.getKey())) {
+                        writeGanttTree(gen, project, source, schedule, progress);
+                    } else if ("links".equals(respField.getKey())) {
+                        gen.writeStartArray();
+                        for (TaskLink link : links) {
+                            gen.writeObject(convertTaskLinkToGanttLink(link));
+                        }
+                        gen.writeEndArray();
+                    } else {
+                        gen.writeTree(respField.getValue());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    /**
+     * 遍历任务树写出节点数组
+     */
+    private void writeGanttTree(JsonGenerator gen, Project project, GanttSource source, ProjectSchedule schedule,
+                                ProjectProgress progress) throws IOException {
+        gen.writeStartArray();
+        GanttTreeBuilder.traverse(project, source.iterations, source.tasks, new GanttTreeBuilder.Visitor() {
+            @Override
+            public Long enterProject(Project p) throws IOException {
+                return writeGanttNodeStart(gen, nodeFactory.projectNode(p), schedule, progress);
+            }
+
+            @Override
+            public Long enterIteration(Iteration iteration, Long parentGanttId) throws IOException {
+                return writeGanttNodeStart(gen, nodeFactory.iterationNode(iteration, parentGanttId), schedule, progress);
+            }
+
+            @Override
+            public Long enterTask(Task task, Long parentGanttId) throws IOException {
+                return writeGanttNodeStart(gen, nodeFactory.taskNode(task, parentGanttId), schedule, progress);
+            }
+
+            @Override
+            public void exit() throws IOException {
+                gen.writeEndArray();
+                gen.writeEndObject();
+            }
+        });
+        gen.writeEndArray();
+    }
+
+    /**
+     * 写出节点字段并打开 subtasks 数组，由访问器的 exit 关闭
+     */
+    private Long writeGanttNodeStart(JsonGenerator gen, GanttTaskResp node, ProjectSchedule schedule,
+                                     ProjectProgress progress) throws IOException {
+        enrichGanttNode(node, schedule, progress);
+        node.setSubtasks(null);
+        ObjectNode fields = objectMapper.valueToTree(node);
+        // subtasks 由遍历过程写出，这里去掉序列化出的空值，避免同一节点出现重复字段
+        fields.remove("subtasks");
+        gen.writeStartObject();
+        Iterator<Map.Entry<String, JsonNode>> iterator = fields.fields();
+        while (iterator.hasNext()) {
+            Map.Entry<String, JsonNode> field = iterator.next();
+            gen.writeFieldName(field.getKey());
+            gen.writeTree(field.getValue());
+        }
+        gen.writeArrayFieldStart("subtasks");
+        return node.getGanttId();
     }
 
     /**
@@ -335,16 +1300,11 @@ public class GanttServiceImpl implements GanttService {
         node.setStartDate(project.getPlanStartDate());
         node.setEndDate(project.getPlanEndDate());
         node.setDuration(calculateDuration(project.getPlanStartDate(), project.getPlanEndDate()));
-        node.setProgress(0.0);
         node.setParent(null);
         node.setStatus(project.getStatus() != null ? project.getStatus().name() : null);
 
-        // 项目经理信息
-        if (project.getManagerId() != null) {
-            node.setOwnerId(project.getManagerId());
-            String managerName = cacheService.getUserNicknameById(project.getManagerId());
-            node.setOwner(managerName);
-        }
+        // 项目经理信息（姓名在 enrichGanttTaskTree 中填充）
+        node.setOwnerId(project.getManagerId());
 
         node.setActualStartDate(project.getActualStartDate());
         node.setActualEndDate(project.getActualEndDate());
@@ -366,7 +1326,6 @@ public class GanttServiceImpl implements GanttService {
         node.setStartDate(iteration.getPlanStartDate());
         node.setEndDate(iteration.getPlanEndDate());
         node.setDuration(calculateDuration(iteration.getPlanStartDate(), iteration.getPlanEndDate()));
-        node.setProgress(0.0);
         node.setParent(projectId); // 设置父节点为项目 ID
         node.setStatus(iteration.getStatus() != null ? iteration.getStatus().name() : null);
         node.setSubtasks(new ArrayList<>());
@@ -387,17 +1346,12 @@ public class GanttServiceImpl implements GanttService {
         node.setStartDate(task.getPlanStartDate());
         node.setEndDate(task.getPlanEndDate());
         node.setDuration(calculateDuration(task.getPlanStartDate(), task.getPlanEndDate()));
-        node.setProgress(0.0);
         node.setParent(parentId); // 使用传入的父节点 ID
         node.setStatus(task.getStatus() != null ? task.getStatus().name() : null);
         node.setPriority(task.getPriority() != null ? task.getPriority().name() : null);
 
-        // 负责人信息
-        if (task.getAssigneeId() != null) {
-            node.setOwnerId(task.getAssigneeId());
-            String assigneeName = cacheService.getUserNicknameById(task.getAssigneeId());
-            node.setOwner(assigneeName);
-        }
+        // 负责人信息（姓名在 enrichGanttTaskTree 中填充）
+        node.setOwnerId(task.getAssigneeId());
 
         node.setActualStartDate(task.getActualStartDate());
         node.setActualEndDate(task.getActualEndDate());
@@ -440,40 +1394,135 @@ public class GanttServiceImpl implements GanttService {
     }
 
     /**
-     * 按日期范围筛选
+     * 新增 source -> target 后是否成环：即已有依赖中 target 能否到达 source
      */
-    private <T> List<T> filterByDateRange(List<T> items, LocalDate startDate, LocalDate endDate) {
-        if (startDate == null && endDate == null) {
-            return items;
+    private static boolean createsCycle(List<TaskLink> links, Long sourceTaskId, Long targetTaskId) {
+        Map<Long, List<Long>> successors = new HashMap<>();
+        for (TaskLink link : links) {
+            successors.computeIfAbsent(link.getSourceTaskId(), k -> new ArrayList<>()).add(link.getTargetTaskId());
         }
-
-        // 简化处理：如果不指定日期范围，返回所有
-        // TODO: 实现更精确的日期范围筛选
-        return items;
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> stack = new ArrayDeque<>();
+        stack.push(targetTaskId);
+        while (!stack.isEmpty()) {
+            Long taskId = stack.pop();
+            if (taskId.equals(sourceTaskId)) {
+                return true;
+            }
+            if (visited.add(taskId)) {
+                for (Long next : successors.getOrDefault(taskId, Collections.emptyList())) {
+                    stack.push(next);
+                }
+            }
+        }
+        return false;
     }
 
     /**
-     * 检查是否会形成循环依赖
+     * 将甘特图任务 ID 转换为数据库 ID，不是任务 ID 时抛出参数异常
      */
-    private boolean willCreateCycle(Long taskId, Long newParentId) {
-        Set<Long> visited = new HashSet<>();
-        Long currentId = newParentId;
+    private Long convertGanttTaskIdToDbId(Long ganttId) {
+        if (ganttId == null || ganttId > -2000000L) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+        return -2000000L - ganttId;
+    }
 
-        while (currentId != null) {
-            if (currentId.equals(taskId)) {
-                return true; // 形成循环
-            }
-            if (visited.contains(currentId)) {
-                return true; // 检测到循环
+    /**
+     * 事务提交后把任务时间变化增量应用到关键路径缓存，变化过多时直接失效（重建更快）
+     */
+    private void applyDateChangesAfterCommit(Long projectId, TaskScheduleSnapshot snapshot, List<Task> changedTasks) {
+        List<Task> dateChanged = new ArrayList<>();
+        for (Task task : changedTasks) {
+            if (snapshot.isDatesChanged(task.getId())) {
+                dateChanged.add(task);
             }
-            visited.add(currentId);
-            Task task = taskMapper.selectById(currentId);
-            if (task == null) {
-                break;
+        }
+        if (dateChanged.isEmpty()) {
+            return;
+        }
+        if (dateChanged.size() > MAX_INCREMENTAL_SCHEDULE_UPDATES) {
+            projectScheduleCache.invalidate(projectId);
+            return;
+        }
+        projectScheduleCache.applyAfterCommit(projectId, schedule -> {
+            for (Task task : dateChanged) {
+                if (!schedule.updateTaskDates(task.getId(), task.getPlanStartDate(), task.getPlanEndDate())) {
+                    return false;
+                }
             }
-            currentId = task.getParentId();
+            return true;
+        });
+    }
+
+    /**
+     * 平移迭代计划日期，未设置计划日期的迭代不需要更新
+     */
+    private static void addShiftedIteration(List<Iteration> shiftedIterations, Iteration iteration, int days) {
+        if (iteration.getPlanStartDate() == null && iteration.getPlanEndDate() == null) {
+            return;
         }
+        Iteration shifted = new Iteration();
+        shifted.setId(iteration.getId());
+        shifted.setPlanStartDate(shiftDate(iteration.getPlanStartDate(), days));
+        shifted.setPlanEndDate(shiftDate(iteration.getPlanEndDate(), days));
+        shiftedIterations.add(shifted);
+    }
 
-        return false;
+    private static LocalDate shiftDate(LocalDate date, int days) {
+        return date != null ? date.plusDays(days) : null;
+    }
+
+    /**
+     * 检查是否为系统管理员
+     */
+    private void checkSystemAdmin(Long userId) {
+        if (!authService.hasRole(userId, "SYS_ADMIN")) {
+            throw new BusinessException(CommonErrorCode.FORBIDDEN);
+        }
+    }
+
+    /**
+     * 一次查询任务及其全部祖先任务
+     *
+     * @return 任务ID -> 任务（包含任务自身，任务不存在时为空）
+     */
+    private Map<Long, Task> loadAncestorChain(Long taskId) {
+        List<Task> tasks = taskMapper.selectAncestorChain(taskId);
+        Map<Long, Task> chain = new HashMap<>(tasks.size() * 2);
+        for (Task task : tasks) {
+            chain.put(task.getId(), task);
+        }
+        return chain;
+    }
+
+    /**
+     * 检查任务时间是否在父任务时间范围内（父任务或任务未设置对应日期时不限制）
+     */
+    private void checkWithinParentRange(Task parentTask, LocalDate planStartDate, LocalDate planEndDate) {
+        if (parentTask == null) {
+            return;
+        }
+        if (planStartDate != null && parentTask.getPlanStartDate() != null
+                && planStartDate.isBefore(parentTask.getPlanStartDate())) {
+            throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+        }
+        if (planEndDate != null && parentTask.getPlanEndDate() != null
+                && planEndDate.isAfter(parentTask.getPlanEndDate())) {
+            throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
+        }
+    }
+
+    /**
+     * 甘特图数据源（迭代 + 任务）
+     */
+    private static final class GanttSource {
+        private final List<Iteration> iterations;
+        private final List<Task> tasks;
+
+        GanttSource(List<Iteration> iterations, List<Task> tasks) {
+            this.iterations = iterations;
+            this.tasks = tasks;
+        }
     }
 }
@@ -15,6 +15,7 @@ import com.gsms.gsms.infra.utils.UserContext;
 import com.gsms.gsms.repository.IterationMapper;
 import com.gsms.gsms.service.IterationService;
 import com.gsms.gsms.service.CacheService;
+import com.gsms.gsms.service.gantt.GanttSnapshotCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,10 +29,13 @@ public class IterationServiceImpl implements IterationService {
 
     private final IterationMapper iterationMapper;
     private final CacheService cacheService;
+    private final GanttSnapshotCache ganttSnapshotCache;
 
-    public IterationServiceImpl(IterationMapper iterationMapper, CacheService cacheService) {
+    public IterationServiceImpl(IterationMapper iterationMapper, CacheService cacheService,
+                                GanttSnapshotCache ganttSnapshotCache) {
         this.iterationMapper = iterationMapper;
         this.cacheService = cacheService;
+        this.ganttSnapshotCache = ganttSnapshotCache;
     }
 
     @Override
@@ -71,6 +75,7 @@ public class IterationServiceImpl implements IterationService {
         if (result <= 0) {
             throw new BusinessException(IterationErrorCode.ITERATION_CREATE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(iteration.getProjectId());
 
         return IterationInfoResp.from(iteration);
     }
@@ -79,7 +84,7 @@ public class IterationServiceImpl implements IterationService {
     @Transactional(rollbackFor = Exception.class)
     public IterationInfoResp update(IterationUpdateReq updateReq) {
         // 检查迭代是否存在
-        getById(updateReq.getId());
+        IterationInfoResp existIteration = getById(updateReq.getId());
 
         // DTO转Entity
         Iteration iteration = IterationConverter.toEntity(updateReq);
@@ -91,6 +96,10 @@ public class IterationServiceImpl implements IterationService {
         if (result <= 0) {
             throw new BusinessException(IterationErrorCode.ITERATION_UPDATE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(existIteration.getProjectId());
+        if (iteration.getProjectId() != null && !iteration.getProjectId().equals(existIteration.getProjectId())) {
+            ganttSnapshotCache.bumpVersion(iteration.getProjectId());
+        }
 
         Iteration updatedIteration = iterationMapper.selectById(iteration.getId());
         return IterationInfoResp.from(updatedIteration);
@@ -108,6 +117,7 @@ public class IterationServiceImpl implements IterationService {
         if (result <= 0) {
             throw new BusinessException(IterationErrorCode.ITERATION_DELETE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(existIteration.getProjectId());
     }
 
     // ========== 内部方法：数据填充 ==========
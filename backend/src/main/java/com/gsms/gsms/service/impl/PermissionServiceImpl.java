@@ -16,6 +16,7 @@ import com.gsms.gsms.repository.MenuMapper;
 import com.gsms.gsms.repository.PermissionMapper;
 import com.gsms.gsms.service.MenuService;
 import com.gsms.gsms.service.PermissionService;
+import com.gsms.gsms.service.auth.AuthSnapshotCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -35,11 +36,14 @@ public class PermissionServiceImpl implements PermissionService {
     private final PermissionMapper permissionMapper;
     private final MenuMapper menuMapper;
     private final MenuService menuService;
+    private final AuthSnapshotCache authSnapshotCache;
 
-    public PermissionServiceImpl(PermissionMapper permissionMapper, MenuMapper menuMapper, MenuService menuService) {
+    public PermissionServiceImpl(PermissionMapper permissionMapper, MenuMapper menuMapper, MenuService menuService,
+                                 AuthSnapshotCache authSnapshotCache) {
         this.permissionMapper = permissionMapper;
         this.menuMapper = menuMapper;
         this.menuService = menuService;
+        this.authSnapshotCache = authSnapshotCache;
     }
 
     @Override
@@ -121,6 +125,8 @@ public class PermissionServiceImpl implements PermissionService {
         if (result <= 0) {
             throw new BusinessException(PermissionErrorCode.PERMISSION_UPDATE_FAILED);
         }
+        // 权限编码可能变化，影响所有拥有该权限的用户
+        authSnapshotCache.invalidateAll();
 
         Permission updatedPermission = permissionMapper.selectById(permission.getId());
         return PermissionInfoResp.from(updatedPermission);
@@ -145,6 +151,7 @@ public class PermissionServiceImpl implements PermissionService {
         if (result <= 0) {
             throw new BusinessException(PermissionErrorCode.PERMISSION_DELETE_FAILED);
         }
+        authSnapshotCache.invalidateAll();
     }
 
     @Override
@@ -12,6 +12,7 @@ import com.gsms.gsms.repository.UserMapper;
 import com.gsms.gsms.service.AuthService;
 import com.gsms.gsms.service.CacheService;
 import com.gsms.gsms.service.ProjectMemberService;
+import com.gsms.gsms.service.auth.AuthSnapshotCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -34,14 +35,17 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
     private final UserMapper userMapper;
     private final AuthService authService;
     private final CacheService cacheService;
+    private final AuthSnapshotCache authSnapshotCache;
 
     public ProjectMemberServiceImpl(ProjectMemberMapper projectMemberMapper, ProjectMapper projectMapper,
-                                   UserMapper userMapper, AuthService authService, CacheService cacheService) {
+                                   UserMapper userMapper, AuthService authService, CacheService cacheService,
+                                   AuthSnapshotCache authSnapshotCache) {
         this.projectMemberMapper = projectMemberMapper;
         this.projectMapper = projectMapper;
         this.userMapper = userMapper;
         this.authService = authService;
         this.cacheService = cacheService;
+        this.authSnapshotCache = authSnapshotCache;
     }
 
     @Override
@@ -123,6 +127,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
                 throw new BusinessException(CommonErrorCode.NOT_FOUND);
             }
             projectMemberMapper.insertProjectMember(projectId, userId, roleType, currentUserId);
+            authSnapshotCache.invalidate(userId);
             addedCount++;
         }
         logger.info("成功为项目添加{}个成员: projectId={}, role={}", addedCount, projectId, role.getDesc());
@@ -170,6 +175,7 @@ public class ProjectMemberServiceImpl implements ProjectMemberService {
         if (updated <= 0) {
             throw new BusinessException(CommonErrorCode.NOT_FOUND);
         }
+        authSnapshotCache.invalidate(userId);
         logger.info("项目成员移除成功: projectId={}, userId={}", projectId, userId);
     }
 
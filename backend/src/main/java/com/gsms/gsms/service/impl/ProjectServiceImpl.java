@@ -20,6 +20,8 @@ import com.gsms.gsms.repository.ProjectMemberMapper;
 import com.gsms.gsms.service.AuthService;
 import com.gsms.gsms.service.ProjectService;
 import com.gsms.gsms.service.CacheService;
+import com.gsms.gsms.service.auth.AuthSnapshotCache;
+import com.gsms.gsms.service.gantt.GanttSnapshotCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -41,13 +43,18 @@ public class ProjectServiceImpl implements ProjectService {
     private final ProjectMemberMapper projectMemberMapper;
     private final AuthService authService;
     private final CacheService cacheService;
+    private final GanttSnapshotCache ganttSnapshotCache;
+    private final AuthSnapshotCache authSnapshotCache;
 
     public ProjectServiceImpl(ProjectMapper projectMapper, ProjectMemberMapper projectMemberMapper,
-                             AuthService authService, CacheService cacheService) {
+                             AuthService authService, CacheService cacheService,
+                             GanttSnapshotCache ganttSnapshotCache, AuthSnapshotCache authSnapshotCache) {
         this.projectMapper = projectMapper;
         this.projectMemberMapper = projectMemberMapper;
         this.authService = authService;
         this.cacheService = cacheService;
+        this.ganttSnapshotCache = ganttSnapshotCache;
+        this.authSnapshotCache = authSnapshotCache;
     }
 
     @Override
@@ -166,6 +173,7 @@ public class ProjectServiceImpl implements ProjectService {
         // 将项目创建人加入项目成员，默认为项目管理员角色 1
         // 注意：MyBatis会自动将生成的ID回填到project对象中，无需反查数据库
         projectMemberMapper.insertProjectMember(project.getId(), currentUserId, 1, currentUserId);
+        authSnapshotCache.invalidate(currentUserId);
 
         return ProjectInfoResp.from(project);
     }
@@ -194,6 +202,7 @@ public class ProjectServiceImpl implements ProjectService {
         if (result <= 0) {
             throw new BusinessException(ProjectErrorCode.PROJECT_UPDATE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(project.getId());
 
         Project updatedProject = projectMapper.selectById(project.getId());
         return ProjectInfoResp.from(updatedProject);
@@ -216,6 +225,7 @@ public class ProjectServiceImpl implements ProjectService {
         if (result <= 0) {
             throw new BusinessException(ProjectErrorCode.PROJECT_DELETE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(id);
     }
 
     // ========== 内部方法：数据填充 ==========
@@ -17,6 +17,7 @@ import com.gsms.gsms.model.enums.errorcode.RoleErrorCode;
 import com.gsms.gsms.repository.RoleMapper;
 import com.gsms.gsms.repository.UserMapper;
 import com.gsms.gsms.service.RoleService;
+import com.gsms.gsms.service.auth.AuthSnapshotCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,10 +31,12 @@ public class RoleServiceImpl implements RoleService {
 
     private final RoleMapper roleMapper;
     private final UserMapper userMapper;
+    private final AuthSnapshotCache authSnapshotCache;
 
-    public RoleServiceImpl(RoleMapper roleMapper, UserMapper userMapper) {
+    public RoleServiceImpl(RoleMapper roleMapper, UserMapper userMapper, AuthSnapshotCache authSnapshotCache) {
         this.roleMapper = roleMapper;
         this.userMapper = userMapper;
+        this.authSnapshotCache = authSnapshotCache;
     }
 
     @Override
@@ -110,6 +113,9 @@ public class RoleServiceImpl implements RoleService {
             throw new BusinessException(RoleErrorCode.ROLE_UPDATE_FAILED);
         }
 
+        // 角色编码、状态可能变化，失效拥有该角色的用户的授权快照
+        authSnapshotCache.invalidate(roleMapper.selectUserIdsByRoleId(role.getId()));
+
         Role updatedRole = roleMapper.selectById(role.getId());
         return RoleInfoResp.from(updatedRole);
     }
@@ -153,6 +159,7 @@ public class RoleServiceImpl implements RoleService {
         if (!req.getPermissionIds().isEmpty()) {
             roleMapper.insertRolePermissions(req.getRoleId(), req.getPermissionIds());
         }
+        authSnapshotCache.invalidate(roleMapper.selectUserIdsByRoleId(req.getRoleId()));
     }
 
     @Override
@@ -170,6 +177,7 @@ public class RoleServiceImpl implements RoleService {
         if (result <= 0) {
             throw new BusinessException(RoleErrorCode.ROLE_UPDATE_FAILED);
         }
+        authSnapshotCache.invalidate(roleMapper.selectUserIdsByRoleId(roleId));
     }
 
     @Override
@@ -1,25 +1,56 @@
 package com.gsms.gsms.service.impl;
 
+import com.gsms.gsms.dto.statistics.BurndownPointResp;
+import com.gsms.gsms.dto.statistics.IterationBurndownResp;
+import com.gsms.gsms.dto.statistics.IterationVarianceResp;
+import com.gsms.gsms.dto.statistics.ProjectVarianceResp;
+import com.gsms.gsms.dto.statistics.TaskVarianceQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsResp;
+import com.gsms.gsms.dto.statistics.WorkHourTrendResp;
+import com.gsms.gsms.infra.common.PageResult;
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.infra.exception.CommonErrorCode;
 import com.gsms.gsms.infra.utils.UserContext;
-import com.gsms.gsms.model.entity.Project;
+import com.gsms.gsms.model.entity.Iteration;
 import com.gsms.gsms.model.entity.Task;
-import com.gsms.gsms.model.entity.User;
 import com.gsms.gsms.model.entity.WorkHour;
 import com.gsms.gsms.model.enums.TaskStatus;
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.enums.errorcode.IterationErrorCode;
+import com.gsms.gsms.model.enums.errorcode.TaskErrorCode;
+import com.gsms.gsms.model.stat.DateHours;
+import com.gsms.gsms.model.stat.IdHours;
+import com.gsms.gsms.model.stat.TaskStatusCount;
+import com.gsms.gsms.model.stat.TaskVariance;
+import com.gsms.gsms.model.stat.UserHoursOverview;
+import com.gsms.gsms.model.stat.VarianceSum;
+import com.gsms.gsms.repository.IterationBurndownMapper;
+import com.gsms.gsms.repository.IterationMapper;
 import com.gsms.gsms.repository.ProjectMapper;
 import com.gsms.gsms.repository.TaskMapper;
-import com.gsms.gsms.repository.UserMapper;
+import com.gsms.gsms.repository.WorkHourDailyMapper;
 import com.gsms.gsms.repository.WorkHourMapper;
+import com.gsms.gsms.service.AuthService;
 import com.gsms.gsms.service.StatisticsService;
+import com.gsms.gsms.service.statistics.DashboardCache;
+import com.gsms.gsms.service.statistics.StatisticsCache;
+import com.gsms.gsms.service.statistics.StatisticsExecutor;
+import com.gsms.gsms.service.statistics.TrendSeries;
+import com.gsms.gsms.service.statistics.WorkHourAnalytics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -29,137 +60,198 @@ import java.util.stream.Collectors;
 public class StatisticsServiceImpl implements StatisticsService {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsServiceImpl.class);
 
+    // 首页看板列表条数
+    private static final int DASHBOARD_LIST_SIZE = 5;
+
+    // 统计结果缓存时间（毫秒），工时、任务写操作会主动失效
+    private static final long CACHE_TTL_MILLIS = 5 * 60_000L;
+
+    // 趋势统计最多返回的时间段数（约10年的按天数据）
+    private static final int MAX_TREND_POINTS = 3660;
+
+    // 批量统计任务完成度的最大项目数
+    private static final int MAX_COMPLETION_PROJECTS = 500;
+
+    // 部门统计缓存时间（毫秒）：用户调整部门不会失效缓存，缩短过期时间
+    private static final long DEPARTMENT_CACHE_TTL_MILLIS = 60_000L;
+
     private final WorkHourMapper workHourMapper;
+    private final WorkHourDailyMapper workHourDailyMapper;
     private final TaskMapper taskMapper;
-    private final UserMapper userMapper;
     private final ProjectMapper projectMapper;
-
-    public StatisticsServiceImpl(WorkHourMapper workHourMapper, TaskMapper taskMapper, UserMapper userMapper, ProjectMapper projectMapper) {
+    private final AuthService authService;
+    private final DashboardCache dashboardCache;
+    private final StatisticsCache statisticsCache;
+    private final StatisticsExecutor statisticsExecutor;
+    private final IterationMapper iterationMapper;
+    private final IterationBurndownMapper iterationBurndownMapper;
+    private final WorkHourAnalytics workHourAnalytics;
+
+    public StatisticsServiceImpl(WorkHourMapper workHourMapper, WorkHourDailyMapper workHourDailyMapper,
+                                 TaskMapper taskMapper, ProjectMapper projectMapper, AuthService authService,
+                                 DashboardCache dashboardCache, StatisticsCache statisticsCache,
+                                 StatisticsExecutor statisticsExecutor, IterationMapper iterationMapper,
+                                 IterationBurndownMapper iterationBurndownMapper, WorkHourAnalytics workHourAnalytics) {
         this.workHourMapper = workHourMapper;
+        this.workHourDailyMapper = workHourDailyMapper;
         this.taskMapper = taskMapper;
-        this.userMapper = userMapper;
         this.projectMapper = projectMapper;
+        this.authService = authService;
+        this.dashboardCache = dashboardCache;
+        this.statisticsCache = statisticsCache;
+        this.statisticsExecutor = statisticsExecutor;
+        this.iterationMapper = iterationMapper;
+        this.iterationBurndownMapper = iterationBurndownMapper;
+        this.workHourAnalytics = workHourAnalytics;
     }
 
     @Override
     public Map<String, Object> getProjectWorkHourStatistics(Long projectId, LocalDate startDate, LocalDate endDate) {
+        // 项目成员可查看项目工时统计
+        authService.checkProjectAccess(currentUserId(), projectId);
+        return statisticsCache.get(StatisticsCache.key("project", projectId, startDate, endDate),
+                Collections.singleton(StatisticsCache.projectWorkHours(projectId)), CACHE_TTL_MILLIS,
+                () -> Collections.unmodifiableMap(loadProjectWorkHourStatistics(projectId, startDate, endDate)));
+    }
+
+    private Map<String, Object> loadProjectWorkHourStatistics(Long projectId, LocalDate startDate, LocalDate endDate) {
         logger.debug("统计项目工时: projectId={}, startDate={}, endDate={}", projectId, startDate, endDate);
 
         Map<String, Object> result = new HashMap<>();
 
-        List<WorkHour> workHours = workHourMapper.selectByCondition(null, projectId, null, startDate, endDate);
+        // 读取工时日汇总表，按用户分组汇总
+        List<IdHours> userHours = workHourDailyMapper.sumHoursGroupByUser(projectId, startDate, endDate);
 
-        BigDecimal totalHours = workHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<Long, BigDecimal> userHoursMap = workHours.stream()
-                .collect(Collectors.groupingBy(
-                        WorkHour::getUserId,
-                        Collectors.reducing(BigDecimal.ZERO, WorkHour::getHours, BigDecimal::add)
-                ));
+        BigDecimal totalHours = BigDecimal.ZERO;
+        int totalRecords = 0;
+        Map<Long, BigDecimal> userHoursMap = new HashMap<>();
+        for (IdHours row : userHours) {
+            totalHours = totalHours.add(row.getHours());
+            totalRecords += row.getCount();
+            userHoursMap.put(row.getId(), row.getHours());
+        }
 
         result.put("projectId", projectId);
         result.put("totalHours", totalHours);
-        result.put("totalRecords", workHours.size());
+        result.put("totalRecords", totalRecords);
         result.put("userCount", userHoursMap.size());
         result.put("userHoursDistribution", userHoursMap);
         result.put("startDate", startDate);
         result.put("endDate", endDate);
 
-        logger.info("项目工时统计完成: projectId={}, totalHours={}, recordCount={}", projectId, totalHours, workHours.size());
+        logger.info("项目工时统计完成: projectId={}, totalHours={}, recordCount={}", projectId, totalHours, totalRecords);
         return result;
     }
 
     @Override
     public Map<String, Object> getUserWorkHourStatistics(Long userId, LocalDate startDate, LocalDate endDate) {
+        // 普通用户只能查看自己的工时统计
+        authService.checkWorkHourAccess(currentUserId(), userId);
+        return statisticsCache.get(StatisticsCache.key("user", userId, startDate, endDate),
+                Collections.singleton(StatisticsCache.userWorkHours(userId)), CACHE_TTL_MILLIS,
+                () -> Collections.unmodifiableMap(loadUserWorkHourStatistics(userId, startDate, endDate)));
+    }
+
+    private Map<String, Object> loadUserWorkHourStatistics(Long userId, LocalDate startDate, LocalDate endDate) {
         logger.debug("统计用户工时: userId={}, startDate={}, endDate={}", userId, startDate, endDate);
 
         Map<String, Object> result = new HashMap<>();
 
-        List<WorkHour> workHours = workHourMapper.selectByCondition(userId, null, null, startDate, endDate);
+        // 读取工时日汇总表，按项目分组汇总
+        List<IdHours> projectHours = workHourDailyMapper.sumHoursGroupByProject(userId, startDate, endDate);
 
-        BigDecimal totalHours = workHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Map<Long, BigDecimal> projectHoursMap = workHours.stream()
-                .collect(Collectors.groupingBy(
-                        WorkHour::getProjectId,
-                        Collectors.reducing(BigDecimal.ZERO, WorkHour::getHours, BigDecimal::add)
-                ));
+        BigDecimal totalHours = BigDecimal.ZERO;
+        int totalRecords = 0;
+        Map<Long, BigDecimal> projectHoursMap = new HashMap<>();
+        for (IdHours row : projectHours) {
+            totalHours = totalHours.add(row.getHours());
+            totalRecords += row.getCount();
+            projectHoursMap.put(row.getId(), row.getHours());
+        }
 
         result.put("userId", userId);
         result.put("totalHours", totalHours);
-        result.put("totalRecords", workHours.size());
+        result.put("totalRecords", totalRecords);
         result.put("projectCount", projectHoursMap.size());
         result.put("projectHoursDistribution", projectHoursMap);
         result.put("startDate", startDate);
         result.put("endDate", endDate);
 
-        logger.info("用户工时统计完成: userId={}, totalHours={}, recordCount={}", userId, totalHours, workHours.size());
+        logger.info("用户工时统计完成: userId={}, totalHours={}, recordCount={}", userId, totalHours, totalRecords);
         return result;
     }
 
     @Override
-    public Map<String, Object> getDepartmentWorkHourStatistics(Long departmentId, LocalDate startDate, LocalDate endDate) {
-        logger.debug("统计部门工时: departmentId={}, startDate={}, endDate={}", departmentId, startDate, endDate);
-
-        Map<String, Object> result = new HashMap<>();
-
-        List<User> departmentUsers = userMapper.selectByDepartmentId(departmentId);
-        List<Long> userIds = departmentUsers.stream().map(User::getId).collect(Collectors.toList());
-
-        if (userIds.isEmpty()) {
-            result.put("departmentId", departmentId);
-            result.put("totalHours", BigDecimal.ZERO);
-            result.put("totalRecords", 0);
-            result.put("userCount", 0);
-            logger.info("部门工时统计完成: departmentId={}, totalHours=0, userCount=0", departmentId);
-            return result;
+    public Map<String, Object> getDepartmentWorkHourStatistics(Long departmentId, LocalDate startDate, LocalDate endDate,
+                                                               boolean includeSubDepartments) {
+        // 部门统计包含其他用户的工时，需要全局工时查看权限
+        if (!authService.canViewAllWorkHours(currentUserId())) {
+            throw new BusinessException(CommonErrorCode.FORBIDDEN);
         }
+        return statisticsCache.get(StatisticsCache.key("department", departmentId, startDate, endDate, includeSubDepartments),
+                Collections.singleton(StatisticsCache.ALL_WORK_HOURS), DEPARTMENT_CACHE_TTL_MILLIS,
+                () -> Collections.unmodifiableMap(loadDepartmentWorkHourStatistics(departmentId, startDate, endDate, includeSubDepartments)));
+    }
 
-        List<WorkHour> workHours = new ArrayList<>();
-        for (Long userId : userIds) {
-            workHours.addAll(workHourMapper.selectByCondition(userId, null, null, startDate, endDate));
-        }
+    private Map<String, Object> loadDepartmentWorkHourStatistics(Long departmentId, LocalDate startDate, LocalDate endDate,
+                                                                 boolean includeSubDepartments) {
+        logger.debug("统计部门工时: departmentId={}, startDate={}, endDate={}, includeSubDepartments={}",
+                departmentId, startDate, endDate, includeSubDepartments);
 
-        BigDecimal totalHours = workHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        Map<String, Object> result = new HashMap<>();
 
-        Map<Long, BigDecimal> userHoursMap = workHours.stream()
-                .collect(Collectors.groupingBy(
-                        WorkHour::getUserId,
-                        Collectors.reducing(BigDecimal.ZERO, WorkHour::getHours, BigDecimal::add)
-                ));
+        // 一次聚合查询：部门成员关联工时日汇总表按用户分组汇总
+        List<IdHours> userHours = workHourDailyMapper.sumHoursGroupByUserInDepartment(
+                departmentId, includeSubDepartments, startDate, endDate);
+
+        BigDecimal totalHours = BigDecimal.ZERO;
+        int totalRecords = 0;
+        Map<Long, BigDecimal> userHoursMap = new HashMap<>();
+        for (IdHours row : userHours) {
+            totalHours = totalHours.add(row.getHours());
+            totalRecords += row.getCount();
+            userHoursMap.put(row.getId(), row.getHours());
+        }
 
         result.put("departmentId", departmentId);
+        result.put("includeSubDepartments", includeSubDepartments);
         result.put("totalHours", totalHours);
-        result.put("totalRecords", workHours.size());
+        result.put("totalRecords", totalRecords);
         result.put("userCount", userHoursMap.size());
         result.put("userHoursDistribution", userHoursMap);
         result.put("startDate", startDate);
         result.put("endDate", endDate);
 
-        logger.info("部门工时统计完成: departmentId={}, totalHours={}, recordCount={}", departmentId, totalHours, workHours.size());
+        logger.info("部门工时统计完成: departmentId={}, totalHours={}, recordCount={}", departmentId, totalHours, totalRecords);
         return result;
     }
 
     @Override
     public Map<String, Object> getTaskWorkHourStatistics(Long taskId) {
+        Task task = taskMapper.selectById(taskId);
+        if (task == null) {
+            throw new BusinessException(TaskErrorCode.TASK_NOT_FOUND);
+        }
+        authService.checkProjectAccess(currentUserId(), task.getProjectId());
+        Set<String> tags = new HashSet<>(Arrays.asList(
+                StatisticsCache.projectWorkHours(task.getProjectId()), StatisticsCache.projectTasks(task.getProjectId())));
+        return statisticsCache.get(StatisticsCache.key("task", taskId), tags, CACHE_TTL_MILLIS,
+                () -> Collections.unmodifiableMap(loadTaskWorkHourStatistics(task)));
+    }
+
+    private Map<String, Object> loadTaskWorkHourStatistics(Task task) {
+        Long taskId = task.getId();
         logger.debug("统计任务工时: taskId={}", taskId);
 
         Map<String, Object> result = new HashMap<>();
 
         List<WorkHour> workHours = workHourMapper.selectByTaskId(taskId);
-        Task task = taskMapper.selectById(taskId);
 
         BigDecimal totalHours = workHours.stream()
                 .map(WorkHour::getHours)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
 
-        BigDecimal estimateHours = task != null ? task.getEstimateHours() : BigDecimal.ZERO;
+        BigDecimal estimateHours = task.getEstimateHours() != null ? task.getEstimateHours() : BigDecimal.ZERO;
         BigDecimal variance = totalHours.subtract(estimateHours);
 
         result.put("taskId", taskId);
@@ -173,89 +265,393 @@ public class StatisticsServiceImpl implements StatisticsService {
     }
 
     @Override
-    public Map<String, Object> getProjectTaskCompletionStatistics(Long projectId) {
-        logger.debug("统计项目任务完成度: projectId={}", projectId);
+    public Map<String, Object> getProjectTaskCompletionStatistics(Long projectId, boolean byIteration, boolean byAssignee) {
+        authService.checkProjectAccess(currentUserId(), projectId);
+        return statisticsCache.get(StatisticsCache.key("completion", projectId, byIteration, byAssignee),
+                Collections.singleton(StatisticsCache.projectTasks(projectId)), CACHE_TTL_MILLIS,
+                () -> Collections.unmodifiableMap(loadProjectTaskCompletionStatistics(projectId, byIteration, byAssignee)));
+    }
 
-        Map<String, Object> result = new HashMap<>();
+    private Map<String, Object> loadProjectTaskCompletionStatistics(Long projectId, boolean byIteration, boolean byAssignee) {
+        logger.debug("统计项目任务完成度: projectId={}, byIteration={}, byAssignee={}", projectId, byIteration, byAssignee);
 
-        List<Task> tasks = taskMapper.selectByProjectId(projectId);
+        // 一次分组计数查询，不加载任务内容
+        List<TaskStatusCount> rows = taskMapper.countGroupByStatus(
+                Collections.singletonList(projectId), byIteration, byAssignee);
 
-        long totalTasks = tasks.size();
-        long todoTasks = tasks.stream().filter(t -> t.getStatus() == TaskStatus.TODO).count();
-        long inProgressTasks = tasks.stream().filter(t -> t.getStatus() == TaskStatus.IN_PROGRESS).count();
-        long doneTasks = tasks.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count();
+        Map<String, Object> result = completion(rows);
+        result.put("projectId", projectId);
+        if (byIteration) {
+            result.put("iterations", completionBreakdown(rows, TaskStatusCount::getIterationId, "iterationId"));
+        }
+        if (byAssignee) {
+            result.put("assignees", completionBreakdown(rows, TaskStatusCount::getAssigneeId, "assigneeId"));
+        }
+
+        logger.info("项目任务完成度统计完成: projectId={}, totalTasks={}, completionRate={}",
+                projectId, result.get("totalTasks"), result.get("completionRate"));
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> getProjectsTaskCompletionStatistics(List<Long> projectIds) {
+        if (projectIds == null || projectIds.isEmpty()) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(projectIds));
+        if (ids.size() > MAX_COMPLETION_PROJECTS) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+        Long currentUserId = currentUserId();
+        if (!authService.canViewAllProjects(currentUserId)) {
+            List<Long> accessible = authService.getAccessibleProjectIds(currentUserId);
+            if (accessible == null || !new HashSet<>(accessible).containsAll(ids)) {
+                throw new BusinessException(CommonErrorCode.FORBIDDEN);
+            }
+        }
+
+        Set<String> tags = new HashSet<>();
+        for (Long projectId : ids) {
+            tags.add(StatisticsCache.projectTasks(projectId));
+        }
+        List<Long> sortedIds = new ArrayList<>(ids);
+        Collections.sort(sortedIds);
+        Map<Long, Map<String, Object>> completions = statisticsCache.get(
+                StatisticsCache.key("completions", sortedIds), tags, CACHE_TTL_MILLIS,
+                () -> Collections.unmodifiableMap(loadProjectsTaskCompletionStatistics(sortedIds)));
+
+        // 按请求顺序返回
+        List<Map<String, Object>> result = new ArrayList<>(ids.size());
+        for (Long projectId : ids) {
+            result.add(completions.get(projectId));
+        }
+        return result;
+    }
+
+    private Map<Long, Map<String, Object>> loadProjectsTaskCompletionStatistics(List<Long> projectIds) {
+        logger.debug("批量统计项目任务完成度: projectCount={}", projectIds.size());
+
+        // 一次分组计数查询统计全部项目
+        Map<Long, List<TaskStatusCount>> rowsByProject = new HashMap<>();
+        for (TaskStatusCount row : taskMapper.countGroupByStatus(projectIds, false, false)) {
+            rowsByProject.computeIfAbsent(row.getProjectId(), id -> new ArrayList<>()).add(row);
+        }
+
+        Map<Long, Map<String, Object>> completions = new HashMap<>(projectIds.size() * 2);
+        for (Long projectId : projectIds) {
+            Map<String, Object> completion = completion(rowsByProject.getOrDefault(projectId, Collections.emptyList()));
+            completion.put("projectId", projectId);
+            completions.put(projectId, Collections.unmodifiableMap(completion));
+        }
+        return completions;
+    }
+
+    /**
+     * 汇总分组计数，计算各状态任务数及完成率
+     */
+    private static Map<String, Object> completion(List<TaskStatusCount> rows) {
+        long totalTasks = 0;
+        long todoTasks = 0;
+        long inProgressTasks = 0;
+        long doneTasks = 0;
+        for (TaskStatusCount row : rows) {
+            long count = row.getCount();
+            totalTasks += count;
+            if (TaskStatus.TODO.getCode().equals(row.getStatus())) {
+                todoTasks += count;
+            } else if (TaskStatus.IN_PROGRESS.getCode().equals(row.getStatus())) {
+                inProgressTasks += count;
+            } else if (TaskStatus.DONE.getCode().equals(row.getStatus())) {
+                doneTasks += count;
+            }
+        }
 
         double completionRate = totalTasks > 0 ? (double) doneTasks / totalTasks * 100 : 0;
 
-        result.put("projectId", projectId);
+        Map<String, Object> result = new HashMap<>();
         result.put("totalTasks", totalTasks);
         result.put("todoTasks", todoTasks);
         result.put("inProgressTasks", inProgressTasks);
         result.put("doneTasks", doneTasks);
         result.put("completionRate", String.format("%.2f%%", completionRate));
-
-        logger.info("项目任务完成度统计完成: projectId={}, totalTasks={}, completionRate={}", projectId, totalTasks, result.get("completionRate"));
         return result;
     }
 
+    /**
+     * 按迭代或负责人拆分完成度（null 表示未关联迭代或未指定负责人）
+     */
+    private static List<Map<String, Object>> completionBreakdown(List<TaskStatusCount> rows,
+                                                                 Function<TaskStatusCount, Long> groupKey, String keyName) {
+        Map<Long, List<TaskStatusCount>> groups = new LinkedHashMap<>();
+        for (TaskStatusCount row : rows) {
+            groups.computeIfAbsent(groupKey.apply(row), id -> new ArrayList<>()).add(row);
+        }
+        List<Map<String, Object>> breakdown = new ArrayList<>(groups.size());
+        for (Map.Entry<Long, List<TaskStatusCount>> group : groups.entrySet()) {
+            Map<String, Object> completion = completion(group.getValue());
+            completion.put(keyName, group.getKey());
+            breakdown.add(completion);
+        }
+        return breakdown;
+    }
+
     @Override
-    public Map<String, Object> getWorkHourTrendStatistics(Long projectId, Long userId, LocalDate startDate, LocalDate endDate) {
-        logger.debug("统计工时趋势: projectId={}, userId={}, startDate={}, endDate={}", projectId, userId, startDate, endDate);
+    public ProjectVarianceResp getProjectVarianceStatistics(Long projectId) {
+        authService.checkProjectAccess(currentUserId(), projectId);
+        Set<String> tags = new HashSet<>(Arrays.asList(
+                StatisticsCache.projectWorkHours(projectId), StatisticsCache.projectTasks(projectId)));
+        return statisticsCache.get(StatisticsCache.key("variance", projectId), tags, CACHE_TTL_MILLIS,
+                () -> loadProjectVarianceStatistics(projectId));
+    }
 
-        Map<String, Object> result = new HashMap<>();
+    private ProjectVarianceResp loadProjectVarianceStatistics(Long projectId) {
+        logger.debug("统计项目工时偏差: projectId={}", projectId);
+
+        // 一次聚合查询按迭代汇总，项目合计由各迭代相加
+        List<VarianceSum> rows = taskMapper.sumVarianceGroupByIteration(projectId);
+        BigDecimal estimateHours = BigDecimal.ZERO;
+        BigDecimal actualHours = BigDecimal.ZERO;
+        int taskCount = 0;
+        List<IterationVarianceResp> iterations = new ArrayList<>(rows.size());
+        for (VarianceSum row : rows) {
+            estimateHours = estimateHours.add(row.getEstimateHours());
+            actualHours = actualHours.add(row.getActualHours());
+            taskCount += row.getCount();
+
+            IterationVarianceResp iteration = new IterationVarianceResp();
+            iteration.setIterationId(row.getId());
+            iteration.setTaskCount(row.getCount());
+            iteration.setEstimateHours(row.getEstimateHours());
+            iteration.setActualHours(row.getActualHours());
+            iteration.setVariance(row.getActualHours().subtract(row.getEstimateHours()));
+            iteration.setOverrunRatio(overrunRatio(row.getActualHours(), row.getEstimateHours()));
+            iterations.add(iteration);
+        }
+
+        ProjectVarianceResp resp = new ProjectVarianceResp();
+        resp.setProjectId(projectId);
+        resp.setTaskCount(taskCount);
+        resp.setEstimateHours(estimateHours);
+        resp.setActualHours(actualHours);
+        resp.setUnlinkedActualHours(workHourDailyMapper.sumProjectHours(projectId).subtract(actualHours));
+        resp.setVariance(actualHours.subtract(estimateHours));
+        resp.setOverrunRatio(overrunRatio(actualHours, estimateHours));
+        resp.setIterations(Collections.unmodifiableList(iterations));
+
+        logger.info("项目工时偏差统计完成: projectId={}, estimateHours={}, actualHours={}", projectId, estimateHours, actualHours);
+        return resp;
+    }
+
+    @Override
+    public PageResult<TaskVariance> getTaskVariancePage(Long projectId, TaskVarianceQueryReq req) {
+        authService.checkProjectAccess(currentUserId(), projectId);
+        Set<String> tags = new HashSet<>(Arrays.asList(
+                StatisticsCache.projectWorkHours(projectId), StatisticsCache.projectTasks(projectId)));
+        String key = StatisticsCache.key("taskVariance", projectId, req.getIterationId(), req.isRootOnly(),
+                req.getSortBy(), req.isAsc(), req.getPageNum(), req.getPageSize());
+        return statisticsCache.get(key, tags, CACHE_TTL_MILLIS, () -> loadTaskVariancePage(projectId, req));
+    }
+
+    private PageResult<TaskVariance> loadTaskVariancePage(Long projectId, TaskVarianceQueryReq req) {
+        logger.debug("分页统计任务工时偏差: projectId={}, iterationId={}, sortBy={}, asc={}, pageNum={}, pageSize={}",
+                projectId, req.getIterationId(), req.getSortBy(), req.isAsc(), req.getPageNum(), req.getPageSize());
+
+        // 排序和分页在数据库完成（排序字段是子树汇总值，PageHelper 无法改写递归 CTE，手工分页）
+        long total = taskMapper.countVarianceTasks(projectId, req.getIterationId(), req.isRootOnly());
+        List<TaskVariance> records = Collections.emptyList();
+        int offset = (req.getPageNum() - 1) * req.getPageSize();
+        if (offset < total) {
+            records = taskMapper.selectVariancePage(projectId, req.getIterationId(), req.isRootOnly(),
+                    req.getSortBy(), req.isAsc(), offset, req.getPageSize());
+        }
+        return PageResult.success(Collections.unmodifiableList(records), total, req.getPageNum(), req.getPageSize());
+    }
 
-        List<WorkHour> workHours = workHourMapper.selectByCondition(userId, projectId, null, startDate, endDate);
-
-        Map<LocalDate, BigDecimal> dailyHoursMap = workHours.stream()
-                .collect(Collectors.groupingBy(
-                        WorkHour::getWorkDate,
-                        Collectors.reducing(BigDecimal.ZERO, WorkHour::getHours, BigDecimal::add)
-                ));
-
-        List<Map<String, Object>> trendData = dailyHoursMap.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> {
-                    Map<String, Object> dataPoint = new HashMap<>();
-                    dataPoint.put("date", entry.getKey());
-                    dataPoint.put("hours", entry.getValue());
-                    return dataPoint;
+    /**
+     * 超支比例：实际 / 预估，预估为0时为空
+     */
+    private static BigDecimal overrunRatio(BigDecimal actualHours, BigDecimal estimateHours) {
+        if (estimateHours.signum() <= 0) {
+            return null;
+        }
+        return actualHours.divide(estimateHours, 4, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public IterationBurndownResp getIterationBurndownStatistics(Long iterationId, LocalDate startDate, LocalDate endDate) {
+        Iteration iteration = iterationMapper.selectById(iterationId);
+        if (iteration == null) {
+            throw new BusinessException(IterationErrorCode.ITERATION_NOT_FOUND);
+        }
+        authService.checkProjectAccess(currentUserId(), iteration.getProjectId());
+
+        // 快照由 IterationBurndownJob 定时生成，这里只按主键范围读取
+        List<BurndownPointResp> points = iterationBurndownMapper.selectByIteration(iterationId, startDate, endDate)
+                .stream()
+                .map(snapshot -> {
+                    BurndownPointResp point = new BurndownPointResp();
+                    point.setDate(snapshot.getSnapshotDate());
+                    point.setTotalCount(snapshot.getTotalCount());
+                    point.setDoneCount(snapshot.getDoneCount());
+                    point.setTotalEstimateHours(snapshot.getTotalEstimateHours());
+                    point.setRemainingEstimateHours(snapshot.getRemainingEstimateHours());
+                    point.setDoneEstimateHours(snapshot.getTotalEstimateHours().subtract(snapshot.getRemainingEstimateHours()));
+                    return point;
                 })
                 .collect(Collectors.toList());
 
-        BigDecimal totalHours = workHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        IterationBurndownResp resp = new IterationBurndownResp();
+        resp.setIterationId(iterationId);
+        resp.setProjectId(iteration.getProjectId());
+        resp.setPlanStartDate(iteration.getPlanStartDate());
+        resp.setPlanEndDate(iteration.getPlanEndDate());
+        resp.setPoints(points);
 
-        result.put("projectId", projectId);
-        result.put("userId", userId);
-        result.put("startDate", startDate);
-        result.put("endDate", endDate);
-        result.put("totalHours", totalHours);
-        result.put("trendData", trendData);
+        logger.debug("迭代燃尽图查询完成: iterationId={}, points={}", iterationId, points.size());
+        return resp;
+    }
 
-        logger.info("工时趋势统计完成: totalHours={}, dataPoints={}", totalHours, trendData.size());
-        return result;
+    @Override
+    public WorkHourTrendResp getWorkHourTrendStatistics(Long projectId, Long userId, LocalDate startDate, LocalDate endDate,
+                                                        TrendGranularity granularity) {
+        TrendGranularity bucket = granularity != null ? granularity : TrendGranularity.DAY;
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)
+                || TrendSeries.countBuckets(startDate, endDate, bucket) > MAX_TREND_POINTS) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+
+        // 按项目需要项目访问权限，按用户需要该用户的工时访问权限，不限项目和用户时需要全局工时查看权限
+        Long currentUserId = currentUserId();
+        String tag;
+        if (projectId != null) {
+            authService.checkProjectAccess(currentUserId, projectId);
+            tag = StatisticsCache.projectWorkHours(projectId);
+        } else if (userId != null) {
+            tag = StatisticsCache.userWorkHours(userId);
+        } else if (authService.canViewAllWorkHours(currentUserId)) {
+            tag = StatisticsCache.ALL_WORK_HOURS;
+        } else {
+            throw new BusinessException(CommonErrorCode.FORBIDDEN);
+        }
+        if (userId != null) {
+            authService.checkWorkHourAccess(currentUserId, userId);
+        }
+        return statisticsCache.get(StatisticsCache.key("trend", projectId, userId, startDate, endDate, bucket),
+                Collections.singleton(tag), CACHE_TTL_MILLIS,
+                () -> loadWorkHourTrendStatistics(projectId, userId, startDate, endDate, bucket));
+    }
+
+    private WorkHourTrendResp loadWorkHourTrendStatistics(Long projectId, Long userId, LocalDate startDate, LocalDate endDate,
+                                                          TrendGranularity granularity) {
+        logger.debug("统计工时趋势: projectId={}, userId={}, startDate={}, endDate={}, granularity={}",
+                projectId, userId, startDate, endDate, granularity);
+
+        // 数据库按时间段分桶汇总，只返回有工时的时间段，再补全为连续序列
+        List<DateHours> rows = workHourDailyMapper.sumHoursGroupByBucket(projectId, userId, startDate, endDate, granularity);
+
+        BigDecimal totalHours = BigDecimal.ZERO;
+        int totalRecords = 0;
+        for (DateHours row : rows) {
+            totalHours = totalHours.add(row.getHours());
+            totalRecords += row.getCount();
+        }
+
+        WorkHourTrendResp resp = new WorkHourTrendResp();
+        resp.setProjectId(projectId);
+        resp.setUserId(userId);
+        resp.setStartDate(startDate);
+        resp.setEndDate(endDate);
+        resp.setGranularity(granularity);
+        resp.setTotalHours(totalHours);
+        resp.setTotalRecords(totalRecords);
+        resp.setTrendData(Collections.unmodifiableList(TrendSeries.fill(startDate, endDate, granularity, rows)));
+
+        logger.info("工时趋势统计完成: totalHours={}, dataPoints={}", totalHours, resp.getTrendData().size());
+        return resp;
+    }
+
+    @Override
+    public WorkHourAnalyticsResp queryWorkHourAnalytics(WorkHourAnalyticsQueryReq req) {
+        if (req.getStartDate() != null && req.getEndDate() != null && req.getEndDate().isBefore(req.getStartDate())) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+
+        // 没有全局工时查看权限时限定在可访问的项目内，显式指定了不可访问的项目直接拒绝
+        Long currentUserId = currentUserId();
+        if (!authService.canViewAllWorkHours(currentUserId)) {
+            List<Long> accessible = authService.getAccessibleProjectIds(currentUserId);
+            if (req.getProjectIds() == null || req.getProjectIds().isEmpty()) {
+                if (accessible == null || accessible.isEmpty()) {
+                    throw new BusinessException(CommonErrorCode.FORBIDDEN);
+                }
+                req.setProjectIds(accessible);
+            } else if (accessible == null || !new HashSet<>(accessible).containsAll(req.getProjectIds())) {
+                throw new BusinessException(CommonErrorCode.FORBIDDEN);
+            }
+        }
+
+        long begin = System.currentTimeMillis();
+        WorkHourAnalyticsResp resp = workHourAnalytics.query(req);
+        logger.debug("工时多维分析完成: groupBy={}, groups={}, costMs={}",
+                req.getGroupBy(), resp.getGroupCount(), System.currentTimeMillis() - begin);
+        return resp;
     }
 
     @Override
     public Map<String, Object> getDashboardData() {
         logger.debug("获取首页看板数据");
 
-        Long userId = UserContext.getCurrentUserId();
-        if (userId == null) {
-            throw new IllegalArgumentException("用户未登录");
-        }
+        Long userId = currentUserId();
+
+        // 首页访问量最大，按用户短时间缓存
+        return dashboardCache.get(userId, () -> buildDashboardData(userId));
+    }
+
+    /**
+     * 构建用户首页看板数据
+     */
+    private Map<String, Object> buildDashboardData(Long userId) {
+        // 项目、待办任务、工时的各个查询互不依赖，并行执行
+        CompletableFuture<Integer> projectCountFuture = statisticsExecutor.fork(
+                () -> projectMapper.countAccessibleProjects(userId));
+        CompletableFuture<List<Map<String, Object>>> projectListFuture = statisticsExecutor.fork(
+                () -> loadDashboardProjects(userId));
+        CompletableFuture<Integer> pendingTaskCountFuture = statisticsExecutor.fork(
+                () -> taskMapper.countPendingAssignedTasks(userId));
+        CompletableFuture<List<Map<String, Object>>> taskListFuture = statisticsExecutor.fork(
+                () -> loadDashboardPendingTasks(userId));
+        CompletableFuture<UserHoursOverview> hoursFuture = statisticsExecutor.fork(
+                () -> loadDashboardHours(userId));
 
         Map<String, Object> result = new HashMap<>();
-        LocalDate today = LocalDate.now();
 
-        // 获取用户可访问的项目列表
-        List<Project> allProjects = projectMapper.selectAccessibleProjects(userId);
-        result.put("projectCount", allProjects.size());
+        // 用户可访问的项目数及最新的 5 个项目
+        int projectCount = join(projectCountFuture);
+        result.put("projectCount", projectCount);
+        result.put("projects", join(projectListFuture));
+
+        // 用户负责的待办任务（TODO和IN_PROGRESS状态）数量及最新的 5 个（按ID降序）
+        int pendingTaskCount = join(pendingTaskCountFuture);
+        result.put("pendingTaskCount", pendingTaskCount);
+        result.put("pendingTasks", join(taskListFuture));
+
+        // 今日、本周、本月、累计工时
+        UserHoursOverview hours = join(hoursFuture);
+        result.put("todayHours", hours.getTodayHours());
+        result.put("weekHours", hours.getWeekHours());
+        result.put("monthHours", hours.getMonthHours());
+        result.put("totalHours", hours.getTotalHours());
+
+        Map<String, Object> dashboard = Collections.unmodifiableMap(result);
+
+        logger.info("首页看板数据获取完成: userId={}, projectCount={}, pendingTaskCount={}, todayHours={}",
+                userId, projectCount, pendingTaskCount, hours.getTodayHours());
+        return dashboard;
+    }
 
-        // 获取项目列表（限制5个）
-        List<Map<String, Object>> projectList = allProjects.stream()
-                .limit(5)
+    private List<Map<String, Object>> loadDashboardProjects(Long userId) {
+        return projectMapper.selectLatestAccessibleProjects(userId, DASHBOARD_LIST_SIZE)
+                .stream()
                 .map(project -> {
                     Map<String, Object> projectData = new HashMap<>();
                     projectData.put("id", project.getId());
@@ -265,23 +661,11 @@ public class StatisticsServiceImpl implements StatisticsService {
                     return projectData;
                 })
                 .collect(Collectors.toList());
-        result.put("projects", projectList);
-
-        // 获取用户的待办任务（TODO和IN_PROGRESS状态）
-        List<Task> allTodoTasks = new ArrayList<>();
-        List<Task> allTasks = taskMapper.selectAccessibleTasksByCondition(userId, null, userId, null);
-        for (Task task : allTasks) {
-            if (task.getStatus() == TaskStatus.TODO || task.getStatus() == TaskStatus.IN_PROGRESS) {
-                allTodoTasks.add(task);
-            }
-        }
-
-        result.put("pendingTaskCount", allTodoTasks.size());
+    }
 
-        // 获取待办任务列表（限制5个，按ID降序）
-        List<Map<String, Object>> taskList = allTodoTasks.stream()
-                .sorted((t1, t2) -> t2.getId().compareTo(t1.getId()))
-                .limit(5)
+    private List<Map<String, Object>> loadDashboardPendingTasks(Long userId) {
+        return taskMapper.selectPendingAssignedTasks(userId, DASHBOARD_LIST_SIZE)
+                .stream()
                 .map(task -> {
                     Map<String, Object> taskData = new HashMap<>();
                     taskData.put("id", task.getId());
@@ -293,42 +677,47 @@ public class StatisticsServiceImpl implements StatisticsService {
                     return taskData;
                 })
                 .collect(Collectors.toList());
-        result.put("pendingTasks", taskList);
-
-        // 计算今日工时
-        List<WorkHour> todayWorkHours = workHourMapper.selectByCondition(userId, null, null, today, today);
-        BigDecimal todayHours = todayWorkHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        result.put("todayHours", todayHours);
+    }
 
-        // 计算本周工时
+    /**
+     * 今日、本周、本月、累计工时（一次条件聚合）
+     */
+    private UserHoursOverview loadDashboardHours(Long userId) {
+        LocalDate today = LocalDate.now();
         LocalDate weekStart = today.with(DayOfWeek.MONDAY);
         LocalDate weekEnd = today.with(DayOfWeek.SUNDAY);
-        List<WorkHour> weekWorkHours = workHourMapper.selectByCondition(userId, null, null, weekStart, weekEnd);
-        BigDecimal weekHours = weekWorkHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        result.put("weekHours", weekHours);
-
-        // 计算本月工时
-        LocalDate monthStart = LocalDate.of(today.getYear(), today.getMonth(), 1);
+        LocalDate monthStart = today.withDayOfMonth(1);
         LocalDate monthEnd = monthStart.plusMonths(1).minusDays(1);
-        List<WorkHour> monthWorkHours = workHourMapper.selectByCondition(userId, null, null, monthStart, monthEnd);
-        BigDecimal monthHours = monthWorkHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        result.put("monthHours", monthHours);
+        return workHourMapper.selectUserHoursOverview(userId, today, weekStart, weekEnd, monthStart, monthEnd);
+    }
 
-        // 总工时
-        List<WorkHour> allWorkHours = workHourMapper.selectByCondition(userId, null, null, null, null);
-        BigDecimal totalHours = allWorkHours.stream()
-                .map(WorkHour::getHours)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-        result.put("totalHours", totalHours);
+    /**
+     * 等待并行子查询结果，子查询的异常原样抛出
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
 
-        logger.info("首页看板数据获取完成: userId={}, projectCount={}, pendingTaskCount={}, todayHours={}",
-                userId, allProjects.size(), allTodoTasks.size(), todayHours);
-        return result;
+    @Override
+    public Map<String, Object> getCacheStatistics() {
+        if (!authService.hasRole(currentUserId(), "SYS_ADMIN")) {
+            throw new BusinessException(CommonErrorCode.FORBIDDEN);
+        }
+        return statisticsCache.getStats();
+    }
+
+    private static Long currentUserId() {
+        Long userId = UserContext.getCurrentUserId();
+        if (userId == null) {
+            throw new BusinessException(CommonErrorCode.UNAUTHORIZED);
+        }
+        return userId;
     }
 }
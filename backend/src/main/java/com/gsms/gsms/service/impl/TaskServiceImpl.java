@@ -3,6 +3,7 @@ package com.gsms.gsms.service.impl;
 import com.github.pagehelper.PageHelper;
 import com.github.pagehelper.PageInfo;
 import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskRemoval;
 import com.gsms.gsms.model.entity.Project;
 import com.gsms.gsms.model.enums.TaskStatus;
 import com.gsms.gsms.model.enums.ProjectType;
@@ -18,12 +19,19 @@ import com.gsms.gsms.model.enums.errorcode.TaskErrorCode;
 import com.gsms.gsms.model.enums.errorcode.ProjectErrorCode;
 import com.gsms.gsms.infra.exception.BusinessException;
 import com.gsms.gsms.infra.utils.UserContext;
+import com.gsms.gsms.repository.TaskLinkMapper;
 import com.gsms.gsms.repository.TaskMapper;
+import com.gsms.gsms.repository.TaskRemovalMapper;
 import com.gsms.gsms.repository.ProjectMapper;
 import com.gsms.gsms.repository.ProjectMemberMapper;
 import com.gsms.gsms.service.AuthService;
 import com.gsms.gsms.service.TaskService;
 import com.gsms.gsms.service.CacheService;
+import com.gsms.gsms.service.gantt.GanttSnapshotCache;
+import com.gsms.gsms.service.gantt.ProjectProgressCache;
+import com.gsms.gsms.service.statistics.StatisticsCache;
+import com.gsms.gsms.service.statistics.TaskHistoryRecorder;
+import com.gsms.gsms.service.gantt.ProjectScheduleCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -40,19 +48,36 @@ public class TaskServiceImpl implements TaskService {
     private static final Logger logger = LoggerFactory.getLogger(TaskServiceImpl.class);
 
     private final TaskMapper taskMapper;
+    private final TaskLinkMapper taskLinkMapper;
+    private final TaskRemovalMapper taskRemovalMapper;
     private final ProjectMapper projectMapper;
     private final ProjectMemberMapper projectMemberMapper;
     private final AuthService authService;
     private final CacheService cacheService;
-
-    public TaskServiceImpl(TaskMapper taskMapper, ProjectMapper projectMapper,
-                           ProjectMemberMapper projectMemberMapper,
-                           AuthService authService, CacheService cacheService) {
+    private final GanttSnapshotCache ganttSnapshotCache;
+    private final ProjectScheduleCache projectScheduleCache;
+    private final ProjectProgressCache projectProgressCache;
+    private final StatisticsCache statisticsCache;
+    private final TaskHistoryRecorder taskHistoryRecorder;
+
+    public TaskServiceImpl(TaskMapper taskMapper, TaskLinkMapper taskLinkMapper, TaskRemovalMapper taskRemovalMapper,
+                           ProjectMapper projectMapper, ProjectMemberMapper projectMemberMapper,
+                           AuthService authService, CacheService cacheService,
+                           GanttSnapshotCache ganttSnapshotCache, ProjectScheduleCache projectScheduleCache,
+                           ProjectProgressCache projectProgressCache, StatisticsCache statisticsCache,
+                           TaskHistoryRecorder taskHistoryRecorder) {
         this.taskMapper = taskMapper;
+        this.taskLinkMapper = taskLinkMapper;
+        this.taskRemovalMapper = taskRemovalMapper;
         this.projectMapper = projectMapper;
         this.projectMemberMapper = projectMemberMapper;
         this.authService = authService;
         this.cacheService = cacheService;
+        this.ganttSnapshotCache = ganttSnapshotCache;
+        this.projectScheduleCache = projectScheduleCache;
+        this.projectProgressCache = projectProgressCache;
+        this.statisticsCache = statisticsCache;
+        this.taskHistoryRecorder = taskHistoryRecorder;
     }
 
     @Override
@@ -161,6 +186,11 @@ public class TaskServiceImpl implements TaskService {
         if (result <= 0) {
             throw new BusinessException(TaskErrorCode.TASK_CREATE_FAILED);
         }
+        taskHistoryRecorder.created(task);
+        ganttSnapshotCache.bumpVersion(task.getProjectId());
+        projectScheduleCache.invalidate(task.getProjectId());
+        projectProgressCache.invalidate(task.getProjectId());
+        statisticsCache.invalidateTasks(task.getProjectId());
 
         logger.info("任务创建成功: {}", task.getTitle());
         return task;
@@ -213,9 +243,31 @@ public class TaskServiceImpl implements TaskService {
         if (result <= 0) {
             throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(existTask.getProjectId());
+        projectProgressCache.invalidate(existTask.getProjectId());
+        statisticsCache.invalidateTasks(existTask.getProjectId());
+        if (task.getProjectId() != null && !task.getProjectId().equals(existTask.getProjectId())) {
+            // 依赖关系只能在同一项目内，移到其他项目后原有依赖关系全部删除
+            taskLinkMapper.deleteByTaskId(task.getId());
+            // 原项目查不到移出的任务，记录移出供原项目的甘特图增量同步返回删除墓碑
+            TaskRemoval removal = new TaskRemoval();
+            removal.setTaskId(task.getId());
+            removal.setProjectId(existTask.getProjectId());
+            taskRemovalMapper.insert(removal);
+            ganttSnapshotCache.bumpVersion(task.getProjectId());
+            projectScheduleCache.invalidate(existTask.getProjectId());
+            projectScheduleCache.invalidate(task.getProjectId());
+            projectProgressCache.invalidate(task.getProjectId());
+            statisticsCache.invalidateTasks(task.getProjectId());
+        } else if (task.getPlanStartDate() != null || task.getPlanEndDate() != null) {
+            projectScheduleCache.invalidate(existTask.getProjectId());
+        }
+
+        Task updated = taskMapper.selectById(task.getId());
+        taskHistoryRecorder.changed(existTask, updated);
 
         logger.info("任务更新成功: {}", task.getId());
-        return taskMapper.selectById(task.getId());
+        return updated;
     }
 
     @Override
@@ -292,10 +344,16 @@ public class TaskServiceImpl implements TaskService {
         if (result <= 0) {
             throw new BusinessException(TaskErrorCode.TASK_UPDATE_FAILED);
         }
+        ganttSnapshotCache.bumpVersion(existTask.getProjectId());
+        projectProgressCache.invalidate(existTask.getProjectId());
+        statisticsCache.invalidateTasks(existTask.getProjectId());
+
+        Task updated = taskMapper.selectById(task.getId());
+        taskHistoryRecorder.changed(existTask, updated);
 
         logger.info("任务状态更新成功: {}, 实际开始时间={}, 实际结束时间={}",
                     task.getId(), task.getActualStartDate(), task.getActualEndDate());
-        return taskMapper.selectById(task.getId());
+        return updated;
     }
 
     @Override
@@ -316,6 +374,13 @@ public class TaskServiceImpl implements TaskService {
         if (result <= 0) {
             throw new BusinessException(TaskErrorCode.TASK_DELETE_FAILED);
         }
+        // 同时删除任务相关的依赖关系
+        taskLinkMapper.deleteByTaskId(id);
+        taskHistoryRecorder.deleted(existTask);
+        ganttSnapshotCache.bumpVersion(existTask.getProjectId());
+        projectScheduleCache.invalidate(existTask.getProjectId());
+        projectProgressCache.invalidate(existTask.getProjectId());
+        statisticsCache.invalidateTasks(existTask.getProjectId());
 
         logger.info("任务删除成功: {}", id);
     }
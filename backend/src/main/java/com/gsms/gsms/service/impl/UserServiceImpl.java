@@ -22,6 +22,7 @@ import com.gsms.gsms.repository.RoleMapper;
 import com.gsms.gsms.repository.PermissionMapper;
 import com.gsms.gsms.service.UserService;
 import com.gsms.gsms.service.CacheService;
+import com.gsms.gsms.service.auth.AuthSnapshotCache;
 import com.gsms.gsms.infra.utils.OperationLogHelper;
 import com.gsms.gsms.model.enums.OperationModule;
 import com.gsms.gsms.model.enums.OperationType;
@@ -48,16 +49,18 @@ public class UserServiceImpl implements UserService {
     private final RoleMapper roleMapper;
     private final PermissionMapper permissionMapper;
     private final OperationLogHelper operationLogHelper;
+    private final AuthSnapshotCache authSnapshotCache;
 
     public UserServiceImpl(UserMapper userMapper, DepartmentMapper departmentMapper, CacheService cacheService,
                              RoleMapper roleMapper, PermissionMapper permissionMapper,
-                             OperationLogHelper operationLogHelper) {
+                             OperationLogHelper operationLogHelper, AuthSnapshotCache authSnapshotCache) {
         this.userMapper = userMapper;
         this.departmentMapper = departmentMapper;
         this.cacheService = cacheService;
         this.roleMapper = roleMapper;
         this.permissionMapper = permissionMapper;
         this.operationLogHelper = operationLogHelper;
+        this.authSnapshotCache = authSnapshotCache;
     }
 
     @Override
@@ -234,6 +237,7 @@ public class UserServiceImpl implements UserService {
 
         // 从缓存中移除
         cacheService.removeUser(id);
+        authSnapshotCache.invalidate(id);
 
         // 记录操作日志（带数据变更）
         operationLogHelper.logSuccessWithChanges(
@@ -414,6 +418,7 @@ public class UserServiceImpl implements UserService {
             roleMapper.insertUserRoles(userId, roleIds);
             roleCount = roleIds.size();
         }
+        authSnapshotCache.invalidate(userId);
 
         // 记录操作日志
         operationLogHelper.logSuccess(OperationType.ASSIGN, OperationModule.USER,
@@ -433,6 +438,7 @@ public class UserServiceImpl implements UserService {
         if (result <= 0) {
             logger.warn("移除用户角色失败: userId={}, roleId={}", userId, roleId);
         } else {
+            authSnapshotCache.invalidate(userId);
             // 记录操作日志
             operationLogHelper.logSuccess(OperationType.REMOVE, OperationModule.USER,
                     String.format("移除用户 %s 的角色 ID=%d", user.getUsername(), roleId));
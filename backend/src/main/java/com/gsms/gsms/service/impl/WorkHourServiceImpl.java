@@ -8,6 +8,12 @@ import com.gsms.gsms.infra.utils.UserContext;
 import com.gsms.gsms.repository.WorkHourMapper;
 import com.gsms.gsms.service.AuthService;
 import com.gsms.gsms.service.WorkHourService;
+import com.gsms.gsms.service.gantt.GanttSnapshotCache;
+import com.gsms.gsms.service.gantt.ProjectProgressCache;
+import com.gsms.gsms.service.statistics.DashboardCache;
+import com.gsms.gsms.service.statistics.StatisticsCache;
+import com.gsms.gsms.service.statistics.WorkHourAnalytics;
+import com.gsms.gsms.service.statistics.WorkHourRollup;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,10 +29,25 @@ public class WorkHourServiceImpl implements WorkHourService {
 
     private final WorkHourMapper workHourMapper;
     private final AuthService authService;
-
-    public WorkHourServiceImpl(WorkHourMapper workHourMapper, AuthService authService) {
+    private final GanttSnapshotCache ganttSnapshotCache;
+    private final ProjectProgressCache projectProgressCache;
+    private final DashboardCache dashboardCache;
+    private final WorkHourRollup workHourRollup;
+    private final StatisticsCache statisticsCache;
+    private final WorkHourAnalytics workHourAnalytics;
+
+    public WorkHourServiceImpl(WorkHourMapper workHourMapper, AuthService authService,
+                               GanttSnapshotCache ganttSnapshotCache, ProjectProgressCache projectProgressCache,
+                               DashboardCache dashboardCache, WorkHourRollup workHourRollup,
+                               StatisticsCache statisticsCache, WorkHourAnalytics workHourAnalytics) {
         this.workHourMapper = workHourMapper;
         this.authService = authService;
+        this.ganttSnapshotCache = ganttSnapshotCache;
+        this.projectProgressCache = projectProgressCache;
+        this.dashboardCache = dashboardCache;
+        this.workHourRollup = workHourRollup;
+        this.statisticsCache = statisticsCache;
+        this.workHourAnalytics = workHourAnalytics;
     }
 
     @Override
@@ -103,6 +124,11 @@ public class WorkHourServiceImpl implements WorkHourService {
         if (result <= 0) {
             throw new BusinessException(WorkHourErrorCode.WORKHOUR_CREATE_FAILED);
         }
+        workHourRollup.add(workHour);
+        workHourAnalytics.saved(workHour);
+        invalidateProgress(workHour.getProjectId());
+        statisticsCache.invalidateWorkHours(workHour.getProjectId(), currentUserId);
+        dashboardCache.invalidate(currentUserId);
 
         return workHour;
     }
@@ -122,6 +148,13 @@ public class WorkHourServiceImpl implements WorkHourService {
 
         // 批量插入
         workHours.forEach(workHour -> workHourMapper.insert(workHour));
+        workHours.forEach(workHourRollup::add);
+        workHours.forEach(workHourAnalytics::saved);
+        workHours.stream().map(WorkHour::getProjectId).distinct().forEach(projectId -> {
+            invalidateProgress(projectId);
+            statisticsCache.invalidateWorkHours(projectId, currentUserId);
+        });
+        dashboardCache.invalidate(currentUserId);
 
         return workHours;
     }
@@ -148,8 +181,23 @@ public class WorkHourServiceImpl implements WorkHourService {
         if (result <= 0) {
             throw new BusinessException(WorkHourErrorCode.WORKHOUR_UPDATE_FAILED);
         }
+        WorkHour updated = workHourMapper.selectById(workHour.getId());
+        workHourRollup.replace(existWorkHour, updated);
+        workHourAnalytics.saved(updated);
+        invalidateProgress(existWorkHour.getProjectId());
+        if (workHour.getProjectId() != null && !workHour.getProjectId().equals(existWorkHour.getProjectId())) {
+            invalidateProgress(workHour.getProjectId());
+        }
+        dashboardCache.invalidate(existWorkHour.getUserId());
+        statisticsCache.invalidateWorkHours(existWorkHour.getProjectId(), existWorkHour.getUserId());
+        if (updated != null) {
+            if (!existWorkHour.getUserId().equals(updated.getUserId())) {
+                dashboardCache.invalidate(updated.getUserId());
+            }
+            statisticsCache.invalidateWorkHours(updated.getProjectId(), updated.getUserId());
+        }
 
-        return workHourMapper.selectById(workHour.getId());
+        return updated;
     }
 
     @Override
@@ -172,5 +220,21 @@ public class WorkHourServiceImpl implements WorkHourService {
         if (result <= 0) {
             throw new BusinessException(WorkHourErrorCode.WORKHOUR_DELETE_FAILED);
         }
+        workHourRollup.remove(existWorkHour);
+        workHourAnalytics.removed(existWorkHour);
+        invalidateProgress(existWorkHour.getProjectId());
+        dashboardCache.invalidate(existWorkHour.getUserId());
+        statisticsCache.invalidateWorkHours(existWorkHour.getProjectId(), existWorkHour.getUserId());
+    }
+
+    /**
+     * 工时变化影响项目甘特图进度：失效进度缓存和甘特图快照
+     */
+    private void invalidateProgress(Long projectId) {
+        if (projectId == null) {
+            return;
+        }
+        ganttSnapshotCache.bumpVersion(projectId);
+        projectProgressCache.invalidate(projectId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,139 @@
+package com.gsms.gsms.service.impl;
+
+import com.gsms.gsms.dto.workload.WorkloadResp;
+import com.gsms.gsms.dto.workload.WorkloadUserResp;
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.infra.exception.CommonErrorCode;
+import com.gsms.gsms.infra.utils.UserContext;
+import com.gsms.gsms.model.stat.TaskInterval;
+import com.gsms.gsms.repository.TaskMapper;
+import com.gsms.gsms.service.AuthService;
+import com.gsms.gsms.service.CacheService;
+import com.gsms.gsms.service.WorkloadService;
+import com.gsms.gsms.service.gantt.WorkloadHistogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 负责人负载服务实现类
+ */
+@Service
+public class WorkloadServiceImpl implements WorkloadService {
+    private static final Logger logger = LoggerFactory.getLogger(WorkloadServiceImpl.class);
+
+    // 单次统计的最大天数（约两年）
+    private static final int MAX_DAYS = 731;
+
+    // 单次统计的最大负责人数
+    private static final int MAX_USERS = 1000;
+
+    private final TaskMapper taskMapper;
+    private final AuthService authService;
+    private final CacheService cacheService;
+
+    public WorkloadServiceImpl(TaskMapper taskMapper, AuthService authService, CacheService cacheService) {
+        this.taskMapper = taskMapper;
+        this.authService = authService;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public WorkloadResp getWorkload(List<Long> userIds, List<Long> projectIds, LocalDate startDate, LocalDate endDate,
+                                    boolean includeDone) {
+        logger.debug("获取负责人负载: userIds={}, projectIds={}, startDate={}, endDate={}", userIds, projectIds, startDate, endDate);
+
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)
+                || endDate.toEpochDay() - startDate.toEpochDay() + 1 > MAX_DAYS) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+        Set<Long> requestedUsers = userIds == null || userIds.isEmpty() ? null : new LinkedHashSet<>(userIds);
+        if (requestedUsers != null && requestedUsers.size() > MAX_USERS) {
+            throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+        }
+
+        // 项目范围：只统计当前用户可访问的项目
+        Long currentUserId = UserContext.getCurrentUserId();
+        List<Long> scopeProjectIds = resolveProjectScope(currentUserId, projectIds);
+        List<TaskInterval> intervals = scopeProjectIds != null && scopeProjectIds.isEmpty()
+                ? Collections.emptyList()
+                : taskMapper.selectWorkloadIntervals(requestedUsers, scopeProjectIds, startDate, endDate, includeDone);
+
+        // 行顺序：指定负责人时按请求顺序（没有任务的负责人同样返回），否则按负责人ID
+        List<Long> rowUserIds;
+        if (requestedUsers != null) {
+            rowUserIds = new ArrayList<>(requestedUsers);
+        } else {
+            Set<Long> assignees = new TreeSet<>();
+            for (TaskInterval interval : intervals) {
+                assignees.add(interval.getAssigneeId());
+            }
+            if (assignees.size() > MAX_USERS) {
+                throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+            }
+            rowUserIds = new ArrayList<>(assignees);
+        }
+
+        WorkloadHistogram histogram = WorkloadHistogram.build(startDate, endDate, rowUserIds, intervals);
+        List<WorkloadUserResp> users = new ArrayList<>(rowUserIds.size());
+        for (int row = 0; row < rowUserIds.size(); row++) {
+            double[] hours = histogram.getHours(row);
+            double total = 0;
+            for (int d = 0; d < hours.length; d++) {
+                total += hours[d];
+                hours[d] = round(hours[d]);
+            }
+            WorkloadUserResp user = new WorkloadUserResp();
+            user.setUserId(rowUserIds.get(row));
+            user.setNickname(cacheService.getUserNicknameById(rowUserIds.get(row)));
+            user.setTaskCounts(histogram.getTaskCounts(row));
+            user.setHours(hours);
+            user.setTotalHours(round(total));
+            user.setUnscheduledTaskCount(histogram.getUnscheduledCount(row));
+            users.add(user);
+        }
+
+        WorkloadResp resp = new WorkloadResp();
+        resp.setStartDate(startDate);
+        resp.setEndDate(endDate);
+        resp.setWorkdays(histogram.getWorkdays());
+        resp.setUsers(users);
+        logger.debug("获取负责人负载成功: 负责人数={}, 任务数={}, 天数={}", users.size(), intervals.size(), histogram.getDays());
+        return resp;
+    }
+
+    /**
+     * 确定统计的项目范围，返回 null 表示不限（可查看全部项目且未指定）
+     */
+    private List<Long> resolveProjectScope(Long userId, List<Long> projectIds) {
+        boolean viewAll = authService.canViewAllProjects(userId);
+        if (projectIds == null || projectIds.isEmpty()) {
+            if (viewAll) {
+                return null;
+            }
+            List<Long> accessible = authService.getAccessibleProjectIds(userId);
+            return accessible != null ? accessible : Collections.emptyList();
+        }
+        Set<Long> requested = new LinkedHashSet<>(projectIds);
+        if (!viewAll) {
+            List<Long> accessible = authService.getAccessibleProjectIds(userId);
+            if (accessible == null || !new HashSet<>(accessible).containsAll(requested)) {
+                throw new BusinessException(CommonErrorCode.FORBIDDEN);
+            }
+        }
+        return new ArrayList<>(requested);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,107 @@
+package com.gsms.gsms.service.statistics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * 首页看板缓存
+ *
+ * 按用户缓存看板数据，短时间过期：首页刷新频繁，几十秒内的延迟可以接受；
+ * 用户自己登记、修改工时后立即失效，保证自己的工时数字及时更新。
+ * 构建期间发生失效时结果不写入缓存，避免失效前开始构建的旧数据在失效后被缓存。
+ *
+ * 注意：缓存中的数据会被多个请求共享，取出后不能修改。
+ */
+@Component
+public class DashboardCache {
+
+    // 过期时间（毫秒）
+    private static final long TTL_MILLIS = 30_000L;
+
+    // 最多缓存的用户数
+    private static final int MAX_ENTRIES = 4096;
+
+    // 用户ID -> 看板数据
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    // 失效代数：每次失效递增，构建前后不一致时不写入缓存
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * 获取用户看板数据，不存在或已过期时调用 loader 构建并缓存
+     *
+     * @param loader 构建看板数据（返回的结果会被共享，应不可修改）
+     */
+    public Map<String, Object> get(Long userId, Supplier<Map<String, Object>> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.expireAt > now) {
+            return entry.data;
+        }
+
+        long startGeneration = generation.get();
+        Map<String, Object> data = loader.get();
+        synchronized (this) {
+            if (generation.get() == startGeneration) {
+                if (entries.size() >= MAX_ENTRIES) {
+                    evict();
+                }
+                entries.put(userId, new Entry(data, System.currentTimeMillis() + TTL_MILLIS));
+            }
+        }
+        return data;
+    }
+
+    /**
+     * 失效用户看板数据（事务中调用时提交后再失效一次）
+     */
+    public void invalidate(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        doInvalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate(userId);
+                }
+            });
+        }
+    }
+
+    private synchronized void doInvalidate(Long userId) {
+        generation.incrementAndGet();
+        entries.remove(userId);
+    }
+
+    /**
+     * 淘汰缓存：先清理过期数据，仍超出上限时任意淘汰
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expireAt <= now);
+        Iterator<Long> iterator = entries.keySet().iterator();
+        while (entries.size() >= MAX_ENTRIES && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static final class Entry {
+        private final Map<String, Object> data;
+        private final long expireAt;
+
+        Entry(Map<String, Object> data, long expireAt) {
+            this.data = data;
+            this.expireAt = expireAt;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.repository.IterationBurndownMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * 迭代燃尽快照任务
+ *
+ * 每小时从最近一次快照的日期开始逐天生成到今天：跨天后第一次执行会先把前一天的快照补全为当天结束时的状态，
+ * 当天的快照每小时刷新一次。服务停机错过的日期在恢复后自动补上，最多补 {@value #MAX_CATCH_UP_DAYS} 天。
+ */
+@Component
+public class IterationBurndownJob {
+    private static final Logger logger = LoggerFactory.getLogger(IterationBurndownJob.class);
+
+    // 最多补生成的天数（含今天）
+    private static final int MAX_CATCH_UP_DAYS = 31;
+
+    private final IterationBurndown iterationBurndown;
+    private final IterationBurndownMapper iterationBurndownMapper;
+
+    public IterationBurndownJob(IterationBurndown iterationBurndown, IterationBurndownMapper iterationBurndownMapper) {
+        this.iterationBurndown = iterationBurndown;
+        this.iterationBurndownMapper = iterationBurndownMapper;
+    }
+
+    /**
+     * 生成到今天的快照
+     */
+    @Scheduled(cron = "${gsms.iteration-burndown.snapshot-cron:0 10 * * * ?}")
+    public void snapshotToToday() {
+        snapshotTo(LocalDate.now());
+    }
+
+    /**
+     * 从最近一次快照的日期开始逐天生成到指定日期，每天一个事务
+     *
+     * @return 生成的快照数
+     */
+    public int snapshotTo(LocalDate endDate) {
+        LocalDate earliest = endDate.minusDays(MAX_CATCH_UP_DAYS - 1);
+        LocalDate latest = iterationBurndownMapper.selectLatestDate();
+        LocalDate startDate = latest == null || latest.isAfter(endDate) ? endDate
+                : latest.isBefore(earliest) ? earliest : latest;
+
+        int snapshots = 0;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            snapshots += iterationBurndown.snapshot(day);
+        }
+        logger.info("迭代燃尽快照生成完成: startDate={}, endDate={}, snapshots={}", startDate, endDate, snapshots);
+        return snapshots;
+    }
+}
@@ -0,0 +1,127 @@
+package com.gsms.gsms.service.statistics;
+
+import java.util.Arrays;
+
+/**
+ * long 到 int 的开放寻址哈希表（线性探测），键和值都用基本类型数组保存，没有装箱对象
+ *
+ * 不支持 Long.MIN_VALUE 作为键（用作空槽标记），非线程安全。
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize, 8) * 2 - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * 查询键对应的值，不存在时返回 missing
+     */
+    int get(long key, int missing) {
+        int index = indexOf(key, mask);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                return values[index];
+            }
+            if (current == EMPTY) {
+                return missing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    void put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("不支持的键: " + key);
+        }
+        int index = indexOf(key, mask);
+        while (true) {
+            long current = keys[index];
+            if (current == key) {
+                values[index] = value;
+                return;
+            }
+            if (current == EMPTY) {
+                keys[index] = key;
+                values[index] = value;
+                // 装载因子不超过 0.5，探测链保持很短
+                if (++size * 2 > keys.length) {
+                    rehash(keys.length * 2);
+                }
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * 删除键并返回原来的值，不存在时返回 missing
+     */
+    int remove(long key, int missing) {
+        int index = indexOf(key, mask);
+        while (keys[index] != key) {
+            if (keys[index] == EMPTY) {
+                return missing;
+            }
+            index = (index + 1) & mask;
+        }
+        int removed = values[index];
+
+        // 向前移动后续探测链上的键填补空位，不使用删除标记
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = indexOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int index = indexOf(key, mask);
+                while (keys[index] != EMPTY) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int indexOf(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+}
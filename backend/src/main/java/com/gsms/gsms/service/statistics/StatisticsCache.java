@@ -0,0 +1,194 @@
+package com.gsms.gsms.service.statistics;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 统计结果缓存
+ *
+ * 按“方法名 + 规范化参数”缓存统计结果，同一报表被多人反复查看时不再重复查询。
+ * 每条缓存记录依赖的数据标签（某项目的工时、某用户的工时、全部工时、某项目的任务），
+ * 工时、任务写操作按项目/用户失效相关记录；另有单条过期时间兜底未跟踪的变化（如用户调整部门）。
+ *
+ * 容量有界，超出时淘汰最久未访问的记录。构建期间发生失效时结果不写入缓存，避免缓存旧数据。
+ *
+ * 缓存键不包含当前用户，调用方必须先做权限校验再读取缓存；缓存中的数据会被多个请求共享，取出后不能修改。
+ */
+@Component
+public class StatisticsCache {
+
+    // 最多缓存的记录数
+    private static final int MAX_ENTRIES = 2048;
+
+    // 全部工时（不限项目和用户的统计依赖此标签）
+    public static final String ALL_WORK_HOURS = "wh:*";
+
+    // 缓存键 -> 记录（受 this 锁保护，按访问顺序排列）
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    // 失效代数：每次失效递增，构建前后不一致时不写入缓存
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * 项目工时标签
+     */
+    public static String projectWorkHours(Long projectId) {
+        return "wh:p:" + projectId;
+    }
+
+    /**
+     * 用户工时标签
+     */
+    public static String userWorkHours(Long userId) {
+        return "wh:u:" + userId;
+    }
+
+    /**
+     * 项目任务标签
+     */
+    public static String projectTasks(Long projectId) {
+        return "task:p:" + projectId;
+    }
+
+    /**
+     * 生成缓存键：方法名 + 参数，参数为 null 时记为空串
+     */
+    public static String key(String method, Object... params) {
+        StringJoiner joiner = new StringJoiner("|");
+        joiner.add(method);
+        for (Object param : params) {
+            joiner.add(param != null ? param.toString() : "");
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * 获取统计结果，不存在或已过期时调用 loader 构建并缓存
+     *
+     * @param key 缓存键
+     * @param tags 结果依赖的数据标签
+     * @param ttlMillis 过期时间（毫秒）
+     * @param loader 构建统计结果（返回的结果会被共享，应不可修改）
+     * @return 统计结果
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Set<String> tags, long ttlMillis, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expireAt > now) {
+                hits.increment();
+                return (T) entry.data;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.increment();
+            }
+            startGeneration = generation.get();
+        }
+        misses.increment();
+
+        T data = loader.get();
+        synchronized (this) {
+            if (generation.get() == startGeneration) {
+                entries.put(key, new Entry(data, tags, System.currentTimeMillis() + ttlMillis));
+                if (entries.size() > MAX_ENTRIES) {
+                    Iterator<Entry> iterator = entries.values().iterator();
+                    iterator.next();
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        }
+        return data;
+    }
+
+    /**
+     * 工时变化后失效相关统计（事务中调用时提交后再失效一次）
+     */
+    public void invalidateWorkHours(Long projectId, Long userId) {
+        invalidate(projectWorkHours(projectId), userWorkHours(userId), ALL_WORK_HOURS);
+    }
+
+    /**
+     * 任务变化后失效相关统计（事务中调用时提交后再失效一次）
+     */
+    public void invalidateTasks(Long projectId) {
+        invalidate(projectTasks(projectId));
+    }
+
+    /**
+     * 缓存命中统计
+     */
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        synchronized (this) {
+            stats.put("size", entries.size());
+        }
+        stats.put("maxSize", MAX_ENTRIES);
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    private void invalidate(String... tags) {
+        doInvalidate(tags);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doInvalidate(tags);
+                }
+            });
+        }
+    }
+
+    private synchronized void doInvalidate(String... tags) {
+        generation.incrementAndGet();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            for (String tag : tags) {
+                if (entry.tags.contains(tag)) {
+                    iterator.remove();
+                    invalidations.increment();
+                    break;
+                }
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final Object data;
+        private final Set<String> tags;
+        private final long expireAt;
+
+        Entry(Object data, Set<String> tags, long expireAt) {
+            this.data = data;
+            this.tags = tags;
+            this.expireAt = expireAt;
+        }
+    }
+}
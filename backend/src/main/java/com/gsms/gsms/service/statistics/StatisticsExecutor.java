@@ -0,0 +1,124 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.infra.exception.ServiceBusyException;
+import com.gsms.gsms.infra.utils.UserContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 统计查询线程池
+ *
+ * 统计报表在独立的线程池中异步执行，不占用 Tomcat 请求线程：几个慢报表不会拖住增删改查请求。
+ * 统计都是数据库聚合查询，线程数明显小于连接池（HikariCP 默认 10 个连接），给其他请求留出连接；
+ * 报表队列有界，满了直接拒绝（返回 503 和 Retry-After），不在请求线程里排队等待。
+ *
+ * 首页看板等接口内部互不依赖的子查询通过 fork 并行执行：没有空闲线程时由调用线程自己执行，
+ * 不排在报表后面，也不会被拒绝。
+ *
+ * 报表任务记录在当前请求的属性中，异步请求超时（客户端已收到 503）时由 {@link #cancelRequestTask} 取消：
+ * 还在排队的报表不再执行，正在执行的数据库查询无法中断，结果直接丢弃。
+ *
+ * 不注册为 Executor 类型的 Bean，避免替换 Spring Boot 默认的 applicationTaskExecutor。
+ */
+@Component
+public class StatisticsExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsExecutor.class);
+
+    // 报表线程数
+    private static final int REPORT_THREADS = 4;
+
+    // 报表排队上限
+    private static final int REPORT_QUEUE_CAPACITY = 32;
+
+    // 并行子查询线程数
+    private static final int FORK_THREADS = 4;
+
+    // 队列满时建议客户端的重试间隔（秒）
+    private static final int RETRY_AFTER_SECONDS = 5;
+
+    // 请求属性：当前请求提交的报表任务
+    private static final String REQUEST_TASK_ATTRIBUTE = StatisticsExecutor.class.getName() + ".TASK";
+
+    private final ThreadPoolExecutor reportExecutor;
+    private final ThreadPoolExecutor forkExecutor;
+
+    public StatisticsExecutor() {
+        this.reportExecutor = new ThreadPoolExecutor(REPORT_THREADS, REPORT_THREADS, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(REPORT_QUEUE_CAPACITY), threadFactory("statistics-report-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.reportExecutor.allowCoreThreadTimeOut(true);
+        this.forkExecutor = new ThreadPoolExecutor(FORK_THREADS, FORK_THREADS, 60L, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), threadFactory("statistics-fork-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.forkExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 提交统计报表，队列已满时抛出 ServiceBusyException
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(UserContext.withCurrentUser(task), reportExecutor);
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                attributes.setAttribute(REQUEST_TASK_ATTRIBUTE, future, RequestAttributes.SCOPE_REQUEST);
+            }
+            return future;
+        } catch (RejectedExecutionException e) {
+            logger.warn("统计报表线程池已满，拒绝请求: active={}, queued={}",
+                    reportExecutor.getActiveCount(), reportExecutor.getQueue().size());
+            throw new ServiceBusyException("统计服务繁忙，请稍后再试", RETRY_AFTER_SECONDS);
+        }
+    }
+
+    /**
+     * 取消请求提交的报表任务（异步请求超时时调用）
+     *
+     * @return 是否取消了尚未完成的任务
+     */
+    public static boolean cancelRequestTask(RequestAttributes attributes) {
+        Object task = attributes.getAttribute(REQUEST_TASK_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (task instanceof Future && ((Future<?>) task).cancel(true)) {
+            logger.warn("统计报表请求超时，已取消报表任务");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 并行执行子查询，没有空闲线程时由调用线程执行
+     */
+    public <T> CompletableFuture<T> fork(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(UserContext.withCurrentUser(task), forkExecutor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reportExecutor.shutdown();
+        forkExecutor.shutdown();
+    }
+
+    private static ThreadFactory threadFactory(String namePrefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, namePrefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.infra.utils.UserContext;
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskStatusHistory;
+import com.gsms.gsms.repository.TaskStatusHistoryMapper;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * 任务状态历史记录
+ *
+ * 任务增删改时在同一事务内写入 gsms_task_status_history，只记录燃尽图关心的字段：
+ * 状态、迭代、预估工时。其他字段（标题、负责人、排期等）的修改不产生历史记录。
+ *
+ * 历史记录是 {@link IterationBurndown} 生成快照的唯一来源，绕过服务层直接修改任务会导致快照不准确。
+ */
+@Component
+public class TaskHistoryRecorder {
+
+    private final TaskStatusHistoryMapper taskStatusHistoryMapper;
+
+    public TaskHistoryRecorder(TaskStatusHistoryMapper taskStatusHistoryMapper) {
+        this.taskStatusHistoryMapper = taskStatusHistoryMapper;
+    }
+
+    /**
+     * 新增任务后记录
+     */
+    public void created(Task task) {
+        record(null, task);
+    }
+
+    /**
+     * 修改任务后记录：状态、迭代、预估工时都没有变化时不记录
+     *
+     * @param before 修改前的任务
+     * @param after 修改后的任务
+     */
+    public void changed(Task before, Task after) {
+        if (before == null || after == null) {
+            return;
+        }
+        if (before.getStatus() == after.getStatus()
+                && Objects.equals(before.getIterationId(), after.getIterationId())
+                && sameHours(before.getEstimateHours(), after.getEstimateHours())) {
+            return;
+        }
+        record(before, after);
+    }
+
+    /**
+     * 删除任务后记录
+     */
+    public void deleted(Task task) {
+        record(task, null);
+    }
+
+    private void record(Task before, Task after) {
+        Task task = after != null ? after : before;
+        if (task == null || task.getId() == null) {
+            return;
+        }
+        TaskStatusHistory history = new TaskStatusHistory();
+        history.setTaskId(task.getId());
+        history.setProjectId(task.getProjectId());
+        if (before != null) {
+            history.setFromIterationId(before.getIterationId());
+            history.setFromStatus(before.getStatus());
+            history.setFromEstimateHours(before.getEstimateHours());
+        }
+        if (after != null) {
+            history.setToIterationId(after.getIterationId());
+            history.setToStatus(after.getStatus());
+            history.setToEstimateHours(after.getEstimateHours());
+        }
+        history.setChangeUserId(UserContext.getCurrentUserId());
+        taskStatusHistoryMapper.insert(history);
+    }
+
+    private static boolean sameHours(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.compareTo(b) == 0;
+    }
+}
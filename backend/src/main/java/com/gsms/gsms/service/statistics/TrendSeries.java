@@ -0,0 +1,62 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.dto.statistics.WorkHourTrendPointResp;
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.stat.DateHours;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 趋势数据补全：把数据库按时间段汇总的稀疏结果补成连续的时间序列
+ */
+public final class TrendSeries {
+
+    private TrendSeries() {
+    }
+
+    /**
+     * 时间段个数
+     */
+    public static long countBuckets(LocalDate startDate, LocalDate endDate, TrendGranularity granularity) {
+        LocalDate first = granularity.bucketStart(startDate);
+        LocalDate last = granularity.bucketStart(endDate);
+        switch (granularity) {
+            case WEEK:
+                return ChronoUnit.WEEKS.between(first, last) + 1;
+            case MONTH:
+                return ChronoUnit.MONTHS.between(first, last) + 1;
+            default:
+                return ChronoUnit.DAYS.between(first, last) + 1;
+        }
+    }
+
+    /**
+     * 生成连续的趋势数据
+     *
+     * @param rows 数据库按时间段汇总的结果（按时间段第一天升序，只包含有工时的时间段）
+     * @return 从开始日期所在时间段到结束日期所在时间段的全部数据点
+     */
+    public static List<WorkHourTrendPointResp> fill(LocalDate startDate, LocalDate endDate,
+                                                    TrendGranularity granularity, List<DateHours> rows) {
+        List<WorkHourTrendPointResp> points = new ArrayList<>((int) countBuckets(startDate, endDate, granularity));
+        int index = 0;
+        LocalDate last = granularity.bucketStart(endDate);
+        for (LocalDate bucket = granularity.bucketStart(startDate); !bucket.isAfter(last); bucket = granularity.next(bucket)) {
+            // 跳过范围外的数据（正常不会出现）
+            while (index < rows.size() && rows.get(index).getDate().isBefore(bucket)) {
+                index++;
+            }
+            if (index < rows.size() && rows.get(index).getDate().equals(bucket)) {
+                DateHours row = rows.get(index++);
+                points.add(new WorkHourTrendPointResp(bucket, row.getHours(), row.getCount()));
+            } else {
+                points.add(new WorkHourTrendPointResp(bucket, BigDecimal.ZERO, 0));
+            }
+        }
+        return points;
+    }
+}
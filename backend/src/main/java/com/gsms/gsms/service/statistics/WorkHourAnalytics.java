@@ -0,0 +1,211 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsResp;
+import com.gsms.gsms.infra.exception.ServiceBusyException;
+import com.gsms.gsms.model.entity.WorkHour;
+import com.gsms.gsms.model.stat.TaskDimension;
+import com.gsms.gsms.model.stat.UserDepartment;
+import com.gsms.gsms.repository.TaskMapper;
+import com.gsms.gsms.repository.UserMapper;
+import com.gsms.gsms.repository.WorkHourMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 工时分析内存列存
+ *
+ * 启动后把全部有效工时明细加载到 {@link WorkHourColumnStore}，之后由工时服务在事务提交后推送增删改，
+ * 任意维度组合的分组汇总直接在内存中并行扫描，不访问数据库。每天凌晨全量重新加载一次，
+ * 回收已删除的行，并修正绕过服务层直接修改数据库造成的偏差。
+ *
+ * 加载期间收到的变更同时记录下来，加载完成后按顺序重放到新数据上再切换：
+ * 新增和修改按记录ID覆盖、删除按记录ID删除，重放已经包含在加载结果中的变更不会重复计算。
+ *
+ * 任务类型、优先级、负责人和用户所属部门属于维度表，定期整体刷新，查询按刷新时的属性分组。
+ */
+@Component
+public class WorkHourAnalytics {
+    private static final Logger logger = LoggerFactory.getLogger(WorkHourAnalytics.class);
+
+    // 数据未加载完成时建议客户端的重试间隔（秒）
+    private static final int RETRY_AFTER_SECONDS = 10;
+
+    private final WorkHourMapper workHourMapper;
+    private final TaskMapper taskMapper;
+    private final UserMapper userMapper;
+    private final ForkJoinPool scanPool;
+
+    // 查询持读锁，变更和切换持写锁
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private WorkHourColumnStore store;
+    // 正在全量加载时非 null，记录加载期间的变更
+    private List<Change> pendingChanges;
+
+    private volatile WorkHourDimensions dimensions = WorkHourDimensions.EMPTY;
+
+    public WorkHourAnalytics(WorkHourMapper workHourMapper, TaskMapper taskMapper, UserMapper userMapper) {
+        this.workHourMapper = workHourMapper;
+        this.taskMapper = taskMapper;
+        this.userMapper = userMapper;
+        int parallelism = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.scanPool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("work-hour-analytics-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /**
+     * 从数据库全量加载工时明细和维度表，完成后替换当前数据
+     */
+    public synchronized void reload() {
+        long begin = System.currentTimeMillis();
+        refreshDimensions();
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        WorkHourColumnStore loaded = new WorkHourColumnStore();
+        boolean completed = false;
+        int replayed = 0;
+        try {
+            workHourMapper.scanForAnalytics(context -> loaded.upsert(context.getResultObject()));
+            completed = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                // 加载失败时保留原数据继续提供查询
+                if (completed) {
+                    pendingChanges.forEach(change -> change.applyTo(loaded));
+                    replayed = pendingChanges.size();
+                    store = loaded;
+                }
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        logger.info("工时分析数据加载完成: rows={}, replayedChanges={}, costMs={}",
+                loaded.size(), replayed, System.currentTimeMillis() - begin);
+    }
+
+    /**
+     * 刷新任务属性和用户所属部门
+     */
+    public void refreshDimensions() {
+        Map<Long, TaskDimension> tasks = new HashMap<>();
+        for (TaskDimension task : taskMapper.selectAnalyticsDimensions()) {
+            tasks.put(task.getId(), task);
+        }
+        Map<Long, Long> userDepartments = new HashMap<>();
+        for (UserDepartment user : userMapper.selectDepartmentIds()) {
+            userDepartments.put(user.getUserId(), user.getDepartmentId());
+        }
+        dimensions = new WorkHourDimensions(tasks, userDepartments);
+        logger.debug("工时分析维度表刷新完成: tasks={}, users={}", tasks.size(), userDepartments.size());
+    }
+
+    /**
+     * 工时记录新增或修改（在事务中调用时提交后生效）
+     */
+    public void saved(WorkHour workHour) {
+        afterCommit(new Change(workHour, false));
+    }
+
+    /**
+     * 工时记录删除（在事务中调用时提交后生效）
+     */
+    public void removed(WorkHour workHour) {
+        afterCommit(new Change(workHour, true));
+    }
+
+    /**
+     * 分组汇总，数据尚未加载完成时抛出 ServiceBusyException
+     */
+    public WorkHourAnalyticsResp query(WorkHourAnalyticsQueryReq req) {
+        WorkHourDimensions current = dimensions;
+        lock.readLock().lock();
+        try {
+            if (store == null) {
+                throw new ServiceBusyException("工时分析数据加载中，请稍后再试", RETRY_AFTER_SECONDS);
+            }
+            return store.query(req, current, scanPool);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scanPool.shutdownNow();
+    }
+
+    private void afterCommit(Change change) {
+        if (change.workHour == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Change change) {
+        lock.writeLock().lock();
+        try {
+            if (store != null) {
+                change.applyTo(store);
+            }
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 一次工时记录变更
+     */
+    private static final class Change {
+        private final WorkHour workHour;
+        private final boolean removed;
+
+        private Change(WorkHour workHour, boolean removed) {
+            this.workHour = workHour;
+            this.removed = removed;
+        }
+
+        private void applyTo(WorkHourColumnStore target) {
+            if (removed) {
+                target.delete(workHour.getId());
+            } else {
+                target.upsert(workHour);
+            }
+        }
+    }
+}
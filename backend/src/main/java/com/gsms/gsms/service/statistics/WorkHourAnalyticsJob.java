@@ -0,0 +1,58 @@
+package com.gsms.gsms.service.statistics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 工时分析数据加载任务
+ *
+ * 应用启动完成后在后台线程首次加载，不阻塞启动；之后每天凌晨全量重新加载，维度表每 5 分钟刷新一次。
+ */
+@Component
+public class WorkHourAnalyticsJob {
+    private static final Logger logger = LoggerFactory.getLogger(WorkHourAnalyticsJob.class);
+
+    private final WorkHourAnalytics workHourAnalytics;
+
+    public WorkHourAnalyticsJob(WorkHourAnalytics workHourAnalytics) {
+        this.workHourAnalytics = workHourAnalytics;
+    }
+
+    /**
+     * 启动完成后在后台首次加载
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        Thread loader = new Thread(this::reload, "work-hour-analytics-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * 全量重新加载
+     */
+    @Scheduled(cron = "${gsms.work-hour-analytics.reload-cron:0 0 3 * * ?}")
+    public void reload() {
+        try {
+            workHourAnalytics.reload();
+        } catch (RuntimeException e) {
+            logger.error("工时分析数据加载失败", e);
+        }
+    }
+
+    /**
+     * 刷新维度表
+     */
+    @Scheduled(cron = "${gsms.work-hour-analytics.dimension-cron:0 */5 * * * ?}")
+    public void refreshDimensions() {
+        try {
+            workHourAnalytics.refreshDimensions();
+        } catch (RuntimeException e) {
+            logger.error("工时分析维度表刷新失败", e);
+        }
+    }
+}
@@ -0,0 +1,481 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsResp;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsRowResp;
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.infra.exception.CommonErrorCode;
+import com.gsms.gsms.model.entity.WorkHour;
+import com.gsms.gsms.model.enums.AnalyticsDimension;
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.stat.TaskDimension;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 工时明细列式存储
+ *
+ * 每个字段一个基本类型数组：日期存 epochDay，用户、项目、任务ID经字典编码为连续的 int 序号，工时存为 long（单位 0.01 小时），
+ * 分组扫描只顺序读取用到的几个数组，没有对象和装箱。修改在原行覆盖，删除只打标记，
+ * 被删除的行在下次全量重新加载时回收。
+ *
+ * 查询分两步：先按序号（日期维度为时间段序号）并行扫描分组，再把序号翻译为ID，
+ * 部门、任务类型等派生维度通过维度表映射后重新汇总。
+ *
+ * 非线程安全，由调用方保证写入与查询互斥。
+ */
+public class WorkHourColumnStore {
+
+    // 单个扫描任务处理的行数，超过时拆分并行扫描
+    private static final int SCAN_CHUNK_ROWS = 1 << 15;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private static final int NOT_FOUND = -1;
+
+    // 分组键各部分的来源
+    private static final int SOURCE_PROJECT = 0;
+    private static final int SOURCE_USER = 1;
+    private static final int SOURCE_TASK = 2;
+    private static final int SOURCE_DATE = 3;
+
+    private final LongIntHashMap rowByRecordId = new LongIntHashMap(INITIAL_CAPACITY);
+    private final IdDictionary users = new IdDictionary();
+    private final IdDictionary projects = new IdDictionary();
+    private final IdDictionary tasks = new IdDictionary();
+
+    private long[] recordIds = new long[INITIAL_CAPACITY];
+    private int[] dates = new int[INITIAL_CAPACITY];
+    private int[] userOrdinals = new int[INITIAL_CAPACITY];
+    private int[] projectOrdinals = new int[INITIAL_CAPACITY];
+    // 任务序号 + 1，0 表示未关联任务
+    private int[] taskOrdinals = new int[INITIAL_CAPACITY];
+    private long[] centiHours = new long[INITIAL_CAPACITY];
+    private boolean[] deleted = new boolean[INITIAL_CAPACITY];
+
+    private int rowCount;
+    private int liveCount;
+    private int minDate = Integer.MAX_VALUE;
+    private int maxDate = Integer.MIN_VALUE;
+
+    /**
+     * 有效工时记录数
+     */
+    public int size() {
+        return liveCount;
+    }
+
+    /**
+     * 新增或覆盖工时记录，缺少ID、日期、用户或项目的记录忽略
+     */
+    public void upsert(WorkHour workHour) {
+        if (workHour == null || workHour.getId() == null || workHour.getWorkDate() == null
+                || workHour.getUserId() == null || workHour.getProjectId() == null) {
+            return;
+        }
+        int row = rowByRecordId.get(workHour.getId(), NOT_FOUND);
+        if (row == NOT_FOUND) {
+            ensureCapacity(rowCount + 1);
+            row = rowCount++;
+            rowByRecordId.put(workHour.getId(), row);
+            liveCount++;
+        }
+        int date = (int) workHour.getWorkDate().toEpochDay();
+        recordIds[row] = workHour.getId();
+        dates[row] = date;
+        userOrdinals[row] = users.encode(workHour.getUserId());
+        projectOrdinals[row] = projects.encode(workHour.getProjectId());
+        taskOrdinals[row] = workHour.getTaskId() != null ? tasks.encode(workHour.getTaskId()) + 1 : 0;
+        centiHours[row] = toCentiHours(workHour.getHours());
+        deleted[row] = false;
+        minDate = Math.min(minDate, date);
+        maxDate = Math.max(maxDate, date);
+    }
+
+    /**
+     * 删除工时记录，记录不存在时忽略
+     */
+    public void delete(Long recordId) {
+        if (recordId == null) {
+            return;
+        }
+        int row = rowByRecordId.remove(recordId, NOT_FOUND);
+        if (row != NOT_FOUND) {
+            deleted[row] = true;
+            liveCount--;
+        }
+    }
+
+    /**
+     * 按条件过滤后分组汇总
+     *
+     * @param req 查询条件（项目、用户、部门过滤为空表示不限）
+     * @param dimensions 派生维度使用的维度表
+     * @param pool 并行扫描使用的线程池
+     */
+    public WorkHourAnalyticsResp query(WorkHourAnalyticsQueryReq req, WorkHourDimensions dimensions, ForkJoinPool pool) {
+        List<AnalyticsDimension> groupBy = req.getGroupBy();
+        int from = req.getStartDate() != null ? Math.max(minDate, (int) req.getStartDate().toEpochDay()) : minDate;
+        int to = req.getEndDate() != null ? Math.min(maxDate, (int) req.getEndDate().toEpochDay()) : maxDate;
+        if (liveCount == 0 || from > to) {
+            return toResp(groupBy, Collections.emptyMap(), 0, 0, req.getLimit());
+        }
+
+        ScanPlan plan = new ScanPlan(groupBy.size(), from, to);
+        plan.projectFilter = projects.filter(req.getProjectIds());
+        plan.userFilter = userFilter(req.getUserIds(), req.getDepartmentIds(), dimensions);
+        for (int i = 0; i < groupBy.size(); i++) {
+            AnalyticsDimension dimension = groupBy.get(i);
+            switch (dimension) {
+                case PROJECT:
+                    plan.sources[i] = SOURCE_PROJECT;
+                    plan.radixes[i] = Math.max(projects.size(), 1);
+                    break;
+                case USER:
+                case DEPARTMENT:
+                    plan.sources[i] = SOURCE_USER;
+                    plan.radixes[i] = Math.max(users.size(), 1);
+                    break;
+                case DAY:
+                case WEEK:
+                case MONTH:
+                    plan.sources[i] = SOURCE_DATE;
+                    plan.buckets[i] = new DateBuckets(dimension.getGranularity(), from, to);
+                    plan.radixes[i] = plan.buckets[i].starts.length;
+                    break;
+                default:
+                    plan.sources[i] = SOURCE_TASK;
+                    plan.radixes[i] = tasks.size() + 1;
+                    break;
+            }
+        }
+        // 各部分按混合进制拼成一个 long 分组键，维度基数的乘积超出 long 范围时拒绝查询
+        long keySpace = 1;
+        for (int radix : plan.radixes) {
+            try {
+                keySpace = Math.multiplyExact(keySpace, radix);
+            } catch (ArithmeticException e) {
+                throw new BusinessException(CommonErrorCode.PARAM_INVALID);
+            }
+        }
+
+        GroupSums sums = pool.invoke(new ScanTask(plan, 0, rowCount));
+
+        long totalCentiHours = 0;
+        long totalCount = 0;
+        Map<List<Object>, long[]> groups = new HashMap<>();
+        Object[] values = new Object[groupBy.size()];
+        for (int slot = 0; slot < sums.size; slot++) {
+            long key = sums.keys[slot];
+            for (int i = groupBy.size() - 1; i >= 0; i--) {
+                int part = (int) (key % plan.radixes[i]);
+                key /= plan.radixes[i];
+                values[i] = valueOf(groupBy.get(i), part, plan.buckets[i], dimensions);
+            }
+            long[] group = groups.computeIfAbsent(Collections.unmodifiableList(Arrays.asList(values.clone())),
+                    k -> new long[2]);
+            group[0] += sums.centiHours[slot];
+            group[1] += sums.counts[slot];
+            totalCentiHours += sums.centiHours[slot];
+            totalCount += sums.counts[slot];
+        }
+        return toResp(groupBy, groups, totalCentiHours, totalCount, req.getLimit());
+    }
+
+    /**
+     * 登记人过滤和部门过滤合并为按用户序号的过滤
+     */
+    private boolean[] userFilter(Collection<Long> userIds, Collection<Long> departmentIds, WorkHourDimensions dimensions) {
+        boolean[] filter = users.filter(userIds);
+        if (departmentIds == null || departmentIds.isEmpty()) {
+            return filter;
+        }
+        Set<Long> departments = new HashSet<>(departmentIds);
+        if (filter == null) {
+            filter = new boolean[users.size()];
+            Arrays.fill(filter, true);
+        }
+        for (int ordinal = 0; ordinal < filter.length; ordinal++) {
+            if (filter[ordinal] && !departments.contains(dimensions.departmentOf(users.idOf(ordinal)))) {
+                filter[ordinal] = false;
+            }
+        }
+        return filter;
+    }
+
+    private Object valueOf(AnalyticsDimension dimension, int part, DateBuckets buckets, WorkHourDimensions dimensions) {
+        if (buckets != null) {
+            return buckets.starts[part];
+        }
+        switch (dimension) {
+            case PROJECT:
+                return projects.idOf(part);
+            case USER:
+                return users.idOf(part);
+            case DEPARTMENT:
+                return dimensions.departmentOf(users.idOf(part));
+            case TASK:
+                return part > 0 ? tasks.idOf(part - 1) : null;
+            default:
+                TaskDimension task = part > 0 ? dimensions.task(tasks.idOf(part - 1)) : null;
+                if (task == null) {
+                    return null;
+                }
+                if (dimension == AnalyticsDimension.TASK_TYPE) {
+                    return task.getType();
+                }
+                return dimension == AnalyticsDimension.TASK_PRIORITY ? task.getPriority() : task.getAssigneeId();
+        }
+    }
+
+    private static WorkHourAnalyticsResp toResp(List<AnalyticsDimension> groupBy, Map<List<Object>, long[]> groups,
+                                                long totalCentiHours, long totalCount, int limit) {
+        List<Map.Entry<List<Object>, long[]>> sorted = new ArrayList<>(groups.entrySet());
+        sorted.sort((a, b) -> {
+            int byHours = Long.compare(b.getValue()[0], a.getValue()[0]);
+            return byHours != 0 ? byHours : Long.compare(b.getValue()[1], a.getValue()[1]);
+        });
+
+        List<WorkHourAnalyticsRowResp> rows = new ArrayList<>(Math.min(sorted.size(), limit));
+        for (Map.Entry<List<Object>, long[]> entry : sorted.subList(0, Math.min(sorted.size(), limit))) {
+            WorkHourAnalyticsRowResp row = new WorkHourAnalyticsRowResp();
+            row.setKeys(entry.getKey());
+            row.setHours(BigDecimal.valueOf(entry.getValue()[0], 2));
+            row.setCount(entry.getValue()[1]);
+            rows.add(row);
+        }
+
+        WorkHourAnalyticsResp resp = new WorkHourAnalyticsResp();
+        resp.setGroupBy(groupBy);
+        resp.setTotalHours(BigDecimal.valueOf(totalCentiHours, 2));
+        resp.setTotalCount(totalCount);
+        resp.setGroupCount(groups.size());
+        resp.setRows(Collections.unmodifiableList(rows));
+        return resp;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= recordIds.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, recordIds.length + (recordIds.length >> 1));
+        recordIds = Arrays.copyOf(recordIds, newCapacity);
+        dates = Arrays.copyOf(dates, newCapacity);
+        userOrdinals = Arrays.copyOf(userOrdinals, newCapacity);
+        projectOrdinals = Arrays.copyOf(projectOrdinals, newCapacity);
+        taskOrdinals = Arrays.copyOf(taskOrdinals, newCapacity);
+        centiHours = Arrays.copyOf(centiHours, newCapacity);
+        deleted = Arrays.copyOf(deleted, newCapacity);
+    }
+
+    private static long toCentiHours(BigDecimal hours) {
+        return hours != null ? hours.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue() : 0L;
+    }
+
+    /**
+     * 一次查询的扫描参数：日期范围、按序号的过滤条件，以及分组键每一部分的来源和基数
+     */
+    private static final class ScanPlan {
+        private final int from;
+        private final int to;
+        private final int[] sources;
+        private final int[] radixes;
+        private final DateBuckets[] buckets;
+        private boolean[] projectFilter;
+        private boolean[] userFilter;
+
+        private ScanPlan(int parts, int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.sources = new int[parts];
+            this.radixes = new int[parts];
+            this.buckets = new DateBuckets[parts];
+        }
+    }
+
+    /**
+     * 日期到时间段序号的查找表，覆盖查询的日期范围
+     */
+    private static final class DateBuckets {
+        private final int from;
+        private final int[] bucketByDay;
+        private final LocalDate[] starts;
+
+        private DateBuckets(TrendGranularity granularity, int from, int to) {
+            this.from = from;
+            this.bucketByDay = new int[to - from + 1];
+            List<LocalDate> bucketStarts = new ArrayList<>();
+            for (int day = from; day <= to; day++) {
+                LocalDate start = granularity.bucketStart(LocalDate.ofEpochDay(day));
+                if (bucketStarts.isEmpty() || !bucketStarts.get(bucketStarts.size() - 1).equals(start)) {
+                    bucketStarts.add(start);
+                }
+                bucketByDay[day - from] = bucketStarts.size() - 1;
+            }
+            this.starts = bucketStarts.toArray(new LocalDate[0]);
+        }
+
+        private int bucketOf(int day) {
+            return bucketByDay[day - from];
+        }
+    }
+
+    /**
+     * 并行扫描：行数超过阈值时对半拆分，叶子任务顺序扫描并在本地分组，再逐级合并
+     */
+    private final class ScanTask extends RecursiveTask<GroupSums> {
+        private final ScanPlan plan;
+        private final int start;
+        private final int end;
+
+        private ScanTask(ScanPlan plan, int start, int end) {
+            this.plan = plan;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected GroupSums compute() {
+            if (end - start <= SCAN_CHUNK_ROWS) {
+                return scan();
+            }
+            int middle = (start + end) >>> 1;
+            ScanTask left = new ScanTask(plan, start, middle);
+            left.fork();
+            GroupSums right = new ScanTask(plan, middle, end).compute();
+            GroupSums merged = left.join();
+            merged.addAll(right);
+            return merged;
+        }
+
+        private GroupSums scan() {
+            GroupSums sums = new GroupSums();
+            int[] sources = plan.sources;
+            int[] radixes = plan.radixes;
+            boolean[] projectFilter = plan.projectFilter;
+            boolean[] userFilter = plan.userFilter;
+            for (int row = start; row < end; row++) {
+                int date = dates[row];
+                if (deleted[row] || date < plan.from || date > plan.to
+                        || projectFilter != null && !projectFilter[projectOrdinals[row]]
+                        || userFilter != null && !userFilter[userOrdinals[row]]) {
+                    continue;
+                }
+                long key = 0;
+                for (int i = 0; i < sources.length; i++) {
+                    int part;
+                    switch (sources[i]) {
+                        case SOURCE_PROJECT:
+                            part = projectOrdinals[row];
+                            break;
+                        case SOURCE_USER:
+                            part = userOrdinals[row];
+                            break;
+                        case SOURCE_TASK:
+                            part = taskOrdinals[row];
+                            break;
+                        default:
+                            part = plan.buckets[i].bucketOf(date);
+                            break;
+                    }
+                    key = key * radixes[i] + part;
+                }
+                sums.add(key, centiHours[row], 1);
+            }
+            return sums;
+        }
+    }
+
+    /**
+     * 按 long 分组键累加工时和记录数
+     */
+    private static final class GroupSums {
+        private final LongIntHashMap slotByKey = new LongIntHashMap(64);
+        private long[] keys = new long[64];
+        private long[] centiHours = new long[64];
+        private long[] counts = new long[64];
+        private int size;
+
+        private void add(long key, long hours, long count) {
+            int slot = slotByKey.get(key, NOT_FOUND);
+            if (slot == NOT_FOUND) {
+                if (size == keys.length) {
+                    keys = Arrays.copyOf(keys, size * 2);
+                    centiHours = Arrays.copyOf(centiHours, size * 2);
+                    counts = Arrays.copyOf(counts, size * 2);
+                }
+                slot = size++;
+                slotByKey.put(key, slot);
+                keys[slot] = key;
+            }
+            centiHours[slot] += hours;
+            counts[slot] += count;
+        }
+
+        private void addAll(GroupSums other) {
+            for (int slot = 0; slot < other.size; slot++) {
+                add(other.keys[slot], other.centiHours[slot], other.counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * ID 字典：long ID 与从 0 开始的连续序号互相转换，序号只增不减
+     */
+    private static final class IdDictionary {
+        private final LongIntHashMap ordinalById = new LongIntHashMap(256);
+        private long[] ids = new long[256];
+        private int size;
+
+        private int encode(long id) {
+            int ordinal = ordinalById.get(id, NOT_FOUND);
+            if (ordinal == NOT_FOUND) {
+                if (size == ids.length) {
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                ordinal = size++;
+                ids[ordinal] = id;
+                ordinalById.put(id, ordinal);
+            }
+            return ordinal;
+        }
+
+        private long idOf(int ordinal) {
+            return ids[ordinal];
+        }
+
+        private int size() {
+            return size;
+        }
+
+        /**
+         * 按序号的过滤表，ID 为空表示不过滤（返回 null）
+         */
+        private boolean[] filter(Collection<Long> idList) {
+            if (idList == null || idList.isEmpty()) {
+                return null;
+            }
+            boolean[] filter = new boolean[size];
+            for (Long id : idList) {
+                int ordinal = id != null ? ordinalById.get(id, NOT_FOUND) : NOT_FOUND;
+                if (ordinal != NOT_FOUND) {
+                    filter[ordinal] = true;
+                }
+            }
+            return filter;
+        }
+    }
+}
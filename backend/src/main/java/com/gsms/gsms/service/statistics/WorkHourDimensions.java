@@ -0,0 +1,44 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.model.stat.TaskDimension;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 工时分析维度表快照（任务属性、用户所属部门），不可变，整体替换
+ */
+public final class WorkHourDimensions {
+
+    public static final WorkHourDimensions EMPTY = new WorkHourDimensions(Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<Long, TaskDimension> tasks;
+    private final Map<Long, Long> userDepartments;
+
+    public WorkHourDimensions(Map<Long, TaskDimension> tasks, Map<Long, Long> userDepartments) {
+        this.tasks = tasks;
+        this.userDepartments = userDepartments;
+    }
+
+    /**
+     * 任务维度属性，任务不存在时返回 null
+     */
+    public TaskDimension task(Long taskId) {
+        return taskId != null ? tasks.get(taskId) : null;
+    }
+
+    /**
+     * 用户所属部门ID，未分配部门时返回 null
+     */
+    public Long departmentOf(Long userId) {
+        return userDepartments.get(userId);
+    }
+
+    public int taskCount() {
+        return tasks.size();
+    }
+
+    public int userCount() {
+        return userDepartments.size();
+    }
+}
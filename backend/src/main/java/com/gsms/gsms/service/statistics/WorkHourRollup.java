@@ -0,0 +1,114 @@
+package com.gsms.gsms.service.statistics;
+
+import com.gsms.gsms.model.entity.WorkHour;
+import com.gsms.gsms.repository.WorkHourDailyMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 工时日汇总维护
+ *
+ * 工时明细增删改时在同一事务内增量更新 gsms_work_hour_daily，统计接口直接读取汇总表；
+ * 增量更新使用 INSERT ... ON DUPLICATE KEY UPDATE 累加，并发写同一汇总行时由行锁保证正确。
+ *
+ * 绕过服务层直接修改明细（如手工修数据）会导致汇总不一致，由 {@link WorkHourRollupRepairJob} 定期对账修复。
+ */
+@Component
+public class WorkHourRollup {
+    private static final Logger logger = LoggerFactory.getLogger(WorkHourRollup.class);
+
+    // 未关联任务的工时在汇总表中的任务ID
+    private static final Long NO_TASK = 0L;
+
+    private final WorkHourDailyMapper workHourDailyMapper;
+
+    public WorkHourRollup(WorkHourDailyMapper workHourDailyMapper) {
+        this.workHourDailyMapper = workHourDailyMapper;
+    }
+
+    /**
+     * 新增工时记录后累加汇总
+     */
+    public void add(WorkHour workHour) {
+        apply(workHour, 1);
+    }
+
+    /**
+     * 删除工时记录后扣减汇总
+     */
+    public void remove(WorkHour workHour) {
+        apply(workHour, -1);
+    }
+
+    /**
+     * 修改工时记录后更新汇总：汇总维度不变时只调整工时差值，否则从旧行扣减、向新行累加
+     *
+     * @param before 修改前的记录
+     * @param after 修改后的记录
+     */
+    public void replace(WorkHour before, WorkHour after) {
+        if (before == null || after == null) {
+            remove(before);
+            add(after);
+            return;
+        }
+        if (Objects.equals(before.getWorkDate(), after.getWorkDate())
+                && Objects.equals(before.getUserId(), after.getUserId())
+                && Objects.equals(before.getProjectId(), after.getProjectId())
+                && Objects.equals(before.getTaskId(), after.getTaskId())) {
+            BigDecimal delta = hoursOf(after).subtract(hoursOf(before));
+            if (delta.signum() != 0) {
+                workHourDailyMapper.upsertDelta(after.getWorkDate(), after.getUserId(), after.getProjectId(),
+                        taskIdOf(after), delta, 0);
+            }
+            return;
+        }
+        remove(before);
+        add(after);
+    }
+
+    /**
+     * 与工时明细对账，不一致时重新生成该日期范围的汇总
+     *
+     * @return 不一致的汇总行数（0 表示无需修复）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int repair(LocalDate startDate, LocalDate endDate) {
+        int mismatches = workHourDailyMapper.countMismatches(startDate, endDate);
+        if (mismatches > 0) {
+            workHourDailyMapper.deleteByDateRange(startDate, endDate);
+            int rows = workHourDailyMapper.insertFromWorkHour(startDate, endDate);
+            logger.warn("工时日汇总与明细不一致，已重新生成: startDate={}, endDate={}, mismatches={}, rows={}",
+                    startDate, endDate, mismatches, rows);
+        }
+        return mismatches;
+    }
+
+    private void apply(WorkHour workHour, int sign) {
+        if (workHour == null || workHour.getWorkDate() == null || workHour.getUserId() == null
+                || workHour.getProjectId() == null) {
+            return;
+        }
+        BigDecimal hours = sign > 0 ? hoursOf(workHour) : hoursOf(workHour).negate();
+        workHourDailyMapper.upsertDelta(workHour.getWorkDate(), workHour.getUserId(), workHour.getProjectId(),
+                taskIdOf(workHour), hours, sign);
+        if (sign < 0) {
+            workHourDailyMapper.deleteEmpty(workHour.getWorkDate(), workHour.getUserId(), workHour.getProjectId(),
+                    taskIdOf(workHour));
+        }
+    }
+
+    private static BigDecimal hoursOf(WorkHour workHour) {
+        return workHour.getHours() != null ? workHour.getHours() : BigDecimal.ZERO;
+    }
+
+    private static Long taskIdOf(WorkHour workHour) {
+        return workHour.getTaskId() != null ? workHour.getTaskId() : NO_TASK;
+    }
+}
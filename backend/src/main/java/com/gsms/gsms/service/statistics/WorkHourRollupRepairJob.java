@@ -0,0 +1,58 @@
+package com.gsms.gsms.service.statistics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * 工时日汇总对账任务
+ *
+ * 每天凌晨与工时明细对账最近一段时间的汇总，按周分段，每段一个事务，避免长事务锁住整张汇总表。
+ * 更早的历史数据很少变动，需要时可调用 {@link #repair(LocalDate, LocalDate)} 手工修复。
+ */
+@Component
+public class WorkHourRollupRepairJob {
+    private static final Logger logger = LoggerFactory.getLogger(WorkHourRollupRepairJob.class);
+
+    // 每天对账的天数（今天及之前）
+    private static final int RECENT_DAYS = 62;
+
+    // 每段的天数
+    private static final int CHUNK_DAYS = 7;
+
+    private final WorkHourRollup workHourRollup;
+
+    public WorkHourRollupRepairJob(WorkHourRollup workHourRollup) {
+        this.workHourRollup = workHourRollup;
+    }
+
+    /**
+     * 对账最近的汇总数据
+     */
+    @Scheduled(cron = "${gsms.work-hour-rollup.repair-cron:0 30 2 * * ?}")
+    public void repairRecent() {
+        LocalDate today = LocalDate.now();
+        repair(today.minusDays(RECENT_DAYS - 1), today);
+    }
+
+    /**
+     * 分段对账并修复日期范围内的汇总数据
+     *
+     * @return 不一致的汇总行数
+     */
+    public int repair(LocalDate startDate, LocalDate endDate) {
+        int mismatches = 0;
+        for (LocalDate from = startDate; !from.isAfter(endDate); from = from.plusDays(CHUNK_DAYS)) {
+            LocalDate to = from.plusDays(CHUNK_DAYS - 1);
+            if (to.isAfter(endDate)) {
+                to = endDate;
+            }
+            mismatches += workHourRollup.repair(from, to);
+        }
+        logger.info("工时日汇总对账完成: startDate={}, endDate={}, mismatches={}", startDate, endDate, mismatches);
+        return mismatches;
+    }
+}
@@ -0,0 +1,8 @@
+-- 甘特图按时间窗口加载：为计划日期重叠查询添加复合索引
+-- 重叠条件：plan_start_date <= 窗口结束 AND plan_end_date >= 窗口开始
+ALTER TABLE `gsms_task`
+ADD KEY `idx_task_project_plan_dates` (`project_id`, `is_deleted`, `plan_start_date`, `plan_end_date`),
+ADD KEY `idx_task_project_plan_end` (`project_id`, `is_deleted`, `plan_end_date`);
+
+ALTER TABLE `gsms_iteration`
+ADD KEY `idx_iteration_project_plan_dates` (`project_id`, `is_deleted`, `plan_start_date`, `plan_end_date`);
@@ -0,0 +1,21 @@
+-- 创建任务依赖关系表（甘特图连线）
+CREATE TABLE IF NOT EXISTS `gsms_task_link` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '依赖关系ID',
+  `project_id` BIGINT NOT NULL COMMENT '项目ID',
+  `source_task_id` BIGINT NOT NULL COMMENT '前置任务ID',
+  `target_task_id` BIGINT NOT NULL COMMENT '后续任务ID',
+  `type` TINYINT NOT NULL DEFAULT 0 COMMENT '依赖类型 0:结束到开始 1:开始到开始 2:结束到结束 3:开始到结束',
+  `lag` INT NOT NULL DEFAULT 0 COMMENT '延迟（天，可为负数）',
+  `create_user_id` BIGINT NOT NULL COMMENT '创建人ID',
+  `create_time` DATETIME DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+  `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  `update_user_id` BIGINT NOT NULL DEFAULT 1 COMMENT '更新人ID',
+  `is_deleted` TINYINT(1) NOT NULL DEFAULT 0 COMMENT '是否删除 0:否 1:是',
+  PRIMARY KEY (`id`),
+  KEY `idx_task_link_project` (`project_id`, `is_deleted`),
+  KEY `idx_task_link_source` (`source_task_id`),
+  KEY `idx_task_link_target` (`target_task_id`),
+  CONSTRAINT `fk_task_link_project` FOREIGN KEY (`project_id`) REFERENCES `gsms_project`(`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `fk_task_link_source` FOREIGN KEY (`source_task_id`) REFERENCES `gsms_task`(`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `fk_task_link_target` FOREIGN KEY (`target_task_id`) REFERENCES `gsms_task`(`id`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='任务依赖关系表';
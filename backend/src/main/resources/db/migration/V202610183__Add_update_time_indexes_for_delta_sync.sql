@@ -0,0 +1,10 @@
+-- 甘特图增量同步：按 update_time 水位查询项目内新增、修改、逻辑删除的记录
+-- 查询条件：project_id = ? AND update_time >= 水位（包含 is_deleted = 1 的墓碑记录）
+ALTER TABLE `gsms_task`
+ADD KEY `idx_task_project_update_time` (`project_id`, `update_time`);
+
+ALTER TABLE `gsms_iteration`
+ADD KEY `idx_iteration_project_update_time` (`project_id`, `update_time`);
+
+ALTER TABLE `gsms_task_link`
+ADD KEY `idx_task_link_project_update_time` (`project_id`, `update_time`);
@@ -0,0 +1,4 @@
+-- 甘特图进度汇总：按任务汇总项目内已登记的工时
+-- 查询条件：project_id IN (?) AND is_deleted = 0 GROUP BY task_id，覆盖索引无需回表
+ALTER TABLE `gsms_work_hour`
+ADD KEY `idx_work_hour_project_task_hours` (`project_id`, `is_deleted`, `task_id`, `hours`);
@@ -0,0 +1,4 @@
+-- 首页看板：按条件汇总当前用户今日、本周、本月、累计工时
+-- 查询条件：user_id = ? AND is_deleted = 0，覆盖索引无需回表
+ALTER TABLE `gsms_work_hour`
+ADD KEY `idx_work_hour_user_date_hours` (`user_id`, `is_deleted`, `work_date`, `hours`);
@@ -0,0 +1,21 @@
+-- 工时日汇总表：按 (工作日期, 用户, 项目, 任务) 汇总工时和记录数
+-- 统计接口读取汇总表，不再扫描工时明细；由工时增删改在同一事务内增量维护，定时任务与明细对账修复
+CREATE TABLE IF NOT EXISTS `gsms_work_hour_daily` (
+  `work_date` DATE NOT NULL COMMENT '工作日期',
+  `user_id` BIGINT NOT NULL COMMENT '用户ID',
+  `project_id` BIGINT NOT NULL COMMENT '项目ID',
+  `task_id` BIGINT NOT NULL DEFAULT 0 COMMENT '任务ID（0表示未关联任务）',
+  `hours` DECIMAL(12,2) NOT NULL DEFAULT 0.00 COMMENT '工时合计',
+  `record_count` INT NOT NULL DEFAULT 0 COMMENT '工时记录数',
+  `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`work_date`, `user_id`, `project_id`, `task_id`),
+  KEY `idx_work_hour_daily_project_date` (`project_id`, `work_date`),
+  KEY `idx_work_hour_daily_user_date` (`user_id`, `work_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='工时日汇总表';
+
+-- 初始化：由现有工时明细生成汇总
+INSERT INTO `gsms_work_hour_daily` (`work_date`, `user_id`, `project_id`, `task_id`, `hours`, `record_count`)
+SELECT `work_date`, `user_id`, `project_id`, COALESCE(`task_id`, 0), SUM(`hours`), COUNT(*)
+FROM `gsms_work_hour`
+WHERE `is_deleted` = 0
+GROUP BY `work_date`, `user_id`, `project_id`, COALESCE(`task_id`, 0);
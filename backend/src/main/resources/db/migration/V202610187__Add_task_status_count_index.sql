@@ -0,0 +1,4 @@
+-- 任务完成度统计：按项目分组统计各状态任务数（可再按迭代、负责人分组）
+-- 查询条件：project_id IN (...) AND is_deleted = 0，覆盖索引无需回表
+ALTER TABLE `gsms_task`
+ADD KEY `idx_task_project_status_counts` (`project_id`, `is_deleted`, `status`, `iteration_id`, `assignee_id`);
@@ -0,0 +1,38 @@
+-- 任务状态历史：任务新增、删除，以及状态、迭代、预估工时变化时记录变化前后的值
+-- 燃尽图快照按天累加历史记录的差值生成，不需要重放每个任务的全部变更
+CREATE TABLE IF NOT EXISTS `gsms_task_status_history` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `task_id` BIGINT NOT NULL COMMENT '任务ID',
+  `project_id` BIGINT NOT NULL COMMENT '项目ID',
+  `from_iteration_id` BIGINT DEFAULT NULL COMMENT '变化前的迭代ID',
+  `to_iteration_id` BIGINT DEFAULT NULL COMMENT '变化后的迭代ID',
+  `from_status` TINYINT DEFAULT NULL COMMENT '变化前的状态（为空表示新增任务）',
+  `to_status` TINYINT DEFAULT NULL COMMENT '变化后的状态（为空表示删除任务）',
+  `from_estimate_hours` DECIMAL(5,2) DEFAULT NULL COMMENT '变化前的预估工时',
+  `to_estimate_hours` DECIMAL(5,2) DEFAULT NULL COMMENT '变化后的预估工时',
+  `change_user_id` BIGINT DEFAULT NULL COMMENT '操作人ID',
+  `change_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '变化时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_task_status_history_time` (`change_time`),
+  KEY `idx_task_status_history_from_iteration` (`from_iteration_id`, `change_time`),
+  KEY `idx_task_status_history_to_iteration` (`to_iteration_id`, `change_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='任务状态历史表';
+
+-- 迭代燃尽快照：每个迭代每天一行，燃尽图、燃起图直接按主键范围读取
+CREATE TABLE IF NOT EXISTS `gsms_iteration_burndown` (
+  `iteration_id` BIGINT NOT NULL COMMENT '迭代ID',
+  `snapshot_date` DATE NOT NULL COMMENT '快照日期',
+  `total_count` INT NOT NULL DEFAULT 0 COMMENT '任务总数',
+  `done_count` INT NOT NULL DEFAULT 0 COMMENT '已完成任务数',
+  `total_estimate_hours` DECIMAL(12,2) NOT NULL DEFAULT 0.00 COMMENT '预估工时合计',
+  `remaining_estimate_hours` DECIMAL(12,2) NOT NULL DEFAULT 0.00 COMMENT '未完成任务的预估工时合计',
+  `update_time` DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+  PRIMARY KEY (`iteration_id`, `snapshot_date`),
+  KEY `idx_iteration_burndown_date` (`snapshot_date`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='迭代燃尽快照表';
+
+-- 初始化：现有任务各记一条新增记录，作为历史的起点
+INSERT INTO `gsms_task_status_history` (`task_id`, `project_id`, `to_iteration_id`, `to_status`, `to_estimate_hours`)
+SELECT `id`, `project_id`, `iteration_id`, `status`, `estimate_hours`
+FROM `gsms_task`
+WHERE `is_deleted` = 0;
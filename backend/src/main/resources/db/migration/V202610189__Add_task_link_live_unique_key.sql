@@ -0,0 +1,17 @@
+-- 任务依赖关系唯一约束：同一对任务只能有一条未删除的依赖关系
+-- live_flag 未删除时为 1、已删除时为 NULL，唯一索引不比较 NULL，已删除的历史记录不受约束
+-- 先逻辑删除已存在的重复依赖关系（保留最早的一条），否则无法建立唯一索引
+UPDATE `gsms_task_link` l
+JOIN (
+  SELECT `source_task_id`, `target_task_id`, MIN(`id`) AS `keep_id`
+  FROM `gsms_task_link`
+  WHERE `is_deleted` = 0
+  GROUP BY `source_task_id`, `target_task_id`
+  HAVING COUNT(*) > 1
+) d ON l.`source_task_id` = d.`source_task_id` AND l.`target_task_id` = d.`target_task_id`
+SET l.`is_deleted` = 1, l.`update_time` = CURRENT_TIMESTAMP
+WHERE l.`is_deleted` = 0 AND l.`id` <> d.`keep_id`;
+
+ALTER TABLE `gsms_task_link`
+ADD COLUMN `live_flag` TINYINT GENERATED ALWAYS AS (IF(`is_deleted` = 0, 1, NULL)) VIRTUAL COMMENT '未删除标记（唯一约束用）',
+ADD UNIQUE KEY `uk_task_link_live` (`source_task_id`, `target_task_id`, `live_flag`);
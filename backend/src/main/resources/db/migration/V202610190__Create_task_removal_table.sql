@@ -0,0 +1,10 @@
+-- 任务移出项目记录：任务改到其他项目后，原项目的甘特图增量同步按此返回删除墓碑
+-- 原项目的任务表中已查不到该任务（project_id 已变化），逻辑删除标记无法表达这种移出
+CREATE TABLE IF NOT EXISTS `gsms_task_removal` (
+  `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '主键ID',
+  `task_id` BIGINT NOT NULL COMMENT '任务ID',
+  `project_id` BIGINT NOT NULL COMMENT '移出的项目ID',
+  `create_time` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '移出时间',
+  PRIMARY KEY (`id`),
+  KEY `idx_task_removal_project_time` (`project_id`, `create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='任务移出项目记录表';
@@ -0,0 +1,70 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.service.auth.AuthSnapshot;
+import com.gsms.gsms.service.auth.AuthSnapshotCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 用户授权快照缓存测试类
+ */
+class AuthSnapshotCacheTest {
+
+    private final AuthSnapshotCache cache = new AuthSnapshotCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testGet_LoadsOncePerUser() {
+        AuthSnapshot first = cache.get(1L, this::load);
+        AuthSnapshot second = cache.get(1L, this::load);
+        cache.get(2L, this::load);
+
+        assertSame(first, second);
+        assertEquals(2, loads.get());
+        assertTrue(first.hasPermission("PROJECT_VIEW_ALL"));
+        assertTrue(first.hasRole("ADMIN"));
+        assertTrue(first.isProjectMember(10L));
+        assertThrows(UnsupportedOperationException.class, () -> first.getProjectIds().add(99L));
+    }
+
+    @Test
+    void testInvalidate_OnlyReloadsAffectedUsers() {
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+
+        cache.invalidate(1L);
+        cache.invalidate(Collections.singletonList(2L));
+        cache.get(1L, this::load);
+        cache.get(2L, this::load);
+        cache.get(3L, this::load);
+        assertEquals(5, loads.get());
+
+        cache.invalidateAll();
+        cache.get(3L, this::load);
+        assertEquals(6, loads.get());
+    }
+
+    @Test
+    void testGet_DoesNotCacheSnapshotLoadedDuringInvalidation() {
+        // 加载期间权限发生变化，加载结果可能是旧权限，不能写入缓存
+        cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private AuthSnapshot load() {
+        loads.incrementAndGet();
+        return new AuthSnapshot(Arrays.asList("PROJECT_VIEW_ALL", "TASK_VIEW_ALL"),
+                Collections.singletonList("ADMIN"), Arrays.asList(10L, 11L));
+    }
+}
@@ -0,0 +1,46 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.service.statistics.DashboardCache;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 首页看板缓存测试类
+ */
+class DashboardCacheTest {
+
+    private final DashboardCache cache = new DashboardCache();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void testGet_LoadsOnceUntilInvalidated() {
+        Map<String, Object> first = cache.get(1L, this::load);
+        assertSame(first, cache.get(1L, this::load));
+        assertEquals(1, loads.get());
+
+        cache.invalidate(1L);
+        cache.get(1L, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_DoesNotCacheDashboardBuiltDuringInvalidation() {
+        // 构建期间登记了工时，构建结果可能是旧工时，不能写入缓存
+        cache.get(1L, () -> {
+            cache.invalidate(1L);
+            return load();
+        });
+        cache.get(1L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    private Map<String, Object> load() {
+        return Collections.singletonMap("todayHours", loads.incrementAndGet());
+    }
+}
@@ -0,0 +1,49 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.dto.gantt.GanttDataResp;
+import com.gsms.gsms.service.gantt.GanttSnapshotCache;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 甘特图快照缓存测试类
+ */
+class GanttSnapshotCacheTest {
+
+    private final GanttSnapshotCache cache = new GanttSnapshotCache();
+
+    @Test
+    void testGet_HitUntilVersionBumped() {
+        long version = cache.currentVersion(1L);
+        GanttDataResp data = new GanttDataResp();
+        cache.put(1L, "full", version, data);
+
+        assertSame(data, cache.get(1L, "full", cache.currentVersion(1L)));
+        assertNull(cache.get(1L, "lazy", cache.currentVersion(1L)));
+
+        cache.bumpVersion(1L);
+
+        assertNull(cache.get(1L, "full", cache.currentVersion(1L)));
+    }
+
+    @Test
+    void testBumpVersion_OnlyAffectsOwnProject() {
+        GanttDataResp data = new GanttDataResp();
+        cache.put(2L, "full", cache.currentVersion(2L), data);
+
+        cache.bumpVersion(1L);
+
+        assertSame(data, cache.get(2L, "full", cache.currentVersion(2L)));
+    }
+
+    @Test
+    void testEtag_ChangesWithVersion() {
+        String before = cache.etag(1L, cache.currentVersion(1L), "full");
+        assertEquals(before, cache.etag(1L, cache.currentVersion(1L), "full"));
+
+        cache.bumpVersion(1L);
+
+        assertNotEquals(before, cache.etag(1L, cache.currentVersion(1L), "full"));
+    }
+}
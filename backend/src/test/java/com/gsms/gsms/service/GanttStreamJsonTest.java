@@ -0,0 +1,181 @@
+package com.gsms.gsms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.gsms.gsms.infra.common.Result;
+import com.gsms.gsms.infra.config.JacksonConfig;
+import com.gsms.gsms.model.entity.Iteration;
+import com.gsms.gsms.model.entity.Project;
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskLink;
+import com.gsms.gsms.model.enums.IterationStatus;
+import com.gsms.gsms.model.enums.ProjectStatus;
+import com.gsms.gsms.model.enums.TaskLinkType;
+import com.gsms.gsms.model.enums.TaskPriority;
+import com.gsms.gsms.model.enums.TaskStatus;
+import com.gsms.gsms.model.enums.TaskType;
+import com.gsms.gsms.repository.IterationMapper;
+import com.gsms.gsms.repository.ProjectMapper;
+import com.gsms.gsms.repository.TaskLinkMapper;
+import com.gsms.gsms.repository.TaskMapper;
+import com.gsms.gsms.repository.WorkHourMapper;
+import com.gsms.gsms.service.gantt.GanttBuildExecutor;
+import com.gsms.gsms.service.gantt.GanttDiagnostics;
+import com.gsms.gsms.service.gantt.GanttSnapshotCache;
+import com.gsms.gsms.service.gantt.ProjectProgressCache;
+import com.gsms.gsms.service.gantt.ProjectScheduleCache;
+import com.gsms.gsms.service.impl.GanttServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 甘特图流式输出测试类
+ *
+ * 流式输出逐个节点写出统一返回结构，这里和非流式接口的序列化结果逐字节比对，DTO 字段变化时能及时发现不一致。
+ */
+class GanttStreamJsonTest {
+
+    private static final Long PROJECT_ID = 1L;
+
+    private final ObjectMapper objectMapper = new JacksonConfig().objectMapper();
+
+    private final GanttBuildExecutor ganttBuildExecutor = new GanttBuildExecutor();
+
+    @AfterEach
+    void tearDown() {
+        ganttBuildExecutor.shutdown();
+    }
+
+    @Test
+    void testStreamProjectGanttData_MatchesResultSerialization() throws Exception {
+        GanttService ganttService = newGanttService();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ganttService.streamProjectGanttData(PROJECT_ID, null, null).writeTo(out);
+        String streamed = out.toString("UTF-8");
+
+        String expected = objectMapper.writeValueAsString(
+                Result.success(ganttService.getProjectGanttData(PROJECT_ID, null, null)));
+
+        assertEquals(expected, streamed);
+    }
+
+    private GanttService newGanttService() {
+        Map<String, Object> projectData = new HashMap<>();
+        projectData.put("selectById", project());
+
+        Map<String, Object> iterationData = new HashMap<>();
+        iterationData.put("selectByProjectId", Collections.singletonList(iteration()));
+
+        List<Task> tasks = Arrays.asList(
+                task(11L, 101L, null, "父任务", TaskStatus.IN_PROGRESS),
+                task(12L, 101L, 11L, "子任务", TaskStatus.DONE),
+                task(13L, null, null, "未规划任务", TaskStatus.TODO));
+        Map<String, Object> taskData = new HashMap<>();
+        taskData.put("selectByProjectId", tasks);
+
+        Map<String, Object> linkData = new HashMap<>();
+        linkData.put("selectByProjectId", Collections.singletonList(link()));
+
+        Map<String, Object> cacheData = new HashMap<>();
+        cacheData.put("getUserNicknameById", "张三");
+
+        TaskMapper taskMapper = fake(TaskMapper.class, taskData);
+        TaskLinkMapper taskLinkMapper = fake(TaskLinkMapper.class, linkData);
+        AuthService authService = fake(AuthService.class, new HashMap<>());
+
+        return new GanttServiceImpl(fake(ProjectMapper.class, projectData), fake(IterationMapper.class, iterationData),
+                taskMapper, taskLinkMapper, null, authService, fake(CacheService.class, cacheData),
+                new GanttDiagnostics(authService), new GanttSnapshotCache(),
+                new ProjectScheduleCache(taskMapper, taskLinkMapper),
+                new ProjectProgressCache(taskMapper, fake(WorkHourMapper.class, new HashMap<>())),
+                null, ganttBuildExecutor, null, objectMapper);
+    }
+
+    /**
+     * 按方法名返回预置数据，未预置的方法按返回类型返回空值
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T fake(Class<T> type, Map<String, Object> data) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (data.containsKey(method.getName())) {
+                return data.get(method.getName());
+            }
+            Class<?> returnType = method.getReturnType();
+            if (List.class.isAssignableFrom(returnType)) {
+                return Collections.emptyList();
+            }
+            if (returnType == int.class || returnType == long.class) {
+                return returnType == int.class ? (Object) 0 : (Object) 0L;
+            }
+            if (returnType == boolean.class) {
+                return false;
+            }
+            return null;
+        });
+    }
+
+    private static Project project() {
+        Project project = new Project();
+        project.setId(PROJECT_ID);
+        project.setName("甘特图项目");
+        project.setCode("GANTT");
+        project.setStatus(ProjectStatus.IN_PROGRESS);
+        project.setManagerId(7L);
+        project.setPlanStartDate(LocalDate.of(2026, 1, 1));
+        project.setPlanEndDate(LocalDate.of(2026, 3, 31));
+        project.setCreateTime(LocalDateTime.of(2026, 1, 1, 9, 0));
+        return project;
+    }
+
+    private static Iteration iteration() {
+        Iteration iteration = new Iteration();
+        iteration.setId(101L);
+        iteration.setProjectId(PROJECT_ID);
+        iteration.setName("迭代一");
+        iteration.setStatus(IterationStatus.IN_PROGRESS);
+        iteration.setPlanStartDate(LocalDate.of(2026, 1, 1));
+        iteration.setPlanEndDate(LocalDate.of(2026, 1, 31));
+        return iteration;
+    }
+
+    private static Task task(Long id, Long iterationId, Long parentId, String title, TaskStatus status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(PROJECT_ID);
+        task.setIterationId(iterationId);
+        task.setParentId(parentId);
+        task.setTitle(title);
+        task.setType(TaskType.TASK);
+        task.setPriority(TaskPriority.MEDIUM);
+        task.setStatus(status);
+        task.setAssigneeId(7L);
+        task.setPlanStartDate(LocalDate.of(2026, 1, 5));
+        task.setPlanEndDate(LocalDate.of(2026, 1, 9));
+        task.setEstimateHours(new BigDecimal("16.0"));
+        return task;
+    }
+
+    private static TaskLink link() {
+        TaskLink link = new TaskLink();
+        link.setId(201L);
+        link.setProjectId(PROJECT_ID);
+        link.setSourceTaskId(12L);
+        link.setTargetTaskId(13L);
+        link.setType(TaskLinkType.FINISH_TO_START);
+        link.setLag(0);
+        return link;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.dto.gantt.TaskLinkCreateReq;
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.infra.exception.CommonErrorCode;
+import com.gsms.gsms.service.impl.GanttServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 甘特图任务连线测试类
+ */
+class GanttTaskLinkTest {
+
+    // 节点 ID 在查库前就被拒绝，不需要任何依赖
+    private final GanttServiceImpl ganttService = new GanttServiceImpl(null, null, null, null, null, null,
+            null, null, null, null, null, null, null, null, null);
+
+    @Test
+    void testCreateTaskLink_RejectsIterationNode() {
+        // 迭代 5 的甘特图 ID 不能被当作任务 5
+        assertParamInvalid(req(-1000005L, -2000006L));
+        assertParamInvalid(req(-2000006L, -1000005L));
+    }
+
+    @Test
+    void testCreateTaskLink_RejectsProjectNode() {
+        assertParamInvalid(req(5L, -2000006L));
+        assertParamInvalid(req(-2000006L, 5L));
+    }
+
+    private void assertParamInvalid(TaskLinkCreateReq req) {
+        BusinessException e = assertThrows(BusinessException.class, () -> ganttService.createTaskLink(req));
+        assertEquals(Integer.valueOf(CommonErrorCode.PARAM_INVALID.getCode()), e.getCode());
+    }
+
+    private static TaskLinkCreateReq req(Long source, Long target) {
+        TaskLinkCreateReq req = new TaskLinkCreateReq();
+        req.setSource(source);
+        req.setTarget(target);
+        return req;
+    }
+}
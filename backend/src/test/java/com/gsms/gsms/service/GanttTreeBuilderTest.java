@@ -0,0 +1,202 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.dto.gantt.GanttTaskResp;
+import com.gsms.gsms.model.entity.Iteration;
+import com.gsms.gsms.model.entity.Project;
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.service.gantt.GanttTreeBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 甘特图任务树构建器测试类
+ */
+class GanttTreeBuilderTest {
+
+    private final GanttTreeBuilder.NodeFactory factory = new GanttTreeBuilder.NodeFactory() {
+        @Override
+        public GanttTaskResp projectNode(Project project) {
+            return node(project.getId(), project.getId(), null, "project");
+        }
+
+        @Override
+        public GanttTaskResp iterationNode(Iteration iteration, Long parentGanttId) {
+            return node(iteration.getId(), -1000000L - iteration.getId(), parentGanttId, "iteration");
+        }
+
+        @Override
+        public GanttTaskResp taskNode(Task task, Long parentGanttId) {
+            return node(task.getId(), -2000000L - task.getId(), parentGanttId, "task");
+        }
+    };
+
+    @Test
+    void testBuild_ProjectIterationTaskSubtask() {
+        Project project = project(1L);
+        Iteration iteration = iteration(10L);
+        List<Task> tasks = Arrays.asList(
+                task(100L, 10L, null),
+                task(101L, 10L, 100L),
+                task(102L, null, null),
+                task(103L, null, 101L),
+                task(104L, 10L, null));
+
+        List<GanttTaskResp> result = GanttTreeBuilder.build(project, Collections.singletonList(iteration), tasks, factory);
+
+        assertEquals(1, result.size());
+        GanttTaskResp projectNode = result.get(0);
+        assertEquals(2, projectNode.getSubtasks().size());
+
+        GanttTaskResp iterationNode = projectNode.getSubtasks().get(0);
+        assertEquals("iteration", iterationNode.getType());
+        assertEquals(Long.valueOf(1L), iterationNode.getParent());
+        assertEquals(Arrays.asList(100L, 104L), ids(iterationNode.getSubtasks()));
+
+        GanttTaskResp task100 = iterationNode.getSubtasks().get(0);
+        assertEquals(iterationNode.getGanttId(), task100.getParent());
+        assertEquals(Collections.singletonList(101L), ids(task100.getSubtasks()));
+
+        GanttTaskResp task101 = task100.getSubtasks().get(0);
+        assertEquals(task100.getGanttId(), task101.getParent());
+        assertEquals(Collections.singletonList(103L), ids(task101.getSubtasks()));
+
+        GanttTaskResp orphan = projectNode.getSubtasks().get(1);
+        assertEquals(Long.valueOf(102L), orphan.getId());
+        assertEquals(projectNode.getGanttId(), orphan.getParent());
+    }
+
+    @Test
+    void testBuild_DeepHierarchyWithoutRecursion() {
+        int depth = 50000;
+        List<Task> tasks = new ArrayList<>(depth);
+        tasks.add(task(1L, null, null));
+        for (long id = 2; id <= depth; id++) {
+            tasks.add(task(id, null, id - 1));
+        }
+
+        List<GanttTaskResp> result = GanttTreeBuilder.build(project(1L), Collections.emptyList(), tasks, factory);
+
+        GanttTaskResp current = result.get(0).getSubtasks().get(0);
+        int levels = 1;
+        while (!current.getSubtasks().isEmpty()) {
+            current = current.getSubtasks().get(0);
+            levels++;
+        }
+        assertEquals(depth, levels);
+    }
+
+    @Test
+    void testBuild_CycleAndMissingParentAreSkipped() {
+        List<Task> tasks = Arrays.asList(
+                task(1L, null, 2L),
+                task(2L, null, 1L),
+                task(3L, null, 999L),
+                task(4L, null, null));
+
+        List<GanttTaskResp> result = GanttTreeBuilder.build(project(1L), Collections.emptyList(), tasks, factory);
+
+        assertEquals(Collections.singletonList(4L), ids(result.get(0).getSubtasks()));
+    }
+
+    @Test
+    void testTraverse_SameStructureAsBuild() throws IOException {
+        List<Iteration> iterations = Arrays.asList(iteration(10L), iteration(11L));
+        List<Task> tasks = Arrays.asList(
+                task(100L, 10L, null),
+                task(101L, 10L, 100L),
+                task(102L, null, null),
+                task(103L, null, 101L),
+                task(104L, 10L, 100L),
+                task(105L, 11L, null),
+                task(106L, null, 999L));
+
+        StringBuilder expected = new StringBuilder();
+        render(GanttTreeBuilder.build(project(1L), iterations, tasks, factory).get(0), expected);
+
+        StringBuilder actual = new StringBuilder();
+        GanttTreeBuilder.traverse(project(1L), iterations, tasks, new GanttTreeBuilder.Visitor() {
+            @Override
+            public Long enterProject(Project project) {
+                return enter(factory.projectNode(project));
+            }
+
+            @Override
+            public Long enterIteration(Iteration iteration, Long parentGanttId) {
+                return enter(factory.iterationNode(iteration, parentGanttId));
+            }
+
+            @Override
+            public Long enterTask(Task task, Long parentGanttId) {
+                return enter(factory.taskNode(task, parentGanttId));
+            }
+
+            @Override
+            public void exit() {
+                actual.append(')');
+            }
+
+            private Long enter(GanttTaskResp node) {
+                actual.append(node.getGanttId()).append('<').append(node.getParent()).append('(');
+                return node.getGanttId();
+            }
+        });
+
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    private static void render(GanttTaskResp node, StringBuilder out) {
+        out.append(node.getGanttId()).append('<').append(node.getParent()).append('(');
+        for (GanttTaskResp child : node.getSubtasks()) {
+            render(child, out);
+        }
+        out.append(')');
+    }
+
+    private static GanttTaskResp node(Long id, Long ganttId, Long parent, String type) {
+        GanttTaskResp node = new GanttTaskResp();
+        node.setId(id);
+        node.setGanttId(ganttId);
+        node.setParent(parent);
+        node.setType(type);
+        node.setSubtasks(new ArrayList<>());
+        return node;
+    }
+
+    private static List<Long> ids(List<GanttTaskResp> nodes) {
+        List<Long> ids = new ArrayList<>();
+        for (GanttTaskResp node : nodes) {
+            ids.add(node.getId());
+        }
+        return ids;
+    }
+
+    private static Project project(Long id) {
+        Project project = new Project();
+        project.setId(id);
+        project.setName("项目" + id);
+        return project;
+    }
+
+    private static Iteration iteration(Long id) {
+        Iteration iteration = new Iteration();
+        iteration.setId(id);
+        iteration.setName("迭代" + id);
+        return iteration;
+    }
+
+    private static Task task(Long id, Long iterationId, Long parentId) {
+        Task task = new Task();
+        task.setId(id);
+        task.setIterationId(iterationId);
+        task.setParentId(parentId);
+        task.setTitle("任务" + id);
+        return task;
+    }
+}
@@ -0,0 +1,132 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskStatusHistory;
+import com.gsms.gsms.model.enums.TaskStatus;
+import com.gsms.gsms.model.stat.BurndownSnapshot;
+import com.gsms.gsms.repository.TaskStatusHistoryMapper;
+import com.gsms.gsms.service.statistics.IterationBurndown;
+import com.gsms.gsms.service.statistics.TaskHistoryRecorder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 迭代燃尽快照及任务状态历史测试类
+ */
+class IterationBurndownTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void testMerge_AddsDeltaToPreviousSnapshot() {
+        Map<Long, BurndownSnapshot> previous = new HashMap<>();
+        previous.put(1L, snapshot(1L, 10, 4, "80", "50"));
+        Map<Long, BurndownSnapshot> deltas = new HashMap<>();
+        // 当天完成 2 个任务（共 12 小时），新增 1 个 8 小时的任务
+        deltas.put(1L, snapshot(1L, 1, 2, "8", "-4"));
+
+        List<BurndownSnapshot> result = IterationBurndown.merge(DAY, Collections.singletonList(1L),
+                previous, deltas, Collections.emptyMap());
+
+        assertEquals(1, result.size());
+        BurndownSnapshot snapshot = result.get(0);
+        assertEquals(DAY, snapshot.getSnapshotDate());
+        assertEquals(Integer.valueOf(11), snapshot.getTotalCount());
+        assertEquals(Integer.valueOf(6), snapshot.getDoneCount());
+        assertEquals(0, new BigDecimal("88").compareTo(snapshot.getTotalEstimateHours()));
+        assertEquals(0, new BigDecimal("46").compareTo(snapshot.getRemainingEstimateHours()));
+    }
+
+    @Test
+    void testMerge_UsesRebuiltStateWithoutPreviousSnapshot() {
+        Map<Long, BurndownSnapshot> previous = new HashMap<>();
+        previous.put(1L, snapshot(1L, 3, 1, "30", "20"));
+        Map<Long, BurndownSnapshot> rebuilt = new HashMap<>();
+        rebuilt.put(2L, snapshot(2L, 5, 0, "40", "40"));
+
+        List<BurndownSnapshot> result = IterationBurndown.merge(DAY, Arrays.asList(1L, 2L, 3L),
+                previous, Collections.emptyMap(), rebuilt);
+
+        // 迭代 1 当天没有变化，沿用前一天；迭代 2 从历史重建；迭代 3 没有任务
+        assertEquals(Integer.valueOf(3), result.get(0).getTotalCount());
+        assertEquals(Integer.valueOf(5), result.get(1).getTotalCount());
+        assertEquals(Long.valueOf(2L), result.get(1).getIterationId());
+        assertEquals(Integer.valueOf(0), result.get(2).getTotalCount());
+        assertEquals(0, BigDecimal.ZERO.compareTo(result.get(2).getRemainingEstimateHours()));
+        assertEquals(DAY, result.get(2).getSnapshotDate());
+    }
+
+    @Test
+    void testRecorder_OnlyRecordsBurndownFields() {
+        FakeHistoryMapper mapper = new FakeHistoryMapper();
+        TaskHistoryRecorder recorder = new TaskHistoryRecorder(mapper);
+
+        Task before = task(TaskStatus.TODO, 1L, "8.00");
+        recorder.created(before);
+        // 预估工时数值相同（精度不同）不记录
+        recorder.changed(before, task(TaskStatus.TODO, 1L, "8"));
+        recorder.changed(before, task(TaskStatus.DONE, 1L, "8"));
+        recorder.changed(before, task(TaskStatus.TODO, 2L, "8"));
+        recorder.deleted(before);
+
+        assertEquals(4, mapper.inserted.size());
+        TaskStatusHistory created = mapper.inserted.get(0);
+        assertNull(created.getFromStatus());
+        assertEquals(TaskStatus.TODO, created.getToStatus());
+        TaskStatusHistory done = mapper.inserted.get(1);
+        assertEquals(TaskStatus.TODO, done.getFromStatus());
+        assertEquals(TaskStatus.DONE, done.getToStatus());
+        assertEquals(Long.valueOf(2L), mapper.inserted.get(2).getToIterationId());
+        TaskStatusHistory deleted = mapper.inserted.get(3);
+        assertEquals(Long.valueOf(1L), deleted.getFromIterationId());
+        assertNull(deleted.getToStatus());
+    }
+
+    private static BurndownSnapshot snapshot(Long iterationId, int total, int done, String estimate, String remaining) {
+        BurndownSnapshot snapshot = new BurndownSnapshot();
+        snapshot.setIterationId(iterationId);
+        snapshot.setTotalCount(total);
+        snapshot.setDoneCount(done);
+        snapshot.setTotalEstimateHours(new BigDecimal(estimate));
+        snapshot.setRemainingEstimateHours(new BigDecimal(remaining));
+        return snapshot;
+    }
+
+    private static Task task(TaskStatus status, Long iterationId, String estimateHours) {
+        Task task = new Task();
+        task.setId(100L);
+        task.setProjectId(10L);
+        task.setStatus(status);
+        task.setIterationId(iterationId);
+        task.setEstimateHours(new BigDecimal(estimateHours));
+        return task;
+    }
+
+    private static class FakeHistoryMapper implements TaskStatusHistoryMapper {
+        private final List<TaskStatusHistory> inserted = new ArrayList<>();
+
+        @Override
+        public int insert(TaskStatusHistory history) {
+            inserted.add(history);
+            return 1;
+        }
+
+        @Override
+        public List<BurndownSnapshot> sumIterationDeltas(LocalDateTime start, LocalDateTime end,
+                                                         Collection<Long> iterationIds) {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.service.gantt.ProjectCacheEntries;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 按项目缓存的有界存储测试类
+ */
+class ProjectCacheEntriesTest {
+
+    private final ProjectCacheEntries<String> entries = new ProjectCacheEntries<>(2);
+
+    @Test
+    void testPut_EvictsLeastRecentlyUsed() {
+        entries.putIfUnchanged(1L, entries.clock(), "p1");
+        entries.putIfUnchanged(2L, entries.clock(), "p2");
+        // 访问项目 1 后项目 2 最久未访问
+        entries.get(1L);
+        entries.putIfUnchanged(3L, entries.clock(), "p3");
+
+        assertEquals(2, entries.size());
+        assertEquals("p1", entries.get(1L));
+        assertNull(entries.get(2L));
+        assertEquals("p3", entries.get(3L));
+    }
+
+    @Test
+    void testPut_SkipsValueBuiltBeforeChange() {
+        long startClock = entries.clock();
+        entries.invalidate(1L);
+
+        assertEquals("stale", entries.putIfUnchanged(1L, startClock, "stale"));
+        assertNull(entries.get(1L));
+        // 其他项目的变更不影响
+        assertEquals("p2", entries.putIfUnchanged(2L, startClock, "p2"));
+        assertEquals("p2", entries.get(2L));
+    }
+
+    @Test
+    void testPut_SkipsValueBuiltBeforeEvictedChange() {
+        long startClock = entries.clock();
+        entries.invalidate(1L);
+        // 变更记录超出上限，项目 1 的记录被淘汰后仍不能写入构建期间的旧数据
+        entries.invalidate(2L);
+        entries.invalidate(3L);
+
+        entries.putIfUnchanged(1L, startClock, "stale");
+        assertNull(entries.get(1L));
+        entries.putIfUnchanged(1L, entries.clock(), "fresh");
+        assertEquals("fresh", entries.get(1L));
+    }
+
+    @Test
+    void testUpdate_RemovesWhenChangeFails() {
+        entries.putIfUnchanged(1L, entries.clock(), "p1");
+        entries.update(1L, value -> true);
+        assertEquals("p1", entries.get(1L));
+        entries.update(1L, value -> false);
+        assertNull(entries.get(1L));
+    }
+}
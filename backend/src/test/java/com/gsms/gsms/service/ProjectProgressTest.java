@@ -0,0 +1,100 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.enums.TaskStatus;
+import com.gsms.gsms.service.gantt.ProjectProgress;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 项目进度汇总测试类
+ */
+class ProjectProgressTest {
+
+    @Test
+    void testBuild_LeafProgressFromHoursAndStatus() {
+        Map<Long, BigDecimal> hours = new HashMap<>();
+        hours.put(1L, new BigDecimal("4"));
+        hours.put(2L, new BigDecimal("30"));
+        hours.put(3L, new BigDecimal("1"));
+
+        ProjectProgress progress = ProjectProgress.build(Arrays.asList(
+                task(1L, null, null, "8", TaskStatus.IN_PROGRESS),
+                task(2L, null, null, "10", TaskStatus.IN_PROGRESS),
+                task(3L, null, null, "10", TaskStatus.DONE),
+                task(4L, null, null, null, TaskStatus.IN_PROGRESS)), hours);
+
+        assertEquals(0.5, progress.getTaskProgress(1L));
+        // 超出预估但未完成
+        assertEquals(0.99, progress.getTaskProgress(2L));
+        assertEquals(1.0, progress.getTaskProgress(3L));
+        // 没有预估工时
+        assertEquals(0.0, progress.getTaskProgress(4L));
+    }
+
+    @Test
+    void testBuild_RollsUpWeightedByEstimate() {
+        // 迭代 10：父任务 1 -> 子任务 2（预估 6，完成）、3（预估 2，未开始）；无迭代顶级任务 4（预估 8，完成一半）
+        Map<Long, BigDecimal> hours = Collections.singletonMap(4L, new BigDecimal("4"));
+
+        ProjectProgress progress = ProjectProgress.build(Arrays.asList(
+                task(1L, null, 10L, "100", TaskStatus.IN_PROGRESS),
+                task(2L, 1L, 10L, "6", TaskStatus.DONE),
+                task(3L, 1L, 10L, "2", TaskStatus.TODO),
+                task(4L, null, null, "8", TaskStatus.IN_PROGRESS)), hours);
+
+        assertEquals(0.75, progress.getTaskProgress(1L));
+        assertEquals(0.75, progress.getIterationProgress(10L));
+        // (6 + 4) / (8 + 8)
+        assertEquals(0.625, progress.getProjectProgress());
+        assertEquals(0.0, progress.getIterationProgress(99L));
+    }
+
+    @Test
+    void testBuild_DoneParentCompletesSubtree() {
+        ProjectProgress progress = ProjectProgress.build(Arrays.asList(
+                task(1L, null, null, null, TaskStatus.DONE),
+                task(2L, 1L, null, "4", TaskStatus.TODO),
+                task(3L, null, null, "4", TaskStatus.TODO)), Collections.emptyMap());
+
+        assertEquals(1.0, progress.getTaskProgress(1L));
+        assertEquals(0.5, progress.getProjectProgress());
+    }
+
+    @Test
+    void testBuild_UnestimatedLeavesUseAverageWeight() {
+        ProjectProgress progress = ProjectProgress.build(Arrays.asList(
+                task(1L, null, null, "10", TaskStatus.TODO),
+                task(2L, null, null, "30", TaskStatus.TODO),
+                task(3L, null, null, null, TaskStatus.DONE)), Collections.emptyMap());
+
+        // 任务 3 按平均预估 20 计权：20 / (10 + 30 + 20)
+        assertEquals(0.3333, progress.getProjectProgress());
+    }
+
+    @Test
+    void testBuild_EmptyProject() {
+        ProjectProgress progress = ProjectProgress.build(Collections.emptyList(), Collections.emptyMap());
+
+        assertEquals(0.0, progress.getProjectProgress());
+        assertEquals(0.0, progress.getTaskProgress(1L));
+    }
+
+    private static Task task(Long id, Long parentId, Long iterationId, String estimateHours, TaskStatus status) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(1L);
+        task.setParentId(parentId);
+        task.setIterationId(iterationId);
+        task.setEstimateHours(estimateHours != null ? new BigDecimal(estimateHours) : null);
+        task.setStatus(status);
+        return task;
+    }
+}
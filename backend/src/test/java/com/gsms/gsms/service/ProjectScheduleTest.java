@@ -0,0 +1,135 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.model.entity.TaskLink;
+import com.gsms.gsms.model.enums.TaskLinkType;
+import com.gsms.gsms.service.gantt.ProjectSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 项目关键路径计算测试类
+ */
+class ProjectScheduleTest {
+
+    private static final LocalDate BASE = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void testBuild_CriticalPathAndSlack() {
+        // A(3天) -> B(2天) -> C(1天)，D(2天) 独立
+        List<Task> tasks = Arrays.asList(task(1L, 0, 3), task(2L, 3, 2), task(3L, 5, 1), task(4L, 0, 2));
+        List<TaskLink> links = Arrays.asList(link(10L, 1L, 2L), link(11L, 2L, 3L));
+
+        ProjectSchedule schedule = ProjectSchedule.build(tasks, links);
+
+        assertEquals(BASE.plusDays(5), schedule.getFinishDate());
+        assertTrue(schedule.isCritical(1L));
+        assertTrue(schedule.isCritical(2L));
+        assertTrue(schedule.isCritical(3L));
+        assertFalse(schedule.isCritical(4L));
+        assertEquals(Integer.valueOf(4), schedule.getSlack(4L));
+        assertEquals(BASE.plusDays(4), schedule.getLateStart(4L));
+    }
+
+    @Test
+    void testBuild_DependencyPushesEarlyStart() {
+        // B 计划与 A 同时开始，但依赖 A 结束
+        List<Task> tasks = Arrays.asList(task(1L, 0, 3), task(2L, 0, 2));
+
+        ProjectSchedule schedule = ProjectSchedule.build(tasks, Collections.singletonList(link(10L, 1L, 2L)));
+
+        assertEquals(BASE.plusDays(3), schedule.getEarlyStart(2L));
+    }
+
+    @Test
+    void testAddLink_RejectsCycle() {
+        List<Task> tasks = Arrays.asList(task(1L, 0, 1), task(2L, 1, 1), task(3L, 2, 1));
+        ProjectSchedule schedule = ProjectSchedule.build(tasks, Arrays.asList(link(10L, 1L, 2L), link(11L, 2L, 3L)));
+
+        assertTrue(schedule.wouldCreateCycle(3L, 1L));
+        assertFalse(schedule.addLink(link(12L, 3L, 1L)));
+        assertFalse(schedule.wouldCreateCycle(1L, 3L));
+    }
+
+    @Test
+    void testBuild_IgnoresCyclicStoredLinks() {
+        List<Task> tasks = Arrays.asList(task(1L, 0, 1), task(2L, 1, 1));
+
+        ProjectSchedule schedule = ProjectSchedule.build(tasks, Arrays.asList(link(10L, 1L, 2L), link(11L, 2L, 1L)));
+
+        assertEquals(1, schedule.getIgnoredLinkCount());
+    }
+
+    @Test
+    void testIncrementalUpdates_MatchFullRebuild() {
+        Random random = new Random(42);
+        int n = 60;
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= n; id++) {
+            tasks.add(task(id, random.nextInt(30), 1 + random.nextInt(5)));
+        }
+        List<TaskLink> links = new ArrayList<>();
+        ProjectSchedule schedule = ProjectSchedule.build(tasks, links);
+
+        long nextLinkId = 1;
+        TaskLinkType[] types = TaskLinkType.values();
+        for (int step = 0; step < 400; step++) {
+            int op = random.nextInt(3);
+            if (op == 0) {
+                long source = 1 + random.nextInt(n);
+                long target = 1 + random.nextInt(n);
+                TaskLink link = link(nextLinkId++, source, target);
+                link.setType(types[random.nextInt(types.length)]);
+                link.setLag(random.nextInt(5) - 2);
+                boolean cycle = source == target || schedule.wouldCreateCycle(source, target);
+                assertEquals(!cycle, schedule.addLink(link));
+                if (!cycle) {
+                    links.add(link);
+                }
+            } else if (op == 1 && !links.isEmpty()) {
+                TaskLink removed = links.remove(random.nextInt(links.size()));
+                assertTrue(schedule.removeLink(removed.getId()));
+            } else {
+                Task task = tasks.get(random.nextInt(n));
+                LocalDate start = BASE.plusDays(random.nextInt(30));
+                task.setPlanStartDate(start);
+                task.setPlanEndDate(start.plusDays(random.nextInt(5)));
+                assertTrue(schedule.updateTaskDates(task.getId(), task.getPlanStartDate(), task.getPlanEndDate()));
+            }
+
+            ProjectSchedule expected = ProjectSchedule.build(tasks, links);
+            assertEquals(0, expected.getIgnoredLinkCount());
+            assertEquals(expected.getFinishDate(), schedule.getFinishDate());
+            for (Task task : tasks) {
+                assertEquals(expected.getEarlyStart(task.getId()), schedule.getEarlyStart(task.getId()));
+                assertEquals(expected.getLateStart(task.getId()), schedule.getLateStart(task.getId()));
+            }
+        }
+    }
+
+    private static Task task(Long id, int startOffset, int days) {
+        Task task = new Task();
+        task.setId(id);
+        task.setPlanStartDate(BASE.plusDays(startOffset));
+        task.setPlanEndDate(BASE.plusDays(startOffset + days - 1L));
+        return task;
+    }
+
+    private static TaskLink link(Long id, Long source, Long target) {
+        TaskLink link = new TaskLink();
+        link.setId(id);
+        link.setSourceTaskId(source);
+        link.setTargetTaskId(target);
+        link.setType(TaskLinkType.FINISH_TO_START);
+        link.setLag(0);
+        return link;
+    }
+}
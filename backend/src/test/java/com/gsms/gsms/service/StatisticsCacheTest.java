@@ -0,0 +1,95 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.service.statistics.StatisticsCache;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 统计结果缓存测试类
+ */
+class StatisticsCacheTest {
+
+    private static final long TTL = 60_000L;
+
+    private final StatisticsCache cache = new StatisticsCache();
+
+    @Test
+    void testGet_HitUntilInvalidatedByTag() {
+        AtomicInteger loads = new AtomicInteger();
+        String key = StatisticsCache.key("project", 1L, null, null);
+
+        cache.get(key, Collections.singleton(StatisticsCache.projectWorkHours(1L)), TTL, () -> load(loads));
+        cache.get(key, Collections.singleton(StatisticsCache.projectWorkHours(1L)), TTL, () -> load(loads));
+        assertEquals(1, loads.get());
+
+        // 其他项目、任务变化不影响项目工时统计
+        cache.invalidateWorkHours(2L, 9L);
+        cache.invalidateTasks(1L);
+        cache.get(key, Collections.singleton(StatisticsCache.projectWorkHours(1L)), TTL, () -> load(loads));
+        assertEquals(1, loads.get());
+
+        cache.invalidateWorkHours(1L, 9L);
+        cache.get(key, Collections.singleton(StatisticsCache.projectWorkHours(1L)), TTL, () -> load(loads));
+        assertEquals(2, loads.get());
+
+        Map<String, Object> stats = cache.getStats();
+        assertEquals(2L, stats.get("hits"));
+        assertEquals(2L, stats.get("misses"));
+        assertEquals(1L, stats.get("invalidations"));
+    }
+
+    @Test
+    void testGet_AllWorkHoursTagInvalidatedByAnyWorkHourChange() {
+        AtomicInteger loads = new AtomicInteger();
+        String key = StatisticsCache.key("department", 1L, null, null, false);
+
+        cache.get(key, Collections.singleton(StatisticsCache.ALL_WORK_HOURS), TTL, () -> load(loads));
+        cache.invalidateWorkHours(5L, 6L);
+        cache.get(key, Collections.singleton(StatisticsCache.ALL_WORK_HOURS), TTL, () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_ExpiredEntryReloaded() {
+        AtomicInteger loads = new AtomicInteger();
+        String key = StatisticsCache.key("user", 1L, null, null);
+
+        cache.get(key, Collections.singleton(StatisticsCache.userWorkHours(1L)), 0L, () -> load(loads));
+        cache.get(key, Collections.singleton(StatisticsCache.userWorkHours(1L)), 0L, () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testGet_NotCachedWhenInvalidatedDuringLoad() {
+        AtomicInteger loads = new AtomicInteger();
+        String key = StatisticsCache.key("completion", 1L);
+
+        cache.get(key, Collections.singleton(StatisticsCache.projectTasks(1L)), TTL, () -> {
+            cache.invalidateTasks(1L);
+            return load(loads);
+        });
+        cache.get(key, Collections.singleton(StatisticsCache.projectTasks(1L)), TTL, () -> load(loads));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testKey_NormalizesNullParams() {
+        assertEquals("trend|1||2026-01-01", StatisticsCache.key("trend", 1L, null, LocalDate.of(2026, 1, 1)));
+    }
+
+    private static Map<String, Object> load(AtomicInteger loads) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("load", loads.incrementAndGet());
+        return data;
+    }
+}
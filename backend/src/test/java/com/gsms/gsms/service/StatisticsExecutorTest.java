@@ -0,0 +1,101 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.infra.exception.ServiceBusyException;
+import com.gsms.gsms.service.statistics.StatisticsExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 统计查询线程池测试类
+ */
+class StatisticsExecutorTest {
+
+    private final StatisticsExecutor executor = new StatisticsExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void testSubmit_RunsOnReportThread() throws Exception {
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertTrue(threadName.startsWith("statistics-report-"));
+    }
+
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() {
+        List<CompletableFuture<Boolean>> blocked = new ArrayList<>();
+        ServiceBusyException rejected = null;
+        for (int i = 0; i < 100 && rejected == null; i++) {
+            try {
+                blocked.add(executor.submit(this::await));
+            } catch (ServiceBusyException e) {
+                rejected = e;
+            }
+        }
+
+        assertNotNull(rejected);
+        assertTrue(rejected.getRetryAfterSeconds() > 0);
+        // 4 个线程执行中 + 32 个排队
+        assertEquals(36, blocked.size());
+    }
+
+    @Test
+    void testSubmit_CancelledQueuedTaskDoesNotRun() throws Exception {
+        List<CompletableFuture<Boolean>> blocked = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            blocked.add(executor.submit(this::await));
+        }
+        AtomicInteger runs = new AtomicInteger();
+        CompletableFuture<Integer> queued = executor.submit(runs::incrementAndGet);
+
+        // 请求超时后取消排队中的报表，线程空闲后也不再执行
+        assertTrue(queued.cancel(true));
+        release.countDown();
+        for (CompletableFuture<Boolean> future : blocked) {
+            assertTrue(future.get(5, TimeUnit.SECONDS));
+        }
+        executor.submit(() -> true).get(5, TimeUnit.SECONDS);
+
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void testFork_RunsInCallerWhenNoIdleThread() throws Exception {
+        List<CompletableFuture<Boolean>> blocked = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            blocked.add(executor.fork(this::await));
+        }
+
+        String caller = Thread.currentThread().getName();
+        String threadName = executor.fork(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(caller, threadName);
+        release.countDown();
+        for (CompletableFuture<Boolean> future : blocked) {
+            assertTrue(future.get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    private boolean await() {
+        try {
+            return release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
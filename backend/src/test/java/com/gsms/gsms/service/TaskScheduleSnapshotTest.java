@@ -0,0 +1,112 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.infra.exception.BusinessException;
+import com.gsms.gsms.model.entity.Task;
+import com.gsms.gsms.service.gantt.TaskScheduleSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 任务排期快照测试类
+ */
+class TaskScheduleSnapshotTest {
+
+    private static final LocalDate BASE = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void testValidate_UsesStateAfterAllChanges() {
+        // 父任务 1 [0, 9]，子任务 2 [2, 4]；同一批次整体后移 10 天
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(Arrays.asList(task(1L, null, 0, 9), task(2L, 1L, 2, 4)));
+
+        snapshot.setDates(2L, BASE.plusDays(12), BASE.plusDays(14));
+        snapshot.setDates(1L, BASE.plusDays(10), BASE.plusDays(19));
+        snapshot.validate();
+
+        List<Task> changed = snapshot.getChangedTasks();
+        assertEquals(2, changed.size());
+        assertEquals(Long.valueOf(2L), changed.get(0).getId());
+    }
+
+    @Test
+    void testValidate_RejectsChildOutsideMovedParent() {
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(Arrays.asList(task(1L, null, 0, 9), task(2L, 1L, 2, 4)));
+
+        snapshot.setDates(1L, BASE.plusDays(3), BASE.plusDays(9));
+
+        assertThrows(BusinessException.class, snapshot::validate);
+    }
+
+    @Test
+    void testValidate_RejectsParentCycle() {
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(
+                Arrays.asList(task(1L, null, 0, 9), task(2L, 1L, 0, 9), task(3L, 2L, 0, 9)));
+
+        snapshot.setParent(1L, 3L);
+
+        assertThrows(BusinessException.class, snapshot::validate);
+    }
+
+    @Test
+    void testSetParent_RejectsTaskOutsideProject() {
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(Arrays.asList(task(1L, null, 0, 9), task(2L, null, 0, 9)));
+
+        assertThrows(BusinessException.class, () -> snapshot.setParent(1L, 99L));
+        assertThrows(BusinessException.class, () -> snapshot.setParent(1L, 1L));
+        assertThrows(BusinessException.class, () -> snapshot.setDates(99L, BASE, BASE));
+    }
+
+    @Test
+    void testGetChangedTasks_SkipsNoOpChanges() {
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(Arrays.asList(task(1L, null, 0, 9), task(2L, 1L, 2, 4)));
+
+        snapshot.setDates(2L, BASE.plusDays(3), BASE.plusDays(5));
+        snapshot.setDates(2L, BASE.plusDays(2), BASE.plusDays(4));
+        snapshot.setParent(1L, null);
+
+        assertTrue(snapshot.getChangedTasks().isEmpty());
+        assertFalse(snapshot.isDatesChanged(2L));
+    }
+
+    @Test
+    void testShiftSubtrees_KeepsOffsetsAndDurations() {
+        // 1 [0, 9] -> 2 [2, 4] -> 3 [3, 3]，4 [0, 20] 不在子树中
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(Arrays.asList(
+                task(1L, null, 0, 9), task(2L, 1L, 2, 4), task(3L, 2L, 3, 3), task(4L, null, 0, 20)));
+
+        snapshot.shiftSubtrees(Arrays.asList(1L, 2L), 7);
+        snapshot.validate();
+
+        assertEquals(BASE.plusDays(7), snapshot.get(1L).getPlanStartDate());
+        assertEquals(BASE.plusDays(9), snapshot.get(2L).getPlanStartDate());
+        assertEquals(BASE.plusDays(11), snapshot.get(2L).getPlanEndDate());
+        assertEquals(BASE.plusDays(10), snapshot.get(3L).getPlanEndDate());
+        assertEquals(3, snapshot.getChangedTasks().size());
+        assertFalse(snapshot.isDatesChanged(4L));
+    }
+
+    @Test
+    void testShiftSubtrees_RejectsSubtreeLeavingParentRange() {
+        TaskScheduleSnapshot snapshot = TaskScheduleSnapshot.of(
+                Arrays.asList(task(1L, null, 0, 9), task(2L, 1L, 2, 4), task(3L, 2L, 3, 3)));
+
+        snapshot.shiftSubtrees(Collections.singletonList(2L), 6);
+
+        assertThrows(BusinessException.class, snapshot::validate);
+    }
+
+    private static Task task(Long id, Long parentId, int startOffset, int endOffset) {
+        Task task = new Task();
+        task.setId(id);
+        task.setProjectId(1L);
+        task.setParentId(parentId);
+        task.setPlanStartDate(BASE.plusDays(startOffset));
+        task.setPlanEndDate(BASE.plusDays(endOffset));
+        return task;
+    }
+}
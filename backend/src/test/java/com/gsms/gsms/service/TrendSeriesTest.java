@@ -0,0 +1,70 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.dto.statistics.WorkHourTrendPointResp;
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.stat.DateHours;
+import com.gsms.gsms.service.statistics.TrendSeries;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 趋势数据补全测试类
+ */
+class TrendSeriesTest {
+
+    // 2026-01-05 为周一
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void testFill_DayFillsGapsWithZero() {
+        List<WorkHourTrendPointResp> points = TrendSeries.fill(MONDAY, MONDAY.plusDays(3), TrendGranularity.DAY,
+                Arrays.asList(row(MONDAY, "2", 1), row(MONDAY.plusDays(2), "3.5", 2)));
+
+        assertEquals(4, points.size());
+        assertEquals(MONDAY.plusDays(1), points.get(1).getDate());
+        assertEquals(0, BigDecimal.ZERO.compareTo(points.get(1).getHours()));
+        assertEquals(Integer.valueOf(0), points.get(1).getRecordCount());
+        assertEquals(0, new BigDecimal("3.5").compareTo(points.get(2).getHours()));
+        assertEquals(Integer.valueOf(0), points.get(3).getRecordCount());
+    }
+
+    @Test
+    void testFill_WeekBucketsStartOnMonday() {
+        // 周三到下下周二，共 3 周
+        List<WorkHourTrendPointResp> points = TrendSeries.fill(MONDAY.plusDays(2), MONDAY.plusDays(15), TrendGranularity.WEEK,
+                Collections.singletonList(row(MONDAY.plusWeeks(1), "8", 1)));
+
+        assertEquals(3, TrendSeries.countBuckets(MONDAY.plusDays(2), MONDAY.plusDays(15), TrendGranularity.WEEK));
+        assertEquals(3, points.size());
+        assertEquals(MONDAY, points.get(0).getDate());
+        assertEquals(0, new BigDecimal("8").compareTo(points.get(1).getHours()));
+        assertEquals(MONDAY.plusWeeks(2), points.get(2).getDate());
+    }
+
+    @Test
+    void testFill_MonthBucketsAcrossYear() {
+        List<WorkHourTrendPointResp> points = TrendSeries.fill(LocalDate.of(2025, 11, 15), LocalDate.of(2026, 2, 1),
+                TrendGranularity.MONTH, Collections.singletonList(row(LocalDate.of(2026, 1, 1), "10", 3)));
+
+        assertEquals(4, points.size());
+        assertEquals(LocalDate.of(2025, 11, 1), points.get(0).getDate());
+        assertEquals(LocalDate.of(2026, 1, 1), points.get(2).getDate());
+        assertEquals(Integer.valueOf(3), points.get(2).getRecordCount());
+        assertEquals(LocalDate.of(2026, 2, 1), points.get(3).getDate());
+    }
+
+    private static DateHours row(LocalDate date, String hours, int count) {
+        DateHours row = new DateHours();
+        row.setDate(date);
+        row.setHours(new BigDecimal(hours));
+        row.setCount(count);
+        return row;
+    }
+}
@@ -0,0 +1,155 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsQueryReq;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsResp;
+import com.gsms.gsms.dto.statistics.WorkHourAnalyticsRowResp;
+import com.gsms.gsms.model.entity.WorkHour;
+import com.gsms.gsms.model.enums.AnalyticsDimension;
+import com.gsms.gsms.model.enums.TaskType;
+import com.gsms.gsms.model.stat.TaskDimension;
+import com.gsms.gsms.service.statistics.WorkHourColumnStore;
+import com.gsms.gsms.service.statistics.WorkHourDimensions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 工时分析列存测试类
+ */
+class WorkHourColumnStoreTest {
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+    private final WorkHourColumnStore store = new WorkHourColumnStore();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testQuery_GroupsByProjectAndMonthWithinDateRange() {
+        store.upsert(workHour(1L, 10L, 100L, null, "2026-01-05", "8"));
+        store.upsert(workHour(2L, 10L, 100L, null, "2026-01-20", "4.5"));
+        store.upsert(workHour(3L, 11L, 100L, null, "2026-02-03", "2"));
+        store.upsert(workHour(4L, 10L, 200L, null, "2026-02-10", "6"));
+        store.upsert(workHour(5L, 10L, 200L, null, "2026-03-01", "7"));
+
+        WorkHourAnalyticsResp resp = store.query(
+                req(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 2, 28), AnalyticsDimension.PROJECT, AnalyticsDimension.MONTH),
+                WorkHourDimensions.EMPTY, pool);
+
+        assertEquals(0, new BigDecimal("20.5").compareTo(resp.getTotalHours()));
+        assertEquals(Long.valueOf(4L), resp.getTotalCount());
+        assertEquals(Integer.valueOf(3), resp.getGroupCount());
+        // 按工时倒序
+        WorkHourAnalyticsRowResp first = resp.getRows().get(0);
+        assertEquals(Arrays.asList(100L, LocalDate.of(2026, 1, 1)), first.getKeys());
+        assertEquals(0, new BigDecimal("12.5").compareTo(first.getHours()));
+        assertEquals(Long.valueOf(2L), first.getCount());
+        assertEquals(Arrays.asList(200L, LocalDate.of(2026, 2, 1)), resp.getRows().get(1).getKeys());
+    }
+
+    @Test
+    void testQuery_DerivedDimensionsAndDepartmentFilterAfterChanges() {
+        store.upsert(workHour(1L, 10L, 100L, 1000L, "2026-01-05", "8"));
+        store.upsert(workHour(2L, 11L, 100L, 1001L, "2026-01-05", "3"));
+        store.upsert(workHour(3L, 12L, 100L, 1001L, "2026-01-06", "5"));
+        store.upsert(workHour(4L, 10L, 100L, null, "2026-01-06", "1"));
+        // 修改覆盖原行，删除后不再统计
+        store.upsert(workHour(2L, 11L, 100L, 1000L, "2026-01-05", "2"));
+        store.delete(3L);
+
+        Map<Long, TaskDimension> tasks = new HashMap<>();
+        tasks.put(1000L, task(1000L, TaskType.BUG));
+        tasks.put(1001L, task(1001L, TaskType.REQUIREMENT));
+        Map<Long, Long> departments = new HashMap<>();
+        departments.put(10L, 1L);
+        departments.put(11L, 1L);
+        departments.put(12L, 2L);
+        WorkHourDimensions dimensions = new WorkHourDimensions(tasks, departments);
+
+        WorkHourAnalyticsQueryReq req = req(null, null, AnalyticsDimension.DEPARTMENT, AnalyticsDimension.TASK_TYPE);
+        req.setDepartmentIds(Collections.singletonList(1L));
+        WorkHourAnalyticsResp resp = store.query(req, dimensions, pool);
+
+        assertEquals(3, store.size());
+        assertEquals(Integer.valueOf(2), resp.getGroupCount());
+        // 用户 10、11 的缺陷工时按部门合并
+        assertEquals(Arrays.asList(1L, TaskType.BUG), resp.getRows().get(0).getKeys());
+        assertEquals(0, new BigDecimal("10").compareTo(resp.getRows().get(0).getHours()));
+        assertEquals(Long.valueOf(2L), resp.getRows().get(0).getCount());
+        // 未关联任务的工时任务类型为 null
+        assertEquals(Arrays.asList(1L, null), resp.getRows().get(1).getKeys());
+    }
+
+    @Test
+    void testQuery_ParallelScanMatchesTotalsAndLimit() {
+        int records = 100_000;
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 1; i <= records; i++) {
+            store.upsert(workHour((long) i, (long) (i % 50), (long) (i % 7), (long) (i % 300),
+                    start.plusDays(i % 120).toString(), "0.5"));
+        }
+        for (int i = 2; i <= records; i += 2) {
+            store.delete((long) i);
+        }
+
+        WorkHourAnalyticsQueryReq req = req(null, null, AnalyticsDimension.USER, AnalyticsDimension.TASK,
+                AnalyticsDimension.WEEK);
+        req.setLimit(10);
+        req.setProjectIds(Arrays.asList(1L, 3L, 5L));
+        WorkHourAnalyticsResp resp = store.query(req, WorkHourDimensions.EMPTY, pool);
+
+        long expectedCount = 0;
+        for (int i = 1; i <= records; i += 2) {
+            long project = i % 7;
+            if (project == 1 || project == 3 || project == 5) {
+                expectedCount++;
+            }
+        }
+        assertEquals(Long.valueOf(expectedCount), resp.getTotalCount());
+        assertEquals(0, BigDecimal.valueOf(expectedCount).multiply(new BigDecimal("0.5")).compareTo(resp.getTotalHours()));
+        assertEquals(10, resp.getRows().size());
+        assertTrue(resp.getGroupCount() > 10);
+        List<WorkHourAnalyticsRowResp> rows = resp.getRows();
+        for (int i = 1; i < rows.size(); i++) {
+            assertTrue(rows.get(i - 1).getHours().compareTo(rows.get(i).getHours()) >= 0);
+        }
+    }
+
+    private static WorkHourAnalyticsQueryReq req(LocalDate startDate, LocalDate endDate, AnalyticsDimension... groupBy) {
+        WorkHourAnalyticsQueryReq req = new WorkHourAnalyticsQueryReq();
+        req.setStartDate(startDate);
+        req.setEndDate(endDate);
+        req.setGroupBy(Arrays.asList(groupBy));
+        return req;
+    }
+
+    private static WorkHour workHour(Long id, Long userId, Long projectId, Long taskId, String workDate, String hours) {
+        WorkHour workHour = new WorkHour();
+        workHour.setId(id);
+        workHour.setUserId(userId);
+        workHour.setProjectId(projectId);
+        workHour.setTaskId(taskId);
+        workHour.setWorkDate(LocalDate.parse(workDate));
+        workHour.setHours(new BigDecimal(hours));
+        return workHour;
+    }
+
+    private static TaskDimension task(Long id, TaskType type) {
+        TaskDimension task = new TaskDimension();
+        task.setId(id);
+        task.setType(type);
+        return task;
+    }
+}
@@ -0,0 +1,157 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.model.entity.WorkHour;
+import com.gsms.gsms.model.enums.TrendGranularity;
+import com.gsms.gsms.model.stat.DateHours;
+import com.gsms.gsms.model.stat.IdHours;
+import com.gsms.gsms.repository.WorkHourDailyMapper;
+import com.gsms.gsms.service.statistics.WorkHourRollup;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 工时日汇总维护测试类
+ */
+class WorkHourRollupTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 5);
+
+    private final FakeDailyMapper mapper = new FakeDailyMapper();
+    private final WorkHourRollup rollup = new WorkHourRollup(mapper);
+
+    @Test
+    void testAddAndRemove_MaintainsSumAndCount() {
+        WorkHour first = workHour(1L, 10L, null, DAY, "3");
+        WorkHour second = workHour(1L, 10L, null, DAY, "2.5");
+        rollup.add(first);
+        rollup.add(second);
+
+        Row row = mapper.rows.get(key(DAY, 1L, 10L, 0L));
+        assertEquals(0, new BigDecimal("5.5").compareTo(row.hours));
+        assertEquals(2, row.count);
+
+        rollup.remove(first);
+        rollup.remove(second);
+        assertTrue(mapper.rows.isEmpty());
+    }
+
+    @Test
+    void testReplace_SameKeyAdjustsHoursOnly() {
+        WorkHour before = workHour(1L, 10L, 100L, DAY, "3");
+        rollup.add(before);
+
+        rollup.replace(before, workHour(1L, 10L, 100L, DAY, "5"));
+
+        Row row = mapper.rows.get(key(DAY, 1L, 10L, 100L));
+        assertEquals(0, new BigDecimal("5").compareTo(row.hours));
+        assertEquals(1, row.count);
+    }
+
+    @Test
+    void testReplace_MovedRecordLeavesOldRow() {
+        WorkHour before = workHour(1L, 10L, 100L, DAY, "3");
+        rollup.add(before);
+
+        rollup.replace(before, workHour(1L, 20L, null, DAY.plusDays(1), "4"));
+
+        assertNull(mapper.rows.get(key(DAY, 1L, 10L, 100L)));
+        Row row = mapper.rows.get(key(DAY.plusDays(1), 1L, 20L, 0L));
+        assertEquals(0, new BigDecimal("4").compareTo(row.hours));
+        assertEquals(1, row.count);
+    }
+
+    private static WorkHour workHour(Long userId, Long projectId, Long taskId, LocalDate date, String hours) {
+        WorkHour workHour = new WorkHour();
+        workHour.setUserId(userId);
+        workHour.setProjectId(projectId);
+        workHour.setTaskId(taskId);
+        workHour.setWorkDate(date);
+        workHour.setHours(new BigDecimal(hours));
+        return workHour;
+    }
+
+    private static List<Object> key(LocalDate date, Long userId, Long projectId, Long taskId) {
+        return Arrays.asList(date, userId, projectId, taskId);
+    }
+
+    private static final class Row {
+        private BigDecimal hours = BigDecimal.ZERO;
+        private int count;
+    }
+
+    /**
+     * 内存实现的汇总表，只支持增量维护相关方法
+     */
+    private static final class FakeDailyMapper implements WorkHourDailyMapper {
+        private final Map<List<Object>, Row> rows = new HashMap<>();
+
+        @Override
+        public int upsertDelta(LocalDate workDate, Long userId, Long projectId, Long taskId, BigDecimal hours, int recordCount) {
+            Row row = rows.computeIfAbsent(key(workDate, userId, projectId, taskId), k -> new Row());
+            row.hours = row.hours.add(hours);
+            row.count += recordCount;
+            return 1;
+        }
+
+        @Override
+        public int deleteEmpty(LocalDate workDate, Long userId, Long projectId, Long taskId) {
+            List<Object> key = key(workDate, userId, projectId, taskId);
+            Row row = rows.get(key);
+            if (row != null && row.count <= 0) {
+                rows.remove(key);
+                return 1;
+            }
+            return 0;
+        }
+
+        @Override
+        public int countMismatches(LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int deleteByDateRange(LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public int insertFromWorkHour(LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BigDecimal sumProjectHours(Long projectId) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<IdHours> sumHoursGroupByUser(Long projectId, LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<IdHours> sumHoursGroupByProject(Long userId, LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<IdHours> sumHoursGroupByUserInDepartment(Long departmentId, boolean includeSubDepartments,
+                                                             LocalDate startDate, LocalDate endDate) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<DateHours> sumHoursGroupByBucket(Long projectId, Long userId, LocalDate startDate, LocalDate endDate,
+                                                     TrendGranularity granularity) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
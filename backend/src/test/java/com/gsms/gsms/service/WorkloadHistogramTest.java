@@ -0,0 +1,87 @@
+package com.gsms.gsms.service;
+
+import com.gsms.gsms.model.stat.TaskInterval;
+import com.gsms.gsms.service.gantt.WorkloadHistogram;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 负责人负载直方图测试类
+ */
+class WorkloadHistogramTest {
+
+    // 2026-01-05 为周一
+    private static final LocalDate MONDAY = LocalDate.of(2026, 1, 5);
+
+    @Test
+    void testBuild_SpreadsEstimateOverWorkdays() {
+        // 周一至下周一共 8 天，其中 6 个工作日
+        WorkloadHistogram histogram = WorkloadHistogram.build(MONDAY, MONDAY.plusDays(7),
+                Collections.singletonList(1L),
+                Collections.singletonList(interval(1L, MONDAY, MONDAY.plusDays(7), "12")));
+
+        int[] counts = histogram.getTaskCounts(0);
+        double[] hours = histogram.getHours(0);
+        assertEquals(8, counts.length);
+        assertEquals(1, counts[5]);
+        assertEquals(2.0, hours[0], 1e-9);
+        assertEquals(0.0, hours[5], 1e-9);
+        assertEquals(0.0, hours[6], 1e-9);
+        assertEquals(2.0, hours[7], 1e-9);
+        assertFalse(histogram.getWorkdays()[5]);
+    }
+
+    @Test
+    void testBuild_OverlappingTasksAndClipping() {
+        // 任务 A 从统计范围前开始（周一至周五，每天 2 小时），只有后 3 天在范围内；任务 B 周三至周四
+        WorkloadHistogram histogram = WorkloadHistogram.build(MONDAY.plusDays(2), MONDAY.plusDays(4),
+                Arrays.asList(1L, 2L),
+                Arrays.asList(
+                        interval(1L, MONDAY, MONDAY.plusDays(4), "10"),
+                        interval(1L, MONDAY.plusDays(2), MONDAY.plusDays(3), "4"),
+                        interval(2L, null, null, "8"),
+                        interval(3L, MONDAY, MONDAY.plusDays(4), "10")));
+
+        assertArrayEquals(new int[]{2, 2, 1}, histogram.getTaskCounts(0));
+        assertArrayEquals(new double[]{4.0, 4.0, 2.0}, histogram.getHours(0), 1e-9);
+        assertArrayEquals(new int[]{0, 0, 0}, histogram.getTaskCounts(1));
+        assertEquals(1, histogram.getUnscheduledCount(1));
+    }
+
+    @Test
+    void testBuild_WeekendOnlyTaskSpreadsOverCalendarDays() {
+        WorkloadHistogram histogram = WorkloadHistogram.build(MONDAY, MONDAY.plusDays(6),
+                Collections.singletonList(1L),
+                Collections.singletonList(interval(1L, MONDAY.plusDays(5), MONDAY.plusDays(6), "6")));
+
+        double[] hours = histogram.getHours(0);
+        assertEquals(3.0, hours[5], 1e-9);
+        assertEquals(3.0, hours[6], 1e-9);
+        assertEquals(0.0, hours[4], 1e-9);
+    }
+
+    @Test
+    void testBuild_SingleDateTask() {
+        WorkloadHistogram histogram = WorkloadHistogram.build(MONDAY, MONDAY.plusDays(2),
+                Collections.singletonList(1L),
+                Collections.singletonList(interval(1L, null, MONDAY.plusDays(1), "3")));
+
+        assertArrayEquals(new int[]{0, 1, 0}, histogram.getTaskCounts(0));
+        assertArrayEquals(new double[]{0.0, 3.0, 0.0}, histogram.getHours(0), 1e-9);
+    }
+
+    private static TaskInterval interval(Long assigneeId, LocalDate start, LocalDate end, String estimateHours) {
+        TaskInterval interval = new TaskInterval();
+        interval.setAssigneeId(assigneeId);
+        interval.setPlanStartDate(start);
+        interval.setPlanEndDate(end);
+        interval.setEstimateHours(estimateHours != null ? new BigDecimal(estimateHours) : null);
+        return interval;
+    }
+}
@@ -21,7 +21,10 @@ export interface GanttTask {
   actualEndDate?: string
   critical?: boolean
   slack?: number
+  earlyStart?: string  // 最早开始日期（按依赖关系推算）
+  lateStart?: string   // 最晚开始日期
   subtasks?: GanttTask[]
+  childCount?: number  // 子节点数量（仅懒加载模式返回）
 }
 
 // 甘特图任务依赖关系
@@ -30,13 +33,14 @@ export interface GanttLink {
   source: number
   target: number
   type: string
-  lag?: number
+  lag?: number  // 延迟（天）
 }
 
 // 甘特图数据响应
 export interface GanttDataResp {
   data: GanttTask[]
   links: GanttLink[]
+  truncated?: boolean  // 组合甘特图未指定项目且超过上限时为 true（只返回最近更新的项目）
 }
 
 // 任务时间更新请求
@@ -50,6 +54,31 @@ export interface TaskParentUpdateReq {
   parentId: number | null
 }
 
+// 甘特图增量变更响应
+export interface GanttChangesResp {
+  fullReload: boolean
+  watermark: string
+  nodes?: GanttTask[]
+  deletedIds?: number[]
+  links?: GanttLink[]
+  deletedLinkIds?: number[]
+}
+
+// 甘特图单个任务变更（日期同时为空表示不修改时间）
+export interface GanttTaskChangeReq {
+  taskId: number
+  planStartDate?: string
+  planEndDate?: string
+  changeParent?: boolean
+  parentId?: number | null
+}
+
+// 甘特图批量编辑请求
+export interface GanttBatchUpdateReq {
+  projectId: number
+  changes: GanttTaskChangeReq[]
+}
+
 // 任务依赖关系创建请求
 export interface TaskLinkCreateReq {
   source: number
@@ -74,6 +103,62 @@ export const getProjectGanttData = (
   })
 }
 
+/**
+ * 获取项目甘特图增量变更（fullReload 为 true 时需重新加载完整数据）
+ * @param projectId 项目ID
+ * @param since 上次返回的水位（可选）
+ */
+export const getProjectGanttChanges = (projectId: number, since?: string) => {
+  return request.get<GanttChangesResp>(`/gantt/project/${projectId}/changes`, {
+    params: { since }
+  })
+}
+
+/**
+ * 获取组合甘特图数据（多项目时间线，每个项目一个根节点）
+ * @param projectIds 项目ID列表（可选，默认当前用户可访问的项目中最近更新的200个）
+ * @param collapsed 是否折叠为项目汇总节点（展开时使用 getGanttNodeChildren）
+ */
+export const getPortfolioGanttData = (projectIds?: number[], collapsed = false) => {
+  return request.get<GanttDataResp>('/gantt/portfolio', {
+    params: { projectIds: projectIds?.join(','), collapsed }
+  })
+}
+
+/**
+ * 流式获取项目甘特图数据（超大项目，返回结构与 getProjectGanttData 相同）
+ * @param projectId 项目ID
+ * @param startDate 开始日期（可选）
+ * @param endDate 结束日期（可选）
+ */
+export const streamProjectGanttData = (
+  projectId: number,
+  startDate?: string,
+  endDate?: string
+) => {
+  return request.get<GanttDataResp>(`/gantt/project/${projectId}/stream`, {
+    params: { startDate, endDate }
+  })
+}
+
+/**
+ * 懒加载获取项目甘特图数据（只含项目和迭代层级及子节点数量）
+ * @param projectId 项目ID
+ */
+export const getProjectGanttRoot = (projectId: number) => {
+  return request.get<GanttDataResp>(`/gantt/project/${projectId}`, {
+    params: { lazy: true }
+  })
+}
+
+/**
+ * 展开甘特图节点，获取直接子节点
+ * @param ganttId 甘特图节点ID（项目、迭代或任务）
+ */
+export const getGanttNodeChildren = (ganttId: number) => {
+  return request.get<GanttTask[]>(`/gantt/node/${ganttId}/children`)
+}
+
 /**
  * 更新任务时间（拖拽后）
  * @param taskId 任务ID
@@ -92,6 +177,23 @@ export const updateTaskParent = (taskId: number, data: TaskParentUpdateReq) => {
   return request.put(`/gantt/task/${taskId}/parent`, data)
 }
 
+/**
+ * 批量修改任务时间和层级（全部成功或全部失败）
+ * @param data 批量编辑请求
+ */
+export const batchUpdateGanttTasks = (data: GanttBatchUpdateReq) => {
+  return request.put<number>('/gantt/tasks/batch', data)
+}
+
+/**
+ * 整体平移项目、迭代或任务的排期（全部子任务保持相对偏移和工期）
+ * @param ganttId 甘特图节点ID
+ * @param days 平移天数（正数后移，负数前移）
+ */
+export const shiftGanttSchedule = (ganttId: number, days: number) => {
+  return request.put<number>(`/gantt/node/${ganttId}/shift`, { days })
+}
+
 /**
  * 创建任务依赖关系
  * @param data 任务依赖关系创建请求
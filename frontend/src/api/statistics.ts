@@ -1,4 +1,5 @@
 import request from './request'
+import type { PageResult } from '@/types'
 
 /**
  * 首页看板数据
@@ -57,6 +58,7 @@ export interface UserWorkHourStatistics {
  */
 export interface DepartmentWorkHourStatistics {
   departmentId: number
+  includeSubDepartments: boolean
   totalHours: number
   totalRecords: number
   userCount: number
@@ -79,8 +81,7 @@ export interface TaskWorkHourStatistics {
 /**
  * 项目任务完成度统计
  */
-export interface ProjectTaskCompletionStatistics {
-  projectId: number
+export interface TaskCompletionCounts {
   totalTasks: number
   todoTasks: number
   inProgressTasks: number
@@ -88,6 +89,17 @@ export interface ProjectTaskCompletionStatistics {
   completionRate: string
 }
 
+export interface ProjectTaskCompletionStatistics extends TaskCompletionCounts {
+  projectId: number
+  // 按迭代拆分（byIteration=true 时返回，iterationId 为空表示未关联迭代）
+  iterations?: Array<TaskCompletionCounts & { iterationId?: number }>
+  // 按负责人拆分（byAssignee=true 时返回，assigneeId 为空表示未指定负责人）
+  assignees?: Array<TaskCompletionCounts & { assigneeId?: number }>
+}
+
+// 趋势统计时间粒度
+export type TrendGranularity = 'DAY' | 'WEEK' | 'MONTH'
+
 /**
  * 工时趋势统计
  */
@@ -96,10 +108,111 @@ export interface WorkHourTrendStatistics {
   userId?: number
   startDate: string
   endDate: string
+  granularity: TrendGranularity
   totalHours: number
+  totalRecords: number
+  // 连续的时间段（按周为周一，按月为1号），没有工时的时间段 hours 为 0
   trendData: Array<{
     date: string
     hours: number
+    recordCount: number
+  }>
+}
+
+/**
+ * 工时偏差汇总（偏差 = 实际 - 预估，超支比例 = 实际 / 预估，预估为0时为空）
+ */
+export interface VarianceSummary {
+  taskCount: number
+  estimateHours: number
+  actualHours: number
+  variance: number
+  overrunRatio: number | null
+}
+
+/**
+ * 项目工时偏差汇总
+ */
+export interface ProjectVarianceStatistics extends VarianceSummary {
+  projectId: number
+  // 未关联任务的工时
+  unlinkedActualHours: number
+  iterations: Array<VarianceSummary & { iterationId: number | null }>
+}
+
+// 任务工时偏差排序字段
+export type VarianceSortField = 'VARIANCE' | 'OVERRUN_RATIO' | 'ACTUAL_HOURS' | 'ESTIMATE_HOURS'
+
+/**
+ * 任务工时偏差（rolled* 为包含任务自身在内的子树汇总）
+ */
+export interface TaskVariance {
+  taskId: number
+  parentId: number | null
+  iterationId: number | null
+  title: string
+  status: string
+  assigneeId: number | null
+  estimateHours: number
+  actualHours: number
+  rolledEstimateHours: number
+  rolledActualHours: number
+  descendantCount: number
+  variance: number
+  overrunRatio: number | null
+}
+
+/**
+ * 迭代燃尽图、燃起图（每天一个数据点，当天数据每小时刷新）
+ */
+export interface IterationBurndownStatistics {
+  iterationId: number
+  projectId: number
+  planStartDate?: string
+  planEndDate?: string
+  points: Array<{
+    date: string
+    totalCount: number
+    doneCount: number
+    totalEstimateHours: number      // 燃起图范围线
+    remainingEstimateHours: number  // 燃尽图
+    doneEstimateHours: number       // 燃起图完成线
+  }>
+}
+
+/**
+ * 工时多维分析分组维度
+ */
+export type AnalyticsDimension =
+  | 'PROJECT' | 'USER' | 'DEPARTMENT'
+  | 'TASK' | 'TASK_TYPE' | 'TASK_PRIORITY' | 'ASSIGNEE'
+  | 'DAY' | 'WEEK' | 'MONTH'
+
+/**
+ * 工时多维分析查询条件
+ */
+export interface WorkHourAnalyticsQuery {
+  startDate?: string
+  endDate?: string
+  projectIds?: number[]
+  userIds?: number[]
+  departmentIds?: number[]
+  groupBy: AnalyticsDimension[]  // 最多3个
+  limit?: number                 // 默认1000，最多10000
+}
+
+/**
+ * 工时多维分析结果（按工时倒序）
+ */
+export interface WorkHourAnalytics {
+  groupBy: AnalyticsDimension[]
+  totalHours: number
+  totalCount: number
+  groupCount: number
+  rows: Array<{
+    keys: Array<number | string | null>  // 与 groupBy 一一对应
+    hours: number
+    count: number
   }>
 }
 
@@ -149,12 +262,13 @@ export function getUserWorkHourStatistics(
 export function getDepartmentWorkHourStatistics(
   departmentId: number,
   startDate?: string,
-  endDate?: string
+  endDate?: string,
+  includeSubDepartments = false
 ) {
   return request<DepartmentWorkHourStatistics>({
     url: `/statistics/department/${departmentId}`,
     method: 'get',
-    params: { startDate, endDate }
+    params: { startDate, endDate, includeSubDepartments }
   })
 }
 
@@ -171,10 +285,22 @@ export function getTaskWorkHourStatistics(taskId: number) {
 /**
  * 获取项目任务完成度统计
  */
-export function getProjectTaskCompletionStatistics(projectId: number) {
+export function getProjectTaskCompletionStatistics(projectId: number, byIteration = false, byAssignee = false) {
   return request<ProjectTaskCompletionStatistics>({
     url: `/statistics/project/${projectId}/completion`,
-    method: 'get'
+    method: 'get',
+    params: { byIteration, byAssignee }
+  })
+}
+
+/**
+ * 批量获取项目任务完成度统计（与请求顺序一致）
+ */
+export function getProjectsTaskCompletionStatistics(projectIds: number[]) {
+  return request<ProjectTaskCompletionStatistics[]>({
+    url: '/statistics/projects/completion',
+    method: 'get',
+    params: { projectIds: projectIds.join(',') }
   })
 }
 
@@ -186,6 +312,7 @@ export function getWorkHourTrendStatistics(params: {
   userId?: number
   startDate: string
   endDate: string
+  granularity?: TrendGranularity
 }) {
   return request<WorkHourTrendStatistics>({
     url: '/statistics/trend',
@@ -193,3 +320,53 @@ export function getWorkHourTrendStatistics(params: {
     params
   })
 }
+
+/**
+ * 获取项目工时偏差汇总
+ */
+export function getProjectVarianceStatistics(projectId: number) {
+  return request<ProjectVarianceStatistics>({
+    url: `/statistics/project/${projectId}/variance`,
+    method: 'get'
+  })
+}
+
+/**
+ * 分页获取任务工时偏差（默认按偏差降序）
+ */
+export function getTaskVariancePage(projectId: number, params: {
+  iterationId?: number
+  rootOnly?: boolean
+  sortBy?: VarianceSortField
+  asc?: boolean
+  pageNum?: number
+  pageSize?: number
+}) {
+  return request<PageResult<TaskVariance>>({
+    url: `/statistics/project/${projectId}/variance/tasks`,
+    method: 'get',
+    params
+  })
+}
+
+/**
+ * 获取迭代燃尽图、燃起图数据
+ */
+export function getIterationBurndownStatistics(iterationId: number, startDate?: string, endDate?: string) {
+  return request<IterationBurndownStatistics>({
+    url: `/statistics/iteration/${iterationId}/burndown`,
+    method: 'get',
+    params: { startDate, endDate }
+  })
+}
+
+/**
+ * 工时多维分析
+ */
+export function queryWorkHourAnalytics(data: WorkHourAnalyticsQuery) {
+  return request<WorkHourAnalytics>({
+    url: '/statistics/work-hours/analytics',
+    method: 'post',
+    data
+  })
+}
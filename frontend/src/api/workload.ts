@@ -0,0 +1,45 @@
+import request from './request'
+
+// 负责人每日负载
+export interface WorkloadUser {
+  userId: number
+  nickname?: string
+  taskCounts: number[]   // 每天进行中的任务数
+  hours: number[]        // 每天分摊的预估工时
+  totalHours: number
+  unscheduledTaskCount: number
+}
+
+// 负责人负载响应（每人每天一列）
+export interface WorkloadResp {
+  startDate: string
+  endDate: string
+  workdays: boolean[]    // 每天是否为工作日
+  users: WorkloadUser[]
+}
+
+/**
+ * 获取负责人负载
+ * @param startDate 开始日期
+ * @param endDate 结束日期
+ * @param userIds 负责人ID列表（可选，默认范围内有任务的全部负责人）
+ * @param projectIds 项目ID列表（可选，默认当前用户可访问的全部项目）
+ * @param includeDone 是否包含已完成任务
+ */
+export const getWorkload = (
+  startDate: string,
+  endDate: string,
+  userIds?: number[],
+  projectIds?: number[],
+  includeDone = false
+) => {
+  return request.get<WorkloadResp>('/workload', {
+    params: {
+      startDate,
+      endDate,
+      userIds: userIds?.join(','),
+      projectIds: projectIds?.join(','),
+      includeDone
+    }
+  })
+}